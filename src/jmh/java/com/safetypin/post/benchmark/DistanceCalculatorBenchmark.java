@@ -0,0 +1,64 @@
+package com.safetypin.post.benchmark;
+
+import com.safetypin.post.utils.DistanceCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single haversine distance, averaged over a fixed batch of points,
+ * computed one call at a time and as one batch over coordinate arrays.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistanceCalculatorBenchmark {
+
+    private static final int POINTS = 1024;
+
+    private final double[] lats = new double[POINTS];
+    private final double[] lons = new double[POINTS];
+    private final double[] distances = new double[POINTS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = FeedDataset.CENTER_LAT + (random.nextDouble() - 0.5);
+            lons[i] = FeedDataset.CENTER_LON + (random.nextDouble() - 0.5);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double calculateDistance() {
+        double sum = 0;
+        for (int i = 0; i < POINTS; i++) {
+            sum += DistanceCalculator.calculateDistance(FeedDataset.CENTER_LAT, FeedDataset.CENTER_LON,
+                    lats[i], lons[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] calculateDistances() {
+        DistanceCalculator.calculateDistances(FeedDataset.CENTER_LAT, FeedDataset.CENTER_LON,
+                lats, lons, distances, POINTS);
+        return distances;
+    }
+}
@@ -0,0 +1,63 @@
+package com.safetypin.post.benchmark;
+
+import com.safetypin.post.model.Post;
+import com.safetypin.post.model.Vote;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic posts for the benchmarks. A {@code selectivity}
+ * fraction of posts carry {@link #MATCHING_CATEGORY} and {@link #KEYWORD}, so
+ * filters on either keep roughly that share of the dataset.
+ */
+final class FeedDataset {
+
+    static final String MATCHING_CATEGORY = "Flood";
+    static final String KEYWORD = "banjir";
+    static final double CENTER_LAT = -6.2;
+    static final double CENTER_LON = 106.8;
+
+    private static final String[] OTHER_CATEGORIES = {"Crime", "Traffic", "Fire", "Lost Item"};
+    private static final long SEED = 42L;
+
+    private FeedDataset() {
+    }
+
+    static List<Post> posts(int count, double selectivity) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean matching = random.nextDouble() < selectivity;
+            posts.add(new Post.Builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .title(matching ? "Jalan " + KEYWORD + " di blok " + i : "Laporan warga " + i)
+                    .caption("Keterangan kejadian nomor " + i + " dari warga sekitar lokasi")
+                    .category(matching ? MATCHING_CATEGORY : OTHER_CATEGORIES[i % OTHER_CATEGORIES.length])
+                    .location(CENTER_LAT + (random.nextDouble() - 0.5), CENTER_LON + (random.nextDouble() - 0.5))
+                    .createdAt(now.minusMinutes(random.nextInt(60 * 24 * 30)))
+                    .postedBy(new UUID(random.nextLong(), random.nextLong()))
+                    .build());
+        }
+        return posts;
+    }
+
+    static List<Post> postsWithVotes(int count, int votesPerPost, UUID viewerId) {
+        Random random = new Random(SEED);
+        List<Post> posts = posts(count, 1.0);
+        for (Post post : posts) {
+            List<Vote> votes = new ArrayList<>(votesPerPost);
+            for (int v = 0; v < votesPerPost; v++) {
+                // Put the viewer's vote last so currentVote scans the whole list
+                UUID voter = v == votesPerPost - 1 ? viewerId : new UUID(random.nextLong(), random.nextLong());
+                votes.add(new Vote(new Vote.VoteId(voter, post), random.nextBoolean()));
+            }
+            post.setVotes(votes);
+        }
+        return posts;
+    }
+}
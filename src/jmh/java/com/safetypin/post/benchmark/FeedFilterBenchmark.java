@@ -0,0 +1,62 @@
+package com.safetypin.post.benchmark;
+
+import com.safetypin.post.model.Post;
+import com.safetypin.post.service.strategy.TimestampFeedStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword filter scan over the dataset, isolated from sorting and mapping.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FeedFilterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int postCount;
+
+    @Param({"1.0", "0.1", "0.01"})
+    public double selectivity;
+
+    private final KeywordFilter filter = new KeywordFilter();
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = FeedDataset.posts(postCount, selectivity);
+    }
+
+    @Benchmark
+    public int matchesKeyword() {
+        int matches = 0;
+        for (Post post : posts) {
+            if (filter.matches(post, FeedDataset.KEYWORD)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // Exposes the protected filter from AbstractFeedStrategy
+    private static final class KeywordFilter extends TimestampFeedStrategy {
+        boolean matches(Post post, String keyword) {
+            return matchesKeyword(post, keyword);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.safetypin.post.benchmark;
+
+import com.safetypin.post.dto.FeedItem;
+import com.safetypin.post.dto.FeedQueryDTO;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.service.strategy.DistanceFeedStrategy;
+import com.safetypin.post.service.strategy.TimestampFeedStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end in-memory feed processing over the whole dataset, the way
+ * PostService runs it today, filtered by category to the given selectivity.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FeedStrategyBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int postCount;
+
+    @Param({"1.0", "0.1", "0.01"})
+    public double selectivity;
+
+    @Param({"0", "10", "100"})
+    public int page;
+
+    private final DistanceFeedStrategy distanceFeedStrategy = new DistanceFeedStrategy();
+    private final TimestampFeedStrategy timestampFeedStrategy = new TimestampFeedStrategy();
+
+    private List<Post> posts;
+    private FeedQueryDTO query;
+
+    @Setup
+    public void setUp() {
+        posts = FeedDataset.posts(postCount, selectivity);
+        query = FeedQueryDTO.builder()
+                .categories(List.of(FeedDataset.MATCHING_CATEGORY))
+                .userId(UUID.randomUUID())
+                .userLat(FeedDataset.CENTER_LAT)
+                .userLon(FeedDataset.CENTER_LON)
+                .pageable(PageRequest.of(page, PAGE_SIZE))
+                .build();
+    }
+
+    @Benchmark
+    public Page<FeedItem> distanceFeed() {
+        return distanceFeedStrategy.processFeed(posts, query, null);
+    }
+
+    @Benchmark
+    public Page<FeedItem> timestampFeed() {
+        return timestampFeedStrategy.processFeed(posts, query, null);
+    }
+}
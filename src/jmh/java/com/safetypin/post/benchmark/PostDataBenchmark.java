@@ -0,0 +1,55 @@
+package com.safetypin.post.benchmark;
+
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.model.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one post to its response DTO, which counts votes and looks up
+ * the viewer's vote by scanning the vote list.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostDataBenchmark {
+
+    private static final int POSTS = 1000;
+
+    @Param({"0", "10", "100", "1000"})
+    public int votesPerPost;
+
+    private final UUID viewerId = UUID.randomUUID();
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = FeedDataset.postsWithVotes(POSTS, votesPerPost, viewerId);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTS)
+    public void fromPostAndUserId(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(PostData.fromPostAndUserId(post, viewerId, null));
+        }
+    }
+}
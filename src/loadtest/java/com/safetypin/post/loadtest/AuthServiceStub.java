@@ -0,0 +1,143 @@
+package com.safetypin.post.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetypin.post.dto.ApiResponse;
+import com.safetypin.post.dto.PostedByData;
+import com.safetypin.post.dto.UserFollowResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the be-auth endpoints the post service calls:
+ * {@code POST /api/profiles/batch} and {@code GET /api/follow/following/{id}}.
+ * Every response is delayed by a base latency plus uniform jitter, and a
+ * configurable share of requests fails with a 500 to exercise the fallbacks.
+ */
+@Slf4j
+public class AuthServiceStub implements AutoCloseable {
+
+    private static final String PROFILES_PATH = "/api/profiles/batch";
+    private static final String FOLLOWING_PATH = "/api/follow/following/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<UUID> userIds;
+    private final int followingPerUser;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private HttpServer server;
+
+    public AuthServiceStub(List<UUID> userIds, int followingPerUser, long latencyMillis, long jitterMillis,
+                           double errorRate) {
+        this.userIds = userIds;
+        this.followingPerUser = followingPerUser;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        // Requests only sleep, so a virtual thread each keeps the stub from becoming the bottleneck
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(PROFILES_PATH, delayed(this::profiles));
+        server.createContext(FOLLOWING_PATH, delayed(this::following));
+        server.start();
+        log.info("Auth service stub listening on {} ({} ms + up to {} ms jitter, {}% errors)", baseUrl(),
+                latencyMillis, jitterMillis, errorRate * 100);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long injectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private HttpHandler delayed(HttpHandler handler) {
+        return exchange -> {
+            requests.incrementAndGet();
+            try (exchange) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+                if (delay > 0) {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                }
+                if (random.nextDouble() < errorRate) {
+                    injectedErrors.incrementAndGet();
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                handler.handle(exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private void profiles(HttpExchange exchange) throws IOException {
+        List<UUID> requested = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<List<UUID>>() {
+        });
+        Map<UUID, PostedByData> profiles = new LinkedHashMap<>();
+        for (UUID userId : requested) {
+            profiles.put(userId, new PostedByData(userId, displayName(userId), null));
+        }
+        writeJson(exchange, profiles);
+    }
+
+    private void following(HttpExchange exchange) throws IOException {
+        UUID userId = UUID.fromString(exchange.getRequestURI().getPath().substring(FOLLOWING_PATH.length()));
+        // A stable pseudo-random slice of the user pool, so repeated requests see the same follow graph
+        int start = Math.floorMod(userId.hashCode(), userIds.size());
+        List<UserFollowResponse> following = new ArrayList<>(followingPerUser);
+        for (int i = 0; i < Math.min(followingPerUser, userIds.size()); i++) {
+            UUID followed = userIds.get((start + i) % userIds.size());
+            following.add(new UserFollowResponse(followed, displayName(followed), null, true));
+        }
+        writeJson(exchange, new ApiResponse<>("success", following, null));
+    }
+
+    private void writeJson(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String displayName(UUID userId) {
+        return "Load User " + userId.toString().substring(0, 8);
+    }
+}
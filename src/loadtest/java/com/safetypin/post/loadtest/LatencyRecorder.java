@@ -0,0 +1,81 @@
+package com.safetypin.post.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Collects per-endpoint response times and prints count, error count,
+ * throughput and p50/p99/max latency once the run is over.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentSkipListMap<>();
+
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        samplesByEndpoint.computeIfAbsent(endpoint, name -> new Samples()).add(elapsedNanos, success);
+    }
+
+    public void reset() {
+        samplesByEndpoint.clear();
+    }
+
+    public void printReport(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%n%-46s %9s %7s %10s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Samples> entry : samplesByEndpoint.entrySet()) {
+            long[] latencies = entry.getValue().sorted();
+            long errors = entry.getValue().errors();
+            totalRequests += latencies.length;
+            totalErrors += errors;
+            out.printf("%-46s %9d %7d %10.1f %9.2f %9.2f %9.2f%n", entry.getKey(), latencies.length, errors,
+                    latencies.length / seconds, millis(percentile(latencies, 0.50)),
+                    millis(percentile(latencies, 0.99)), millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+        }
+        out.printf("%-46s %9d %7d %10.1f%n%n", "total", totalRequests, totalErrors, totalRequests / seconds);
+    }
+
+    // Nearest-rank percentile over sorted samples
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long elapsedNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = elapsedNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.safetypin.post.loadtest;
+
+import com.safetypin.post.PostApplication;
+import com.safetypin.post.model.Category;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.repository.CategoryRepository;
+import com.safetypin.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the post service against an embedded H2 database (or the configured
+ * local database with {@code db=local}), with be-auth replaced by an
+ * in-process {@link AuthServiceStub}. Seeds users and posts, drives a warm-up
+ * and then a measured run of mixed traffic, and prints per-endpoint latency
+ * percentiles and throughput.
+ *
+ * <p>Options are passed as {@code key=value} arguments, see {@link #DEFAULTS}.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("db", "h2"),
+            Map.entry("users", "200"),
+            Map.entry("posts", "5000"),
+            Map.entry("following", "20"),
+            Map.entry("concurrency", "32"),
+            Map.entry("warmup-seconds", "10"),
+            Map.entry("duration-seconds", "60"),
+            Map.entry("stub-latency-ms", "30"),
+            Map.entry("stub-jitter-ms", "20"),
+            Map.entry("stub-error-rate", "0.0"));
+
+    private static final List<String> CATEGORIES = List.of("Crime Watch", "Flooding", "Lost Item",
+            "Infrastructure Issue", "Stolen Vehicle");
+    private static final int SEED_BATCH_SIZE = 500;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        // DevTools would restart the context in a new class loader and rerun main with the app arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Random random = new Random(42L);
+
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < Integer.parseInt(options.get("users")); i++) {
+            userIds.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        try (AuthServiceStub stub = new AuthServiceStub(userIds,
+                Integer.parseInt(options.get("following")),
+                Long.parseLong(options.get("stub-latency-ms")),
+                Long.parseLong(options.get("stub-jitter-ms")),
+                Double.parseDouble(options.get("stub-error-rate")))) {
+            stub.start();
+
+            String profiles = "h2".equals(options.get("db")) ? "loadtest,loadtest-h2" : "loadtest";
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PostApplication.class)
+                    .run("--server.port=0", "--be-auth=" + stub.baseUrl(), "--spring.profiles.active=" + profiles)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+                TokenMinter minter = new TokenMinter(context.getEnvironment().getRequiredProperty("jwt.secret"));
+
+                List<UUID> postIds = seed(context, userIds, Integer.parseInt(options.get("posts")), random);
+                Map<UUID, String> tokens = new LinkedHashMap<>();
+                for (UUID userId : userIds) {
+                    tokens.put(userId, minter.mint(userId, Role.REGISTERED_USER, "Load User"));
+                }
+
+                LatencyRecorder recorder = new LatencyRecorder();
+                TrafficMix traffic = new TrafficMix(baseUrl, tokens, postIds, recorder);
+                int concurrency = Integer.parseInt(options.get("concurrency"));
+
+                log.info("Warming up for {} s with {} workers", options.get("warmup-seconds"), concurrency);
+                traffic.run(concurrency, Duration.ofSeconds(Long.parseLong(options.get("warmup-seconds"))));
+                recorder.reset();
+
+                Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration-seconds")));
+                log.info("Measuring for {} s with {} workers", duration.toSeconds(), concurrency);
+                long startedAt = System.nanoTime();
+                traffic.run(concurrency, duration);
+                recorder.printReport(System.out, Duration.ofNanos(System.nanoTime() - startedAt));
+                System.out.printf("auth stub: %d requests, %d injected errors%n", stub.requestCount(),
+                        stub.injectedErrorCount());
+            }
+        }
+        System.exit(0);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0 || !DEFAULTS.containsKey(arg.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected one of " + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static List<UUID> seed(ConfigurableApplicationContext context, List<UUID> userIds, int postCount,
+                                   Random random) {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        PostRepository postRepository = context.getBean(PostRepository.class);
+
+        for (String name : CATEGORIES) {
+            if (categoryRepository.findByName(name) == null) {
+                categoryRepository.save(new Category(name));
+            }
+        }
+
+        List<UUID> postIds = new ArrayList<>(postCount);
+        List<Post> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < postCount; i++) {
+            batch.add(Post.builder()
+                    .title("Load test post " + i)
+                    .caption("Seeded for load testing near the city centre")
+                    .category(CATEGORIES.get(random.nextInt(CATEGORIES.size())))
+                    .location(-6.2 + (random.nextDouble() - 0.5), 106.8 + (random.nextDouble() - 0.5))
+                    .createdAt(now.minusMinutes(random.nextInt(60 * 24 * 30)))
+                    .postedBy(userIds.get(random.nextInt(userIds.size())))
+                    .build());
+            if (batch.size() == SEED_BATCH_SIZE || i == postCount - 1) {
+                postRepository.saveAll(batch).forEach(post -> postIds.add(post.getId()));
+                batch.clear();
+            }
+        }
+        log.info("Seeded {} posts in {} categories for {} users", postIds.size(), CATEGORIES.size(), userIds.size());
+        return postIds;
+    }
+}
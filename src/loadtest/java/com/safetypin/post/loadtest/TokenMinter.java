@@ -0,0 +1,42 @@
+package com.safetypin.post.loadtest;
+
+import com.safetypin.post.model.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs tokens the way be-auth does, with the HMAC key {@code JWTUtil} derives
+ * from {@code jwt.secret}, so requests pass the real {@code JWTFilter}.
+ */
+public class TokenMinter {
+    private final Key key;
+
+    public TokenMinter(String secretKey) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+    }
+
+    public String mint(UUID userId, Role role, String name) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", role.name());
+        claims.put("isVerified", true);
+        claims.put("userId", userId.toString());
+        claims.put("name", name);
+
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(userId.toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TimeUnit.HOURS.toMillis(12)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
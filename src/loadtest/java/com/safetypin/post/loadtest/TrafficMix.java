@@ -0,0 +1,144 @@
+package com.safetypin.post.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Closed-loop traffic generator: each worker repeatedly picks a random user and
+ * a weighted random request from the feed, vote, comment and notification
+ * endpoints, sends it and records the response time until the deadline.
+ */
+public class TrafficMix {
+
+    private static final double CENTER_LAT = -6.2;
+    private static final double CENTER_LON = 106.8;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+    private final Map<UUID, String> tokensByUser;
+    private final List<UUID> userIds;
+    private final List<UUID> postIds;
+    private final LatencyRecorder recorder;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    public TrafficMix(String baseUrl, Map<UUID, String> tokensByUser, List<UUID> postIds, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.tokensByUser = tokensByUser;
+        this.userIds = List.copyOf(tokensByUser.keySet());
+        this.postIds = postIds;
+        this.recorder = recorder;
+        this.scenarios = List.of(
+                new Scenario("GET /posts/feed/distance", 20, (user, random) -> get(
+                        "/posts/feed/distance?lat=" + (CENTER_LAT + random.nextDouble(-0.2, 0.2))
+                                + "&lon=" + (CENTER_LON + random.nextDouble(-0.2, 0.2))
+                                + "&page=" + random.nextInt(3))),
+                new Scenario("GET /posts/feed/timestamp", 20, (user, random) -> get(
+                        "/posts/feed/timestamp?page=" + random.nextInt(3))),
+                new Scenario("GET /posts/feed/following", 10, (user, random) -> get(
+                        "/posts/feed/following")),
+                new Scenario("POST /posts/vote/upvote", 10, (user, random) -> post(
+                        "/posts/vote/upvote?postId=" + randomPost(random), null)),
+                new Scenario("POST /posts/vote/downvote", 5, (user, random) -> post(
+                        "/posts/vote/downvote?postId=" + randomPost(random), null)),
+                new Scenario("DELETE /posts/vote/cancel-vote", 5, (user, random) -> delete(
+                        "/posts/vote/cancel-vote?postId=" + randomPost(random))),
+                new Scenario("POST /posts/comment/onpost", 8, (user, random) -> post(
+                        "/posts/comment/onpost",
+                        "{\"caption\":\"Load test comment\",\"parentId\":\"" + randomPost(random) + "\"}")),
+                new Scenario("GET /posts/comment/onpost/{id}", 7, (user, random) -> get(
+                        "/posts/comment/onpost/" + randomPost(random))),
+                new Scenario("GET /posts/comment-notifications", 5, (user, random) -> get(
+                        "/posts/comment-notifications")),
+                new Scenario("GET /posts/comment-notifications/unread-count", 10, (user, random) -> get(
+                        "/posts/comment-notifications/unread-count")));
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    /**
+     * Runs {@code concurrency} workers until {@code duration} has passed and waits for them to finish.
+     */
+    public void run(int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        sendOne();
+                    }
+                });
+            }
+        }
+    }
+
+    private void sendOne() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID user = userIds.get(random.nextInt(userIds.size()));
+        Scenario scenario = pick(random.nextInt(totalWeight));
+        HttpRequest request = scenario.request().apply(user, random)
+                .header("Authorization", "Bearer " + tokensByUser.get(user))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        long startedAt = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() / 100 == 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            success = false;
+        }
+        recorder.record(scenario.name(), System.nanoTime() - startedAt, success);
+    }
+
+    private Scenario pick(int ticket) {
+        for (Scenario scenario : scenarios) {
+            ticket -= scenario.weight();
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private UUID randomPost(ThreadLocalRandom random) {
+        return postIds.get(random.nextInt(postIds.size()));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (json == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder delete(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE();
+    }
+
+    private record Scenario(String name, int weight,
+                            BiFunction<UUID, ThreadLocalRandom, HttpRequest.Builder> request) {
+    }
+}
@@ -4,11 +4,27 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import com.safetypin.post.utils.ServerTiming;
+
 @Configuration
 public class AppConfig {
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate();
+        // Outbound calls go to the auth service; credit them to auth-remote in Server-Timing
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            ServerTiming timing = ServerTiming.current();
+            if (timing == null) {
+                return execution.execute(request, body);
+            }
+            timing.enter(ServerTiming.Phase.AUTH_REMOTE);
+            try {
+                return execution.execute(request, body);
+            } finally {
+                timing.exit();
+            }
+        });
+        return restTemplate;
     }
 }
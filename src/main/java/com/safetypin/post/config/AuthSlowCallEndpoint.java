@@ -0,0 +1,29 @@
+package com.safetypin.post.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.safetypin.post.service.AuthClientMetrics;
+
+/**
+ * Rolling log of slow auth service calls at {@code /actuator/authslowcalls},
+ * newest first.
+ */
+@Component
+@Endpoint(id = "authslowcalls")
+public class AuthSlowCallEndpoint {
+
+    private final AuthClientMetrics authClientMetrics;
+
+    public AuthSlowCallEndpoint(AuthClientMetrics authClientMetrics) {
+        this.authClientMetrics = authClientMetrics;
+    }
+
+    @ReadOperation
+    public List<AuthClientMetrics.SlowCall> slowCalls() {
+        return authClientMetrics.recentSlowCalls();
+    }
+}
@@ -0,0 +1,63 @@
+package com.safetypin.post.config;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.service.PostFragmentCache;
+
+/**
+ * Writes {@link PostData} through the {@link PostFragmentCache}, falling back
+ * to Jackson's own bean serializer to render the cached fragments.
+ */
+class CachedPostDataSerializer extends StdSerializer<PostData> implements ResolvableSerializer, ContextualSerializer {
+
+    private final transient PostFragmentCache postFragmentCache;
+    private final transient JsonSerializer<Object> delegate;
+
+    @SuppressWarnings("unchecked")
+    CachedPostDataSerializer(PostFragmentCache postFragmentCache, JsonSerializer<?> delegate) {
+        super(PostData.class);
+        this.postFragmentCache = postFragmentCache;
+        this.delegate = (JsonSerializer<Object>) delegate;
+    }
+
+    @Override
+    public void serialize(PostData value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        postFragmentCache.write(value, generator, provider, delegate);
+    }
+
+    @Override
+    public void serializeWithType(PostData value, JsonGenerator generator, SerializerProvider provider,
+            TypeSerializer typeSerializer) throws IOException {
+        delegate.serializeWithType(value, generator, provider, typeSerializer);
+    }
+
+    // The bean serializer resolves its property serializers lazily; pass that on
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        if (delegate instanceof ContextualSerializer contextual) {
+            JsonSerializer<?> contextualDelegate = contextual.createContextual(provider, property);
+            if (contextualDelegate != delegate) {
+                return new CachedPostDataSerializer(postFragmentCache, contextualDelegate);
+            }
+        }
+        return this;
+    }
+}
@@ -0,0 +1,31 @@
+package com.safetypin.post.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import com.safetypin.post.utils.ServerTiming;
+
+/**
+ * Credits repository calls to the {@code db} phase of the Server-Timing header.
+ * Requests that did not ask for timings pass straight through.
+ */
+@Aspect
+@Component
+public class DatabaseTimingAspect {
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.enter(ServerTiming.Phase.DB);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exit();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.safetypin.post.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes sure at most one instance serves ETags.
+ * {@link com.safetypin.post.service.ContentVersions} counts changes in memory,
+ * so an instance never sees writes made through another one, and tags from two
+ * instances could claim a stale response is current. On PostgreSQL the instance
+ * takes a session advisory lock and holds its connection while it serves tags.
+ * An instance without the lock serves no ETags and tries again every check
+ * interval, so during a rolling deploy the new instance takes over once the old
+ * one has shut down; an instance that loses the lock with its connection tries
+ * again on a fresh one. Each acquisition is a new lease, so tags issued before
+ * a gap in which another instance may have written never match afterwards.
+ * Other databases are the embedded ones used locally and in tests, which only
+ * one process can use, so there the lock is always held.
+ */
+@Slf4j
+@Component
+public class EtagInstanceLock {
+
+    // Arbitrary application-wide key ("etag")
+    static final long LOCK_KEY = 0x65746167L;
+    static final String LOCK_SQL = "SELECT pg_try_advisory_lock(?)";
+
+    private static final long CHECK_INTERVAL_SECONDS = 30;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    // Guarded by this; null while not held, and on embedded databases
+    private Connection connection;
+    private volatile boolean held;
+    private volatile long lease;
+    private boolean waiting;
+    private ScheduledExecutorService checkExecutor;
+
+    public EtagInstanceLock(DataSource dataSource, @Value("${posts.etags.enabled:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public synchronized void acquire() {
+        if (!enabled) {
+            log.info("ETags are disabled");
+            return;
+        }
+        tryAcquire();
+        checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "etag-lock-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkExecutor.scheduleWithFixedDelay(this::check, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    public boolean isHeld() {
+        return held;
+    }
+
+    // The current acquisition, or -1 while the lock is not held
+    public long lease() {
+        return held ? lease : -1;
+    }
+
+    // The server releases the lock when the session ends, and another instance may take it
+    synchronized void check() {
+        if (held) {
+            if (connection == null || isValid(connection)) {
+                return;
+            }
+            held = false;
+            closeQuietly(connection);
+            connection = null;
+            log.warn("Lost the ETag lock with its connection; serving no ETags until it is taken again");
+        }
+        tryAcquire();
+    }
+
+    private void tryAcquire() {
+        Connection candidate = null;
+        try {
+            candidate = dataSource.getConnection();
+            if (!"PostgreSQL".equals(candidate.getMetaData().getDatabaseProductName())) {
+                candidate.close();
+                take(null);
+                return;
+            }
+            if (tryLock(candidate)) {
+                take(candidate);
+                log.info("Took the ETag lock; this instance serves ETags");
+                return;
+            }
+            candidate.close();
+            if (!waiting) {
+                waiting = true;
+                log.warn("Another instance serves ETags; this instance serves none until it can take the lock");
+            }
+        } catch (SQLException e) {
+            closeQuietly(candidate);
+            log.warn("Could not take the ETag lock, serving no ETags for now: {}", e.getMessage());
+        }
+    }
+
+    private void take(Connection locked) {
+        connection = locked;
+        waiting = false;
+        // The new lease is visible before held is
+        lease++;
+        held = true;
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        held = false;
+        if (checkExecutor != null) {
+            checkExecutor.shutdownNow();
+        }
+        if (connection != null) {
+            Connection locked = connection;
+            connection = null;
+            // Closing returns the connection to the pool, which keeps the session and its lock
+            try (locked; Statement statement = locked.createStatement()) {
+                statement.execute("SELECT pg_advisory_unlock_all()");
+            } catch (SQLException e) {
+                log.debug("Failed to release the ETag lock: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid((int) CHECK_INTERVAL_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close the ETag lock connection: {}", e.getMessage());
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_SQL)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.safetypin.post.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.service.PostFragmentCache;
+
+@Configuration
+public class JacksonConfiguration {
+
+    // Spring Boot registers Module beans with the application ObjectMapper
+    @Bean
+    public Module postFragmentModule(PostFragmentCache postFragmentCache) {
+        SimpleModule module = new SimpleModule("PostFragmentModule");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                    JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == PostData.class) {
+                    return new CachedPostDataSerializer(postFragmentCache, serializer);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+}
@@ -0,0 +1,52 @@
+package com.safetypin.post.config;
+
+import java.time.Clock;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.safetypin.post.service.ContentVersions;
+
+import jakarta.persistence.ConstraintMode;
+
+/**
+ * Monthly range partitioning of posts and comments by {@code created_at}, when
+ * {@code posts.partitioning.enabled=true}. See {@link PostPartitionManager}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "posts.partitioning.enabled", havingValue = "true")
+public class PartitioningConfiguration {
+
+    // Hibernate reads only plain tables by default, and would try to create the partitioned ones again.
+    // Without foreign keys by default it also stops adding back the keys the conversion drops; the
+    // votes and comments on posts are the only associations.
+    @Bean
+    public HibernatePropertiesCustomizer includePartitionedTables() {
+        return properties -> {
+            properties.put(AvailableSettings.EXTRA_PHYSICAL_TABLE_TYPES, "PARTITIONED TABLE");
+            properties.put(AvailableSettings.HBM2DDL_DEFAULT_CONSTRAINT_MODE, ConstraintMode.NO_CONSTRAINT.name());
+        };
+    }
+
+    // After the entity manager factory, so the schema update has created the tables to convert
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public PostPartitionManager postPartitionManager(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ContentVersions contentVersions,
+            @Value("${posts.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${posts.partitioning.retention-months:24}") int retentionMonths,
+            @Value("${posts.partitioning.archive-schema:archive}") String archiveSchema,
+            @Value("${posts.partitioning.check-interval-minutes:60}") long checkIntervalMinutes) {
+        return new PostPartitionManager(jdbcTemplate, new TransactionTemplate(transactionManager), contentVersions,
+                monthsAhead, retentionMonths, archiveSchema, checkIntervalMinutes, Clock.systemDefaultZone());
+    }
+}
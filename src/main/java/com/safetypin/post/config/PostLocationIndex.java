@@ -0,0 +1,47 @@
+package com.safetypin.post.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GiST index on {@code location::geography}, which the radius queries in
+ * {@link com.safetypin.post.repository.PostRepository} cast to before
+ * {@code ST_DWithin}; without it every radius query scans and casts every
+ * post. Hibernate cannot declare an expression index, so it is created here
+ * once the schema is up, on PostgreSQL only. Creating it locks posts against
+ * writes for the one-time build.
+ */
+@Slf4j
+@Component
+public class PostLocationIndex {
+
+    static final String NAME = "idx_posts_location_geography";
+    static final String DEFINITION = "USING GIST ((location::geography))";
+    static final String CREATE_SQL = "CREATE INDEX IF NOT EXISTS " + NAME + " ON posts " + DEFINITION;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostLocationIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // After partitioning, which converts posts on startup and carries the index over
+    @EventListener(ApplicationReadyEvent.class)
+    public void create() {
+        try {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if ("PostgreSQL".equals(database)) {
+                jdbcTemplate.execute(CREATE_SQL);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to create {}; radius queries scan every post: {}", NAME, e.getMessage());
+        }
+    }
+}
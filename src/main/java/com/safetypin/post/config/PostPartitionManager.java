@@ -0,0 +1,292 @@
+package com.safetypin.post.config;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.safetypin.post.service.ContentVersions;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@code posts}, {@code comment_on_post} and {@code comment_on_comment}
+ * range partitioned by month of {@code created_at}, so queries bounded by date
+ * only read the months they cover. The first run converts plain tables in
+ * place: each becomes the {@code _legacy} partition of a new partitioned table,
+ * holding every existing row, so nothing is copied. Every run then creates the
+ * partitions for the next {@code posts.partitioning.months-ahead} months and
+ * moves partitions that ended more than
+ * {@code posts.partitioning.retention-months} ago into the
+ * {@code posts.partitioning.archive-schema} schema. Votes have no timestamp of
+ * their own; they stay in one table and move to the archive with their posts,
+ * as do comments and replies on those posts that are newer than their
+ * partitions.
+ *
+ * <p>
+ * A partitioned table cannot be referenced by a foreign key on {@code id}
+ * alone, so the conversion drops the keys of votes and comments on posts and of
+ * replies on comments, and {@link PartitioningConfiguration} stops Hibernate
+ * adding them back. The application already deletes them with their parent, and
+ * votes check that their post exists. Writes PostgreSQL SQL.
+ */
+@Slf4j
+public class PostPartitionManager {
+
+    // definition follows the table name, e.g. "(parent_id, created_at)"
+    record TableIndex(String name, String definition) {
+    }
+
+    record PartitionedTable(String name, List<TableIndex> indexes) {
+        String legacyName() {
+            return name + "_legacy";
+        }
+
+        String partitionName(YearMonth month) {
+            return name + "_p" + month.format(PARTITION_SUFFIX);
+        }
+    }
+
+    // upperBound is the first day after the partition, or null for a default partition
+    record Partition(String name, LocalDate upperBound) {
+    }
+
+    static final String POSTS = "posts";
+    // Secondary indexes are recreated on the partitioned table under the names Hibernate and
+    // PostLocationIndex gave them
+    static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable(POSTS, List.of(
+                    new TableIndex(PostLocationIndex.NAME, PostLocationIndex.DEFINITION))),
+            new PartitionedTable("comment_on_post", List.of(
+                    new TableIndex("idx_comment_on_post_parent_created_at", "(parent_id, created_at)"))),
+            new PartitionedTable("comment_on_comment", List.of(
+                    new TableIndex("idx_comment_on_comment_parent_created_at", "(parent_id, created_at)"))));
+
+    static final String RELKIND_SQL = "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)";
+    static final String PARTITIONS_SQL = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) "
+            + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)";
+    static final String DROP_FOREIGN_KEYS_SQL = "SELECT format('ALTER TABLE %s DROP CONSTRAINT %I', "
+            + "conrelid::regclass, conname) FROM pg_constraint WHERE contype = 'f' "
+            + "AND confrelid IN ('posts'::regclass, 'comment_on_post'::regclass)";
+    static final String DROP_PRIMARY_KEY_SQL = "SELECT format('ALTER TABLE %s DROP CONSTRAINT %I', "
+            + "conrelid::regclass, conname) FROM pg_constraint WHERE contype = 'p' AND conrelid = to_regclass(?)";
+    static final String NEWEST_ROW_SQL = "SELECT GREATEST((SELECT max(created_at) FROM posts), "
+            + "(SELECT max(created_at) FROM comment_on_post), (SELECT max(created_at) FROM comment_on_comment))";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('(\\d{4}-\\d{2}-\\d{2})");
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentVersions contentVersions;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+    private final long checkIntervalMinutes;
+    private final Clock clock;
+    private ScheduledExecutorService maintenanceExecutor;
+
+    public PostPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ContentVersions contentVersions, int monthsAhead, int retentionMonths, String archiveSchema,
+            long checkIntervalMinutes, Clock clock) {
+        if (!SCHEMA_NAME.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.contentVersions = contentVersions;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+        this.checkIntervalMinutes = checkIntervalMinutes;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start() {
+        // The first run is synchronous, so the application starts on partitioned tables
+        maintain();
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::maintain, checkIntervalMinutes, checkIntervalMinutes,
+                TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+    }
+
+    public void maintain() {
+        YearMonth month = YearMonth.now(clock);
+        try {
+            convertPlainTables(month);
+            for (PartitionedTable table : TABLES) {
+                if (isPartitioned(table)) {
+                    createAhead(table, month);
+                }
+            }
+            if (retentionMonths > 0) {
+                archiveBefore(month.minusMonths(retentionMonths).atDay(1));
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void convertPlainTables(YearMonth month) {
+        List<PartitionedTable> plain = TABLES.stream()
+                .filter(table -> "r".equals(relkind(table.name())))
+                .toList();
+        if (plain.isEmpty()) {
+            return;
+        }
+        LocalDate bound = transactionTemplate.execute(status -> {
+            // Existing rows, including any dated ahead, all fall below the legacy partitions' bound
+            LocalDateTime newest = jdbcTemplate.queryForObject(NEWEST_ROW_SQL, LocalDateTime.class);
+            YearMonth first = newest == null || YearMonth.from(newest).isBefore(month)
+                    ? month
+                    : YearMonth.from(newest).plusMonths(1);
+            jdbcTemplate.queryForList(DROP_FOREIGN_KEYS_SQL, String.class).forEach(jdbcTemplate::execute);
+            for (PartitionedTable table : plain) {
+                convert(table, first.atDay(1));
+            }
+            return first.atDay(1);
+        });
+        log.info("Partitioned {} by month; rows before {} are in their _legacy partitions",
+                plain.stream().map(PartitionedTable::name).toList(), bound);
+    }
+
+    private void convert(PartitionedTable table, LocalDate bound) {
+        String name = table.name();
+        String legacy = table.legacyName();
+        jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + legacy);
+        // The key of a partitioned table has to include the partition column
+        jdbcTemplate.queryForList(DROP_PRIMARY_KEY_SQL, String.class, legacy).forEach(jdbcTemplate::execute);
+        for (TableIndex index : table.indexes()) {
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + index.name() + " RENAME TO " + index.name() + "_legacy");
+        }
+
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + legacy + " INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + name + " ADD PRIMARY KEY (id, created_at)");
+        for (TableIndex index : table.indexes()) {
+            jdbcTemplate.execute("CREATE INDEX " + index.name() + " ON " + name + " " + index.definition());
+        }
+
+        // With the bound already checked, attaching skips its own scan and adopts the renamed indexes
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " ADD CONSTRAINT " + legacy + "_bound "
+                + "CHECK (created_at < '" + bound + "')");
+        jdbcTemplate.execute("ALTER TABLE " + name + " ATTACH PARTITION " + legacy
+                + " FOR VALUES FROM (MINVALUE) TO ('" + bound + "')");
+    }
+
+    private void createAhead(PartitionedTable table, YearMonth month) {
+        LocalDate covered = partitions(table.name()).stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        // Continues from the last partition, so months missed while the application was down are filled
+        YearMonth next = covered == null ? month : YearMonth.from(covered);
+        for (YearMonth partition = next; !partition.isAfter(month.plusMonths(monthsAhead));
+                partition = partition.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.partitionName(partition)
+                    + " PARTITION OF " + table.name()
+                    + " FOR VALUES FROM ('" + partition.atDay(1) + "') TO ('" + partition.plusMonths(1).atDay(1)
+                    + "')");
+            log.info("Created partition {}", table.partitionName(partition));
+        }
+    }
+
+    private void archiveBefore(LocalDate cutoff) {
+        boolean archived = false;
+        for (PartitionedTable table : TABLES) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            for (Partition partition : partitions(table.name())) {
+                if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                    archive(table, partition);
+                    archived = true;
+                }
+            }
+        }
+        if (archived) {
+            contentVersions.postsChanged();
+        }
+    }
+
+    private void archive(PartitionedTable table, Partition partition) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            String moved = "";
+            if (POSTS.equals(table.name())) {
+                // Comments and replies are partitioned by their own date, so newer ones on these posts
+                // would otherwise stay behind pointing at posts that are gone
+                String posts = partition.name();
+                int replies = moveToArchive("comment_on_comment", "r",
+                        "comment_on_post c, " + posts + " p", "r.parent_id = c.id AND c.parent_id = p.id");
+                int comments = moveToArchive("comment_on_post", "c", posts + " p", "c.parent_id = p.id");
+                int votes = moveToArchive("votes", "v", posts + " p", "v.post_id = p.id");
+                moved = " with " + comments + " comments, " + replies + " replies and " + votes + " votes";
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition.name());
+            jdbcTemplate.execute("ALTER TABLE " + partition.name() + " SET SCHEMA " + archiveSchema);
+            log.info("Archived partition {} to schema {}{}", partition.name(), archiveSchema, moved);
+        });
+    }
+
+    // Moves the rows of table matching condition into the table of the same name in the archive schema
+    private int moveToArchive(String table, String alias, String using, String condition) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveSchema + "." + table
+                + " (LIKE " + table + " INCLUDING DEFAULTS)");
+        return jdbcTemplate.update("WITH moved AS (DELETE FROM " + table + " " + alias + " USING " + using
+                + " WHERE " + condition + " RETURNING " + alias + ".*) "
+                + "INSERT INTO " + archiveSchema + "." + table + " SELECT * FROM moved");
+    }
+
+    private boolean isPartitioned(PartitionedTable table) {
+        return "p".equals(relkind(table.name()));
+    }
+
+    private String relkind(String table) {
+        List<String> kinds = jdbcTemplate.queryForList(RELKIND_SQL, String.class, table);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private List<Partition> partitions(String table) {
+        return jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))), table);
+    }
+
+    // Reads the upper bound out of "FOR VALUES FROM (...) TO ('2025-07-01 00:00:00')"
+    static LocalDate upperBound(String partitionBound) {
+        if (partitionBound == null) {
+            return null;
+        }
+        Matcher matcher = UPPER_BOUND.matcher(partitionBound);
+        return matcher.find() ? LocalDate.parse(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.safetypin.post.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the read replica for how far it is behind the primary. Reads are only
+ * sent to the replica while the last probe succeeded recently and found the lag
+ * within {@code datasource.replica.max-lag-ms}; otherwise they go to the primary
+ * until the replica catches up. The lag is exported as the
+ * {@code datasource.replica.lag} gauge.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // A server that is not replaying WAL (a stand-in replica) or has replayed all it received is not behind
+    static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private volatile long lagMillis = UNKNOWN;
+    private volatile long checkedAt;
+    private volatile boolean usable;
+    private ScheduledExecutorService probeExecutor;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, MeterRegistry registry, long maxLagMillis,
+            long checkIntervalMillis) {
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis == UNKNOWN
+                ? Double.NaN
+                : monitor.lagMillis / 1000.0)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        probeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The first probe runs in the background so a replica that is down does not hold up startup
+        probeExecutor.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (probeExecutor != null) {
+            probeExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        // A probe that has stopped answering is as bad as a lagging replica
+        long age = System.nanoTime() - checkedAt;
+        return lagMillis != UNKNOWN
+                && lagMillis <= maxLagMillis
+                && age <= TimeUnit.MILLISECONDS.toNanos(3 * checkIntervalMillis);
+    }
+
+    void check() {
+        try {
+            Double lag = replica.queryForObject(LAG_SQL, Double.class);
+            lagMillis = lag == null ? 0 : Math.round(lag);
+        } catch (DataAccessException e) {
+            lagMillis = UNKNOWN;
+            log.debug("Replica lag probe failed", e);
+        }
+        checkedAt = System.nanoTime();
+
+        boolean nowUsable = isReplicaUsable();
+        if (nowUsable != usable) {
+            usable = nowUsable;
+            if (nowUsable) {
+                log.info("Read replica in use, {} ms behind", lagMillis);
+            } else {
+                log.warn("Read replica unavailable or more than {} ms behind; reading from the primary",
+                        maxLagMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.safetypin.post.config;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.service.RecentWriters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections for {@code readOnly} transactions to the read replica and
+ * everything else to the primary. A read-only transaction still uses the
+ * primary while the replica is lagging or unreachable, and for a user who has
+ * just written something. Connections are counted in
+ * {@code datasource.connections.routed}, tagged {@code target}.
+ *
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ *
+ * <p>
+ * Responses sent with an ETag must be read with {@link #readFromPrimary}: the
+ * tag covers every write already committed, and a lagging replica's older rows
+ * sent under it would be kept by the client as current.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriters recentWriters;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+            RecentWriters recentWriters, MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = recentWriters;
+        this.primaryConnections = Counter.builder("datasource.connections.routed").tag("target", "primary")
+                .register(registry);
+        this.replicaConnections = Counter.builder("datasource.connections.routed").tag("target", "replica")
+                .register(registry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs {@code reads} with every connection taken from the primary, read-only
+     * transactions included.
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        if (PRIMARY_REQUIRED.get()) {
+            return reads.get();
+        }
+        PRIMARY_REQUIRED.set(true);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (useReplica()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PRIMARY_REQUIRED.get()
+                && lagMonitor.isReplicaUsable()
+                && !recentWriters.isRecent(currentUserId());
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserDetails userDetails
+                ? userDetails.getUserId()
+                : null;
+    }
+}
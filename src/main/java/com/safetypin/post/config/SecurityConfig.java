@@ -14,6 +14,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import com.safetypin.post.security.JWTFilter;
 import com.safetypin.post.model.Role;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class SecurityConfig {
 
@@ -30,6 +32,7 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable) // NOSONAR
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class) // Add JWT filter
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Completion of event streams, already authorized
                         .requestMatchers("/posts/admin/**").hasAuthority(Role.MODERATOR.name()) // Add this line
                         .requestMatchers("/post/**", "/posts/**").authenticated() // Protect all endpoints under /post
                         .anyRequest().permitAll() // Allow all other requests by default
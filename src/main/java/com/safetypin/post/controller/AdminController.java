@@ -1,5 +1,6 @@
 package com.safetypin.post.controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -8,12 +9,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.safetypin.post.dto.UserDetails;
 import com.safetypin.post.exception.UnauthorizedAccessException;
+import com.safetypin.post.model.ContentDeletionJob;
 import com.safetypin.post.model.Role;
 import com.safetypin.post.service.AdminService;
 
@@ -34,11 +37,56 @@ public class AdminController {
      * This operation is restricted to users with the MODERATOR role only.
      *
      * @param userId The ID of the user whose content should be deleted
-     * @return A response indicating the status of the deletion operation
+     * @return A response with the ID of the queued deletion job
      */
     @DeleteMapping("/delete/{userId}")
     public ResponseEntity<Map<String, String>> deleteUserContent(@PathVariable("userId") UUID userId) {
-        // Get the authentication details from the security context
+        UserDetails userDetails = getModeratorDetails();
+        UUID moderatorId = userDetails.getUserId();
+
+        log.info("Moderator {} requested deletion of all content for user {}", moderatorId, userId);
+
+        ContentDeletionJob job = adminService.deleteAllUserContent(userId, moderatorId, userDetails.getRole());
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(Map.of("message", "User content deletion initiated successfully",
+                        "userId", userId.toString(),
+                        "jobId", String.valueOf(job.getId())));
+    }
+
+    /**
+     * Endpoint to check the progress of a user content deletion job.
+     * This operation is restricted to users with the MODERATOR role only.
+     *
+     * @param jobId The ID returned when the deletion was requested
+     * @return The job status, stage and number of rows deleted so far
+     */
+    @GetMapping("/delete-jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getDeletionJob(@PathVariable("jobId") UUID jobId) {
+        getModeratorDetails();
+
+        return adminService.getDeletionJob(jobId)
+                .map(job -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("jobId", job.getId().toString());
+                    body.put("userId", job.getTargetUserId().toString());
+                    body.put("status", job.getStatus().name());
+                    body.put("stage", job.getStage().name());
+                    body.put("rowsDeleted", job.getRowsDeleted());
+                    body.put("createdAt", job.getCreatedAt());
+                    body.put("updatedAt", job.getUpdatedAt());
+                    if (job.getErrorMessage() != null) {
+                        body.put("errorMessage", job.getErrorMessage());
+                    }
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "Deletion job not found")));
+    }
+
+    // Get the current user from the security context, rejecting anyone but moderators
+    private UserDetails getModeratorDetails() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null) {
@@ -48,20 +96,11 @@ public class AdminController {
         UserDetails userDetails = (UserDetails) authentication
                 .getPrincipal();
 
-        UUID moderatorId = userDetails.getUserId();
-        Role moderatorRole = userDetails.getRole();
-        if (moderatorRole != Role.MODERATOR) {
-            log.error("User {} attempted to access restricted admin endpoint with role {}", moderatorId, moderatorRole);
+        if (userDetails.getRole() != Role.MODERATOR) {
+            log.error("User {} attempted to access restricted admin endpoint with role {}", userDetails.getUserId(),
+                    userDetails.getRole());
             throw new UnauthorizedAccessException("Only moderators can access this endpoint");
         }
-
-        log.info("Moderator {} requested deletion of all content for user {}", moderatorId, userId);
-
-        adminService.deleteAllUserContent(userId, moderatorId, moderatorRole);
-
-        return ResponseEntity
-                .status(HttpStatus.ACCEPTED)
-                .body(Map.of("message", "User content deletion initiated successfully",
-                        "userId", userId.toString()));
+        return userDetails;
     }
 }
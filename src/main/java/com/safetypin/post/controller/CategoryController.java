@@ -1,9 +1,13 @@
 package com.safetypin.post.controller;
 
+import com.safetypin.post.config.ReplicaRoutingDataSource;
 import com.safetypin.post.dto.PostResponse;
 import com.safetypin.post.model.Category;
 import com.safetypin.post.service.CategoryService;
+import com.safetypin.post.service.ContentVersions;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,15 +21,26 @@ import java.util.List;
 @RequestMapping("/posts/category")
 public class CategoryController {
     private final CategoryService categoryService;
+    private final ContentVersions contentVersions;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ContentVersions contentVersions) {
         this.categoryService = categoryService;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping
-    public ResponseEntity<PostResponse> getAllCategories() {
+    public ResponseEntity<PostResponse> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Category> categories = categoryService.getAllCategories();
+            String eTag = contentVersions.categoriesTag();
+            if (ContentVersions.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+
+            List<Category> categories = ReplicaRoutingDataSource.readFromPrimary(categoryService::getAllCategories);
 
             // Convert categories to only include names
             List<String> formattedCategories = categories.stream()
@@ -34,6 +49,8 @@ public class CategoryController {
 
             return ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
                     .body(new PostResponse(
                             true,
                             "Categories retrieved successfully",
@@ -84,6 +101,16 @@ public class CategoryController {
                 true, "Category renamed successfully", updatedCategory));
     }
 
+    @GetMapping("/rename-status")
+    public ResponseEntity<PostResponse> getRenameStatus(
+            @RequestParam String oldCategoryName) {
+        return categoryService.getRenameStatus(oldCategoryName)
+                .map(rename -> ResponseEntity.ok(new PostResponse(
+                        true, "Category rename " + rename.getStatus().name().toLowerCase(), rename)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new PostResponse(
+                        false, "No rename found for category " + oldCategoryName, null)));
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<PostResponse> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
         PostResponse errorResponse = new PostResponse(
@@ -1,15 +1,20 @@
 package com.safetypin.post.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.safetypin.post.dto.NotificationDto;
@@ -29,16 +34,14 @@ public class CommentNotificationController { // Renamed controller
     private final NotificationService notificationService;
 
     @GetMapping
-    public ResponseEntity<PostResponse> getCommentNotifications() { // Renamed method for clarity
+    public ResponseEntity<PostResponse> getCommentNotifications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) { // Renamed method for clarity
         try {
-            // Get user details from security context
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            UUID userId = userDetails.getUserId();
+            UUID userId = getCurrentUserId();
 
-            log.info("Fetching comment notifications for user ID: {}", userId);
+            log.info("Fetching comment notifications for user ID: {} since {}", userId, since);
 
-            List<NotificationDto> notifications = notificationService.getNotifications(userId);
+            List<NotificationDto> notifications = notificationService.getNotifications(userId, since);
 
             PostResponse response = new PostResponse(true, "Comment notifications retrieved successfully",
                     notifications);
@@ -53,6 +56,52 @@ public class CommentNotificationController { // Renamed controller
         }
     }
 
+    @GetMapping("/unread-count")
+    public ResponseEntity<PostResponse> getUnreadCount() {
+        try {
+            UUID userId = getCurrentUserId();
+
+            long unreadCount = notificationService.getUnreadCount(userId);
+
+            PostResponse response = new PostResponse(true, "Unread notification count retrieved successfully",
+                    Map.of("unreadCount", unreadCount));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+
+        } catch (Exception e) {
+            log.error("Error fetching unread notification count: {}", e.getMessage(), e);
+            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Failed to retrieve unread notification count: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<PostResponse> markNotificationsAsRead() {
+        try {
+            UUID userId = getCurrentUserId();
+
+            notificationService.markAllAsRead(userId);
+
+            PostResponse response = new PostResponse(true, "Notifications marked as read", null);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+
+        } catch (Exception e) {
+            log.error("Error marking notifications as read: {}", e.getMessage(), e);
+            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Failed to mark notifications as read: " + e.getMessage());
+        }
+    }
+
+    // Get user ID from security context
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return userDetails.getUserId();
+    }
+
     // Helper method to create error responses
     private ResponseEntity<PostResponse> createErrorResponse(HttpStatus status, String message) {
         PostResponse errorResponse = new PostResponse(false, message, null);
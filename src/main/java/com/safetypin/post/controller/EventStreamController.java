@@ -0,0 +1,52 @@
+package com.safetypin.post.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.service.EventStreamService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/posts/stream")
+@AllArgsConstructor
+public class EventStreamController {
+
+    private final EventStreamService eventStreamService;
+
+    /**
+     * Opens a Server-Sent Events stream carrying "notification" events for the
+     * current user and "new-post" events for posts created within the subscribed
+     * radius and categories. A heartbeat comment is sent while the stream is idle.
+     *
+     * @param lat        Latitude of the subscribed location (optional)
+     * @param lon        Longitude of the subscribed location (optional)
+     * @param radiusKm   Radius around the location in kilometers (optional)
+     * @param categories Categories to receive new posts for (optional)
+     * @return The event stream
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) List<String> categories) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UUID userId = userDetails.getUserId();
+
+        return eventStreamService.subscribe(userId, lat, lon, radiusKm, categories);
+    }
+}
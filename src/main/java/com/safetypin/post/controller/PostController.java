@@ -1,17 +1,24 @@
 package com.safetypin.post.controller;
 
+import com.safetypin.post.config.ReplicaRoutingDataSource;
 import com.safetypin.post.dto.*;
 import com.safetypin.post.exception.InvalidPostDataException;
 import com.safetypin.post.exception.PostNotFoundException;
 import com.safetypin.post.exception.UnauthorizedAccessException;
 import com.safetypin.post.model.Post;
+import com.safetypin.post.service.ContentVersions;
+import com.safetypin.post.service.PostIngestService;
+import com.safetypin.post.service.PostListingStreamer;
 import com.safetypin.post.service.PostService;
+import com.safetypin.post.service.strategy.DistanceFeedStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,7 +26,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -31,9 +40,16 @@ import java.util.function.Supplier;
 @RequestMapping("/posts")
 public class PostController {
     private final PostService postService;
+    private final PostListingStreamer postListingStreamer;
+    private final ContentVersions contentVersions;
+    private final PostIngestService postIngestService;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, PostListingStreamer postListingStreamer,
+            ContentVersions contentVersions, PostIngestService postIngestService) {
         this.postService = postService;
+        this.postListingStreamer = postListingStreamer;
+        this.contentVersions = contentVersions;
+        this.postIngestService = postIngestService;
     }
 
     // Helper method to create pagination data from a Page object
@@ -66,6 +82,28 @@ public class PostController {
         }
     }
 
+    // Errors found before the first byte is written still get a PostResponse; later ones abort the stream
+    private ResponseEntity<?> executeStreamingWithExceptionHandling(Supplier<StreamingResponseBody> action) {
+        try {
+            StreamingResponseBody body = action.get();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        } catch (InvalidPostDataException e) {
+            return createErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error occurred: {}", e.getMessage(), e);
+            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request: " + e.getMessage());
+        }
+    }
+
+    private Pageable createPageable(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidPostDataException("Page must not be negative and size must be at least 1");
+        }
+        return PageRequest.of(page, size);
+    }
+
     // Helper method to create error responses
     private ResponseEntity<PostResponse> createErrorResponse(HttpStatus status, String message) {
         PostResponse errorResponse = new PostResponse(false, message, null);
@@ -82,6 +120,23 @@ public class PostController {
                 .body(response);
     }
 
+    // Success response the client may revalidate with If-None-Match; it holds the viewer's own votes
+    private ResponseEntity<PostResponse> createSuccessResponse(Object data, String eTag) {
+        PostResponse response = new PostResponse(true, null, data);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response);
+    }
+
+    private ResponseEntity<PostResponse> createNotModifiedResponse(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+
     // Helper method to validate location parameters
     private void validateLocationParams(Double lat, Double lon) {
         if (lat == null || lon == null) {
@@ -89,6 +144,13 @@ public class PostController {
         }
     }
 
+    private void validateRadius(Double radiusKm) {
+        if (radiusKm != null && (radiusKm <= 0 || radiusKm > DistanceFeedStrategy.MAX_RADIUS_KM)) {
+            throw new InvalidPostDataException(
+                    "Radius must be between 0 and " + DistanceFeedStrategy.MAX_RADIUS_KM + " km");
+        }
+    }
+
     @GetMapping("/all")
     public ResponseEntity<PostResponse> findAll(
             @RequestParam(defaultValue = "0") int page,
@@ -109,6 +171,7 @@ public class PostController {
             List<PostData> formattedPosts = postsPage.getContent().stream()
                     .map(post -> PostData.fromPostAndUserId(post, userId, profileList.get(post.getPostedBy())))
                     .toList();
+            formattedPosts.forEach(postData -> postService.applyPendingVote(postData, userId));
 
             Map<String, Object> paginationData = createPaginationData(
                     new PageImpl<>(formattedPosts, pageable,
@@ -118,10 +181,27 @@ public class PostController {
         }, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Same response as findAll, written from a database cursor as rows arrive
+    @GetMapping(value = "/all", params = "stream=true")
+    public ResponseEntity<?> streamAll(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "30") int size) {
+        return executeStreamingWithExceptionHandling(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            UUID userId = userDetails.getUserId();
+
+            Pageable pageable = createPageable(page, size);
+            long total = postListingStreamer.countAll();
+            return out -> postListingStreamer.writeAll(out, pageable, total, userId);
+        });
+    }
+
     @GetMapping("/feed/distance")
     public ResponseEntity<PostResponse> getPostsFeedByDistance(
             @RequestParam Double lat,
             @RequestParam Double lon,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(required = false) List<String> categories,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
@@ -137,6 +217,7 @@ public class PostController {
 
             // Validate location parameters
             validateLocationParams(lat, lon);
+            validateRadius(radiusKm);
 
             // Create request DTO
             FeedRequestDTO requestDTO = FeedRequestDTO.builder()
@@ -148,13 +229,14 @@ public class PostController {
                     .size(size)
                     .lat(lat)
                     .lon(lon)
+                    .radiusKm(radiusKm)
                     .build();
 
             // Convert to FeedQueryDTO
             FeedQueryDTO queryDTO = FeedQueryDTO.fromFeedRequestAndUserId(requestDTO, userId);
 
             // Get posts using strategy pattern
-            Page<Map<String, Object>> posts = postService.getFeed(queryDTO, "distance");
+            Page<FeedItem> posts = postService.getFeed(queryDTO, "distance");
 
             // Create response with pagination data
             Map<String, Object> paginationData = createPaginationData(posts);
@@ -170,7 +252,8 @@ public class PostController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         return executeWithExceptionHandling(() -> {
             // Get user details from security context
@@ -178,6 +261,13 @@ public class PostController {
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             UUID userId = userDetails.getUserId();
 
+            // Taken before loading so a concurrent change makes the next poll reload
+            String eTag = contentVersions.feedTag("timestamp", userId, categories, keyword, dateFrom, dateTo,
+                    page, size);
+            if (ContentVersions.matches(ifNoneMatch, eTag)) {
+                return createNotModifiedResponse(eTag);
+            }
+
             // Create request DTO
             FeedRequestDTO requestDTO = FeedRequestDTO.builder()
                     .categories(categories)
@@ -191,13 +281,14 @@ public class PostController {
             // Convert to FeedQueryDTO
             FeedQueryDTO queryDTO = FeedQueryDTO.fromFeedRequestAndUserId(requestDTO, userId);
 
-            // Get posts using strategy pattern
-            Page<Map<String, Object>> posts = postService.getFeed(queryDTO, "timestamp");
+            // Get posts using strategy pattern, from the primary the tag was taken against
+            Page<FeedItem> posts = ReplicaRoutingDataSource.readFromPrimary(
+                    () -> postService.getFeed(queryDTO, "timestamp"));
 
             // Create response with pagination data
             Map<String, Object> paginationData = createPaginationData(posts);
 
-            return createSuccessResponse(paginationData);
+            return createSuccessResponse(paginationData, eTag);
         }, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -231,7 +322,7 @@ public class PostController {
             FeedQueryDTO queryDTO = FeedQueryDTO.fromFeedRequestAndUserId(requestDTO, userId);
 
             // Get posts using strategy pattern
-            Page<Map<String, Object>> posts = postService.getFeed(queryDTO, "following"); // Use "following" type
+            Page<FeedItem> posts = postService.getFeed(queryDTO, "following"); // Use "following" type
 
             // Create response with pagination data
             Map<String, Object> paginationData = createPaginationData(posts);
@@ -254,7 +345,7 @@ public class PostController {
             Pageable pageable = PageRequest.of(page, size);
 
             // Get posts sorted by timestamp with filters
-            Page<Map<String, Object>> posts;
+            Page<FeedItem> posts;
             posts = postService.findPostsByUser(postUserId, pageable);
 
             // Create response with pagination data
@@ -264,6 +355,19 @@ public class PostController {
         }, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Same response as getPostBySpecificUser, written from a database cursor as rows arrive
+    @GetMapping(value = "/user", params = "stream=true")
+    public ResponseEntity<?> streamPostsBySpecificUser(
+            @RequestParam UUID postUserId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return executeStreamingWithExceptionHandling(() -> {
+            Pageable pageable = createPageable(page, size);
+            long total = postListingStreamer.countByUser(postUserId);
+            return out -> postListingStreamer.writeByUser(out, postUserId, pageable, total);
+        });
+    }
+
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<PostResponse> createPost(
             @RequestBody PostCreateRequest request) {
@@ -290,22 +394,65 @@ public class PostController {
         }, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Posts for up to posts.batch.max-ids IDs in request order, with found: false for missing ones
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PostResponse> getPostsByIds(@RequestBody List<UUID> ids) {
+        return executeWithExceptionHandling(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            UUID userId = userDetails.getUserId();
+
+            return createSuccessResponse(postService.findPostsByIds(ids, userId));
+        }, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // One post per NDJSON line; every line gets a result, so partial success is still 200
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PostResponse> ingestPosts(InputStream body) {
+        return executeWithExceptionHandling(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+
+            List<PostIngestResult> results = postIngestService.ingest(body, userDetails);
+            long accepted = results.stream().filter(PostIngestResult::success).count();
+
+            PostResponse response = new PostResponse(
+                    true,
+                    "Created " + accepted + " of " + results.size() + " posts",
+                    Map.of(
+                            "accepted", accepted,
+                            "rejected", results.size() - accepted,
+                            "results", results));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response);
+        }, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponse> getPostById(@PathVariable UUID id) {
+    public ResponseEntity<PostResponse> getPostById(@PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return executeWithExceptionHandling(() -> {
             // Get userId from security context
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             UUID userId = userDetails.getUserId();
 
-            Post post = postService.findById(id);
+            String eTag = contentVersions.postTag(id, userId);
+            if (ContentVersions.matches(ifNoneMatch, eTag)) {
+                return createNotModifiedResponse(eTag);
+            }
+
+            Post post = ReplicaRoutingDataSource.readFromPrimary(() -> postService.findById(id));
 
             // fetch profiles
             Map<UUID, PostedByData> profileList = postService.fetchPostedByData(
                     List.of(post.getPostedBy()));
 
             PostData postData = PostData.fromPostAndUserId(post, userId, profileList.get(post.getPostedBy()));
-            return createSuccessResponse(postData);
+            postService.applyPendingVote(postData, userId);
+            return createSuccessResponse(postData, eTag);
         }, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -0,0 +1,37 @@
+package com.safetypin.post.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.safetypin.post.utils.ServerTiming;
+
+/**
+ * Marks where serialisation starts for the endpoints that report
+ * {@code Server-Timing}; the rest of the request is timed by the phases
+ * recorded while the handler ran.
+ */
+@ControllerAdvice(assignableTypes = { PostController.class, CommentController.class,
+        CommentNotificationController.class })
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return ServerTiming.current() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.startSerialising();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,10 @@
+package com.safetypin.post.dto;
+
+/**
+ * Number of posts in one category, from a count grouped by category.
+ */
+public interface CategoryPostCount {
+    String getCategory();
+
+    Long getPostCount();
+}
@@ -2,7 +2,6 @@ package com.safetypin.post.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.safetypin.post.model.BasePost;
-import com.safetypin.post.model.CommentOnPost;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -24,15 +23,22 @@ public class CommentDTO {
     private final Long commentCount;
 
     public CommentDTO(BasePost comment, PostedByData postedBy) {
-        this.id = comment.getId();
-        this.caption = comment.getCaption();
-        this.createdAt = comment.getCreatedAt();
-        this.postedById = comment.getPostedBy();
+        this(comment, postedBy, null);
+    }
+
+    // commentCount is the number of replies, loaded for the whole page by the caller; null for replies
+    public CommentDTO(BasePost comment, PostedByData postedBy, Long commentCount) {
+        this(comment.getId(), comment.getCaption(), comment.getCreatedAt(), comment.getPostedBy(), postedBy,
+                commentCount);
+    }
+
+    public CommentDTO(UUID id, String caption, LocalDateTime createdAt, UUID postedById, PostedByData postedBy,
+                      Long commentCount) {
+        this.id = id;
+        this.caption = caption;
+        this.createdAt = createdAt;
+        this.postedById = postedById;
         this.postedBy = postedBy;
-        if (comment instanceof CommentOnPost) {
-            this.commentCount = ((CommentOnPost) comment).getChildCount();
-        } else {
-            this.commentCount = null;
-        }
+        this.commentCount = commentCount;
     }
 }
@@ -0,0 +1,12 @@
+package com.safetypin.post.dto;
+
+import java.util.UUID;
+
+/**
+ * Number of replies to one comment, from a grouped count over several comments.
+ */
+public interface CommentReplyCount {
+    UUID getCommentId();
+
+    Long getReplyCount();
+}
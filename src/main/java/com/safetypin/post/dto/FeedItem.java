@@ -0,0 +1,44 @@
+package com.safetypin.post.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One entry of a feed or post listing. Serialises as {@code {"post": {...}}},
+ * or {@code {"post": {...}, "distance": 1.2}} for the distance feed, which is
+ * the shape the map-based items had.
+ */
+public record FeedItem(
+        PostData post,
+        @JsonProperty("distance")
+        @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = FeedItem.NoDistance.class)
+        double distanceKm) {
+
+    // Items outside the distance feed carry no distance and leave the field out
+    public static final double NO_DISTANCE = Double.NaN;
+
+    public static FeedItem of(PostData post) {
+        return new FeedItem(post, NO_DISTANCE);
+    }
+
+    public static FeedItem withDistance(PostData post, double distanceKm) {
+        return new FeedItem(post, distanceKm);
+    }
+
+    public boolean hasDistance() {
+        return !Double.isNaN(distanceKm);
+    }
+
+    // Jackson leaves a property out when the filter equals its value
+    public static final class NoDistance {
+        @Override
+        public boolean equals(Object value) {
+            return value instanceof Double distance && distance.isNaN();
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
@@ -23,6 +23,7 @@ public class FeedQueryDTO {
     // Only used for distance-based feed
     private Double userLat;
     private Double userLon;
+    private Double radiusKm;
 
 
     // Static converter method
@@ -46,6 +47,7 @@ public class FeedQueryDTO {
                 .pageable(page)
                 .userLat(request.getLat())
                 .userLon(request.getLon())
+                .radiusKm(request.getRadiusKm())
                 .build();
     }
 }
@@ -0,0 +1,12 @@
+package com.safetypin.post.dto;
+
+import java.util.UUID;
+
+/**
+ * Number of comments on one post, from a grouped count over several posts.
+ */
+public interface PostCommentCount {
+    UUID getPostId();
+
+    Long getCommentCount();
+}
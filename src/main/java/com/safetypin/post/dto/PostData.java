@@ -55,4 +55,36 @@ public class PostData {
                 .commentCount(post.getCommentCount())
                 .build();
     }
+
+    /**
+     * Creates a PostData object from a Post entity and counts queried for many
+     * posts at once, without loading the post's votes and comments
+     *
+     * @param post         The post entity
+     * @param votes        The post's vote counts and the viewer's vote, or null
+     *                     if it has no votes
+     * @param commentCount The number of comments on the post
+     * @return A PostData instance
+     */
+    public static PostData fromPostAndCounts(Post post, PostVoteSummary votes, long commentCount,
+            PostedByData postedByData) {
+
+        return PostData.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .caption(post.getCaption())
+                .latitude(post.getLatitude())
+                .longitude(post.getLongitude())
+                .createdAt(post.getCreatedAt())
+                .category(post.getCategory())
+                .upvoteCount(votes == null ? 0L : votes.getUpvoteCount())
+                .downvoteCount(votes == null ? 0L : votes.getDownvoteCount())
+                .currentVote(votes == null ? VoteType.NONE : votes.currentVote())
+                .postedById(post.getPostedBy())
+                .postedBy(postedByData)
+                .imageUrl(post.getImageUrl())
+                .address(post.getAddress())
+                .commentCount(commentCount)
+                .build();
+    }
 }
@@ -0,0 +1,21 @@
+package com.safetypin.post.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one line of a bulk ingest: the ID of the created post, or why the
+ * line was rejected. Lines are numbered from 1 as in the request body.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PostIngestResult(int line, boolean success, UUID id, String message) {
+
+    public static PostIngestResult accepted(int line, UUID id) {
+        return new PostIngestResult(line, true, id, null);
+    }
+
+    public static PostIngestResult rejected(int line, String message) {
+        return new PostIngestResult(line, false, null, message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.safetypin.post.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One requested ID of a multi-get and its post, or {@code "found": false}
+ * without a post when there is no post with that ID.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PostLookupResult(UUID id, boolean found, PostData post) {
+
+    public static PostLookupResult found(UUID id, PostData post) {
+        return new PostLookupResult(id, true, post);
+    }
+
+    public static PostLookupResult notFound(UUID id) {
+        return new PostLookupResult(id, false, null);
+    }
+}
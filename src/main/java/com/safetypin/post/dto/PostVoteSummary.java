@@ -0,0 +1,28 @@
+package com.safetypin.post.dto;
+
+import java.util.UUID;
+
+import com.safetypin.post.model.VoteType;
+
+/**
+ * Vote counts of one post together with the viewer's own vote, from the
+ * grouped query behind the multi-get endpoint.
+ */
+public interface PostVoteSummary {
+    UUID getPostId();
+
+    Long getUpvoteCount();
+
+    Long getDownvoteCount();
+
+    // 1 for an upvote, -1 for a downvote, 0 when the viewer has not voted
+    Long getViewerVote();
+
+    default VoteType currentVote() {
+        long vote = getViewerVote() == null ? 0 : getViewerVote();
+        if (vote > 0) {
+            return VoteType.UPVOTE;
+        }
+        return vote < 0 ? VoteType.DOWNVOTE : VoteType.NONE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.safetypin.post.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the merged "comments by user" query, covering both comments on
+ * posts and replies to comments.
+ */
+public interface UserCommentProjection {
+    UUID getId();
+
+    String getCaption();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getPostedBy();
+
+    // ID of the root post, also for replies
+    UUID getPostId();
+
+    // Name of a CommentType constant
+    String getType();
+
+    // Number of replies, null for replies themselves
+    Long getCommentCount();
+}
@@ -0,0 +1,60 @@
+package com.safetypin.post.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of moving posts from one category name to another. While a rename is
+ * running both categories exist and either name matches posts of both.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "category_renames")
+public class CategoryRename {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String oldName;
+
+    @Column(nullable = false)
+    private String newName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoryRenameStatus status = CategoryRenameStatus.RUNNING;
+
+    private long totalPosts;
+
+    private long postsMigrated;
+
+    private String errorMessage;
+
+    @Column(nullable = false, columnDefinition = "timestamp")
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false, columnDefinition = "timestamp")
+    private LocalDateTime updatedAt;
+
+    public CategoryRename(String oldName, String newName, long totalPosts) {
+        this.oldName = oldName;
+        this.newName = newName;
+        this.totalPosts = totalPosts;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+}
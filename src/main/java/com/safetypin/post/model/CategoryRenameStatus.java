@@ -0,0 +1,7 @@
+package com.safetypin.post.model;
+
+public enum CategoryRenameStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @SuperBuilder(builderMethodName = "superBuilder")
 @ToString(callSuper = true)
-@Table(name = "COMMENT_ON_COMMENT")
+@Table(name = "COMMENT_ON_COMMENT", indexes = {
+        @Index(name = "idx_comment_on_comment_parent_created_at", columnList = "parent_id, created_at")
+})
 @Getter
 @Setter
 public class CommentOnComment extends BasePost {
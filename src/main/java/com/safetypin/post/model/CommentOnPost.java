@@ -14,7 +14,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-@Table(name = "COMMENT_ON_POST")
+@Table(name = "COMMENT_ON_POST", indexes = {
+        @Index(name = "idx_comment_on_post_parent_created_at", columnList = "parent_id, created_at")
+})
 @Getter
 @Setter
 public class CommentOnPost extends BasePost {
@@ -31,9 +33,4 @@ public class CommentOnPost extends BasePost {
     protected void onCreate() {
         this.setCreatedAt(LocalDateTime.now());
     }
-
-
-    public long getChildCount() {
-        return comments == null ? 0 : comments.size();
-    }
 }
@@ -0,0 +1,65 @@
+package com.safetypin.post.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpointed state of a moderator-requested deletion of a user's content.
+ * The stage and cursor are committed with every chunk, so a job picks up where
+ * it left off after a restart.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "content_deletion_jobs")
+public class ContentDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID targetUserId;
+
+    @Column(nullable = false)
+    private UUID requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeletionJobStatus status = DeletionJobStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeletionStage stage = DeletionStage.VOTES;
+
+    // Last key processed in the current stage; chunks resume strictly after it
+    private UUID cursor;
+
+    private long rowsDeleted;
+
+    private String errorMessage;
+
+    @Column(nullable = false, columnDefinition = "timestamp")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, columnDefinition = "timestamp")
+    private LocalDateTime updatedAt;
+
+    public ContentDeletionJob(UUID targetUserId, UUID requestedBy) {
+        this.targetUserId = targetUserId;
+        this.requestedBy = requestedBy;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.safetypin.post.model;
+
+public enum DeletionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package com.safetypin.post.model;
+
+/**
+ * Steps of a user content deletion, in the order they run. Children are
+ * removed before their parents so every committed chunk leaves the tables
+ * consistent.
+ */
+public enum DeletionStage {
+    VOTES,
+    REPLIES,
+    COMMENTS,
+    POSTS,
+    DONE;
+
+    public DeletionStage next() {
+        return this == DONE ? DONE : values()[ordinal() + 1];
+    }
+}
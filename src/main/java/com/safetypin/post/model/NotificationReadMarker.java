@@ -0,0 +1,30 @@
+package com.safetypin.post.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Remembers the last time a user marked their notifications as read, so the
+ * unread count survives restarts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_read_markers")
+public class NotificationReadMarker {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false, columnDefinition = "timestamp")
+    private LocalDateTime lastReadAt;
+}
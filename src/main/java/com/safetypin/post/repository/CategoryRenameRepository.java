@@ -0,0 +1,21 @@
+package com.safetypin.post.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.safetypin.post.model.CategoryRename;
+import com.safetypin.post.model.CategoryRenameStatus;
+
+@Repository
+public interface CategoryRenameRepository extends JpaRepository<CategoryRename, UUID> {
+
+    List<CategoryRename> findByStatusIn(Collection<CategoryRenameStatus> statuses);
+
+    // Latest rename away from a category name
+    Optional<CategoryRename> findFirstByOldNameOrderByStartedAtDesc(String oldName);
+}
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,17 +13,30 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.safetypin.post.dto.CommentReplyCount;
 import com.safetypin.post.model.CommentOnComment;
 
 @Repository
 public interface CommentOnCommentRepository extends JpaRepository<CommentOnComment, UUID> {
         List<CommentOnComment> findByParentId(UUID parentId);
 
+        // Page of replies to a comment, oldest first, served by the (parent_id, created_at) index
+        Page<CommentOnComment> findByParentIdOrderByCreatedAtAscIdAsc(UUID parentId, Pageable pageable);
+
+        // Reply counts of several comments; comments without replies have no row
+        @Query("SELECT r.parent.id AS commentId, COUNT(r) AS replyCount FROM CommentOnComment r "
+                        + "WHERE r.parent.id IN :commentIds GROUP BY r.parent.id")
+        List<CommentReplyCount> countByParentIds(@Param("commentIds") List<UUID> commentIds);
+
         // Find replies to comments owned by a specific user within a time range
         @Query("SELECT r FROM CommentOnComment r WHERE r.parent.postedBy = :userId AND r.postedBy <> :userId AND r.createdAt >= :since")
         List<CommentOnComment> findRepliesToUserCommentsSince(@Param("userId") UUID userId,
                         @Param("since") LocalDateTime since);
 
+        // Count replies to comments owned by a specific user within a time range
+        @Query("SELECT COUNT(r) FROM CommentOnComment r WHERE r.parent.postedBy = :userId AND r.postedBy <> :userId AND r.createdAt >= :since")
+        long countRepliesToUserCommentsSince(@Param("userId") UUID userId, @Param("since") LocalDateTime since);
+
         // Find replies made by a specific user within a time range
         List<CommentOnComment> findByPostedByAndCreatedAtGreaterThanEqual(UUID postedBy, LocalDateTime since);
 
@@ -31,12 +46,39 @@ public interface CommentOnCommentRepository extends JpaRepository<CommentOnComme
         List<CommentOnComment> findSiblingRepliesSince(@Param("userId") UUID userId,
                         @Param("parentCommentIds") List<UUID> parentCommentIds, @Param("since") LocalDateTime since);
 
-        @Query("SELECT c FROM CommentOnComment c WHERE c.postedBy = :userId")
-        List<CommentOnComment> findCommentsByPostedBy(@Param("userId") UUID userId);
+        // Count replies by others on comments the user replied to since windowStart,
+        // created at or after since
+        @Query("SELECT COUNT(r) FROM CommentOnComment r WHERE r.parent.id IN "
+                        + "(SELECT u.parent.id FROM CommentOnComment u WHERE u.postedBy = :userId AND u.createdAt >= :windowStart) "
+                        + "AND r.postedBy <> :userId AND r.createdAt >= :since")
+        long countSiblingRepliesSince(@Param("userId") UUID userId, @Param("windowStart") LocalDateTime windowStart,
+                        @Param("since") LocalDateTime since);
+
+        // Find the distinct users who replied to a given comment
+        @Query("SELECT DISTINCT r.postedBy FROM CommentOnComment r WHERE r.parent.id = :parentId")
+        List<UUID> findReplierIdsByParentId(@Param("parentId") UUID parentId);
+
+        // Next chunk of a user's reply IDs after the given key, in key order
+        @Query("SELECT c.id FROM CommentOnComment c WHERE c.postedBy = :userId AND c.id > :after ORDER BY c.id")
+        List<UUID> findIdsByPostedByAfter(@Param("userId") UUID userId, @Param("after") UUID after,
+                        Pageable pageable);
+
+        // Delete a chunk of replies by ID
+        @Modifying
+        @Transactional
+        @Query("DELETE FROM CommentOnComment c WHERE c.id IN :ids")
+        int deleteByIdIn(@Param("ids") List<UUID> ids);
+
+        // Delete every reply to the given comments
+        @Modifying
+        @Transactional
+        @Query("DELETE FROM CommentOnComment c WHERE c.parent.id IN :commentIds")
+        int deleteByParentIdIn(@Param("commentIds") List<UUID> commentIds);
 
-        // Delete all replies made by a specific user
+        // Delete every reply to comments on the given posts
         @Modifying
         @Transactional
-        @Query("DELETE FROM CommentOnComment c WHERE c.postedBy = :userId")
-        int deleteByPostedBy(@Param("userId") UUID userId);
+        @Query("DELETE FROM CommentOnComment c WHERE c.parent.id IN "
+                        + "(SELECT p.id FROM CommentOnPost p WHERE p.parent.id IN :postIds)")
+        int deleteByPostIdIn(@Param("postIds") List<UUID> postIds);
 }
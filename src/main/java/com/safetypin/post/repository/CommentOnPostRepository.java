@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,26 +13,60 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.safetypin.post.dto.PostCommentCount;
+import com.safetypin.post.dto.UserCommentProjection;
 import com.safetypin.post.model.CommentOnPost;
 
 @Repository
 public interface CommentOnPostRepository extends JpaRepository<CommentOnPost, UUID> {
     List<CommentOnPost> findByParentId(UUID parentId);
 
+    // Page of comments on a post, newest first, served by the (parent_id, created_at) index
+    Page<CommentOnPost> findByParentIdOrderByCreatedAtDescIdDesc(UUID parentId, Pageable pageable);
+
+    // Comment counts of several posts; posts without comments have no row
+    @Query("SELECT c.parent.id AS postId, COUNT(c) AS commentCount FROM CommentOnPost c "
+            + "WHERE c.parent.id IN :postIds GROUP BY c.parent.id")
+    List<PostCommentCount> countByParentIds(@Param("postIds") List<UUID> postIds);
+
     // Find comments on posts owned by a specific user within a time range
     @Query("SELECT c FROM CommentOnPost c WHERE c.parent.postedBy = :userId AND c.postedBy <> :userId AND c.createdAt >= :since")
     List<CommentOnPost> findCommentsOnUserPostsSince(@Param("userId") UUID userId, @Param("since") LocalDateTime since);
 
+    // Count comments on posts owned by a specific user within a time range
+    @Query("SELECT COUNT(c) FROM CommentOnPost c WHERE c.parent.postedBy = :userId AND c.postedBy <> :userId AND c.createdAt >= :since")
+    long countCommentsOnUserPostsSince(@Param("userId") UUID userId, @Param("since") LocalDateTime since);
+
     // Find comments made by a specific user within a time range
     List<CommentOnPost> findByPostedByAndCreatedAtGreaterThanEqual(UUID postedBy, LocalDateTime since);
 
-    // fetch comments in profile
-    @Query("SELECT c FROM CommentOnPost c WHERE c.postedBy = :userId")
-    List<CommentOnPost> findCommentsByPostedBy(@Param("userId") UUID userId);
+    // fetch comments and replies in profile as one page, newest first
+    @Query(value = "SELECT c.id AS \"id\", c.caption AS \"caption\", c.created_at AS \"createdAt\", "
+            + "c.posted_by AS \"postedBy\", c.parent_id AS \"postId\", 'COMMENT_ON_POST' AS \"type\", "
+            + "(SELECT COUNT(*) FROM comment_on_comment r WHERE r.parent_id = c.id) AS \"commentCount\" "
+            + "FROM comment_on_post c WHERE c.posted_by = :userId "
+            + "UNION ALL "
+            + "SELECT r.id, r.caption, r.created_at, r.posted_by, p.parent_id, 'COMMENT_ON_COMMENT', NULL "
+            + "FROM comment_on_comment r JOIN comment_on_post p ON p.id = r.parent_id WHERE r.posted_by = :userId "
+            + "ORDER BY \"createdAt\" DESC, \"id\" DESC",
+            countQuery = "SELECT (SELECT COUNT(*) FROM comment_on_post c WHERE c.posted_by = :userId) "
+                    + "+ (SELECT COUNT(*) FROM comment_on_comment r WHERE r.posted_by = :userId)",
+            nativeQuery = true)
+    Page<UserCommentProjection> findCommentsByPostedBy(@Param("userId") UUID userId, Pageable pageable);
+
+    // Next chunk of a user's comment IDs after the given key, in key order
+    @Query("SELECT c.id FROM CommentOnPost c WHERE c.postedBy = :userId AND c.id > :after ORDER BY c.id")
+    List<UUID> findIdsByPostedByAfter(@Param("userId") UUID userId, @Param("after") UUID after, Pageable pageable);
+
+    // Delete a chunk of comments by ID
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CommentOnPost c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<UUID> ids);
 
-    // Delete all comments made by a specific user
+    // Delete every comment on the given posts
     @Modifying
     @Transactional
-    @Query("DELETE FROM CommentOnPost c WHERE c.postedBy = :userId")
-    int deleteByPostedBy(@Param("userId") UUID userId);
+    @Query("DELETE FROM CommentOnPost c WHERE c.parent.id IN :postIds")
+    int deleteByParentIdIn(@Param("postIds") List<UUID> postIds);
 }
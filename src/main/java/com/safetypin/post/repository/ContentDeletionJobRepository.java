@@ -0,0 +1,18 @@
+package com.safetypin.post.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.safetypin.post.model.ContentDeletionJob;
+import com.safetypin.post.model.DeletionJobStatus;
+
+@Repository
+public interface ContentDeletionJobRepository extends JpaRepository<ContentDeletionJob, UUID> {
+
+    // Jobs that were queued or interrupted and still need to run
+    List<ContentDeletionJob> findByStatusInOrderByCreatedAt(Collection<DeletionJobStatus> statuses);
+}
@@ -0,0 +1,12 @@
+package com.safetypin.post.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.safetypin.post.model.NotificationReadMarker;
+
+@Repository
+public interface NotificationReadMarkerRepository extends JpaRepository<NotificationReadMarker, UUID> {
+}
@@ -1,32 +1,88 @@
 package com.safetypin.post.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.safetypin.post.dto.CategoryPostCount;
 import com.safetypin.post.model.Post;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
     Page<Post> findByPostedByOrderByCreatedAtDesc(UUID postedBy, Pageable pageable);
 
+    long countByPostedBy(UUID postedBy);
+
+    // Cursor-backed variants of the listings above for streamed responses; callers must hold a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT p FROM Post p")
+    Stream<Post> streamAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Post> streamByPostedByOrderByCreatedAtDesc(UUID postedBy, Pageable pageable);
+
     // Added method to find posts by a list of user IDs
     List<Post> findByPostedByIn(List<UUID> postedBy);
 
     @Query("SELECT COUNT(p) FROM Post p WHERE p.postedBy = :userId AND CAST(p.createdAt AS date) = CURRENT_DATE")
     int countPostsByUserToday(@Param("userId") UUID userId);
 
-    // Delete all posts made by a specific user
+    long countByCategory(String category);
+
+    // Newest posts and per-category totals, to warm the recent posts buffer
+    List<Post> findByOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query("SELECT p.category AS category, COUNT(p) AS postCount FROM Post p GROUP BY p.category")
+    List<CategoryPostCount> countPostsByCategory();
+
+    // Posts within radiusMeters of the point, measured on a sphere like DistanceCalculator; ST_DWithin
+    // checks bounding boxes against the GiST index on location::geography (PostLocationIndex) before
+    // computing exact distances
+    @Query(value = "SELECT * FROM posts p WHERE ST_DWithin(CAST(p.location AS geography), "
+            + "CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography), :radiusMeters, false)",
+            nativeQuery = true)
+    List<Post> findWithinRadius(@Param("lat") double lat, @Param("lon") double lon,
+            @Param("radiusMeters") double radiusMeters);
+
+    // Bounded by created_at so a partitioned posts table only scans the months in range
+    List<Post> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query(value = "SELECT * FROM posts p WHERE ST_DWithin(CAST(p.location AS geography), "
+            + "CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography), :radiusMeters, false) "
+            + "AND p.created_at BETWEEN :createdFrom AND :createdTo", nativeQuery = true)
+    List<Post> findWithinRadiusCreatedBetween(@Param("lat") double lat, @Param("lon") double lon,
+            @Param("radiusMeters") double radiusMeters, @Param("createdFrom") LocalDateTime createdFrom,
+            @Param("createdTo") LocalDateTime createdTo);
+
+    // Move one bounded batch of posts to a new category name; returns 0 once none are left
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE posts SET name = :newName WHERE id IN "
+            + "(SELECT id FROM posts WHERE name = :oldName LIMIT :batchSize)", nativeQuery = true)
+    int renameCategoryBatch(@Param("oldName") String oldName, @Param("newName") String newName,
+            @Param("batchSize") int batchSize);
+
+    // Next chunk of a user's post IDs after the given key, in key order
+    @Query("SELECT p.id FROM Post p WHERE p.postedBy = :userId AND p.id > :after ORDER BY p.id")
+    List<UUID> findIdsByPostedByAfter(@Param("userId") UUID userId, @Param("after") UUID after, Pageable pageable);
+
+    // Delete a chunk of posts by ID
     @Modifying
     @Transactional
-    @Query("DELETE FROM Post p WHERE p.postedBy = :userId")
-    int deleteByPostedBy(@Param("userId") UUID userId);
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<UUID> ids);
 }
@@ -1,17 +1,64 @@
 package com.safetypin.post.repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.safetypin.post.dto.PostVoteSummary;
 import com.safetypin.post.model.Vote;
 
 public interface VoteRepository extends JpaRepository<Vote, Vote.VoteId> {
 
+    // Next chunk of post IDs a user voted on after the given key, in key order
+    @Query("SELECT v.id.post.id FROM Vote v WHERE v.id.userId = :userId AND v.id.post.id > :after ORDER BY v.id.post.id")
+    List<UUID> findPostIdsByUserIdAfter(@Param("userId") UUID userId, @Param("after") UUID after, Pageable pageable);
+
+    // A user's stored vote on a post: true for an upvote, false for a downvote, empty when there is none
+    @Query("SELECT v.isUpvote FROM Vote v WHERE v.id.userId = :userId AND v.id.post.id = :postId")
+    Optional<Boolean> findIsUpvote(@Param("userId") UUID userId, @Param("postId") UUID postId);
+
+    // Vote counts of several posts and the viewer's vote on each, in one pass over their votes;
+    // posts without votes have no row
+    @Query("SELECT v.id.post.id AS postId, "
+            + "SUM(CASE WHEN v.isUpvote = true THEN 1 ELSE 0 END) AS upvoteCount, "
+            + "SUM(CASE WHEN v.isUpvote = false THEN 1 ELSE 0 END) AS downvoteCount, "
+            + "SUM(CASE WHEN v.id.userId = :userId THEN (CASE WHEN v.isUpvote = true THEN 1 ELSE -1 END) ELSE 0 END) "
+            + "AS viewerVote "
+            + "FROM Vote v WHERE v.id.post.id IN :postIds GROUP BY v.id.post.id")
+    List<PostVoteSummary> summarizeVotes(@Param("postIds") List<UUID> postIds, @Param("userId") UUID userId);
+
+    // Delete a user's votes on a chunk of posts
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Vote v WHERE v.id.userId = :userId AND v.id.post.id IN :postIds")
+    int deleteByUserIdAndPostIdIn(@Param("userId") UUID userId, @Param("postIds") List<UUID> postIds);
+
+    // Delete every vote on the given posts
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Vote v WHERE v.id.post.id IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") List<UUID> postIds);
+
+    // Insert or flip a vote in one statement; returns 0 when the same vote already exists or the post does
+    // not, as partitioned posts have no foreign key to reject it
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO votes (user_id, post_id, is_upvote) "
+            + "SELECT :userId, :postId, :isUpvote WHERE EXISTS (SELECT 1 FROM posts WHERE id = :postId) "
+            + "ON CONFLICT (user_id, post_id) DO UPDATE SET is_upvote = EXCLUDED.is_upvote "
+            + "WHERE votes.is_upvote <> EXCLUDED.is_upvote", nativeQuery = true)
+    int upsertVote(@Param("userId") UUID userId, @Param("postId") UUID postId, @Param("isUpvote") boolean isUpvote);
+
+    // Remove a vote in one statement; returns 0 when there was nothing to remove
     @Modifying
-    @Query("DELETE FROM Vote v WHERE v.id.userId = :userId")
-    int deleteVotesByUserId(@Param("userId") UUID userId);
-}
\ No newline at end of file
+    @Transactional
+    @Query(value = "DELETE FROM votes WHERE user_id = :userId AND post_id = :postId", nativeQuery = true)
+    int deleteVote(@Param("userId") UUID userId, @Param("postId") UUID postId);
+}
@@ -0,0 +1,76 @@
+package com.safetypin.post.security;
+
+import java.io.IOException;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.utils.ServerTiming;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+
+/**
+ * Adds a {@code Server-Timing} header to responses when a moderator sends
+ * {@code X-Debug-Timing: true}. The body is buffered so the header can still
+ * be set after serialisation has been measured. Runs after the security filter
+ * chain, so the caller's role is already known.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Debug-Timing";
+    private static final String POSTS_PATH = "/posts";
+    // Event streams and streamed listings must not be buffered
+    private static final String STREAM_PATH = "/posts/stream";
+    private static final String STREAM_PARAM = "stream";
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"true".equalsIgnoreCase(request.getHeader(DEBUG_HEADER))
+                || !path.startsWith(POSTS_PATH)
+                || path.startsWith(STREAM_PATH)
+                || "true".equals(request.getParameter(STREAM_PARAM));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        if (!isModerator()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        ServerTiming timing = ServerTiming.start();
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            ServerTiming.clear();
+            // Only handlers covered by ServerTimingAdvice mark the start of serialisation
+            if (timing.isSerialising()) {
+                bufferedResponse.setHeader(ServerTiming.HEADER, timing.headerValue());
+            }
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    private boolean isModerator() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getPrincipal() instanceof UserDetails userDetails
+                && userDetails.getRole() == Role.MODERATOR;
+    }
+}
@@ -0,0 +1,186 @@
+package com.safetypin.post.seeder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.safetypin.post.seeder.SyntheticDataGenerator.SeedComment;
+import com.safetypin.post.seeder.SyntheticDataGenerator.SeedPost;
+import com.safetypin.post.seeder.SyntheticDataGenerator.SeedVote;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the database with a production-sized synthetic dataset for benchmarks
+ * and load tests, when {@code seeder.bulk.enabled=true}. Rows come from
+ * {@link SyntheticDataGenerator} and are written with JDBC batch inserts, one
+ * transaction per chunk of posts together with their votes, comments and
+ * replies. Seeding stops at the configured post count or when
+ * {@code seeder.bulk.time-budget-seconds} runs out, whichever is first; chunks
+ * already written are kept.
+ *
+ * <p>
+ * Writes PostgreSQL/PostGIS SQL. With {@code reWriteBatchedInserts=true} on the
+ * JDBC URL the driver sends each batch as multi-row inserts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seeder.bulk.enabled", havingValue = "true")
+public class BulkDataSeeder implements CommandLineRunner {
+
+    static final String POST_SQL = "INSERT INTO posts "
+            + "(id, title, caption, name, created_at, posted_by, address, location) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326))";
+    static final String VOTE_SQL = "INSERT INTO votes (user_id, post_id, is_upvote) VALUES (?, ?, ?)";
+    static final String COMMENT_SQL = "INSERT INTO comment_on_post (id, caption, created_at, posted_by, parent_id) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    static final String REPLY_SQL = "INSERT INTO comment_on_comment (id, caption, created_at, posted_by, parent_id) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    static final String CATEGORY_SQL = "INSERT INTO categories (name) VALUES (?) ON CONFLICT DO NOTHING";
+
+    private static final long PROGRESS_EVERY = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long posts;
+    private final int users;
+    private final double votesPerPost;
+    private final double commentsPerPost;
+    private final double repliesPerComment;
+    private final double clusterRadiusKm;
+    private final int days;
+    private final int batchSize;
+    private final long timeBudgetSeconds;
+    private final long seed;
+
+    public BulkDataSeeder(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${seeder.bulk.posts:1000000}") long posts,
+            @Value("${seeder.bulk.users:50000}") int users,
+            @Value("${seeder.bulk.votes-per-post:8}") double votesPerPost,
+            @Value("${seeder.bulk.comments-per-post:2}") double commentsPerPost,
+            @Value("${seeder.bulk.replies-per-comment:0.5}") double repliesPerComment,
+            @Value("${seeder.bulk.cluster-radius-km:6}") double clusterRadiusKm,
+            @Value("${seeder.bulk.days:365}") int days,
+            @Value("${seeder.bulk.batch-size:2000}") int batchSize,
+            @Value("${seeder.bulk.time-budget-seconds:900}") long timeBudgetSeconds,
+            @Value("${seeder.bulk.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.posts = posts;
+        this.users = users;
+        this.votesPerPost = votesPerPost;
+        this.commentsPerPost = commentsPerPost;
+        this.repliesPerComment = repliesPerComment;
+        this.clusterRadiusKm = clusterRadiusKm;
+        this.days = days;
+        this.batchSize = batchSize;
+        this.timeBudgetSeconds = timeBudgetSeconds;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+        long remaining = posts - (existing == null ? 0 : existing);
+        if (remaining <= 0) {
+            log.info("Bulk seeding skipped: {} posts already present", existing);
+            return;
+        }
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, users, categories(), votesPerPost,
+                commentsPerPost, repliesPerComment, clusterRadiusKm, days, LocalDateTime.now());
+        Totals totals = seed(generator, remaining, System.nanoTime() + TimeUnit.SECONDS.toNanos(timeBudgetSeconds));
+
+        // Fresh statistics, so benchmark query plans match a database that grew to this size
+        jdbcTemplate.execute("ANALYZE posts, votes, comment_on_post, comment_on_comment");
+        log.info("Bulk seeding wrote {} posts, {} votes, {} comments and {} replies in {} s{}", totals.posts,
+                totals.votes, totals.comments, totals.replies, totals.elapsedSeconds(),
+                totals.posts < remaining ? " (time budget reached)" : "");
+    }
+
+    Totals seed(SyntheticDataGenerator generator, long count, long deadlineNanos) {
+        Totals totals = new Totals(System.nanoTime());
+        while (totals.posts < count && System.nanoTime() - deadlineNanos < 0) {
+            int chunk = (int) Math.min(batchSize, count - totals.posts);
+            List<Object[]> postRows = new ArrayList<>(chunk);
+            List<Object[]> voteRows = new ArrayList<>();
+            List<Object[]> commentRows = new ArrayList<>();
+            List<Object[]> replyRows = new ArrayList<>();
+
+            for (int i = 0; i < chunk; i++) {
+                SeedPost post = generator.post();
+                postRows.add(new Object[] { post.id(), post.title(), post.caption(), post.category(),
+                        Timestamp.valueOf(post.createdAt()), post.postedBy(), post.address(), post.longitude(),
+                        post.latitude() });
+                for (SeedVote vote : generator.votes(post)) {
+                    voteRows.add(new Object[] { vote.userId(), vote.postId(), vote.upvote() });
+                }
+                for (SeedComment comment : generator.comments(post)) {
+                    commentRows.add(commentRow(comment));
+                    for (SeedComment reply : generator.replies(comment)) {
+                        replyRows.add(commentRow(reply));
+                    }
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(POST_SQL, postRows);
+                jdbcTemplate.batchUpdate(VOTE_SQL, voteRows);
+                jdbcTemplate.batchUpdate(COMMENT_SQL, commentRows);
+                jdbcTemplate.batchUpdate(REPLY_SQL, replyRows);
+            });
+
+            long before = totals.posts;
+            totals.posts += postRows.size();
+            totals.votes += voteRows.size();
+            totals.comments += commentRows.size();
+            totals.replies += replyRows.size();
+            if (totals.posts / PROGRESS_EVERY != before / PROGRESS_EVERY) {
+                log.info("Bulk seeding: {} of {} posts after {} s", totals.posts, count, totals.elapsedSeconds());
+            }
+        }
+        return totals;
+    }
+
+    private List<String> categories() {
+        List<String> categories = jdbcTemplate.queryForList("SELECT name FROM categories", String.class);
+        if (!categories.isEmpty()) {
+            return categories;
+        }
+        jdbcTemplate.batchUpdate(CATEGORY_SQL, DevDataSeeder.CATEGORY_NAMES.stream()
+                .map(name -> new Object[] { name })
+                .toList());
+        return DevDataSeeder.CATEGORY_NAMES;
+    }
+
+    private static Object[] commentRow(SeedComment comment) {
+        return new Object[] { comment.id(), comment.caption(), Timestamp.valueOf(comment.createdAt()),
+                comment.postedBy(), comment.parentId() };
+    }
+
+    static final class Totals {
+        private final long startNanos;
+        long posts;
+        long votes;
+        long comments;
+        long replies;
+
+        private Totals(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        long elapsedSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        }
+    }
+}
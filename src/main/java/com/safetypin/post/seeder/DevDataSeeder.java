@@ -19,6 +19,17 @@ import java.util.UUID;
 @Configuration
 @Profile({"dev", "staging"})
 public class DevDataSeeder implements CommandLineRunner {
+    static final List<String> CATEGORY_NAMES = List.of(
+            "Lost Item",
+            "Infrastructure Issue",
+            "Crime Watch",
+            "Lost Book",
+            "Lost Pet",
+            "Service Issue",
+            "Flooding",
+            "Stolen Vehicle"
+    );
+
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
 
@@ -43,16 +54,9 @@ public class DevDataSeeder implements CommandLineRunner {
         }
 
         // Define categories
-        List<Category> categories = Arrays.asList(
-                new Category("Lost Item"),
-                new Category("Infrastructure Issue"),
-                new Category("Crime Watch"),
-                new Category("Lost Book"),
-                new Category("Lost Pet"),
-                new Category("Service Issue"),
-                new Category("Flooding"),
-                new Category("Stolen Vehicle")
-        );
+        List<Category> categories = CATEGORY_NAMES.stream()
+                .map(Category::new)
+                .toList();
 
         // Save all categories
         categoryRepository.saveAll(categories);
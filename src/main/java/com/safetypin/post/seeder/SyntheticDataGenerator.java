@@ -0,0 +1,223 @@
+package com.safetypin.post.seeder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import net.datafaker.Faker;
+
+/**
+ * Generates posts, votes, comments and replies for {@link BulkDataSeeder}.
+ * Posts are spread around real cities in proportion to their population, a few
+ * users write most of the posts and a few posts get most of the engagement, as
+ * in production. The seed fixes the user pool and the texts; row IDs are random
+ * so a later run adds to the rows of an earlier one.
+ *
+ * <p>
+ * Datafaker is too slow to call for every row of a multi-million row dataset,
+ * so it fills pools of texts up front and rows draw from those.
+ */
+class SyntheticDataGenerator {
+
+    record City(String name, double latitude, double longitude, double weight) {
+    }
+
+    record SeedPost(UUID id, String title, String caption, String category, LocalDateTime createdAt,
+            double latitude, double longitude, UUID postedBy, String address) {
+    }
+
+    record SeedComment(UUID id, UUID parentId, String caption, LocalDateTime createdAt, UUID postedBy) {
+    }
+
+    record SeedVote(UUID userId, UUID postId, boolean upvote) {
+    }
+
+    // Weighted by population in millions
+    static final List<City> CITIES = List.of(
+            new City("Jakarta", -6.2088, 106.8456, 10.6),
+            new City("Surabaya", -7.2575, 112.7521, 2.9),
+            new City("Bekasi", -6.2383, 106.9756, 2.5),
+            new City("Bandung", -6.9175, 107.6191, 2.5),
+            new City("Medan", 3.5952, 98.6722, 2.4),
+            new City("Depok", -6.4025, 106.7942, 2.1),
+            new City("Tangerang", -6.1783, 106.6319, 1.9),
+            new City("Semarang", -6.9667, 110.4167, 1.7),
+            new City("Palembang", -2.9761, 104.7754, 1.7),
+            new City("Makassar", -5.1477, 119.4327, 1.4),
+            new City("Bogor", -6.5971, 106.8060, 1.1),
+            new City("Denpasar", -8.6705, 115.2126, 0.7),
+            new City("Yogyakarta", -7.7956, 110.3695, 0.4));
+
+    private static final int TEXT_POOL_SIZE = 2000;
+    private static final double KM_PER_DEGREE = 111.32;
+    // Higher values concentrate authorship and votes on fewer users
+    private static final double USER_SKEW = 3.0;
+    private static final double UPVOTE_SHARE = 0.8;
+
+    private final Random random;
+    private final List<UUID> users;
+    private final List<String> categories;
+    private final double votesPerPost;
+    private final double commentsPerPost;
+    private final double repliesPerComment;
+    private final double clusterRadiusKm;
+    private final long spanSeconds;
+    private final LocalDateTime now;
+    private final double totalCityWeight;
+
+    private final Map<String, List<String>> titles = new HashMap<>();
+    private final List<String> captions;
+    private final List<String> addresses;
+    private final List<String> comments;
+
+    SyntheticDataGenerator(long seed, int userCount, List<String> categories, double votesPerPost,
+            double commentsPerPost, double repliesPerComment, double clusterRadiusKm, int days,
+            LocalDateTime now) {
+        this.random = new Random(seed);
+        this.categories = List.copyOf(categories);
+        this.votesPerPost = votesPerPost;
+        this.commentsPerPost = commentsPerPost;
+        this.repliesPerComment = repliesPerComment;
+        this.clusterRadiusKm = clusterRadiusKm;
+        this.spanSeconds = days * 86_400L;
+        this.now = now;
+        this.totalCityWeight = CITIES.stream().mapToDouble(City::weight).sum();
+
+        users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        Faker faker = new Faker(Locale.of("id", "ID"), random);
+        for (String category : this.categories) {
+            titles.put(category, pool(() -> title(faker, category)));
+        }
+        captions = pool(() -> faker.lorem().paragraph(1 + random.nextInt(3)));
+        addresses = pool(() -> faker.address().streetAddress());
+        comments = pool(() -> faker.lorem().sentence(3 + random.nextInt(12)));
+    }
+
+    List<UUID> users() {
+        return users;
+    }
+
+    SeedPost post() {
+        City city = city();
+        // Normally distributed around the city centre, so density falls off with distance
+        double latitude = city.latitude() + random.nextGaussian() * clusterRadiusKm / KM_PER_DEGREE;
+        double longitude = city.longitude() + random.nextGaussian() * clusterRadiusKm
+                / (KM_PER_DEGREE * Math.cos(Math.toRadians(city.latitude())));
+        String category = categories.get(random.nextInt(categories.size()));
+
+        return new SeedPost(UUID.randomUUID(), pick(titles.get(category)), pick(captions), category,
+                createdAt(), clamp(latitude, -90, 90), clamp(longitude, -180, 180), user(), pick(addresses));
+    }
+
+    List<SeedVote> votes(SeedPost post) {
+        int count = Math.min(count(votesPerPost), users.size());
+        // Voters are distinct per post, as (user_id, post_id) is the key
+        Set<UUID> voters = new HashSet<>();
+        int attempts = 0;
+        while (voters.size() < count) {
+            // Falls back to uniform picks once the busiest users are taken, so large counts still finish
+            voters.add(attempts++ < 4 * count ? user() : users.get(random.nextInt(users.size())));
+        }
+        List<SeedVote> votes = new ArrayList<>(count);
+        for (UUID voter : voters) {
+            votes.add(new SeedVote(voter, post.id(), random.nextDouble() < UPVOTE_SHARE));
+        }
+        return votes;
+    }
+
+    List<SeedComment> comments(SeedPost post) {
+        return comments(post.id(), post.createdAt(), count(commentsPerPost));
+    }
+
+    List<SeedComment> replies(SeedComment comment) {
+        return comments(comment.id(), comment.createdAt(), count(repliesPerComment));
+    }
+
+    private List<SeedComment> comments(UUID parentId, LocalDateTime after, int count) {
+        List<SeedComment> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new SeedComment(UUID.randomUUID(), parentId, pick(comments), after(after), user()));
+        }
+        return result;
+    }
+
+    private City city() {
+        double target = random.nextDouble() * totalCityWeight;
+        for (City city : CITIES) {
+            target -= city.weight();
+            if (target < 0) {
+                return city;
+            }
+        }
+        return CITIES.get(CITIES.size() - 1);
+    }
+
+    private UUID user() {
+        return users.get((int) (users.size() * Math.pow(random.nextDouble(), USER_SKEW)));
+    }
+
+    // Exponentially distributed with the given mean: most posts get little, a few get a lot
+    private int count(double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double count = -mean * Math.log(1 - random.nextDouble());
+        // Rounding up with probability equal to the fraction keeps small means (0.5 replies) unbiased
+        return (int) Math.floor(count + random.nextDouble());
+    }
+
+    // Recent posts are more common than old ones
+    private LocalDateTime createdAt() {
+        double age = random.nextDouble();
+        return now.minusSeconds((long) (age * age * spanSeconds));
+    }
+
+    private LocalDateTime after(LocalDateTime time) {
+        long remaining = Math.max(1, Duration.between(time, now).toSeconds());
+        return time.plusSeconds((long) (remaining * Math.pow(random.nextDouble(), 4)));
+    }
+
+    private String pick(List<String> pool) {
+        return pool.get(random.nextInt(pool.size()));
+    }
+
+    private static List<String> pool(Supplier<String> generator) {
+        List<String> pool = new ArrayList<>(TEXT_POOL_SIZE);
+        for (int i = 0; i < TEXT_POOL_SIZE; i++) {
+            pool.add(generator.get());
+        }
+        return pool;
+    }
+
+    private static String title(Faker faker, String category) {
+        String street = faker.address().streetName();
+        return switch (category) {
+            case "Lost Item" -> "Lost " + faker.commerce().productName() + " near " + street;
+            case "Lost Pet" -> "Lost " + faker.animal().name() + " near " + street;
+            case "Lost Book" -> "Lost book \"" + faker.book().title() + "\"";
+            case "Stolen Vehicle" -> "Stolen " + faker.vehicle().makeAndModel() + " on " + street;
+            case "Flooding" -> "Flooding on " + street;
+            case "Crime Watch" -> "Robbery reported near " + street;
+            case "Infrastructure Issue" -> "Damaged road on " + street;
+            case "Service Issue" -> "Service outage around " + street;
+            default -> category + " on " + street;
+        };
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
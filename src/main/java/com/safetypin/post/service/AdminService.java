@@ -1,18 +1,14 @@
 package com.safetypin.post.service;
 
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.safetypin.post.exception.UnauthorizedAccessException;
+import com.safetypin.post.model.ContentDeletionJob;
 import com.safetypin.post.model.Role;
-import com.safetypin.post.repository.CommentOnCommentRepository;
-import com.safetypin.post.repository.CommentOnPostRepository;
-import com.safetypin.post.repository.PostRepository;
-import com.safetypin.post.repository.VoteRepository;
+import com.safetypin.post.repository.ContentDeletionJobRepository;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,54 +18,42 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class AdminService {
 
-    private final PostRepository postRepository;
-    private final CommentOnPostRepository commentOnPostRepository;
-    private final CommentOnCommentRepository commentOnCommentRepository;
-    private final VoteRepository voteRepository;
+    private final ContentDeletionJobRepository contentDeletionJobRepository;
+    private final ContentDeletionJobRunner contentDeletionJobRunner;
 
     /**
-     * Asynchronously deletes all content created by a specific user.
-     * This includes posts, comments on posts, comments on comments, and votes.
+     * Queues a background job that deletes all content created by a specific user.
+     * This includes posts, comments on posts, comments on comments, and votes, as
+     * well as other users' votes and comments on the deleted posts and comments.
      * 
      * @param userId        The ID of the user whose content should be deleted
      * @param moderatorId   The ID of the moderator who is performing the deletion
      * @param moderatorRole The role of the moderator performing the deletion
-     * @return A CompletableFuture that will be completed when the deletion is done
+     * @return The queued job, whose progress can be looked up by its ID
      * @throws UnauthorizedAccessException if the user performing the deletion is
      *                                     not a MODERATOR
      */
-    @Async
-    @Transactional
-    public CompletableFuture<Void> deleteAllUserContent(UUID userId, UUID moderatorId, Role moderatorRole) {
+    public ContentDeletionJob deleteAllUserContent(UUID userId, UUID moderatorId, Role moderatorRole) {
         // Check if the user is authorized to perform this operation
         if (moderatorRole != Role.MODERATOR) {
             log.error("Unauthorized deletion attempt by user {}: not a moderator", moderatorId);
             throw new UnauthorizedAccessException("Only moderators can delete user content");
         }
 
-        log.info("Starting asynchronous deletion of all content for user {} by moderator {}", userId, moderatorId);
+        ContentDeletionJob job = contentDeletionJobRepository.save(new ContentDeletionJob(userId, moderatorId));
+        log.info("Queued content deletion job {} for user {} by moderator {}", job.getId(), userId, moderatorId);
 
-        try {
-            // The deletion order is important to maintain referential integrity
-
-            // 1. Delete votes by the user (no dependencies)
-            voteRepository.deleteVotesByUserId(userId);
-
-            // 2. Delete comments on comments (child comments)
-            commentOnCommentRepository.deleteByPostedBy(userId);
-
-            // 3. Delete comments on posts (parent comments)
-            commentOnPostRepository.deleteByPostedBy(userId);
-
-            // 4. Delete posts
-            postRepository.deleteByPostedBy(userId);
-
-            log.info("Successfully completed deletion of all content for user {} by moderator {}", userId, moderatorId);
-            return CompletableFuture.completedFuture(null);
+        contentDeletionJobRunner.submit(job.getId());
+        return job;
+    }
 
-        } catch (Exception e) {
-            log.error("Error while deleting content for user {}: {}", userId, e.getMessage(), e);
-            throw e;
-        }
+    /**
+     * Looks up the progress of a content deletion job.
+     *
+     * @param jobId The ID returned when the deletion was requested
+     * @return The job, or empty if no such job exists
+     */
+    public Optional<ContentDeletionJob> getDeletionJob(UUID jobId) {
+        return contentDeletionJobRepository.findById(jobId);
     }
 }
@@ -0,0 +1,178 @@
+package com.safetypin.post.service;
+
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client-side metrics for calls to the auth service, tagged by endpoint path:
+ *
+ * <ul>
+ * <li>{@code auth.client.requests}: latency histogram, tagged {@code outcome}
+ * and {@code exception}</li>
+ * <li>{@code auth.client.batch.size}: user IDs sent per call</li>
+ * <li>{@code auth.client.response.size}: entries returned per call</li>
+ * <li>{@code auth.client.errors}: failed calls, tagged {@code exception}: the
+ * exception class, or {@code HttpStatus<code>} and {@code EmptyBody} for
+ * responses without the expected body</li>
+ * <li>{@code auth.client.timeouts}: connect and read timeouts</li>
+ * </ul>
+ *
+ * Calls slower than the threshold are logged and kept in a bounded rolling
+ * log, exposed through the {@code authslowcalls} actuator endpoint.
+ */
+@Slf4j
+@Component
+public class AuthClientMetrics {
+
+    public static final String PROFILES_BATCH = "/api/profiles/batch";
+    public static final String FOLLOWING = "/api/follow/following";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final long slowCallThresholdNanos;
+    private final int slowCallLogSize;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    // Newest first; slow calls are rare enough for a lock
+    private final Deque<SlowCall> slowCalls = new ArrayDeque<>();
+
+    public record SlowCall(Instant at, String endpoint, long durationMillis, int requestedIds, int returnedIds,
+            String error) {
+    }
+
+    public AuthClientMetrics(MeterRegistry registry,
+            @Value("${auth.client.slow-call-threshold-ms:500}") long slowCallThresholdMillis,
+            @Value("${auth.client.slow-call-log-size:100}") int slowCallLogSize) {
+        this.registry = registry;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMillis);
+        this.slowCallLogSize = slowCallLogSize;
+    }
+
+    // Meters that record nothing, for code built outside the Spring context
+    public static AuthClientMetrics noop() {
+        return new AuthClientMetrics(new CompositeMeterRegistry(), 500, 100);
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void recordSuccess(String endpoint, int requestedIds, int returnedIds, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        timer(endpoint, "success", NONE).record(elapsed, TimeUnit.NANOSECONDS);
+        summary("auth.client.batch.size", endpoint).record(requestedIds);
+        summary("auth.client.response.size", endpoint).record(returnedIds);
+        if (elapsed >= slowCallThresholdNanos) {
+            logSlowCall(new SlowCall(Instant.now(), endpoint, TimeUnit.NANOSECONDS.toMillis(elapsed), requestedIds,
+                    returnedIds, null));
+        }
+    }
+
+    public void recordFailure(String endpoint, int requestedIds, Exception error, long startedAt) {
+        // ResourceAccessException only says "I/O error"; the cause tells a refused connection from a timeout
+        recordError(endpoint, requestedIds, rootCause(error).getClass().getSimpleName(), isTimeout(error), startedAt);
+    }
+
+    // A call that returned without the expected body: a status RestTemplate does not throw for, or no body
+    public void recordBadResponse(String endpoint, int requestedIds, ResponseEntity<?> response, long startedAt) {
+        String reason = response.getStatusCode().is2xxSuccessful()
+                ? "EmptyBody"
+                : "HttpStatus" + response.getStatusCode().value();
+        recordError(endpoint, requestedIds, reason, false, startedAt);
+    }
+
+    private void recordError(String endpoint, int requestedIds, String exception, boolean timeout, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        timer(endpoint, "error", exception).record(elapsed, TimeUnit.NANOSECONDS);
+        summary("auth.client.batch.size", endpoint).record(requestedIds);
+        counters.computeIfAbsent("errors|" + endpoint + '|' + exception, k -> Counter.builder("auth.client.errors")
+                .tag("endpoint", endpoint)
+                .tag("exception", exception)
+                .register(registry))
+                .increment();
+        if (timeout) {
+            counters.computeIfAbsent("timeouts|" + endpoint, k -> Counter.builder("auth.client.timeouts")
+                    .tag("endpoint", endpoint)
+                    .register(registry))
+                    .increment();
+        }
+        if (elapsed >= slowCallThresholdNanos) {
+            logSlowCall(new SlowCall(Instant.now(), endpoint, TimeUnit.NANOSECONDS.toMillis(elapsed), requestedIds,
+                    0, exception));
+        }
+    }
+
+    public List<SlowCall> recentSlowCalls() {
+        synchronized (slowCalls) {
+            return new ArrayList<>(slowCalls);
+        }
+    }
+
+    private void logSlowCall(SlowCall call) {
+        log.warn("Slow auth service call to {}: {} ms for {} requested IDs, {} returned{}", call.endpoint(),
+                call.durationMillis(), call.requestedIds(), call.returnedIds(),
+                call.error() != null ? " (" + call.error() + ")" : "");
+        synchronized (slowCalls) {
+            slowCalls.addFirst(call);
+            while (slowCalls.size() > slowCallLogSize) {
+                slowCalls.removeLast();
+            }
+        }
+    }
+
+    // Connect and read timeouts surface as the cause of a ResourceAccessException
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedIOException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private Timer timer(String endpoint, String outcome, String exception) {
+        return timers.computeIfAbsent(endpoint + '|' + outcome + '|' + exception,
+                k -> Timer.builder("auth.client.requests")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .tag("exception", exception)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+
+    private DistributionSummary summary(String name, String endpoint) {
+        return summaries.computeIfAbsent(name + '|' + endpoint, k -> DistributionSummary.builder(name)
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
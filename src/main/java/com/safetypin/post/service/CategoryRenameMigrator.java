@@ -0,0 +1,175 @@
+package com.safetypin.post.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.safetypin.post.model.CategoryRename;
+import com.safetypin.post.model.CategoryRenameStatus;
+import com.safetypin.post.repository.CategoryRenameRepository;
+import com.safetypin.post.repository.CategoryRepository;
+import com.safetypin.post.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves posts to a renamed category in the background, one bounded batch per
+ * transaction. Until a rename finishes, the old and new names are treated as
+ * aliases of each other so feed filters keep matching every post.
+ */
+@Slf4j
+@Component
+public class CategoryRenameMigrator {
+
+    private final CategoryRenameRepository categoryRenameRepository;
+    private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+    private final ContentVersions contentVersions;
+    private final int batchSize;
+    private final long batchPauseMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "category-rename");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Both directions of every running rename, read lock-free by feed requests
+    private final Map<String, String> aliases = new ConcurrentHashMap<>();
+    private final Map<String, String> renamedTo = new ConcurrentHashMap<>();
+
+    public CategoryRenameMigrator(CategoryRenameRepository categoryRenameRepository,
+            CategoryRepository categoryRepository,
+            PostRepository postRepository,
+            ContentVersions contentVersions,
+            @Value("${category.rename.batch-size:500}") int batchSize,
+            @Value("${category.rename.batch-pause-ms:50}") long batchPauseMillis) {
+        this.categoryRenameRepository = categoryRenameRepository;
+        this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
+        this.contentVersions = contentVersions;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+    }
+
+    public void start(CategoryRename rename) {
+        aliases.put(rename.getOldName(), rename.getNewName());
+        aliases.put(rename.getNewName(), rename.getOldName());
+        renamedTo.put(rename.getOldName(), rename.getNewName());
+        executor.execute(() -> migrate(rename));
+    }
+
+    // Failed renames are retried too: both categories still exist with posts split between them
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRenames() {
+        List<CategoryRename> unfinished = categoryRenameRepository.findByStatusIn(
+                List.of(CategoryRenameStatus.RUNNING, CategoryRenameStatus.FAILED));
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} unfinished category renames", unfinished.size());
+        }
+        unfinished.forEach(rename -> {
+            rename.setStatus(CategoryRenameStatus.RUNNING);
+            rename.setErrorMessage(null);
+            start(rename);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // An interrupted rename stays RUNNING and picks up the remaining posts on the next start
+        executor.shutdownNow();
+    }
+
+    public boolean isMigrating() {
+        return !aliases.isEmpty();
+    }
+
+    public boolean isRenaming(String categoryName) {
+        return aliases.containsKey(categoryName);
+    }
+
+    /**
+     * Adds the other name of any category that is mid-rename, so a filter on
+     * either name matches posts that have and have not been moved yet.
+     */
+    public List<String> withAliases(List<String> categories) {
+        if (categories == null || categories.isEmpty() || aliases.isEmpty()) {
+            return categories;
+        }
+        List<String> expanded = new ArrayList<>(categories);
+        for (String category : categories) {
+            String alias = aliases.get(category);
+            if (alias != null && !expanded.contains(alias)) {
+                expanded.add(alias);
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Maps an old category name to its new one while the rename runs, so posts
+     * created mid-migration are not left behind.
+     */
+    public String currentName(String categoryName) {
+        return renamedTo.getOrDefault(categoryName, categoryName);
+    }
+
+    void migrate(CategoryRename rename) {
+        try {
+            int updated;
+            do {
+                updated = postRepository.renameCategoryBatch(rename.getOldName(), rename.getNewName(), batchSize);
+                if (updated > 0) {
+                    contentVersions.postsChanged();
+                    rename.setPostsMigrated(rename.getPostsMigrated() + updated);
+                    rename = save(rename);
+                    TimeUnit.MILLISECONDS.sleep(batchPauseMillis);
+                }
+            } while (updated > 0);
+
+            categoryRepository.deleteById(rename.getOldName());
+            contentVersions.categoriesChanged();
+            rename.setStatus(CategoryRenameStatus.COMPLETED);
+            save(rename);
+            log.info("Renamed category '{}' to '{}', {} posts moved", rename.getOldName(), rename.getNewName(),
+                    rename.getPostsMigrated());
+            release(rename);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Category rename '{}' to '{}' paused by shutdown", rename.getOldName(), rename.getNewName());
+        } catch (Exception e) {
+            log.error("Category rename '{}' to '{}' failed: {}", rename.getOldName(), rename.getNewName(),
+                    e.getMessage(), e);
+            rename.setStatus(CategoryRenameStatus.FAILED);
+            rename.setErrorMessage(e.getMessage());
+            try {
+                save(rename);
+            } catch (Exception saveError) {
+                log.error("Could not record failure of category rename {}: {}", rename.getId(),
+                        saveError.getMessage());
+            }
+            // Keep the aliases until a restart retries the rename
+        }
+    }
+
+    private void release(CategoryRename rename) {
+        aliases.remove(rename.getOldName());
+        aliases.remove(rename.getNewName());
+        renamedTo.remove(rename.getOldName());
+    }
+
+    private CategoryRename save(CategoryRename rename) {
+        rename.setUpdatedAt(LocalDateTime.now());
+        return categoryRenameRepository.save(rename);
+    }
+}
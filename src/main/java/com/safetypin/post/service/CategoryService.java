@@ -2,9 +2,11 @@ package com.safetypin.post.service;
 
 import com.safetypin.post.exception.CategoryException;
 import com.safetypin.post.model.Category;
+import com.safetypin.post.model.CategoryRename;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public interface CategoryService {
@@ -16,4 +18,6 @@ public interface CategoryService {
     List<Category> getAllCategories();
 
     Category updateCategoryName(String oldCategoryName, String newCategoryName) throws CategoryException;
+
+    Optional<CategoryRename> getRenameStatus(String oldCategoryName);
 }
@@ -2,10 +2,10 @@ package com.safetypin.post.service;
 
 import com.safetypin.post.exception.CategoryException;
 import com.safetypin.post.model.Category;
+import com.safetypin.post.model.CategoryRename;
+import com.safetypin.post.repository.CategoryRenameRepository;
 import com.safetypin.post.repository.CategoryRepository;
 import com.safetypin.post.repository.PostRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,20 +13,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
-
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final PostRepository postRepository;
+    private final CategoryRenameRepository categoryRenameRepository;
+    private final CategoryRenameMigrator categoryRenameMigrator;
+    private final ContentVersions contentVersions;
 
     @Autowired
     public CategoryServiceImpl(CategoryRepository categoryRepository, PostRepository postRepository,
-                               EntityManager entityManager) {
+                               CategoryRenameRepository categoryRenameRepository,
+                               CategoryRenameMigrator categoryRenameMigrator,
+                               ContentVersions contentVersions) {
         this.categoryRepository = categoryRepository;
-        this.entityManager = entityManager;
+        this.postRepository = postRepository;
+        this.categoryRenameRepository = categoryRenameRepository;
+        this.categoryRenameMigrator = categoryRenameMigrator;
+        this.contentVersions = contentVersions;
     }
 
     @Override
@@ -40,6 +47,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CategoryException(e.getMessage());
         }
 
+        contentVersions.categoriesChanged();
         return category;
     }
 
@@ -49,12 +57,18 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
+    /**
+     * Creates the new category and starts moving posts to it in the background.
+     * The old category stays valid for filtering and posting until the migration
+     * finishes, after which it is removed. Progress is available through
+     * {@link #getRenameStatus(String)}.
+     */
     @Override
-    @Transactional
     public Category updateCategoryName(String oldCategoryName, String newCategoryName) throws CategoryException {
         Category oldCategory = getCategoryByName(oldCategoryName);
 
@@ -73,26 +87,30 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CategoryException("Category with name " + newCategoryName + " already exists");
         }
 
+        if (categoryRenameMigrator.isRenaming(oldCategoryName)) {
+            throw new CategoryException("Category " + oldCategoryName + " is already being renamed");
+        }
+
         // First create and save the new category
         Category newCategory = new Category(newCategoryName);
 
         // Save new category first
         categoryRepository.saveAndFlush(newCategory);
+        contentVersions.categoriesChanged();
 
-        // Use a native query to update all posts - this avoids the entity relationship
-        // issues
-        int updatedCount = entityManager.createNativeQuery(
-                        "UPDATE posts SET name = :newCategory WHERE name = :oldCategory")
-                .setParameter("newCategory", newCategoryName)
-                .setParameter("oldCategory", oldCategoryName)
-                .executeUpdate();
-
-        log.info("Updated {} posts from category '{}' to '{}'",
-                updatedCount, oldCategoryName, newCategoryName);
+        // Posts are moved in bounded batches off the request thread
+        CategoryRename rename = categoryRenameRepository.save(new CategoryRename(
+                oldCategoryName, newCategoryName, postRepository.countByCategory(oldCategoryName)));
+        categoryRenameMigrator.start(rename);
 
-        // Delete the old category
-        categoryRepository.delete(oldCategory);
+        log.info("Started moving {} posts from category '{}' to '{}'",
+                rename.getTotalPosts(), oldCategoryName, newCategoryName);
 
         return newCategory;
     }
+
+    @Override
+    public Optional<CategoryRename> getRenameStatus(String oldCategoryName) {
+        return categoryRenameRepository.findFirstByOldNameOrderByStartedAtDesc(oldCategoryName);
+    }
 }
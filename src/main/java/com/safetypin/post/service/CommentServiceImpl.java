@@ -14,13 +14,15 @@ import com.safetypin.post.repository.PostRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 
 
 @Slf4j
@@ -31,105 +33,87 @@ public class CommentServiceImpl implements CommentService {
     private final PostService postService;
     private final CommentOnPostRepository commentOnPostRepository;
     private final CommentOnCommentRepository commentOnCommentRepository;
+    private final NotificationService notificationService;
+    private final ContentVersions contentVersions;
+    private final RecentWriters recentWriters;
 
     // fetch all comments by postedBy
+    @Transactional(readOnly = true)
     public Page<CommentDTOWithPostId> getCommentsByPostedBy(UUID postedBy, Pageable pageable) {
-        // fetch commentOnPOst & commentOnComment
-        List<CommentOnPost> commentOnPosts = commentOnPostRepository.findCommentsByPostedBy(postedBy);
-        List<CommentOnComment> commentOnComments = commentOnCommentRepository.findCommentsByPostedBy(postedBy);
+        // fetch one page of commentOnPost & commentOnComment, merged and sorted in SQL
+        Page<UserCommentProjection> comments = commentOnPostRepository.findCommentsByPostedBy(postedBy,
+                withoutSort(pageable));
 
-
-        // fetch UUID createdBy
-        List<UUID> createdByList = new ArrayList<>(commentOnPosts.stream().map(BasePost::getPostedBy).distinct().toList());
-        List<UUID> createdByList2 = commentOnComments.stream().map(BasePost::getPostedBy).distinct().toList();
-        createdByList.addAll(createdByList2);
-
-        // fetch batch
-        Map<UUID, PostedByData> profileList = postService.fetchPostedByData(createdByList);
+        // every row is posted by the same user, so one profile covers the page
+        Map<UUID, PostedByData> profileList = comments.isEmpty() ? Collections.emptyMap()
+                : postService.fetchPostedByData(List.of(postedBy));
 
         // convert to DTO
-        List<CommentDTOWithPostId> commentOnPostsDTO = commentOnPosts.stream().map(commentOnPost ->
-                new CommentDTOWithPostId(
-                        new CommentDTO(commentOnPost, profileList.get(commentOnPost.getPostedBy())),
-                        commentOnPost.getParent().getId(),
-                        CommentType.COMMENT_ON_POST
-                )).toList();
-        List<CommentDTOWithPostId> commentOnCommentsDTO = commentOnComments.stream().map(commentOnComment ->
-                new CommentDTOWithPostId(
-                        new CommentDTO(commentOnComment, profileList.get(commentOnComment.getPostedBy())),
-                        commentOnComment.getParent().getParent().getId(),
-                        CommentType.COMMENT_ON_COMMENT
-                )).toList();
-
-        // merge
-        List<CommentDTOWithPostId> comments = new ArrayList<>();
-        comments.addAll(commentOnPostsDTO);
-        comments.addAll(commentOnCommentsDTO);
-
-        // sort by createdAt
-        List<CommentDTOWithPostId> sortedComments = comments.stream()
-                .sorted(Comparator.comparing(c -> c.getComment().getCreatedAt()))
-                .toList().reversed();
-
-        // page it
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sortedComments.size());
-
-        List<CommentDTOWithPostId> pageContent = start >= sortedComments.size() ? Collections.emptyList()
-                : sortedComments.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, sortedComments.size());
+        return comments.map(comment -> new CommentDTOWithPostId(
+                new CommentDTO(
+                        comment.getId(),
+                        comment.getCaption(),
+                        comment.getCreatedAt(),
+                        comment.getPostedBy(),
+                        profileList.get(comment.getPostedBy()),
+                        comment.getCommentCount()),
+                comment.getPostId(),
+                CommentType.valueOf(comment.getType())));
     }
 
-
     // fetch comment on post
+    @Transactional(readOnly = true)
     public Page<CommentDTO> getCommentOnPost(UUID postId, Pageable pageable) {
-        if (postRepository.findById(postId).isEmpty()) {
+        if (!postRepository.existsById(postId)) {
             throw new IllegalArgumentException("PostId is not found");
         }
 
-        // find comments
-        List<BasePost> comments = new ArrayList<>(commentOnPostRepository.findByParentId(postId));
+        // find one page of comments, newest first
+        Page<CommentOnPost> comments = commentOnPostRepository.findByParentIdOrderByCreatedAtDescIdDesc(postId,
+                withoutSort(pageable));
+
+        // one grouped count for the replies of the whole page
+        List<UUID> commentIds = comments.stream().map(CommentOnPost::getId).toList();
+        Map<UUID, Long> replyCounts = new HashMap<>();
+        if (!commentIds.isEmpty()) {
+            commentOnCommentRepository.countByParentIds(commentIds)
+                    .forEach(count -> replyCounts.put(count.getCommentId(), count.getReplyCount()));
+        }
 
-        return organizeComments(comments, pageable, true);
+        return toCommentDTOPage(comments, id -> replyCounts.getOrDefault(id, 0L));
     }
 
     // fetch comment on comment
+    @Transactional(readOnly = true)
     public Page<CommentDTO> getCommentOnComment(UUID commentId, Pageable pageable) {
-        if (commentOnPostRepository.findById(commentId).isEmpty()) {
+        if (!commentOnPostRepository.existsById(commentId)) {
             throw new IllegalArgumentException("CommentId is not found");
         }
 
-        List<BasePost> comments = new ArrayList<>(commentOnCommentRepository.findByParentId(commentId));
+        // find one page of replies, oldest first
+        Page<CommentOnComment> comments = commentOnCommentRepository.findByParentIdOrderByCreatedAtAscIdAsc(commentId,
+                withoutSort(pageable));
 
-        return organizeComments(comments, pageable, false);
+        // replies cannot be replied to, so they carry no count
+        return toCommentDTOPage(comments, id -> null);
     }
 
-    private Page<CommentDTO> organizeComments(List<BasePost> comments, Pageable pageable, boolean sortNewToOld) {
-        // get UUID createdBy
+    private Page<CommentDTO> toCommentDTOPage(Page<? extends BasePost> comments, Function<UUID, Long> replyCounts) {
+        // get UUID createdBy, only for the returned page
         List<UUID> createdByList = comments.stream().map(BasePost::getPostedBy).distinct().toList();
 
         // fetch batch
-        Map<UUID, PostedByData> profileList = postService.fetchPostedByData(createdByList);
+        Map<UUID, PostedByData> profileList = createdByList.isEmpty() ? Collections.emptyMap()
+                : postService.fetchPostedByData(createdByList);
 
-        // sort by timestamp & convert to DTO
-        List<CommentDTO> sortedComments = comments.stream()
-                .sorted(Comparator.comparing(BasePost::getCreatedAt))
-                .map(comment -> new CommentDTO(comment, profileList.get(comment.getPostedBy())))
-                .toList();
-
-        if (sortNewToOld) {
-            sortedComments = sortedComments.reversed();
-        }
-
-        // page it
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sortedComments.size());
-
-        List<CommentDTO> pageContent = start >= sortedComments.size() ? Collections.emptyList()
-                : sortedComments.subList(start, end);
+        // convert to DTO
+        return comments.map(comment -> new CommentDTO(comment, profileList.get(comment.getPostedBy()),
+                replyCounts.apply(comment.getId())));
+    }
 
-        return new PageImpl<>(pageContent, pageable, sortedComments.size());
+    // The ordering is fixed by the query, so any client sort is dropped
+    private Pageable withoutSort(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
     }
 
     // create comment on post
@@ -148,7 +132,12 @@ public class CommentServiceImpl implements CommentService {
 
         validateCommentRequest(req, userDetails);
 
-        return commentOnPostRepository.save(comment);
+        CommentOnPost savedComment = commentOnPostRepository.save(comment);
+        // The post's comment count changed
+        contentVersions.postChanged(post.getId());
+        recentWriters.recordWrite(userId);
+        notificationService.onCommentOnPostCreated(savedComment);
+        return savedComment;
     }
 
     // create comment on comment
@@ -166,7 +155,10 @@ public class CommentServiceImpl implements CommentService {
                 .build();
         validateCommentRequest(req, userDetails);
 
-        return commentOnCommentRepository.save(comment);
+        CommentOnComment savedComment = commentOnCommentRepository.save(comment);
+        recentWriters.recordWrite(userId);
+        notificationService.onReplyCreated(savedComment);
+        return savedComment;
     }
 
     @Override
@@ -195,6 +187,7 @@ public class CommentServiceImpl implements CommentService {
         // because of the CascadeType.ALL and orphanRemoval=true in the @OneToMany
         // relationship
         commentOnPostRepository.delete(parentComment);
+        contentVersions.postChanged(parentComment.getParent().getId());
         log.info("Deleted parent comment with ID: {} and all its child comments", commentId);
     }
 
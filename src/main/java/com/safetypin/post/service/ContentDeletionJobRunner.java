@@ -0,0 +1,225 @@
+package com.safetypin.post.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.safetypin.post.model.ContentDeletionJob;
+import com.safetypin.post.model.DeletionJobStatus;
+import com.safetypin.post.model.DeletionStage;
+import com.safetypin.post.repository.CommentOnCommentRepository;
+import com.safetypin.post.repository.CommentOnPostRepository;
+import com.safetypin.post.repository.ContentDeletionJobRepository;
+import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.repository.VoteRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs user content deletion jobs on a dedicated thread. Each stage walks the
+ * user's rows in key order, deleting one chunk (and the rows that depend on
+ * it) per transaction together with the job checkpoint, and sleeps between
+ * chunks to stay under the configured rows-per-second rate.
+ */
+@Slf4j
+@Component
+public class ContentDeletionJobRunner {
+
+    // Lowest UUID in database order, used as the cursor at the start of a stage
+    private static final UUID MIN_KEY = new UUID(0L, 0L);
+
+    private final ContentDeletionJobRepository jobRepository;
+    private final PostRepository postRepository;
+    private final CommentOnPostRepository commentOnPostRepository;
+    private final CommentOnCommentRepository commentOnCommentRepository;
+    private final VoteRepository voteRepository;
+    private final ContentVersions contentVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final double rowsPerSecond;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<UUID> scheduledJobs = ConcurrentHashMap.newKeySet();
+
+    public ContentDeletionJobRunner(ContentDeletionJobRepository jobRepository,
+            PostRepository postRepository,
+            CommentOnPostRepository commentOnPostRepository,
+            CommentOnCommentRepository commentOnCommentRepository,
+            VoteRepository voteRepository,
+            ContentVersions contentVersions,
+            TransactionTemplate transactionTemplate,
+            @Value("${admin.deletion.chunk-size:500}") int chunkSize,
+            @Value("${admin.deletion.rows-per-second:2000}") double rowsPerSecond) {
+        this.jobRepository = jobRepository;
+        this.postRepository = postRepository;
+        this.commentOnPostRepository = commentOnPostRepository;
+        this.commentOnCommentRepository = commentOnCommentRepository;
+        this.voteRepository = voteRepository;
+        this.contentVersions = contentVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public void submit(UUID jobId) {
+        if (scheduledJobs.add(jobId)) {
+            executor.execute(() -> run(jobId));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<ContentDeletionJob> unfinished = jobRepository.findByStatusInOrderByCreatedAt(
+                List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING));
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} unfinished content deletion jobs", unfinished.size());
+        }
+        unfinished.forEach(job -> submit(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING and are resumed from their checkpoint on the next start
+        executor.shutdownNow();
+    }
+
+    void run(UUID jobId) {
+        try {
+            ContentDeletionJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStatus() == DeletionJobStatus.COMPLETED
+                    || job.getStatus() == DeletionJobStatus.FAILED) {
+                return;
+            }
+
+            log.info("Running content deletion job {} for user {} from stage {}", jobId, job.getTargetUserId(),
+                    job.getStage());
+            job.setStatus(DeletionJobStatus.RUNNING);
+            job = save(job);
+
+            while (job.getStage() != DeletionStage.DONE) {
+                long startedAt = System.nanoTime();
+                ContentDeletionJob current = job;
+                job = transactionTemplate.execute(status -> processChunk(current));
+                throttle(job.getRowsDeleted() - current.getRowsDeleted(), startedAt);
+            }
+
+            job.setStatus(DeletionJobStatus.COMPLETED);
+            save(job);
+            log.info("Completed content deletion job {}: {} rows deleted", jobId, job.getRowsDeleted());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Content deletion job {} paused by shutdown", jobId);
+        } catch (Exception e) {
+            log.error("Content deletion job {} failed: {}", jobId, e.getMessage(), e);
+            markFailed(jobId, e.getMessage());
+        } finally {
+            scheduledJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Deletes the next chunk of the current stage and records the checkpoint in
+     * the same transaction.
+     */
+    ContentDeletionJob processChunk(ContentDeletionJob job) {
+        UUID userId = job.getTargetUserId();
+        UUID after = job.getCursor() != null ? job.getCursor() : MIN_KEY;
+        Pageable chunk = PageRequest.of(0, chunkSize);
+
+        List<UUID> keys;
+        long deleted = 0;
+        switch (job.getStage()) {
+            case VOTES:
+                keys = voteRepository.findPostIdsByUserIdAfter(userId, after, chunk);
+                if (!keys.isEmpty()) {
+                    deleted = voteRepository.deleteByUserIdAndPostIdIn(userId, keys);
+                }
+                break;
+            case REPLIES:
+                keys = commentOnCommentRepository.findIdsByPostedByAfter(userId, after, chunk);
+                if (!keys.isEmpty()) {
+                    deleted = commentOnCommentRepository.deleteByIdIn(keys);
+                }
+                break;
+            case COMMENTS:
+                // Replies by other users would otherwise be orphaned by the bulk delete
+                keys = commentOnPostRepository.findIdsByPostedByAfter(userId, after, chunk);
+                if (!keys.isEmpty()) {
+                    deleted = commentOnCommentRepository.deleteByParentIdIn(keys)
+                            + commentOnPostRepository.deleteByIdIn(keys);
+                }
+                break;
+            case POSTS:
+                // Bulk deletes skip entity cascades, so remove everything hanging off the posts first
+                keys = postRepository.findIdsByPostedByAfter(userId, after, chunk);
+                if (!keys.isEmpty()) {
+                    deleted = voteRepository.deleteByPostIdIn(keys)
+                            + commentOnCommentRepository.deleteByPostIdIn(keys)
+                            + commentOnPostRepository.deleteByParentIdIn(keys)
+                            + postRepository.deleteByIdIn(keys);
+                }
+                break;
+            default:
+                return job;
+        }
+
+        if (keys.size() < chunkSize) {
+            job.setStage(job.getStage().next());
+            job.setCursor(null);
+        } else {
+            job.setCursor(keys.get(keys.size() - 1));
+        }
+        job.setRowsDeleted(job.getRowsDeleted() + deleted);
+        if (deleted > 0) {
+            // Counts on other users' posts change too, so every post is affected
+            contentVersions.postsChanged();
+        }
+        return save(job);
+    }
+
+    private void throttle(long deleted, long startedAt) throws InterruptedException {
+        if (rowsPerSecond <= 0 || deleted <= 0) {
+            return;
+        }
+        long budgetNanos = (long) (deleted * TimeUnit.SECONDS.toNanos(1) / rowsPerSecond);
+        long remainingNanos = budgetNanos - (System.nanoTime() - startedAt);
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+
+    private void markFailed(UUID jobId, String message) {
+        try {
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(DeletionJobStatus.FAILED);
+                job.setErrorMessage(message);
+                save(job);
+            });
+        } catch (Exception e) {
+            log.error("Could not record failure of content deletion job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    private ContentDeletionJob save(ContentDeletionJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        return jobRepository.save(job);
+    }
+}
@@ -0,0 +1,136 @@
+package com.safetypin.post.service;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ETag;
+import org.springframework.stereotype.Component;
+
+import com.safetypin.post.config.EtagInstanceLock;
+
+/**
+ * Change watermarks for posts and categories, used as ETag validators so
+ * polled endpoints can answer {@code If-None-Match} with 304 before loading
+ * anything. Writers report changes here once they are committed.
+ *
+ * <p>
+ * Each post maps to one of a fixed set of counters, so a change to a post
+ * only invalidates the posts that share its counter. Bulk changes that touch
+ * posts without naming them (category renames, content deletion) invalidate
+ * every post. The counters live in memory and start again on restart, so tags
+ * also carry a per-process epoch.
+ *
+ * <p>
+ * Because the counters only see writes made through this process, tags are
+ * served only while this instance holds the {@link EtagInstanceLock}; without
+ * it every tag is null and no response carries an ETag. Tags carry the
+ * lock's lease, so tags from before the lock was last taken never match. Profiles and display
+ * names live in the auth service and never reach the counters, so tags also
+ * change every {@code posts.etags.max-age-seconds} and a changed author shows
+ * up within that time.
+ */
+@Component
+public class ContentVersions {
+
+    private static final int POST_STRIPES = 1024;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    // Any post change, including new posts; the watermark for feeds
+    private final AtomicLong posts = new AtomicLong();
+    private final AtomicLong allPosts = new AtomicLong();
+    private final AtomicLongArray postStripes = new AtomicLongArray(POST_STRIPES);
+    private final AtomicLong categories = new AtomicLong();
+    // The instance lock's current lease, negative while tags are off
+    private final LongSupplier lease;
+    private final long maxAgeMillis;
+    private final Clock clock;
+
+    // Tags always on and never rolled over
+    public ContentVersions() {
+        this(() -> 0, 0, Clock.systemUTC());
+    }
+
+    @Autowired
+    public ContentVersions(EtagInstanceLock instanceLock,
+            @Value("${posts.etags.max-age-seconds:60}") long maxAgeSeconds) {
+        this(instanceLock::lease, maxAgeSeconds * 1000, Clock.systemUTC());
+    }
+
+    ContentVersions(LongSupplier lease, long maxAgeMillis, Clock clock) {
+        this.lease = lease;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+    }
+
+    // A new post only changes feeds
+    public void postCreated() {
+        AfterCommit.run(posts::incrementAndGet);
+    }
+
+    public void postChanged(UUID postId) {
+        AfterCommit.run(() -> {
+            postStripes.incrementAndGet(stripe(postId));
+            posts.incrementAndGet();
+        });
+    }
+
+    public void postsChanged() {
+        AfterCommit.run(() -> {
+            allPosts.incrementAndGet();
+            posts.incrementAndGet();
+        });
+    }
+
+    // Changes only when posts change in bulk, for caches that track single posts themselves
+    public long allPostsVersion() {
+        return allPosts.get();
+    }
+
+    public void categoriesChanged() {
+        AfterCommit.run(categories::incrementAndGet);
+    }
+
+    // Responses carry the viewer's own vote, so tags are per viewer; all tags are null while disabled
+    public String postTag(UUID postId, UUID viewerId) {
+        return tag("post", allPosts.get() + "." + postStripes.get(stripe(postId)), Objects.hash(postId, viewerId));
+    }
+
+    public String feedTag(String feedType, UUID viewerId, Object... query) {
+        return tag(feedType, posts.get() + "." + categories.get(), Objects.hash(viewerId, Objects.hash(query)));
+    }
+
+    public String categoriesTag() {
+        return tag("categories", Long.toString(categories.get()), 0);
+    }
+
+    // If-None-Match uses the weak comparison and may list several tags or *
+    public static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || tag == null) {
+            return false;
+        }
+        ETag current = ETag.create(tag);
+        List<ETag> candidates = ETag.parse(ifNoneMatch);
+        return candidates.stream().anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    private String tag(String resource, String version, int key) {
+        long current = lease.getAsLong();
+        if (current < 0) {
+            return null;
+        }
+        String window = maxAgeMillis > 0 ? "." + clock.millis() / maxAgeMillis : "";
+        return resource + '-' + epoch + '.' + current + '-' + version + window + '-' + Integer.toHexString(key);
+    }
+
+    private static int stripe(UUID postId) {
+        return (postId.hashCode() & Integer.MAX_VALUE) % POST_STRIPES;
+    }
+}
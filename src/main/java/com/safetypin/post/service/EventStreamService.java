@@ -0,0 +1,35 @@
+package com.safetypin.post.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.safetypin.post.dto.NotificationDto;
+import com.safetypin.post.model.Post;
+
+public interface EventStreamService {
+
+    /**
+     * Opens a Server-Sent Events stream for a user. Notification events for the
+     * user are always delivered; new-post events are delivered only when a
+     * location is given, and are filtered by radius and categories.
+     *
+     * @param userId     The ID of the subscribing user
+     * @param lat        Latitude of the subscribed location, may be null
+     * @param lon        Longitude of the subscribed location, may be null
+     * @param radiusKm   Radius around the location in kilometers, may be null
+     * @param categories Categories to receive new posts for, null or empty for
+     *                   all
+     * @return The emitter bound to the HTTP response
+     */
+    SseEmitter subscribe(UUID userId, Double lat, Double lon, Double radiusKm, List<String> categories);
+
+    // Push a notification to every open stream of the recipient
+    void publishNotification(UUID recipientId, NotificationDto notification);
+
+    // Push a newly created post to every stream whose filter it matches
+    void publishNewPost(Post post);
+
+    boolean hasSubscribers();
+}
@@ -0,0 +1,201 @@
+package com.safetypin.post.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.safetypin.post.dto.FeedItem;
+import com.safetypin.post.dto.NotificationDto;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.exception.InvalidPostDataException;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.utils.DistanceCalculator;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class EventStreamServiceImpl implements EventStreamService {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String NEW_POST_EVENT = "new-post";
+    private static final double DEFAULT_RADIUS_KM = 10.0;
+    private static final double MAX_RADIUS_KM = 100.0;
+
+    private final long heartbeatMillis;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    // Each connection is drained by its own virtual thread, so idle streams cost
+    // almost nothing
+    private final ExecutorService senderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, Set<Subscription>> subscriptionsByUser = new ConcurrentHashMap<>();
+
+    public EventStreamServiceImpl(
+            @Value("${stream.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${stream.queue-capacity:100}") int queueCapacity,
+            @Value("${stream.timeout-minutes:30}") long timeoutMinutes) {
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID userId, Double lat, Double lon, Double radiusKm, List<String> categories) {
+        if ((lat == null) != (lon == null)) {
+            throw new InvalidPostDataException("Latitude and longitude must be provided together");
+        }
+        double radius = radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM;
+        if (radius <= 0 || radius > MAX_RADIUS_KM) {
+            throw new InvalidPostDataException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(userId, lat, lon, radius, categories, emitter,
+                new ArrayBlockingQueue<>(queueCapacity));
+
+        subscriptionsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        subscription.sender = senderExecutor.submit(() -> drain(subscription));
+        log.info("Opened event stream for user {}", userId);
+        return emitter;
+    }
+
+    @Override
+    public void publishNotification(UUID recipientId, NotificationDto notification) {
+        Set<Subscription> subscriptions = subscriptionsByUser.get(recipientId);
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.forEach(subscription -> subscription.enqueue(new StreamEvent(NOTIFICATION_EVENT, notification)));
+    }
+
+    @Override
+    public void publishNewPost(Post post) {
+        if (subscriptionsByUser.isEmpty() || post.getLocation() == null) {
+            return;
+        }
+        // A new post has no votes, so the viewer-dependent fields are the same for
+        // everyone
+        PostData postData = PostData.fromPostAndUserId(post, null, null);
+        for (Set<Subscription> subscriptions : subscriptionsByUser.values()) {
+            for (Subscription subscription : subscriptions) {
+                if (!subscription.wantsPosts() || !matchesCategories(post, subscription.categories)) {
+                    continue;
+                }
+                double distance = DistanceCalculator.calculateDistance(subscription.lat, subscription.lon,
+                        post.getLatitude(), post.getLongitude());
+                if (distance <= subscription.radiusKm) {
+                    subscription.enqueue(new StreamEvent(NEW_POST_EVENT, FeedItem.withDistance(postData, distance)));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return !subscriptionsByUser.isEmpty();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptionsByUser.values().forEach(subscriptions -> subscriptions.forEach(s -> s.emitter.complete()));
+        senderExecutor.shutdownNow();
+    }
+
+    // Sends queued events, or a heartbeat comment when the queue stays empty
+    private void drain(Subscription subscription) {
+        try {
+            while (!subscription.closed) {
+                StreamEvent event = subscription.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscription.emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            log.debug("Event stream for user {} closed: {}", subscription.userId, e.getMessage());
+            unsubscribe(subscription);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (subscription.closed) {
+            return;
+        }
+        subscription.closed = true;
+        subscriptionsByUser.computeIfPresent(subscription.userId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        if (subscription.sender != null) {
+            subscription.sender.cancel(true);
+        }
+        log.info("Closed event stream for user {}", subscription.userId);
+    }
+
+    private boolean matchesCategories(Post post, List<String> categories) {
+        return categories == null || categories.isEmpty() || categories.contains(post.getCategory());
+    }
+
+    private record StreamEvent(String name, Object data) {
+    }
+
+    private static final class Subscription {
+        private final UUID userId;
+        private final Double lat;
+        private final Double lon;
+        private final double radiusKm;
+        private final List<String> categories;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private volatile boolean closed;
+        private volatile Future<?> sender;
+
+        private Subscription(UUID userId, Double lat, Double lon, double radiusKm, List<String> categories,
+                SseEmitter emitter, BlockingQueue<StreamEvent> queue) {
+            this.userId = userId;
+            this.lat = lat;
+            this.lon = lon;
+            this.radiusKm = radiusKm;
+            this.categories = categories;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private boolean wantsPosts() {
+            return lat != null && lon != null;
+        }
+
+        // Bounded queue: a slow client loses its oldest events instead of growing
+        // the heap
+        private void enqueue(StreamEvent event) {
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) {
+                    log.debug("Dropped oldest queued event for slow client of user {}", userId);
+                }
+            }
+        }
+    }
+}
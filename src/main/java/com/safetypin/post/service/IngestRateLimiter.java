@@ -0,0 +1,52 @@
+package com.safetypin.post.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token bucket per user for bulk ingest. A user can create up to
+ * {@code posts.ingest.burst} posts at once and is then refilled at
+ * {@code posts.ingest.rate-per-second}, so a partner import cannot crowd out
+ * regular writes on the primary.
+ */
+@Component
+public class IngestRateLimiter {
+
+    private final double burst;
+    private final double tokensPerNano;
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public IngestRateLimiter(@Value("${posts.ingest.rate-per-second:20}") double ratePerSecond,
+            @Value("${posts.ingest.burst:1000}") int burst) {
+        this.burst = burst;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+    }
+
+    public boolean tryAcquire(UUID userId) {
+        Bucket bucket = buckets.computeIfAbsent(userId, id -> new Bucket(burst, System.nanoTime()));
+        synchronized (bucket) {
+            long now = System.nanoTime();
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+            bucket.refilledAt = now;
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens--;
+            return true;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.safetypin.post.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
 import com.safetypin.post.dto.NotificationDto;
+import com.safetypin.post.model.CommentOnComment;
+import com.safetypin.post.model.CommentOnPost;
 
 @Service
 public interface NotificationService {
@@ -17,4 +20,49 @@ public interface NotificationService {
      *         descending.
      */
     List<NotificationDto> getNotifications(UUID userId);
+
+    /**
+     * Retrieves notifications for a given user that are newer than a cursor.
+     * Notifications older than 30 days are never returned.
+     *
+     * @param userId The ID of the user for whom to fetch notifications.
+     * @param since  Only notifications created strictly after this time are
+     *               returned; null returns the full 30-day list.
+     * @return A list of NotificationDto objects, sorted by creation time
+     *         descending.
+     */
+    List<NotificationDto> getNotifications(UUID userId, LocalDateTime since);
+
+    /**
+     * Returns the number of notifications the user has not marked as read.
+     * Served from a per-user counter that is recomputed only when new activity
+     * touches the user.
+     *
+     * @param userId The ID of the user.
+     * @return The number of unread notifications within the last 30 days.
+     */
+    long getUnreadCount(UUID userId);
+
+    /**
+     * Marks every current notification of the user as read.
+     *
+     * @param userId The ID of the user.
+     */
+    void markAllAsRead(UUID userId);
+
+    /**
+     * Invalidates the unread counters of users notified by a new comment on a
+     * post.
+     *
+     * @param comment The comment that was just created.
+     */
+    void onCommentOnPostCreated(CommentOnPost comment);
+
+    /**
+     * Invalidates the unread counters of users notified by a new reply to a
+     * comment.
+     *
+     * @param reply The reply that was just created.
+     */
+    void onReplyCreated(CommentOnComment reply);
 }
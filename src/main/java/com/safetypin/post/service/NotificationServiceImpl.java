@@ -1,5 +1,7 @@
 package com.safetypin.post.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -10,8 +12,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -19,6 +22,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
@@ -26,9 +30,12 @@ import com.safetypin.post.dto.NotificationDto;
 import com.safetypin.post.dto.PostedByData; // Using PostedByData as it seems to be the existing DTO for profile info
 import com.safetypin.post.model.CommentOnComment;
 import com.safetypin.post.model.CommentOnPost;
+import com.safetypin.post.model.NotificationReadMarker;
 import com.safetypin.post.model.NotificationType;
+import com.safetypin.post.model.Post;
 import com.safetypin.post.repository.CommentOnCommentRepository;
 import com.safetypin.post.repository.CommentOnPostRepository;
+import com.safetypin.post.repository.NotificationReadMarkerRepository;
 import com.safetypin.post.repository.PostRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -43,31 +50,101 @@ public class NotificationServiceImpl implements NotificationService {
         private final CommentOnCommentRepository commentOnCommentRepository;
         private final RestTemplate restTemplate;
         private final PostRepository postRepository;
+        private final NotificationReadMarkerRepository notificationReadMarkerRepository;
+        private final EventStreamService eventStreamService;
+        private final PipelineMetrics pipelineMetrics;
+        private final AuthClientMetrics authClientMetrics;
 
         @Value("${be-auth}") // Use a base URL property
         private String authServiceBaseUrl;
 
-        private static final String PROFILE_BATCH_PATH = "/api/profiles/batch";
+        private static final int NOTIFICATION_WINDOW_DAYS = 30;
+        private static final String LIST_OPERATION = "list";
+        // Recompute counters periodically so notifications ageing out of the window
+        // are dropped
+        private static final Duration UNREAD_COUNTER_TTL = Duration.ofMinutes(5);
+
+        // Per-user unread counters, invalidated when new activity touches the user. While a user is
+        // recounted the entry is a marker, and the count is only stored if the marker is still there.
+        private final Map<UUID, UnreadCounter> unreadCounters = new ConcurrentHashMap<>();
+        // When expired counters were last swept out, in epoch milliseconds
+        private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+
+        private record UnreadCounter(long count, Instant computedAt) {
+                static UnreadCounter recounting() {
+                        return new UnreadCounter(-1, Instant.now());
+                }
+
+                boolean isExpired() {
+                        return computedAt.plus(UNREAD_COUNTER_TTL).isBefore(Instant.now());
+                }
+
+                boolean isUsable() {
+                        return count >= 0 && !isExpired();
+                }
+        }
+
+        // Rows that can become notifications, with the users who acted on them
+        private record NotificationCandidates(List<CommentOnPost> commentsOnUserPosts,
+                        List<CommentOnComment> repliesToUserComments, List<CommentOnComment> siblingReplies,
+                        Set<UUID> actorIds) {
+                int size() {
+                        return commentsOnUserPosts.size() + repliesToUserComments.size() + siblingReplies.size();
+                }
+        }
 
         @Override
+        @Transactional(readOnly = true)
         public List<NotificationDto> getNotifications(UUID userId) {
-                LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+                return getNotifications(userId, null);
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public List<NotificationDto> getNotifications(UUID userId, LocalDateTime since) {
+                NotificationCandidates candidates = pipelineMetrics.timeNotificationStage(LIST_OPERATION, "fetch",
+                                () -> fetchCandidates(userId, since));
+                pipelineMetrics.recordNotificationCandidates(LIST_OPERATION, candidates.size());
+
+                // Fetch user info for all actors in bulk using the correct endpoint and method
+                Map<UUID, PostedByData> userInfoMap = pipelineMetrics.timeNotificationStage(LIST_OPERATION,
+                                "profiles", () -> fetchUserDetailsBatch(new ArrayList<>(candidates.actorIds())));
+
+                // Map to DTOs
+                List<NotificationDto> notifications = pipelineMetrics.timeNotificationStage(LIST_OPERATION, "map",
+                                () -> mapNotifications(candidates, userInfoMap));
+
+                // Sort and return
+                return pipelineMetrics.timeNotificationStage(LIST_OPERATION, "sort", () -> notifications.stream()
+                                .sorted(Comparator.comparing(NotificationDto::getCreatedAt).reversed())
+                                .toList());
+        }
+
+        private NotificationCandidates fetchCandidates(UUID userId, LocalDateTime since) {
+                LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(NOTIFICATION_WINDOW_DAYS);
+                // Only look at rows newer than the cursor, but never past the 30-day window
+                LocalDateTime lowerBound = since != null && since.isAfter(thirtyDaysAgo) ? since : thirtyDaysAgo;
                 Set<UUID> actorIds = new HashSet<>();
 
                 // 1. NEW_COMMENT_ON_POST: Someone commented on your post
                 List<CommentOnPost> commentsOnUserPosts = commentOnPostRepository.findCommentsOnUserPostsSince(userId,
-                                thirtyDaysAgo);
+                                lowerBound).stream()
+                                .filter(c -> isAfterCursor(c.getCreatedAt(), since))
+                                .toList();
                 commentsOnUserPosts.forEach(c -> actorIds.add(c.getPostedBy()));
 
                 // 2. NEW_REPLY_TO_COMMENT: Someone replied to your comment (your comment is
                 // CommentOnPost)
                 List<CommentOnComment> repliesToUserComments = commentOnCommentRepository
                                 .findRepliesToUserCommentsSince(userId,
-                                                thirtyDaysAgo);
+                                                lowerBound)
+                                .stream()
+                                .filter(r -> isAfterCursor(r.getCreatedAt(), since))
+                                .toList();
                 repliesToUserComments.forEach(r -> actorIds.add(r.getPostedBy()));
 
                 // 3. NEW_SIBLING_REPLY: Someone else replied to the same comment thread you are
-                // in
+                // in. The threads the user is in still span the full 30-day window.
                 List<CommentOnComment> userReplies = commentOnCommentRepository
                                 .findByPostedByAndCreatedAtGreaterThanEqual(userId, thirtyDaysAgo);
                 List<UUID> parentCommentIdsUserRepliedTo = userReplies.stream()
@@ -79,52 +156,170 @@ public class NotificationServiceImpl implements NotificationService {
                 if (!parentCommentIdsUserRepliedTo.isEmpty()) {
                         siblingReplies = commentOnCommentRepository.findSiblingRepliesSince(userId,
                                         parentCommentIdsUserRepliedTo,
-                                        thirtyDaysAgo);
+                                        lowerBound)
+                                        .stream()
+                                        .filter(r -> isAfterCursor(r.getCreatedAt(), since))
+                                        .toList();
                         siblingReplies.forEach(r -> actorIds.add(r.getPostedBy()));
                 }
 
-                // Fetch user info for all actors in bulk using the correct endpoint and method
-                Map<UUID, PostedByData> userInfoMap = fetchUserDetailsBatch(new ArrayList<>(actorIds));
+                return new NotificationCandidates(commentsOnUserPosts, repliesToUserComments, siblingReplies, actorIds);
+        }
 
-                // Map to DTOs
-                Stream<NotificationDto> commentsOnPostNotifications = commentsOnUserPosts.stream()
-                                .map(comment -> createNotificationDto(
-                                                NotificationType.NEW_COMMENT_ON_POST,
-                                                comment.getPostedBy(),
-                                                userInfoMap.get(comment.getPostedBy()),
-                                                comment.getCreatedAt(),
-                                                comment.getParent().getId(), // postId
-                                                comment.getId(), // commentId
-                                                null // replyId
-                                ));
-
-                Stream<NotificationDto> repliesToCommentNotifications = repliesToUserComments.stream()
-                                .map(reply -> createNotificationDto(
-                                                NotificationType.NEW_REPLY_TO_COMMENT,
-                                                reply.getPostedBy(),
-                                                userInfoMap.get(reply.getPostedBy()),
-                                                reply.getCreatedAt(),
-                                                reply.getParent().getParent().getId(), // postId
-                                                reply.getParent().getId(), // commentId (parent of the reply)
-                                                reply.getId() // replyId
-                                ));
-
-                Stream<NotificationDto> siblingReplyNotifications = siblingReplies.stream()
-                                .map(reply -> createNotificationDto(
-                                                NotificationType.NEW_SIBLING_REPLY,
-                                                reply.getPostedBy(),
-                                                userInfoMap.get(reply.getPostedBy()),
-                                                reply.getCreatedAt(),
-                                                reply.getParent().getParent().getId(), // postId
-                                                reply.getParent().getId(), // commentId (parent of the reply)
-                                                reply.getId() // replyId
-                                ));
-
-                // Combine, sort, and return
-                return Stream.of(commentsOnPostNotifications, repliesToCommentNotifications, siblingReplyNotifications)
-                                .flatMap(Function.identity())
-                                .sorted(Comparator.comparing(NotificationDto::getCreatedAt).reversed())
-                                .toList();
+        private List<NotificationDto> mapNotifications(NotificationCandidates candidates,
+                        Map<UUID, PostedByData> userInfoMap) {
+                List<NotificationDto> notifications = new ArrayList<>(candidates.size());
+                candidates.commentsOnUserPosts().forEach(comment -> notifications.add(createNotificationDto(
+                                NotificationType.NEW_COMMENT_ON_POST,
+                                comment.getPostedBy(),
+                                userInfoMap.get(comment.getPostedBy()),
+                                comment.getCreatedAt(),
+                                comment.getParent().getId(), // postId
+                                comment.getId(), // commentId
+                                null // replyId
+                )));
+
+                candidates.repliesToUserComments().forEach(reply -> notifications.add(createNotificationDto(
+                                NotificationType.NEW_REPLY_TO_COMMENT,
+                                reply.getPostedBy(),
+                                userInfoMap.get(reply.getPostedBy()),
+                                reply.getCreatedAt(),
+                                reply.getParent().getParent().getId(), // postId
+                                reply.getParent().getId(), // commentId (parent of the reply)
+                                reply.getId() // replyId
+                )));
+
+                candidates.siblingReplies().forEach(reply -> notifications.add(createNotificationDto(
+                                NotificationType.NEW_SIBLING_REPLY,
+                                reply.getPostedBy(),
+                                userInfoMap.get(reply.getPostedBy()),
+                                reply.getCreatedAt(),
+                                reply.getParent().getParent().getId(), // postId
+                                reply.getParent().getId(), // commentId (parent of the reply)
+                                reply.getId() // replyId
+                )));
+                return notifications;
+        }
+
+        // Not read-only: the count is cached for the TTL, so it must not come from a lagging replica
+        @Override
+        @Transactional
+        public long getUnreadCount(UUID userId) {
+                UnreadCounter counter = unreadCounters.get(userId);
+                if (counter != null && counter.isUsable()) {
+                        return counter.count();
+                }
+                sweepExpiredCounters();
+                // New activity removes the marker and markAllAsRead replaces it, so either one during the
+                // recount keeps the stale count out of the cache
+                UnreadCounter marker = UnreadCounter.recounting();
+                UnreadCounter started = unreadCounters.compute(userId,
+                                (id, current) -> current == null || !current.isUsable() ? marker : current);
+                if (started != marker) {
+                        return started.count();
+                }
+                long unread = pipelineMetrics.timeNotificationStage("unread-count", "count",
+                                () -> countUnread(userId));
+                UnreadCounter recounted = new UnreadCounter(unread, Instant.now());
+                UnreadCounter stored = unreadCounters.computeIfPresent(userId,
+                                (id, current) -> current == marker ? recounted : current);
+                return stored != null && stored.count() >= 0 ? stored.count() : unread;
+        }
+
+        // At most once per TTL, so counters of users who stopped polling do not pile up
+        private void sweepExpiredCounters() {
+                long now = System.currentTimeMillis();
+                long last = lastSweep.get();
+                if (now - last >= UNREAD_COUNTER_TTL.toMillis() && lastSweep.compareAndSet(last, now)) {
+                        unreadCounters.values().removeIf(UnreadCounter::isExpired);
+                }
+        }
+
+        @Override
+        public void markAllAsRead(UUID userId) {
+                notificationReadMarkerRepository.save(new NotificationReadMarker(userId, LocalDateTime.now()));
+                unreadCounters.put(userId, new UnreadCounter(0, Instant.now()));
+        }
+
+        @Override
+        public void onCommentOnPostCreated(CommentOnPost comment) {
+                Post post = comment.getParent();
+                if (post == null) {
+                        return;
+                }
+                notifyRecipient(post.getPostedBy(), comment.getPostedBy(), () -> createPushedNotificationDto(
+                                NotificationType.NEW_COMMENT_ON_POST, comment.getPostedBy(), comment.getCreatedAt(),
+                                post, comment.getId(), null, comment.getCaption()));
+        }
+
+        @Override
+        public void onReplyCreated(CommentOnComment reply) {
+                // Nobody to invalidate or push to
+                if (unreadCounters.isEmpty() && !eventStreamService.hasSubscribers()) {
+                        return;
+                }
+                CommentOnPost parentComment = reply.getParent();
+                if (parentComment == null) {
+                        return;
+                }
+                UUID actorId = reply.getPostedBy();
+                UUID parentOwnerId = parentComment.getPostedBy();
+
+                // The owner of the parent comment gets a reply notification
+                notifyRecipient(parentOwnerId, actorId, () -> createPushedNotificationDto(
+                                NotificationType.NEW_REPLY_TO_COMMENT, actorId, reply.getCreatedAt(),
+                                parentComment.getParent(), parentComment.getId(), reply.getId(), reply.getCaption()));
+
+                // Every other user in the thread gets a sibling reply notification
+                commentOnCommentRepository.findReplierIdsByParentId(parentComment.getId()).stream()
+                                .filter(replierId -> !replierId.equals(parentOwnerId))
+                                .forEach(replierId -> notifyRecipient(replierId, actorId,
+                                                () -> createPushedNotificationDto(NotificationType.NEW_SIBLING_REPLY,
+                                                                actorId, reply.getCreatedAt(), parentComment.getParent(),
+                                                                parentComment.getId(), reply.getId(),
+                                                                reply.getCaption())));
+        }
+
+        private void notifyRecipient(UUID recipientId, UUID actorId, Supplier<NotificationDto> notification) {
+                if (recipientId == null || recipientId.equals(actorId)) {
+                        return;
+                }
+                unreadCounters.remove(recipientId);
+                eventStreamService.publishNotification(recipientId, notification.get());
+        }
+
+        // Pushed notifications skip the profile lookup; clients refresh with the since
+        // cursor for actor details
+        private NotificationDto createPushedNotificationDto(NotificationType type, UUID actorId,
+                        LocalDateTime createdAt, Post post, UUID commentId, UUID replyId, String content) {
+                return NotificationDto.builder()
+                                .type(type)
+                                .actorUserId(actorId)
+                                .timeAgo(createdAt != null ? calculateDaysAgo(createdAt) : null)
+                                .postId(post != null ? post.getId() : null)
+                                .commentId(commentId)
+                                .replyId(replyId)
+                                .createdAt(createdAt)
+                                .commentContent(content)
+                                .postTitle(post != null ? post.getTitle() : null)
+                                .build();
+        }
+
+        // Count unread notifications with aggregate queries instead of loading rows
+        private long countUnread(UUID userId) {
+                LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(NOTIFICATION_WINDOW_DAYS);
+                LocalDateTime since = notificationReadMarkerRepository.findById(userId)
+                                .map(NotificationReadMarker::getLastReadAt)
+                                .filter(lastReadAt -> lastReadAt.isAfter(thirtyDaysAgo))
+                                .orElse(thirtyDaysAgo);
+
+                return commentOnPostRepository.countCommentsOnUserPostsSince(userId, since)
+                                + commentOnCommentRepository.countRepliesToUserCommentsSince(userId, since)
+                                + commentOnCommentRepository.countSiblingRepliesSince(userId, thirtyDaysAgo, since);
+        }
+
+        private boolean isAfterCursor(LocalDateTime createdAt, LocalDateTime since) {
+                return since == null || createdAt.isAfter(since);
         }
 
         // Main method that creates a notification DTO
@@ -198,9 +393,10 @@ public class NotificationServiceImpl implements NotificationService {
                         return Collections.emptyMap();
                 }
 
-                String uri = authServiceBaseUrl + PROFILE_BATCH_PATH;
+                String uri = authServiceBaseUrl + AuthClientMetrics.PROFILES_BATCH;
                 HttpEntity<List<UUID>> entity = new HttpEntity<>(userIds, null); // Send list of UUIDs in the body
 
+                long startedAt = authClientMetrics.start();
                 try {
                         ResponseEntity<Map<UUID, PostedByData>> response = restTemplate.exchange(
                                         uri,
@@ -210,18 +406,24 @@ public class NotificationServiceImpl implements NotificationService {
                                         }); // Expecting Map<UUID, PostedByData>
 
                         if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                                authClientMetrics.recordSuccess(AuthClientMetrics.PROFILES_BATCH, userIds.size(),
+                                                response.getBody().size(), startedAt);
                                 log.info("Fetched {} profiles successfully via POST {}.", response.getBody().size(),
                                                 uri);
                                 return response.getBody();
                         } else {
+                                authClientMetrics.recordBadResponse(AuthClientMetrics.PROFILES_BATCH, userIds.size(),
+                                                response, startedAt);
                                 log.error("Failed to fetch user details from Auth service via POST {}. Status: {}, Body: {}",
                                                 uri,
                                                 response.getStatusCode(), response.getBody());
                         }
                 } catch (ResourceAccessException e) {
+                        authClientMetrics.recordFailure(AuthClientMetrics.PROFILES_BATCH, userIds.size(), e, startedAt);
                         log.error("Network error fetching profiles via POST {} for user IDs {}: {}", uri, userIds,
                                         e.getMessage());
                 } catch (Exception e) {
+                        authClientMetrics.recordFailure(AuthClientMetrics.PROFILES_BATCH, userIds.size(), e, startedAt);
                         log.error("Error fetching profiles via POST {} for user IDs {}: {}", uri, userIds,
                                         e.getMessage(), e);
                 }
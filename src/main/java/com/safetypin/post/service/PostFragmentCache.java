@@ -0,0 +1,218 @@
+package com.safetypin.post.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.model.VoteType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Keeps the serialised JSON of each post so it is not re-serialised for every
+ * viewer. Only {@code currentVote} depends on the viewer, so a post is cached
+ * as two pre-encoded fragments around that value and the viewer's vote is
+ * spliced between them when the post is written.
+ *
+ * <p>
+ * An entry remembers the fields it was rendered from and is only reused while
+ * the post still has the same values; any change (vote or comment counts, an
+ * edit, the author's profile) renders it again. Once full, the least recently
+ * used entry is dropped. Hits and misses are counted in
+ * {@code posts.fragment.cache}, tagged {@code result}.
+ */
+@Component
+public class PostFragmentCache {
+
+    private static final byte[] VOTE_FIELD = "\"currentVote\":".getBytes(StandardCharsets.UTF_8);
+    private static final SerializedString NO_VOTE = new SerializedString("null");
+    private static final Map<VoteType, SerializedString> VOTES = new EnumMap<>(VoteType.class);
+
+    static {
+        for (VoteType vote : VoteType.values()) {
+            VOTES.put(vote, new SerializedString('"' + vote.name() + '"'));
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<UUID, Fragment> fragments;
+    private final Counter hits;
+    private final Counter misses;
+
+    // The post as rendered (without the viewer's vote) and the JSON on either side of the vote
+    private record Fragment(PostData source, SerializableString head, SerializableString tail) {
+    }
+
+    public PostFragmentCache(MeterRegistry registry,
+            @Value("${posts.fragment-cache.enabled:true}") boolean enabled,
+            @Value("${posts.fragment-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        // Access order, so reads keep an entry from being the next one dropped
+        this.fragments = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Fragment> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = Counter.builder("posts.fragment.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("posts.fragment.cache").tag("result", "miss").register(registry);
+    }
+
+    // A cache that always serialises in full, for code built outside the Spring context
+    public static PostFragmentCache disabled() {
+        return new PostFragmentCache(new CompositeMeterRegistry(), false, 0);
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    /**
+     * Writes the post using its cached fragments, rendering them with
+     * {@code serializer} first if the post is not cached or has changed.
+     */
+    public void write(PostData post, JsonGenerator generator, SerializerProvider provider,
+            JsonSerializer<Object> serializer) throws IOException {
+        // Indented output, generators without a mapper and token buffers (convertValue, valueToTree),
+        // which take no raw JSON, cannot be spliced byte for byte
+        if (!enabled || post.getId() == null || generator.getPrettyPrinter() != null
+                || generator instanceof TokenBuffer
+                || !(generator.getCodec() instanceof ObjectMapper mapper)) {
+            serializer.serialize(post, generator, provider);
+            return;
+        }
+
+        Fragment fragment = fragments.get(post.getId());
+        if (fragment != null && rendersSame(fragment.source(), post)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            fragment = render(post, mapper, provider, serializer);
+            if (fragment == null) {
+                serializer.serialize(post, generator, provider);
+                return;
+            }
+            fragments.put(post.getId(), fragment);
+        }
+
+        generator.writeRawValue(fragment.head());
+        generator.writeRaw(post.getCurrentVote() == null ? NO_VOTE : VOTES.get(post.getCurrentVote()));
+        generator.writeRaw(fragment.tail());
+    }
+
+    private Fragment render(PostData post, ObjectMapper mapper, SerializerProvider provider,
+            JsonSerializer<Object> serializer) throws IOException {
+        byte[] json;
+        try (ByteArrayBuilder bytes = new ByteArrayBuilder();
+                JsonGenerator fragmentGenerator = mapper.createGenerator(bytes, JsonEncoding.UTF8)) {
+            serializer.serialize(post, fragmentGenerator, provider);
+            fragmentGenerator.flush();
+            json = bytes.toByteArray();
+        }
+
+        // Quotes inside string values are escaped, so the first match is the field itself
+        int voteStart = indexOf(json, VOTE_FIELD);
+        if (voteStart < 0) {
+            return null;
+        }
+        voteStart += VOTE_FIELD.length;
+        int voteEnd = valueEnd(json, voteStart);
+        if (voteEnd < 0) {
+            return null;
+        }
+
+        return new Fragment(withoutVote(post),
+                preEncoded(new String(json, 0, voteStart, StandardCharsets.UTF_8)),
+                preEncoded(new String(json, voteEnd, json.length - voteEnd, StandardCharsets.UTF_8)));
+    }
+
+    // End of the vote value: null or an enum name, which needs no escaping
+    private static int valueEnd(byte[] json, int start) {
+        if (start < json.length && json[start] == 'n') {
+            return start + NO_VOTE.charLength();
+        }
+        if (start < json.length && json[start] == '"') {
+            for (int i = start + 1; i < json.length; i++) {
+                if (json[i] == '"') {
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] json, byte[] target) {
+        outer: for (int i = 0; i <= json.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (json[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static SerializableString preEncoded(String json) {
+        SerializedString fragment = new SerializedString(json);
+        // Encode once now rather than on the first write
+        fragment.asUnquotedUTF8();
+        return fragment;
+    }
+
+    // Copies the post so later changes to the DTO cannot alter what the entry was rendered from
+    private static PostData withoutVote(PostData post) {
+        return PostData.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .caption(post.getCaption())
+                .latitude(post.getLatitude())
+                .longitude(post.getLongitude())
+                .createdAt(post.getCreatedAt())
+                .category(post.getCategory())
+                .upvoteCount(post.getUpvoteCount())
+                .downvoteCount(post.getDownvoteCount())
+                .postedById(post.getPostedById())
+                .postedBy(post.getPostedBy())
+                .imageUrl(post.getImageUrl())
+                .address(post.getAddress())
+                .commentCount(post.getCommentCount())
+                .build();
+    }
+
+    private static boolean rendersSame(PostData cached, PostData post) {
+        return Objects.equals(cached.getUpvoteCount(), post.getUpvoteCount())
+                && Objects.equals(cached.getDownvoteCount(), post.getDownvoteCount())
+                && Objects.equals(cached.getCommentCount(), post.getCommentCount())
+                && Objects.equals(cached.getTitle(), post.getTitle())
+                && Objects.equals(cached.getCaption(), post.getCaption())
+                && Objects.equals(cached.getLatitude(), post.getLatitude())
+                && Objects.equals(cached.getLongitude(), post.getLongitude())
+                && Objects.equals(cached.getCreatedAt(), post.getCreatedAt())
+                && Objects.equals(cached.getCategory(), post.getCategory())
+                && Objects.equals(cached.getPostedById(), post.getPostedById())
+                && Objects.equals(cached.getPostedBy(), post.getPostedBy())
+                && Objects.equals(cached.getImageUrl(), post.getImageUrl())
+                && Objects.equals(cached.getAddress(), post.getAddress());
+    }
+}
@@ -0,0 +1,230 @@
+package com.safetypin.post.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.safetypin.post.dto.PostCreateRequest;
+import com.safetypin.post.dto.PostIngestResult;
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.exception.InvalidPostDataException;
+import com.safetypin.post.exception.UnauthorizedAccessException;
+import com.safetypin.post.model.Category;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.repository.CategoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates posts from an NDJSON stream, one {@link PostCreateRequest} per line,
+ * for partner integrations importing many incidents at once. Lines are read and
+ * validated as they arrive, against the categories loaded once per request,
+ * and valid posts are written with JDBC batch inserts of
+ * {@code posts.ingest.batch-size}, one transaction per batch. Each line gets its
+ * own result, so one bad line does not reject the rest.
+ *
+ * <p>
+ * Bulk ingest is for moderator accounts. Instead of the daily post limit it is
+ * bounded by {@link IngestRateLimiter} and {@code posts.ingest.max-items} per
+ * request; reading stops at the first line past the limit, which gets the one
+ * rejection for it and everything after. Writes PostgreSQL/PostGIS SQL, like BulkDataSeeder.
+ */
+@Slf4j
+@Service
+public class PostIngestService {
+
+    static final String INSERT_SQL = "INSERT INTO posts "
+            + "(id, title, caption, name, created_at, posted_by, image_url, address, location) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final CategoryRenameMigrator categoryRenameMigrator;
+    private final IngestRateLimiter rateLimiter;
+    private final ContentVersions contentVersions;
+    private final RecentWriters recentWriters;
+    private final RecentPostBuffer recentPostBuffer;
+    private final EventStreamService eventStreamService;
+    private final ObjectReader requestReader;
+    private final int batchSize;
+    private final int maxItems;
+
+    public PostIngestService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            CategoryRepository categoryRepository,
+            CategoryRenameMigrator categoryRenameMigrator,
+            IngestRateLimiter rateLimiter,
+            ContentVersions contentVersions,
+            RecentWriters recentWriters,
+            RecentPostBuffer recentPostBuffer,
+            EventStreamService eventStreamService,
+            ObjectMapper objectMapper,
+            @Value("${posts.ingest.batch-size:200}") int batchSize,
+            @Value("${posts.ingest.max-items:5000}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryRepository = categoryRepository;
+        this.categoryRenameMigrator = categoryRenameMigrator;
+        this.rateLimiter = rateLimiter;
+        this.contentVersions = contentVersions;
+        this.recentWriters = recentWriters;
+        this.recentPostBuffer = recentPostBuffer;
+        this.eventStreamService = eventStreamService;
+        this.requestReader = objectMapper.readerFor(PostCreateRequest.class);
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    public List<PostIngestResult> ingest(InputStream ndjson, UserDetails userDetails) {
+        if (userDetails.getRole() != Role.MODERATOR) {
+            throw new UnauthorizedAccessException("Bulk ingest is restricted to moderators");
+        }
+        UUID userId = userDetails.getUserId();
+        Set<String> categories = categoryRepository.findAll().stream()
+                .map(Category::getName)
+                .collect(Collectors.toSet());
+
+        List<PostIngestResult> results = new ArrayList<>();
+        List<PendingPost> batch = new ArrayList<>(batchSize);
+        int items = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (++items > maxItems) {
+                    results.add(PostIngestResult.rejected(lineNumber, "Request exceeds the limit of " + maxItems
+                            + " posts; this line and the rest were not read"));
+                    break;
+                }
+                PostIngestResult rejection = parse(lineNumber, line, userDetails, categories, batch);
+                if (rejection != null) {
+                    results.add(rejection);
+                } else if (batch.size() >= batchSize) {
+                    flush(batch, results, userId);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the request body", e);
+        }
+        flush(batch, results, userId);
+
+        // Rejections are recorded as lines are read, acceptances when their batch commits
+        results.sort(Comparator.comparingInt(PostIngestResult::line));
+        return results;
+    }
+
+    // Adds the line's post to the batch, or returns why it was rejected
+    private PostIngestResult parse(int lineNumber, String line, UserDetails userDetails, Set<String> categories,
+            List<PendingPost> batch) {
+        PostCreateRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return PostIngestResult.rejected(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        request.setPostedBy(userDetails.getUserId());
+        try {
+            PostService.validateContent(request, userDetails);
+            validateCategory(request.getCategory(), categories);
+        } catch (InvalidPostDataException e) {
+            return PostIngestResult.rejected(lineNumber, e.getMessage());
+        }
+        if (!rateLimiter.tryAcquire(userDetails.getUserId())) {
+            return PostIngestResult.rejected(lineNumber, "Ingest rate limit exceeded, retry later");
+        }
+        batch.add(new PendingPost(lineNumber, toPost(request)));
+        return null;
+    }
+
+    private static void validateCategory(String category, Set<String> categories) {
+        if (category == null || category.trim().isEmpty()) {
+            throw new InvalidPostDataException("Category is required");
+        }
+        if (!categories.contains(category)) {
+            throw new InvalidPostDataException("Category does not exist: " + category);
+        }
+    }
+
+    private Post toPost(PostCreateRequest request) {
+        // File posts under the new name if their category is mid-rename, as PostService does
+        String category = categoryRenameMigrator.isMigrating()
+                ? categoryRenameMigrator.currentName(request.getCategory())
+                : request.getCategory();
+        return new Post.Builder()
+                .id(UUID.randomUUID())
+                .title(request.getTitle())
+                .caption(request.getCaption())
+                .location(request.getLatitude(), request.getLongitude())
+                .category(category)
+                .postedBy(request.getPostedBy())
+                .imageUrl(request.getImageUrl())
+                .address(request.getAddress())
+                .build();
+    }
+
+    private void flush(List<PendingPost> batch, List<PostIngestResult> results, UUID userId) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = batch.stream()
+                .map(pending -> row(pending.post()))
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                contentVersions.postCreated();
+                batch.forEach(pending -> recentPostBuffer.add(pending.post()));
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Error saving ingested posts: {}", e.getMessage());
+            for (PendingPost pending : batch) {
+                results.add(PostIngestResult.rejected(pending.line(), "Failed to save the post: " + e.getMessage()));
+            }
+            batch.clear();
+            return;
+        }
+
+        recentWriters.recordWrite(userId);
+        for (PendingPost pending : batch) {
+            results.add(PostIngestResult.accepted(pending.line(), pending.post().getId()));
+            eventStreamService.publishNewPost(pending.post());
+        }
+        batch.clear();
+    }
+
+    private static Object[] row(Post post) {
+        return new Object[] { post.getId(), post.getTitle(), post.getCaption(), post.getCategory(),
+                Timestamp.valueOf(post.getCreatedAt()), post.getPostedBy(), post.getImageUrl(), post.getAddress(),
+                post.getLongitude(), post.getLatitude() };
+    }
+
+    private record PendingPost(int line, Post post) {
+    }
+}
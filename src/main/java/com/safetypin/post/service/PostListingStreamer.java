@@ -0,0 +1,163 @@
+package com.safetypin.post.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetypin.post.dto.PostCommentCount;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.dto.PostVoteSummary;
+import com.safetypin.post.dto.PostedByData;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.repository.CommentOnPostRepository;
+import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.repository.VoteRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes post listings as JSON straight from a database cursor, in the same
+ * envelope as the buffered endpoints. Rows are read in chunks: each chunk gets
+ * its vote and comment counts in one grouped query each and its authors'
+ * profiles in one batch call, is written and flushed, and is then
+ * detached, so memory is bounded by the chunk size instead of the page size
+ * and the client receives the first posts before the last row is read.
+ */
+@Component
+public class PostListingStreamer {
+
+    private final PostRepository postRepository;
+    private final VoteRepository voteRepository;
+    private final CommentOnPostRepository commentOnPostRepository;
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public PostListingStreamer(PostRepository postRepository,
+            VoteRepository voteRepository,
+            CommentOnPostRepository commentOnPostRepository,
+            PostService postService,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${posts.streaming.chunk-size:100}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.voteRepository = voteRepository;
+        this.commentOnPostRepository = commentOnPostRepository;
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    public long countAll() {
+        return postRepository.count();
+    }
+
+    public long countByUser(UUID postUserId) {
+        return postRepository.countByPostedBy(postUserId);
+    }
+
+    public void writeAll(OutputStream out, Pageable pageable, long total, UUID viewerId) throws IOException {
+        write(out, pageable, total, viewerId, () -> postRepository.streamAllBy(pageable));
+    }
+
+    // Votes are shown from the author's point of view, as in PostService.findPostsByUser
+    public void writeByUser(OutputStream out, UUID postUserId, Pageable pageable, long total) throws IOException {
+        write(out, pageable, total, postUserId,
+                () -> postRepository.streamByPostedByOrderByCreatedAtDesc(postUserId, pageable));
+    }
+
+    private void write(OutputStream out, Pageable pageable, long total, UUID viewerId,
+            Supplier<Stream<Post>> rows) throws IOException {
+        // Pagination fields are derived from the count alone, as PageImpl would for the full page
+        Page<Post> page = new PageImpl<>(Collections.emptyList(), pageable, total);
+
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        // The servlet container owns the response stream
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        generator.writeStartObject();
+        generator.writeBooleanField("success", true);
+        generator.writeNullField("message");
+        generator.writeObjectFieldStart("data");
+
+        generator.writeArrayFieldStart("content");
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> writeContent(generator, viewerId, rows));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-response
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+
+        generator.writeNumberField("totalPages", page.getTotalPages());
+        generator.writeNumberField("totalElements", page.getTotalElements());
+        generator.writeNumberField("currentPage", page.getNumber());
+        generator.writeNumberField("pageSize", page.getSize());
+        generator.writeBooleanField("hasNext", page.hasNext());
+        generator.writeBooleanField("hasPrevious", page.hasPrevious());
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void writeContent(JsonGenerator generator, UUID viewerId, Supplier<Stream<Post>> rows) {
+        try (Stream<Post> posts = rows.get()) {
+            List<Post> chunk = new ArrayList<>(chunkSize);
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    writeChunk(generator, chunk, viewerId);
+                    chunk.clear();
+                    // Written posts are no longer needed
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeChunk(JsonGenerator generator, List<Post> chunk, UUID viewerId) throws IOException {
+        // Counts for the whole chunk, rather than loading each post's votes and comments
+        List<UUID> postIds = chunk.stream().map(Post::getId).toList();
+        Map<UUID, PostVoteSummary> votes = voteRepository.summarizeVotes(postIds, viewerId).stream()
+                .collect(Collectors.toMap(PostVoteSummary::getPostId, Function.identity()));
+        Map<UUID, Long> commentCounts = commentOnPostRepository.countByParentIds(postIds).stream()
+                .collect(Collectors.toMap(PostCommentCount::getPostId, PostCommentCount::getCommentCount));
+        List<UUID> authors = chunk.stream().map(Post::getPostedBy).distinct().toList();
+        Map<UUID, PostedByData> profiles = postService.fetchPostedByData(authors);
+        for (Post post : chunk) {
+            PostData postData = PostData.fromPostAndCounts(post, votes.get(post.getId()),
+                    commentCounts.getOrDefault(post.getId(), 0L), profiles.get(post.getPostedBy()));
+            postService.applyPendingVote(postData, viewerId);
+            generator.writeObject(postData);
+        }
+        generator.flush();
+    }
+}
@@ -1,9 +1,13 @@
 package com.safetypin.post.service;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,12 +20,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
+import com.safetypin.post.dto.PostCommentCount;
 import com.safetypin.post.dto.PostCreateRequest;
 import com.safetypin.post.dto.PostData;
+import com.safetypin.post.dto.PostLookupResult;
+import com.safetypin.post.dto.PostVoteSummary;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.dto.UserDetails;
 import com.safetypin.post.exception.InvalidPostDataException;
@@ -31,7 +40,9 @@ import com.safetypin.post.exception.UnauthorizedAccessException;
 import com.safetypin.post.model.Category;
 import com.safetypin.post.model.Post;
 import com.safetypin.post.repository.CategoryRepository;
+import com.safetypin.post.repository.CommentOnPostRepository;
 import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.repository.VoteRepository;
 import com.safetypin.post.service.strategy.DistanceFeedStrategy;
 import com.safetypin.post.service.strategy.FeedStrategy;
 import com.safetypin.post.service.strategy.FollowingFeedStrategy;
@@ -43,37 +54,76 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class PostService {
 
+    private static final String FETCH_STAGE = "fetch";
+    private static final LocalDateTime EARLIEST_POST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_POST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
     private final DistanceFeedStrategy distanceFeedStrategy;
     private final TimestampFeedStrategy timestampFeedStrategy;
     private final FollowingFeedStrategy followingFeedStrategy;
     private final RestTemplate restTemplate;
+    private final EventStreamService eventStreamService;
+    private final VoteWriteBehindBuffer voteWriteBehindBuffer;
+    private final CategoryRenameMigrator categoryRenameMigrator;
+    private final PipelineMetrics pipelineMetrics;
+    private final AuthClientMetrics authClientMetrics;
+    private final ContentVersions contentVersions;
+    private final RecentWriters recentWriters;
+    private final VoteRepository voteRepository;
+    private final CommentOnPostRepository commentOnPostRepository;
+    private final RecentPostBuffer recentPostBuffer;
 
     @Value("${be-auth}")
     private String apiEndpoint = "http://safetypin.ppl.cs.ui.ac.id";
 
+    @Value("${posts.batch.max-ids:100}")
+    private int maxBatchIds = 100;
+
     @Autowired
     public PostService(PostRepository postRepository, CategoryRepository categoryRepository,
             DistanceFeedStrategy distanceFeedStrategy,
             TimestampFeedStrategy timestampFeedStrategy,
             FollowingFeedStrategy followingFeedStrategy,
-            RestTemplate restTemplate) {
+            RestTemplate restTemplate,
+            EventStreamService eventStreamService,
+            VoteWriteBehindBuffer voteWriteBehindBuffer,
+            CategoryRenameMigrator categoryRenameMigrator,
+            PipelineMetrics pipelineMetrics,
+            AuthClientMetrics authClientMetrics,
+            ContentVersions contentVersions,
+            RecentWriters recentWriters,
+            VoteRepository voteRepository,
+            CommentOnPostRepository commentOnPostRepository,
+            RecentPostBuffer recentPostBuffer) {
         this.postRepository = postRepository;
         this.categoryRepository = categoryRepository;
         this.distanceFeedStrategy = distanceFeedStrategy;
         this.timestampFeedStrategy = timestampFeedStrategy;
         this.followingFeedStrategy = followingFeedStrategy;
         this.restTemplate = restTemplate;
+        this.eventStreamService = eventStreamService;
+        this.voteWriteBehindBuffer = voteWriteBehindBuffer;
+        this.categoryRenameMigrator = categoryRenameMigrator;
+        this.pipelineMetrics = pipelineMetrics;
+        this.authClientMetrics = authClientMetrics;
+        this.contentVersions = contentVersions;
+        this.recentWriters = recentWriters;
+        this.voteRepository = voteRepository;
+        this.commentOnPostRepository = commentOnPostRepository;
+        this.recentPostBuffer = recentPostBuffer;
     }
     // find all (debugging purposes)
 
+    @Transactional(readOnly = true)
     public List<Post> findAll() {
         return postRepository.findAll();
     }
 
     // find all with pagination
 
+    @Transactional(readOnly = true)
     public Page<Post> findAllPaginated(Pageable pageable) {
         return postRepository.findAll(pageable);
     }
@@ -116,7 +166,13 @@ public class PostService {
         validateCategoryAndUser(category, postedBy);
     }
 
-    private void validateTitleAndContent(String title, String content, UserDetails userDetails) {
+    // The checks PostIngestService shares; it validates categories against its own set
+    static void validateContent(PostCreateRequest request, UserDetails userDetails) {
+        validateTitleAndContent(request.getTitle(), request.getCaption(), userDetails);
+        validateLocation(request.getLatitude(), request.getLongitude());
+    }
+
+    private static void validateTitleAndContent(String title, String content, UserDetails userDetails) {
         int titleLimit = userDetails.getTitleCharacterLimit();
         int captionLimit = userDetails.getCaptionCharacterLimit();
         String userType = userDetails.isPremiumUser() ? "premium" : "free";
@@ -140,7 +196,7 @@ public class PostService {
         }
     }
 
-    private void validateLocation(Double latitude, Double longitude) {
+    private static void validateLocation(Double latitude, Double longitude) {
         if (latitude == null || longitude == null) {
             throw new InvalidPostDataException("Location coordinates are required");
         }
@@ -163,43 +219,119 @@ public class PostService {
     }
 
     private Post createAndSavePost(PostCreateRequest request) {
+        // File posts under the new name if their category is mid-rename
+        String category = categoryRenameMigrator.isMigrating()
+                ? categoryRenameMigrator.currentName(request.getCategory())
+                : request.getCategory();
+
         Post post = new Post.Builder()
                 .title(request.getTitle())
                 .caption(request.getCaption())
                 .location(request.getLatitude(), request.getLongitude())
-                .category(request.getCategory())
+                .category(category)
                 .postedBy(request.getPostedBy())
                 .imageUrl(request.getImageUrl())
                 .address(request.getAddress())
                 .build();
 
+        Post savedPost;
         try {
-            return postRepository.save(post);
+            savedPost = postRepository.save(post);
         } catch (Exception e) {
             log.error("Error saving post: {}", e.getMessage());
             throw new PostException("Failed to save the post: " + e.getMessage());
         }
+
+        contentVersions.postCreated();
+        recentPostBuffer.add(savedPost);
+        recentWriters.recordWrite(request.getPostedBy());
+
+        // Push to clients streaming new posts nearby
+        eventStreamService.publishNewPost(savedPost);
+        return savedPost;
     }
 
+    @Transactional(readOnly = true)
     public Post findById(UUID id) {
         return postRepository.findById(id)
                 .orElseThrow(() -> new PostNotFoundException("Post not found with id: " + id));
     }
 
+    /**
+     * Looks up several posts at once, in request order, marking IDs without a
+     * post as not found. The posts, their vote counts with the viewer's votes and
+     * their comment counts take one query each, and the authors one profile
+     * batch, however many IDs are asked for.
+     */
+    @Transactional(readOnly = true)
+    public List<PostLookupResult> findPostsByIds(List<UUID> ids, UUID userId) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidPostDataException("At least one post ID is required");
+        }
+        if (ids.size() > maxBatchIds) {
+            throw new InvalidPostDataException("At most " + maxBatchIds + " post IDs can be requested at once");
+        }
+        if (ids.contains(null)) {
+            throw new InvalidPostDataException("Post IDs must not be null");
+        }
+
+        Map<UUID, PostData> postData = toPostData(postRepository.findAllById(ids.stream().distinct().toList()),
+                userId);
+        postData.values().forEach(data -> applyPendingVote(data, userId));
+
+        return ids.stream()
+                .map(id -> postData.containsKey(id)
+                        ? PostLookupResult.found(id, postData.get(id))
+                        : PostLookupResult.notFound(id))
+                .toList();
+    }
+
+    // Counts and profiles for the given posts, with a grouped query for each instead of their collections
+    private Map<UUID, PostData> toPostData(List<Post> posts, UUID userId) {
+        Map<UUID, PostData> postData = new HashMap<>();
+        if (posts.isEmpty()) {
+            return postData;
+        }
+        List<UUID> postIds = posts.stream().map(Post::getId).toList();
+        Map<UUID, PostVoteSummary> votes = voteRepository.summarizeVotes(postIds, userId).stream()
+                .collect(Collectors.toMap(PostVoteSummary::getPostId, Function.identity()));
+        Map<UUID, Long> commentCounts = commentOnPostRepository.countByParentIds(postIds).stream()
+                .collect(Collectors.toMap(PostCommentCount::getPostId, PostCommentCount::getCommentCount));
+        Map<UUID, PostedByData> profiles = fetchPostedByData(posts.stream()
+                .map(Post::getPostedBy)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
+        for (Post post : posts) {
+            postData.put(post.getId(), PostData.fromPostAndCounts(post, votes.get(post.getId()),
+                    commentCounts.getOrDefault(post.getId(), 0L), profiles.get(post.getPostedBy())));
+        }
+        return postData;
+    }
+
     public void deletePost(UUID postId, UUID userId) {
         Post post = findById(postId);
         if (!post.getPostedBy().equals(userId)) {
             throw new UnauthorizedAccessException("User not authorized to delete this post");
         }
         postRepository.delete(post);
+        contentVersions.postChanged(postId);
+        recentPostBuffer.remove(post);
     }
 
-    public Page<Map<String, Object>> getFeed(FeedQueryDTO queryDTO, String feedType) {
+    @Transactional(readOnly = true)
+    public Page<FeedItem> getFeed(FeedQueryDTO queryDTO, String feedType) {
         // Validate categories if provided
         if (queryDTO.getCategories() != null && !queryDTO.getCategories().isEmpty()) {
             validateCategories(queryDTO.getCategories());
         }
 
+        // Match posts under either name while a category rename is still moving them
+        if (categoryRenameMigrator.isMigrating()) {
+            queryDTO.setCategories(categoryRenameMigrator.withAliases(queryDTO.getCategories()));
+        }
+
         // Validate feed type
         if (feedType == null) {
             throw new IllegalArgumentException("Feed type is required");
@@ -213,17 +345,25 @@ public class PostService {
         switch (feedType.toLowerCase()) {
             case "distance":
                 strategy = distanceFeedStrategy;
-                allPosts = postRepository.findAll(); // Distance needs all posts
+                // Let the database drop posts outside the radius; without one, distance needs all posts
+                allPosts = pipelineMetrics.timeFeedStage("distance", FETCH_STAGE,
+                        () -> fetchDistanceCandidates(queryDTO));
                 // Fetch profiles for all posts
-                List<UUID> createdByListDistance = allPosts.stream().map(Post::getPostedBy).distinct().toList();
-                profileList = fetchPostedByData(createdByListDistance);
+                profileList = fetchFeedProfiles("distance", allPosts);
                 break;
             case "timestamp":
+                Page<FeedItem> recentFeed = recentFeedPage(queryDTO);
+                if (recentFeed != null) {
+                    return withPendingVotes(recentFeed, feedType, queryDTO.getUserId());
+                }
                 strategy = timestampFeedStrategy;
-                allPosts = postRepository.findAll(); // Timestamp currently processes all posts
+                // Timestamp processes all posts in the requested date range
+                allPosts = pipelineMetrics.timeFeedStage("timestamp", FETCH_STAGE,
+                        () -> hasDateRange(queryDTO)
+                                ? postRepository.findByCreatedAtBetween(createdFrom(queryDTO), createdTo(queryDTO))
+                                : postRepository.findAll());
                 // Fetch profiles for all posts
-                List<UUID> createdByListTimestamp = allPosts.stream().map(Post::getPostedBy).distinct().toList();
-                profileList = fetchPostedByData(createdByListTimestamp);
+                profileList = fetchFeedProfiles("timestamp", allPosts);
                 break;
             case "following": // Added case
                 strategy = followingFeedStrategy;
@@ -237,10 +377,87 @@ public class PostService {
         // Apply strategy to posts
         // Pass null for allPosts and profileList if the strategy doesn't need them
         // (like FollowingFeedStrategy)
-        return strategy.processFeed(allPosts, queryDTO, profileList);
+        return withPendingVotes(strategy.processFeed(allPosts, queryDTO, profileList), feedType,
+                queryDTO.getUserId());
+    }
+
+    private Page<FeedItem> withPendingVotes(Page<FeedItem> feed, String feedType, UUID userId) {
+        if (voteWriteBehindBuffer.isEnabled()) {
+            pipelineMetrics.timeFeedStage(feedType.toLowerCase(), "overlay", () -> {
+                feed.forEach(item -> voteWriteBehindBuffer.applyPendingVote(item.post(), userId));
+                return feed;
+            });
+        }
+        return feed;
     }
 
-    public Page<Map<String, Object>> findPostsByUser(UUID postUserId, Pageable pageable) {
+    // Early pages of the timestamp feed without a keyword or dates come from the recent posts buffer;
+    // null when the buffer cannot serve the page
+    private Page<FeedItem> recentFeedPage(FeedQueryDTO queryDTO) {
+        boolean hasKeyword = queryDTO.getKeyword() != null && !queryDTO.getKeyword().isEmpty();
+        // Mid-rename, the buffer's per-category counts do not include posts still under the other name
+        if (hasKeyword || hasDateRange(queryDTO) || categoryRenameMigrator.isMigrating()) {
+            return null;
+        }
+        Page<Post> page = pipelineMetrics.timeFeedStage("timestamp", FETCH_STAGE,
+                () -> recentPostBuffer.page(queryDTO.getCategories(), queryDTO.getPageable()));
+        if (page == null) {
+            return null;
+        }
+        Map<UUID, PostData> postData = pipelineMetrics.timeFeedStage("timestamp", "counts",
+                () -> toPostData(page.getContent(), queryDTO.getUserId()));
+        return page.map(post -> FeedItem.of(postData.get(post.getId())));
+    }
+
+    // The database drops posts outside the radius and date range, so a partitioned posts table only
+    // reads the months the range covers; without either, distance needs all posts
+    private List<Post> fetchDistanceCandidates(FeedQueryDTO queryDTO) {
+        boolean hasRadius = queryDTO.getRadiusKm() != null && queryDTO.getUserLat() != null
+                && queryDTO.getUserLon() != null;
+        if (hasRadius && hasDateRange(queryDTO)) {
+            return postRepository.findWithinRadiusCreatedBetween(queryDTO.getUserLat(), queryDTO.getUserLon(),
+                    queryDTO.getRadiusKm() * 1000, createdFrom(queryDTO), createdTo(queryDTO));
+        }
+        if (hasRadius) {
+            return postRepository.findWithinRadius(queryDTO.getUserLat(), queryDTO.getUserLon(),
+                    queryDTO.getRadiusKm() * 1000);
+        }
+        if (hasDateRange(queryDTO)) {
+            return postRepository.findByCreatedAtBetween(createdFrom(queryDTO), createdTo(queryDTO));
+        }
+        return postRepository.findAll();
+    }
+
+    private static boolean hasDateRange(FeedQueryDTO queryDTO) {
+        return queryDTO.getDateFrom() != null || queryDTO.getDateTo() != null;
+    }
+
+    // An open side of the range is bounded by a date no post can have
+    private static LocalDateTime createdFrom(FeedQueryDTO queryDTO) {
+        return queryDTO.getDateFrom() != null ? queryDTO.getDateFrom() : EARLIEST_POST;
+    }
+
+    private static LocalDateTime createdTo(FeedQueryDTO queryDTO) {
+        return queryDTO.getDateTo() != null ? queryDTO.getDateTo() : LATEST_POST;
+    }
+
+    private Map<UUID, PostedByData> fetchFeedProfiles(String feedType, List<Post> posts) {
+        pipelineMetrics.recordFeedCandidates(feedType, PipelineMetrics.FETCHED, posts.size());
+        return pipelineMetrics.timeFeedStage(feedType, "profiles", () -> {
+            List<UUID> createdByList = posts.stream().map(Post::getPostedBy).distinct().toList();
+            return fetchPostedByData(createdByList);
+        });
+    }
+
+    // Show the viewer their own vote while it is still buffered for write-behind
+    public void applyPendingVote(PostData postData, UUID userId) {
+        if (voteWriteBehindBuffer.isEnabled()) {
+            voteWriteBehindBuffer.applyPendingVote(postData, userId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FeedItem> findPostsByUser(UUID postUserId, Pageable pageable) {
         if (postUserId == null) {
             throw new IllegalArgumentException("Post user ID is required");
         }
@@ -258,10 +475,9 @@ public class PostService {
 
         // Map to PostData and return page
         return allPosts.map(post -> {
-            Map<String, Object> result = new HashMap<>();
             PostData postData = PostData.fromPostAndUserId(post, postUserId, (profileList.get(post.getPostedBy())));
-            result.put("post", postData);
-            return result;
+            applyPendingVote(postData, postUserId);
+            return FeedItem.of(postData);
         });
     }
 
@@ -280,21 +496,32 @@ public class PostService {
             return new HashMap<>();
         }
         // fetch profiles
-        String uri = apiEndpoint + "/api/profiles/batch"; // or any other uri
+        String uri = apiEndpoint + AuthClientMetrics.PROFILES_BATCH;
         HttpEntity<List<UUID>> entity = new HttpEntity<>(userIds, null);
+        long startedAt = authClientMetrics.start();
         try {
             ResponseEntity<Map<UUID, PostedByData>> result = restTemplate.exchange(uri, HttpMethod.POST, entity,
                     new ParameterizedTypeReference<Map<UUID, PostedByData>>() {
                     });
 
             Map<UUID, PostedByData> resultBody = result.getBody();
-            log.info("Fetched {} profiles successfully.", resultBody != null ? resultBody.size() : 0);
-            return resultBody != null ? resultBody : new HashMap<>();
+            if (!result.getStatusCode().is2xxSuccessful() || resultBody == null) {
+                authClientMetrics.recordBadResponse(AuthClientMetrics.PROFILES_BATCH, userIds.size(), result,
+                        startedAt);
+                log.error("Failed to fetch profiles. Status: {}", result.getStatusCode());
+                return new HashMap<>();
+            }
+            authClientMetrics.recordSuccess(AuthClientMetrics.PROFILES_BATCH, userIds.size(), resultBody.size(),
+                    startedAt);
+            log.info("Fetched {} profiles successfully.", resultBody.size());
+            return resultBody;
         } catch (ResourceAccessException e) {
+            authClientMetrics.recordFailure(AuthClientMetrics.PROFILES_BATCH, userIds.size(), e, startedAt);
             log.error("Network error fetching profiles for user IDs {}: {}", userIds, e.getMessage());
             // Return empty map on network error
             return new HashMap<>();
         } catch (Exception e) {
+            authClientMetrics.recordFailure(AuthClientMetrics.PROFILES_BATCH, userIds.size(), e, startedAt);
             log.error("Error fetching profiles for user IDs {}: {}", userIds, e.getMessage(), e);
             // Return empty map on other errors during fetch
             return new HashMap<>();
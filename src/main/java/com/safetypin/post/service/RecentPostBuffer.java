@@ -0,0 +1,274 @@
+package com.safetypin.post.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.safetypin.post.dto.CategoryPostCount;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.repository.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The newest {@code posts.recent-buffer.size} posts, newest first, with the
+ * number of posts in each category, so early pages of the timestamp feed are
+ * served without scanning and sorting every post. Writers report created and
+ * deleted posts here; bulk changes reported to {@link ContentVersions} empty
+ * the buffer, and it is loaded again from the database on the next read.
+ * Requests with a keyword or dates are not answered here; the caller sends
+ * them to the database.
+ *
+ * <p>
+ * The buffer is an immutable snapshot swapped with compare-and-set, so reads
+ * never wait, not even on a write, and always see one consistent list and set
+ * of counts. A write copies the list once, which for the default thousand
+ * posts is a few kilobytes of references and far cheaper than the insert that
+ * reported it. The buffer keeps copies of the posts without their votes and
+ * comments; callers load the counts for the page they serve. Hits and misses
+ * are counted in {@code posts.recent.buffer}, tagged {@code result}.
+ */
+@Slf4j
+@Component
+public class RecentPostBuffer {
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator.comparing(Post::getCreatedAt).reversed()
+            .thenComparing(Post::getId);
+
+    // Posts newest first and the number of posts in total and per category; posts is null while cold
+    private record Snapshot(List<Post> posts, long total, Map<String, Long> categoryCounts, long allPostsVersion) {
+
+        static Snapshot cold() {
+            return new Snapshot(null, 0, Map.of(), 0);
+        }
+
+        boolean isWarm() {
+            return posts != null;
+        }
+
+        Snapshot with(Post post, int capacity) {
+            // Posts are ordered by creation time and ID, so a post already buffered is found here
+            int index = Collections.binarySearch(posts, post, NEWEST_FIRST);
+            if (index >= 0) {
+                return this;
+            }
+            int insertAt = -index - 1;
+            List<Post> updated = posts;
+            // Older than everything in a full buffer: only the counts change
+            if (insertAt < capacity) {
+                int kept = Math.min(posts.size(), capacity - 1);
+                List<Post> copy = new ArrayList<>(kept + 1);
+                copy.addAll(posts.subList(0, insertAt));
+                copy.add(post);
+                copy.addAll(posts.subList(insertAt, Math.max(insertAt, kept)));
+                updated = Collections.unmodifiableList(copy);
+            }
+            return new Snapshot(updated, total + 1, adjust(post.getCategory(), 1), allPostsVersion);
+        }
+
+        Snapshot without(Post post) {
+            int index = Collections.binarySearch(posts, post, NEWEST_FIRST);
+            List<Post> updated = posts;
+            if (index >= 0) {
+                List<Post> copy = new ArrayList<>(posts);
+                copy.remove(index);
+                updated = Collections.unmodifiableList(copy);
+            }
+            return new Snapshot(updated, Math.max(0, total - 1), adjust(post.getCategory(), -1), allPostsVersion);
+        }
+
+        private Map<String, Long> adjust(String category, long delta) {
+            if (category == null) {
+                return categoryCounts;
+            }
+            Map<String, Long> counts = new HashMap<>(categoryCounts);
+            counts.put(category, Math.max(0, counts.getOrDefault(category, 0L) + delta));
+            return Collections.unmodifiableMap(counts);
+        }
+    }
+
+    private final PostRepository postRepository;
+    private final ContentVersions contentVersions;
+    private final boolean enabled;
+    private final int capacity;
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.cold());
+    private final AtomicBoolean warming = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecentPostBuffer(PostRepository postRepository, ContentVersions contentVersions, MeterRegistry registry,
+            @Value("${posts.recent-buffer.enabled:true}") boolean enabled,
+            @Value("${posts.recent-buffer.size:1000}") int capacity) {
+        this.postRepository = postRepository;
+        this.contentVersions = contentVersions;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.hits = Counter.builder("posts.recent.buffer").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("posts.recent.buffer").tag("result", "miss").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (enabled && !warm()) {
+            log.warn("Recent posts not loaded at startup; the buffer loads on the next timestamp feed request");
+        }
+    }
+
+    public void add(Post post) {
+        if (!enabled) {
+            return;
+        }
+        Post copy = copy(post);
+        // Replacing the cold snapshot too makes a load that was running when the post was written start over
+        AfterCommit.run(() -> state.updateAndGet(snapshot -> snapshot.isWarm()
+                ? snapshot.with(copy, capacity)
+                : Snapshot.cold()));
+    }
+
+    public void remove(Post post) {
+        if (!enabled) {
+            return;
+        }
+        Post copy = copy(post);
+        AfterCommit.run(() -> state.updateAndGet(snapshot -> snapshot.isWarm()
+                ? snapshot.without(copy)
+                : Snapshot.cold()));
+    }
+
+    /**
+     * The page of the newest posts in any of {@code categories} (all posts when
+     * empty), or null when the buffer cannot answer it: it is cold, or the page
+     * reaches past the buffered posts into ones only the database has.
+     */
+    public Page<Post> page(List<String> categories, Pageable pageable) {
+        Snapshot snapshot = enabled && pageable.isPaged() ? current() : null;
+        Page<Post> page = snapshot == null ? null : read(snapshot, categories, pageable);
+        if (page == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return page;
+    }
+
+    private static Page<Post> read(Snapshot snapshot, List<String> categories, Pageable pageable) {
+        boolean allCategories = categories == null || categories.isEmpty();
+        long total = allCategories
+                ? snapshot.total()
+                : categories.stream()
+                        .distinct()
+                        .mapToLong(category -> snapshot.categoryCounts().getOrDefault(category, 0L))
+                        .sum();
+        long offset = pageable.getOffset();
+        long end = offset + pageable.getPageSize();
+        List<Post> posts = snapshot.posts();
+
+        List<Post> content;
+        long matched;
+        if (allCategories) {
+            matched = Math.min(end, posts.size());
+            content = posts.subList((int) Math.min(offset, matched), (int) matched);
+        } else {
+            // Stops at the end of the page rather than filtering every buffered post
+            content = new ArrayList<>(pageable.getPageSize());
+            matched = 0;
+            for (int i = 0; i < posts.size() && matched < end; i++) {
+                Post post = posts.get(i);
+                if (post.getCategory() != null && categories.contains(post.getCategory())) {
+                    if (matched >= offset) {
+                        content.add(post);
+                    }
+                    matched++;
+                }
+            }
+        }
+        // The rest of the page is only in the database
+        if (matched < end && matched < total) {
+            return null;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // The warm snapshot, loading one first if no other thread is
+    private Snapshot current() {
+        Snapshot snapshot = state.get();
+        if (snapshot.isWarm() && snapshot.allPostsVersion() != contentVersions.allPostsVersion()) {
+            // Posts changed in bulk, so neither the posts nor the counts can be trusted
+            state.compareAndSet(snapshot, Snapshot.cold());
+            snapshot = state.get();
+        }
+        if (!snapshot.isWarm() && warm()) {
+            snapshot = state.get();
+        }
+        return snapshot.isWarm() ? snapshot : null;
+    }
+
+    boolean warm() {
+        if (!enabled || !warming.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            // Read before the queries, so a write or bulk change reported during them is not lost
+            Snapshot cold = state.get();
+            long allPostsVersion = contentVersions.allPostsVersion();
+            if (cold.isWarm()) {
+                return true;
+            }
+
+            List<Post> recent = postRepository.findByOrderByCreatedAtDesc(PageRequest.of(0, capacity)).stream()
+                    .map(RecentPostBuffer::copy)
+                    .limit(capacity)
+                    // The database may order posts created at the same instant differently
+                    .sorted(NEWEST_FIRST)
+                    .toList();
+            long total = 0;
+            Map<String, Long> counts = new HashMap<>();
+            for (CategoryPostCount count : postRepository.countPostsByCategory()) {
+                total += count.getPostCount();
+                if (count.getCategory() != null) {
+                    counts.put(count.getCategory(), count.getPostCount());
+                }
+            }
+            return state.compareAndSet(cold,
+                    new Snapshot(recent, total, Collections.unmodifiableMap(counts), allPostsVersion));
+        } catch (DataAccessException e) {
+            log.error("Failed to load recent posts: {}", e.getMessage());
+            return false;
+        } finally {
+            warming.set(false);
+        }
+    }
+
+    // Detached copies without votes and comments, which the buffer never reads
+    private static Post copy(Post post) {
+        return new Post.Builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .caption(post.getCaption())
+                .location(post.getLatitude(), post.getLongitude())
+                .category(post.getCategory())
+                .createdAt(Objects.requireNonNull(post.getCreatedAt()))
+                .postedBy(post.getPostedBy())
+                .imageUrl(post.getImageUrl())
+                .address(post.getAddress())
+                .build();
+    }
+}
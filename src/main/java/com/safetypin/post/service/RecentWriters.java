@@ -0,0 +1,50 @@
+package com.safetypin.post.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Users who created a post or comment, or voted, in the last
+ * {@code datasource.replica.read-your-writes-ms}. Their read-only work stays on
+ * the primary for that long, so they see what they just wrote even while the
+ * read replica is catching up.
+ */
+@Component
+public class RecentWriters {
+
+    private static final int PRUNE_EVERY = 1024;
+
+    private final long windowNanos;
+    // Expiry per user, as System.nanoTime()
+    private final Map<UUID, Long> writers = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+
+    public RecentWriters(@Value("${datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public void recordWrite(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        writers.put(userId, now + windowNanos);
+        if (writes.incrementAndGet() % PRUNE_EVERY == 0) {
+            writers.values().removeIf(expiry -> expiry - now <= 0);
+        }
+    }
+
+    public boolean isRecent(UUID userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long expiry = writers.get(userId);
+        return expiry != null && expiry - System.nanoTime() > 0;
+    }
+}
@@ -1,15 +1,14 @@
 package com.safetypin.post.service;
 
 
-import com.safetypin.post.model.Post;
-import com.safetypin.post.model.Vote;
+import com.safetypin.post.model.VoteType;
 import com.safetypin.post.repository.PostRepository;
 import com.safetypin.post.repository.VoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -18,48 +17,90 @@ public class VoteServiceImpl implements VoteService {
 
     private final VoteRepository voteRepository;
     private final PostRepository postRepository;
+    private final VoteWriteBehindBuffer voteWriteBehindBuffer;
+    private final ContentVersions contentVersions;
+    private final RecentWriters recentWriters;
 
     public String createVote(UUID userId, UUID postId, boolean isUpvote) {
-        Optional<Post> optionalPost = postRepository.findById(postId);
+        if (voteWriteBehindBuffer.isEnabled()) {
+            return createBufferedVote(userId, postId, isUpvote);
+        }
 
-        if (optionalPost.isEmpty()) {
+        int changed;
+        try {
+            // Single upsert keyed by post ID; it skips unknown posts, and the foreign key rejects a post
+            // deleted meanwhile where there is one
+            changed = voteRepository.upsertVote(userId, postId, isUpvote);
+        } catch (DataIntegrityViolationException e) {
             throw new EntityNotFoundException("Post not found");
         }
 
-        Vote.VoteId voteId = new Vote.VoteId(userId, optionalPost.get());
-        Vote vote = new Vote(voteId, isUpvote);
-
-        Optional<Vote> existingVote = voteRepository.findById(voteId);
-
-        if (existingVote.isPresent() && existingVote.get().isUpvote() == isUpvote) {
-            if (existingVote.get().isUpvote()) {
-                return "User already up voted that post. Vote remains unchanged";
-            } else {
-                return "User already down voted that post. Vote remains unchanged";
+        if (changed == 0) {
+            // Nothing written: the same vote exists, or the post does not
+            if (!postRepository.existsById(postId)) {
+                throw new EntityNotFoundException("Post not found");
             }
+            return alreadyVotedMessage(isUpvote);
         }
 
-        voteRepository.save(vote);
+        contentVersions.postChanged(postId);
+        recentWriters.recordWrite(userId);
         return "Vote recorded successfully";
     }
 
     public String cancelVote(UUID userId, UUID postId) {
-        Optional<Post> optionalPost = postRepository.findById(postId);
+        if (voteWriteBehindBuffer.isEnabled()) {
+            if (currentVote(userId, postId) == VoteType.NONE) {
+                return "User hasn't voted that post. Vote remains unchanged";
+            }
+            voteWriteBehindBuffer.record(userId, postId, VoteType.NONE);
+            // The voter sees their buffered vote straight away
+            contentVersions.postChanged(postId);
+            return "Vote cancelled successfully";
+        }
+
+        if (voteRepository.deleteVote(userId, postId) > 0) {
+            contentVersions.postChanged(postId);
+            recentWriters.recordWrite(userId);
+            return "Vote cancelled successfully";
+        }
+        return "User hasn't voted that post. Vote remains unchanged";
 
-        if (optionalPost.isEmpty()) {
+    }
+
+    // Write-behind mode compares against the buffered vote, or the stored one when none is buffered
+    private String createBufferedVote(UUID userId, UUID postId, boolean isUpvote) {
+        if (!postRepository.existsById(postId)) {
             throw new EntityNotFoundException("Post not found");
         }
 
-        Vote.VoteId voteId = new Vote.VoteId(userId, optionalPost.get());
-        Optional<Vote> existingVote = voteRepository.findById(voteId);
+        VoteType requested = isUpvote ? VoteType.UPVOTE : VoteType.DOWNVOTE;
+        if (currentVote(userId, postId) == requested) {
+            return alreadyVotedMessage(isUpvote);
+        }
+        voteWriteBehindBuffer.record(userId, postId, requested);
+        contentVersions.postChanged(postId);
+        return "Vote recorded successfully";
+    }
 
-        if (existingVote.isPresent()) {
-            voteRepository.deleteById(voteId);
-            return "Vote cancelled successfully";
+    // The vote as its user sees it: the buffered one, including one being flushed, else the stored one
+    private VoteType currentVote(UUID userId, UUID postId) {
+        VoteType pending = voteWriteBehindBuffer.pendingVote(userId, postId);
+        if (pending != null) {
+            return pending;
         }
-        return "User hasn't voted that post. Vote remains unchanged";
+        return voteRepository.findIsUpvote(userId, postId)
+                .map(isUpvote -> Boolean.TRUE.equals(isUpvote) ? VoteType.UPVOTE : VoteType.DOWNVOTE)
+                .orElse(VoteType.NONE);
+    }
 
+    private String alreadyVotedMessage(boolean isUpvote) {
+        if (isUpvote) {
+            return "User already up voted that post. Vote remains unchanged";
+        } else {
+            return "User already down voted that post. Vote remains unchanged";
+        }
     }
 
 
-}
\ No newline at end of file
+}
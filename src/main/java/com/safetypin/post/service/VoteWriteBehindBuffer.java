@@ -0,0 +1,390 @@
+package com.safetypin.post.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.model.VoteType;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional write-behind buffer for votes. Each vote is appended to a local
+ * journal, synced to disk before the vote is acknowledged, and kept in memory
+ * (last write wins per user and post), then flushed to the database in batches. Journals are only removed once their entries have
+ * been written, and any left over are replayed on startup.
+ */
+@Slf4j
+@Component
+public class VoteWriteBehindBuffer {
+
+    static final String UPSERT_SQL = "INSERT INTO votes (user_id, post_id, is_upvote) "
+            + "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) "
+            + "ON CONFLICT (user_id, post_id) DO UPDATE SET is_upvote = EXCLUDED.is_upvote";
+    static final String DELETE_SQL = "DELETE FROM votes WHERE user_id = ? AND post_id = ?";
+
+    private static final Pattern JOURNAL_NAME = Pattern.compile("votes-(\\d+)\\.journal");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentVersions contentVersions;
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final Path journalDir;
+    private final Stripe[] stripes;
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong nextSegment = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final List<Path> recoveredSegments = new ArrayList<>();
+    // Entries being written by the current flush, still visible to reads until committed
+    private volatile Map<VoteKey, VoteType> inFlight = Map.of();
+    private ScheduledExecutorService flushExecutor;
+
+    public VoteWriteBehindBuffer(
+            JdbcTemplate jdbcTemplate,
+            ContentVersions contentVersions,
+            @Value("${vote.write-behind.enabled:false}") boolean enabled,
+            @Value("${vote.write-behind.flush-interval-ms:250}") long flushIntervalMillis,
+            @Value("${vote.write-behind.batch-size:500}") int batchSize,
+            @Value("${vote.write-behind.stripes:16}") int stripeCount,
+            @Value("${vote.write-behind.journal-dir:vote-journal}") String journalDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contentVersions = contentVersions;
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.journalDir = Paths.get(journalDir);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(journalDir);
+        replayJournals();
+        for (Stripe stripe : stripes) {
+            stripe.openSegment();
+        }
+
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        log.info("Vote write-behind enabled with {} pending entries recovered from {}", pendingCount.get(),
+                journalDir.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor == null) {
+            return;
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        for (Stripe stripe : stripes) {
+            stripe.closeSegment();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a vote (or {@link VoteType#NONE} for a cancellation) and returns the
+     * previously buffered state for the same user and post, or null if nothing was
+     * pending.
+     */
+    public VoteType record(UUID userId, UUID postId, VoteType vote) {
+        VoteKey key = new VoteKey(userId, postId);
+        VoteType previous = stripeFor(key).append(key, vote);
+        if (previous == null && pendingCount.incrementAndGet() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flushQuietly);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the buffered vote of the user on the post, or null if none is pending.
+     */
+    public VoteType pendingVote(UUID userId, UUID postId) {
+        if (!enabled || (pendingCount.get() == 0 && inFlight.isEmpty())) {
+            return null;
+        }
+        VoteKey key = new VoteKey(userId, postId);
+        VoteType pending = stripeFor(key).get(key);
+        return pending != null ? pending : inFlight.get(key);
+    }
+
+    /**
+     * Overlays the viewer's own pending vote onto post data built from the database
+     * so they see it before it has been flushed.
+     */
+    public void applyPendingVote(PostData postData, UUID userId) {
+        if (postData == null || userId == null) {
+            return;
+        }
+        VoteType pending = pendingVote(userId, postData.getId());
+        VoteType persisted = postData.getCurrentVote();
+        if (pending == null || pending == persisted) {
+            return;
+        }
+
+        long upvotes = postData.getUpvoteCount() != null ? postData.getUpvoteCount() : 0L;
+        long downvotes = postData.getDownvoteCount() != null ? postData.getDownvoteCount() : 0L;
+        if (persisted == VoteType.UPVOTE) {
+            upvotes--;
+        } else if (persisted == VoteType.DOWNVOTE) {
+            downvotes--;
+        }
+        if (pending == VoteType.UPVOTE) {
+            upvotes++;
+        } else if (pending == VoteType.DOWNVOTE) {
+            downvotes++;
+        }
+        postData.setUpvoteCount(Math.max(upvotes, 0L));
+        postData.setDownvoteCount(Math.max(downvotes, 0L));
+        postData.setCurrentVote(pending);
+    }
+
+    /**
+     * Writes every pending vote to the database. On failure the entries are put
+     * back (unless overwritten in the meantime) and their journals are kept.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            Map<VoteKey, VoteType> drained = new ConcurrentHashMap<>();
+            List<Path> sealedSegments = new ArrayList<>(recoveredSegments);
+            inFlight = drained;
+            for (Stripe stripe : stripes) {
+                stripe.drainTo(drained, sealedSegments);
+            }
+            pendingCount.addAndGet(-drained.size());
+            if (drained.isEmpty() && sealedSegments.isEmpty()) {
+                inFlight = Map.of();
+                return;
+            }
+
+            try {
+                writeBatches(drained);
+            } catch (RuntimeException e) {
+                for (Map.Entry<VoteKey, VoteType> entry : drained.entrySet()) {
+                    if (stripeFor(entry.getKey()).restore(entry.getKey(), entry.getValue())) {
+                        pendingCount.incrementAndGet();
+                    }
+                }
+                recoveredSegments.clear();
+                recoveredSegments.addAll(sealedSegments);
+                throw e;
+            } finally {
+                inFlight = Map.of();
+            }
+
+            // Other viewers only see these votes from now on
+            for (VoteKey key : drained.keySet()) {
+                contentVersions.postChanged(key.postId());
+            }
+
+            recoveredSegments.clear();
+            for (Path segment : sealedSegments) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    log.warn("Could not delete flushed vote journal {}: {}", segment, e.getMessage());
+                }
+            }
+            log.debug("Flushed {} buffered votes", drained.size());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush buffered votes, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    private void writeBatches(Map<VoteKey, VoteType> drained) {
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Map.Entry<VoteKey, VoteType> entry : drained.entrySet()) {
+            VoteKey key = entry.getKey();
+            if (entry.getValue() == VoteType.NONE) {
+                deletes.add(new Object[]{key.userId(), key.postId()});
+            } else {
+                upserts.add(new Object[]{key.userId(), key.postId(), entry.getValue() == VoteType.UPVOTE,
+                        key.postId()});
+            }
+        }
+        // Both statements are idempotent, so a partial failure is safe to retry
+        for (int from = 0; from < upserts.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, upserts.subList(from, Math.min(from + batchSize, upserts.size())));
+        }
+        for (int from = 0; from < deletes.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes.subList(from, Math.min(from + batchSize, deletes.size())));
+        }
+    }
+
+    private void replayJournals() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalDir, "votes-*.journal")) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(VoteWriteBehindBuffer::segmentNumber));
+
+        long lastSegment = -1;
+        for (Path segment : segments) {
+            lastSegment = Math.max(lastSegment, segmentNumber(segment));
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ");
+                VoteKey key;
+                VoteType vote;
+                try {
+                    key = new VoteKey(UUID.fromString(parts[0]), UUID.fromString(parts[1]));
+                    vote = VoteType.valueOf(parts[2]);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    // A torn final line from a crash mid-write; the vote was never acknowledged
+                    log.warn("Skipping unreadable vote journal entry in {}", segment);
+                    continue;
+                }
+                if (stripeFor(key).restoreReplayed(key, vote)) {
+                    pendingCount.incrementAndGet();
+                }
+            }
+            recoveredSegments.add(segment);
+        }
+        nextSegment.set(lastSegment + 1);
+    }
+
+    private static long segmentNumber(Path segment) {
+        Matcher matcher = JOURNAL_NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private Stripe stripeFor(VoteKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    record VoteKey(UUID userId, UUID postId) {
+    }
+
+    /**
+     * One lock, one pending map and one journal file per stripe. A given key always
+     * lands in the same stripe, so journal order per key is preserved.
+     */
+    private final class Stripe {
+        private Map<VoteKey, VoteType> pending = new HashMap<>();
+        private final List<Path> sealedSegments = new ArrayList<>();
+        private Path segment;
+        private FileChannel channel;
+        private BufferedWriter journal;
+
+        synchronized VoteType append(VoteKey key, VoteType vote) {
+            try {
+                journal.write(key.userId() + " " + key.postId() + " " + vote.name());
+                journal.newLine();
+                journal.flush();
+                // Written but not synced, the vote would be lost with the machine despite being acknowledged
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not journal vote", e);
+            }
+            return pending.put(key, vote);
+        }
+
+        synchronized VoteType get(VoteKey key) {
+            return pending.get(key);
+        }
+
+        synchronized boolean restore(VoteKey key, VoteType vote) {
+            return pending.putIfAbsent(key, vote) == null;
+        }
+
+        synchronized boolean restoreReplayed(VoteKey key, VoteType vote) {
+            return pending.put(key, vote) == null;
+        }
+
+        synchronized void drainTo(Map<VoteKey, VoteType> target, List<Path> segments) {
+            if (!pending.isEmpty()) {
+                target.putAll(pending);
+                pending = new HashMap<>();
+                closeSegment();
+                sealedSegments.add(segment);
+                openSegment();
+            }
+            segments.addAll(sealedSegments);
+            sealedSegments.clear();
+        }
+
+        synchronized void openSegment() {
+            segment = journalDir.resolve("votes-" + nextSegment.getAndIncrement() + ".journal");
+            try {
+                channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+                journal = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                        StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open vote journal " + segment, e);
+            }
+        }
+
+        synchronized void closeSegment() {
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Could not close vote journal {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.safetypin.post.service.strategy;
 
 import com.safetypin.post.model.Post;
+import com.safetypin.post.service.PipelineMetrics;
 import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -10,10 +12,31 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 
 @NoArgsConstructor
 public abstract class AbstractFeedStrategy implements FeedStrategy {
+    protected static final String FILTER_STAGE = "filter";
+    protected static final String SORT_STAGE = "sort";
+    protected static final String PAGINATE_STAGE = "paginate";
+    protected static final String MAP_STAGE = "map";
+
+    // Strategies created outside Spring (tests, benchmarks) record into no-op meters
+    private PipelineMetrics pipelineMetrics = PipelineMetrics.noop();
+
+    @Autowired
+    public void setPipelineMetrics(PipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    protected <T> T timeStage(String feedType, String stage, Supplier<T> step) {
+        return pipelineMetrics.timeFeedStage(feedType, stage, step);
+    }
+
+    protected void recordCandidates(String feedType, String phase, int count) {
+        pipelineMetrics.recordFeedCandidates(feedType, phase, count);
+    }
 
     // Common utility methods
     protected boolean matchesCategories(Post post, List<String> categories) {
@@ -39,11 +62,11 @@ public abstract class AbstractFeedStrategy implements FeedStrategy {
         return matchesFromDate && matchesToDate;
     }
 
-    protected Page<Map<String, Object>> paginateResults(List<Map<String, Object>> results, Pageable pageable) {
+    protected <T> Page<T> paginateResults(List<T> results, Pageable pageable) {
         int start = (int) pageable.getOffset();
         int end = Math.min((start + pageable.getPageSize()), results.size());
 
-        List<Map<String, Object>> pageContent = start >= results.size() ? Collections.emptyList()
+        List<T> pageContent = start >= results.size() ? Collections.emptyList()
                 : results.subList(start, end);
 
         return new PageImpl<>(pageContent, pageable, results.size());
@@ -1,48 +1,241 @@
 package com.safetypin.post.service.strategy;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostData;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.model.Post;
+import com.safetypin.post.service.PipelineMetrics;
 import com.safetypin.post.utils.DistanceCalculator;
+import com.safetypin.post.utils.GeoBounds;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
 
 @Component
 public class DistanceFeedStrategy extends AbstractFeedStrategy {
-    private static final String DISTANCE_KEY = "distance";
+    public static final double MAX_RADIUS_KM = 500.0;
+    private static final String FEED_TYPE = "distance";
+    private static final String SNAPSHOT_STAGE = "snapshot";
 
 
     @Override
-    public Page<Map<String, Object>> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList) {
+    public Page<FeedItem> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList) {
         if (queryDTO.getUserLat() == null || queryDTO.getUserLon() == null) {
             throw new IllegalArgumentException("Latitude and longitude are required for distance feed");
         }
+        Double radiusKm = queryDTO.getRadiusKm();
+        double userLat = queryDTO.getUserLat();
+        double userLon = queryDTO.getUserLon();
 
-        List<Map<String, Object>> postsWithDistance = posts.stream()
-                .filter(post -> matchesCategories(post, queryDTO.getCategories()))
-                .filter(post -> matchesKeyword(post, queryDTO.getKeyword()))
-                .filter(post -> matchesDateRange(post, queryDTO.getDateFrom(), queryDTO.getDateTo()))
-                .map(post -> {
-                    Map<String, Object> result = new HashMap<>();
+        PostSnapshot snapshot = timeStage(FEED_TYPE, SNAPSHOT_STAGE, () -> PostSnapshot.of(posts));
+        int[] matches = new int[snapshot.size()];
+        int matchCount = timeStage(FEED_TYPE, FILTER_STAGE, () -> filter(snapshot, queryDTO, matches));
+        recordCandidates(FEED_TYPE, PipelineMetrics.FILTERED, matchCount);
 
-                    PostData postData = PostData.fromPostAndUserId(post, queryDTO.getUserId(), (profileList == null) ? null : profileList.get(post.getPostedBy()));
-                    result.put("post", postData);
+        // Pagination is part of the sort: only the matches up to the end of the page are ranked
+        Pageable pageable = queryDTO.getPageable();
+        int start = (int) pageable.getOffset();
+        Ranking ranking = timeStage(FEED_TYPE, SORT_STAGE, () -> rank(snapshot, matches, matchCount, userLat, userLon,
+                radiusKm, Math.min(matchCount, start + pageable.getPageSize())));
+        if (start >= ranking.total()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ranking.total());
+        }
+
+        return timeStage(FEED_TYPE, MAP_STAGE, () -> {
+            List<FeedItem> pageContent = new ArrayList<>(ranking.nearest().length - start);
+            for (int rank = start; rank < ranking.nearest().length; rank++) {
+                int index = ranking.nearest()[rank];
+                Post post = snapshot.post(index);
+
+                PostData postData = PostData.fromPostAndUserId(post, queryDTO.getUserId(), (profileList == null) ? null : profileList.get(post.getPostedBy()));
+                pageContent.add(FeedItem.withDistance(postData, ranking.distances()[index]));
+            }
+            return new PageImpl<>(pageContent, pageable, ranking.total());
+        });
+    }
+
+    /**
+     * Filters on the primitive snapshot columns first; only the keyword check
+     * needs the entity. Matching indexes are written to the front of
+     * {@code matches} and their number is returned.
+     */
+    private int filter(PostSnapshot snapshot, FeedQueryDTO queryDTO, int[] matches) {
+        Double radiusKm = queryDTO.getRadiusKm();
+        GeoBounds bounds = radiusKm == null ? null
+                : GeoBounds.around(queryDTO.getUserLat(), queryDTO.getUserLon(), radiusKm);
+        boolean[] categoryMask = snapshot.categoryMask(queryDTO.getCategories());
+        long dateFrom = queryDTO.getDateFrom() == null ? Long.MIN_VALUE : PostSnapshot.toEpochMicros(queryDTO.getDateFrom());
+        long dateTo = queryDTO.getDateTo() == null ? Long.MAX_VALUE : PostSnapshot.toEpochMicros(queryDTO.getDateTo());
+        int matchCount = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (bounds != null && !bounds.contains(snapshot.latitude(i), snapshot.longitude(i))) {
+                continue;
+            }
+            int categoryId = snapshot.categoryId(i);
+            if (categoryMask != null && (categoryId == PostSnapshot.NO_CATEGORY || !categoryMask[categoryId])) {
+                continue;
+            }
+            long createdAt = snapshot.createdAt(i);
+            if (createdAt < dateFrom || createdAt > dateTo) {
+                continue;
+            }
+            if (!matchesKeyword(snapshot.post(i), queryDTO.getKeyword())) {
+                continue;
+            }
+            matches[matchCount++] = i;
+        }
+        return matchCount;
+    }
+
+    private static Ranking rank(PostSnapshot snapshot, int[] matches, int matchCount, double userLat, double userLon,
+                                Double radiusKm, int limit) {
+        if (radiusKm == null) {
+            double[] distances = snapshot.distancesFrom(userLat, userLon);
+            int[] nearest = limit <= 0 ? new int[0] : nearest(matches, matchCount, distances, limit);
+            return new Ranking(nearest, distances, matchCount);
+        }
+        double[] distances = new double[snapshot.size()];
+        // Near the poles the approximation cannot be trusted, so every match gets its exact distance
+        if (!DistanceCalculator.isApproximationAccurate(userLat, radiusKm)) {
+            int total = withinRadiusExact(snapshot, matches, matchCount, userLat, userLon, radiusKm, distances);
+            int withinLimit = Math.min(total, limit);
+            int[] nearest = withinLimit <= 0 ? new int[0] : nearest(matches, total, distances, withinLimit);
+            return new Ranking(nearest, distances, total);
+        }
+        int total = withinRadius(snapshot, matches, matchCount, userLat, userLon, radiusKm, distances);
+        int withinLimit = Math.min(total, limit);
+        int[] nearest = withinLimit <= 0 ? new int[0]
+                : nearestExact(snapshot, matches, total, userLat, userLon, distances, withinLimit);
+        return new Ranking(nearest, distances, total);
+    }
+
+    /**
+     * Drops matches outside the radius, compacting the survivors to the front of
+     * {@code matches} and returning how many there are. Survivors get their
+     * approximate distance in {@code distances}; only those whose approximation
+     * is too close to the radius to decide get an exact Haversine distance.
+     */
+    private static int withinRadius(PostSnapshot snapshot, int[] matches, int matchCount,
+                                    double userLat, double userLon, double radiusKm, double[] distances) {
+        double surelyInside = radiusKm * (1 - DistanceCalculator.APPROXIMATION_ERROR);
+        double surelyOutside = radiusKm * (1 + DistanceCalculator.APPROXIMATION_ERROR);
+        int inside = 0;
+        for (int m = 0; m < matchCount; m++) {
+            int index = matches[m];
+            double distance = DistanceCalculator.approximateDistance(userLat, userLon,
+                    snapshot.latitude(index), snapshot.longitude(index));
+            if (distance > surelyOutside) {
+                continue;
+            }
+            if (distance >= surelyInside) {
+                distance = DistanceCalculator.calculateDistance(userLat, userLon,
+                        snapshot.latitude(index), snapshot.longitude(index));
+                if (distance > radiusKm) {
+                    continue;
+                }
+            }
+            distances[index] = distance;
+            matches[inside++] = index;
+        }
+        return inside;
+    }
+
+    /**
+     * Same as {@link #withinRadius}, but with exact Haversine distances for every
+     * match, computed in one batch.
+     */
+    private static int withinRadiusExact(PostSnapshot snapshot, int[] matches, int matchCount,
+                                         double userLat, double userLon, double radiusKm, double[] distances) {
+        double[] lats = new double[matchCount];
+        double[] lons = new double[matchCount];
+        for (int m = 0; m < matchCount; m++) {
+            lats[m] = snapshot.latitude(matches[m]);
+            lons[m] = snapshot.longitude(matches[m]);
+        }
+        double[] exact = new double[matchCount];
+        DistanceCalculator.calculateDistances(userLat, userLon, lats, lons, exact, matchCount);
 
-                    // Calculate distance from user
-                    double distance = DistanceCalculator.calculateDistance(
-                            queryDTO.getUserLat(), queryDTO.getUserLon(),
-                            post.getLatitude(), post.getLongitude());
-                    result.put(DISTANCE_KEY, distance);
+        int inside = 0;
+        for (int m = 0; m < matchCount; m++) {
+            if (exact[m] <= radiusKm) {
+                distances[matches[m]] = exact[m];
+                matches[inside++] = matches[m];
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Pre-ranks candidates by approximate distance, then computes exact Haversine
+     * distances only for the ones that could still land in the first
+     * {@code limit}: anything whose approximation is beyond the error band of the
+     * limit-th candidate is provably farther than all of them.
+     */
+    private static int[] nearestExact(PostSnapshot snapshot, int[] candidates, int candidateCount,
+                                      double userLat, double userLon, double[] distances, int limit) {
+        int[] preRanked = nearest(candidates, candidateCount, distances, limit);
+        double cutoff = distances[preRanked[preRanked.length - 1]]
+                * (1 + DistanceCalculator.APPROXIMATION_ERROR) / (1 - DistanceCalculator.APPROXIMATION_ERROR);
+
+        int[] refine = new int[candidateCount];
+        int refineCount = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            if (distances[candidates[c]] <= cutoff) {
+                refine[refineCount++] = candidates[c];
+            }
+        }
+
+        double[] lats = new double[refineCount];
+        double[] lons = new double[refineCount];
+        for (int r = 0; r < refineCount; r++) {
+            lats[r] = snapshot.latitude(refine[r]);
+            lons[r] = snapshot.longitude(refine[r]);
+        }
+        double[] exact = new double[refineCount];
+        DistanceCalculator.calculateDistances(userLat, userLon, lats, lons, exact, refineCount);
+        for (int r = 0; r < refineCount; r++) {
+            distances[refine[r]] = exact[r];
+        }
 
-                    return result;
-                })
-                // Sort by distance (nearest first)
-                .sorted(Comparator.comparingDouble(post -> (Double) post.get(DISTANCE_KEY)))
-                .toList();
+        return nearest(refine, refineCount, distances, limit);
+    }
+
+    /**
+     * Returns the {@code limit} matches closest to the user in ascending order,
+     * keeping a bounded max-heap instead of sorting every match. Ties keep their
+     * original order, as a stable sort would.
+     */
+    private static int[] nearest(int[] matches, int matchCount, double[] distances, int limit) {
+        Comparator<Integer> nearestFirst = Comparator.<Integer>comparingDouble(index -> distances[index])
+                .thenComparingInt(index -> index);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit, nearestFirst.reversed());
+        for (int m = 0; m < matchCount; m++) {
+            int index = matches[m];
+            if (heap.size() < limit) {
+                heap.add(index);
+            } else if (isNearer(index, heap.peek(), distances)) {
+                heap.poll();
+                heap.add(index);
+            }
+        }
+
+        int[] nearest = new int[heap.size()];
+        for (int rank = nearest.length - 1; rank >= 0; rank--) {
+            nearest[rank] = heap.poll();
+        }
+        return nearest;
+    }
+
+    private static boolean isNearer(int index, int other, double[] distances) {
+        int byDistance = Double.compare(distances[index], distances[other]);
+        return byDistance < 0 || (byDistance == 0 && index < other);
+    }
 
-        return paginateResults(postsWithDistance, queryDTO.getPageable());
+    // Nearest matches up to the end of the requested page, with the distance of every ranked post
+    private record Ranking(int[] nearest, double[] distances, int total) {
     }
 }
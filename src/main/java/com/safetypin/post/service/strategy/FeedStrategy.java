@@ -1,5 +1,6 @@
 package com.safetypin.post.service.strategy;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.model.Post;
@@ -10,5 +11,5 @@ import java.util.Map;
 import java.util.UUID;
 
 public interface FeedStrategy {
-    Page<Map<String, Object>> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList);
+    Page<FeedItem> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList);
 }
@@ -23,12 +23,15 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import com.safetypin.post.dto.ApiResponse;
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostData;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.dto.UserFollowResponse;
 import com.safetypin.post.model.Post;
 import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.service.AuthClientMetrics;
+import com.safetypin.post.service.PipelineMetrics;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,20 +39,28 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class FollowingFeedStrategy extends AbstractFeedStrategy {
 
+    private static final String FEED_TYPE = "following";
+    private static final String PROFILES_STAGE = "profiles";
+    private static final String FETCH_STAGE = "fetch";
+
     private final PostRepository postRepository;
     private final RestTemplate restTemplate;
+    private final AuthClientMetrics authClientMetrics;
 
     @Value("${be-auth}")
     private String apiEndpoint = "http://safetypin.ppl.cs.ui.ac.id"; // Default value
 
     @Autowired
-    public FollowingFeedStrategy(PostRepository postRepository, RestTemplate restTemplate) {
+    public FollowingFeedStrategy(PostRepository postRepository, RestTemplate restTemplate,
+            AuthClientMetrics authClientMetrics) {
         this.postRepository = postRepository;
         this.restTemplate = restTemplate;
+        this.authClientMetrics = authClientMetrics;
     }
 
     private Map<UUID, PostedByData> fetchFollowingUsers(UUID userId) {
-        String uri = apiEndpoint + "/api/follow/following/" + userId;
+        String uri = apiEndpoint + AuthClientMetrics.FOLLOWING + "/" + userId;
+        long startedAt = authClientMetrics.start();
         try {
             // Get the JWT token from the SecurityContext
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -78,7 +89,9 @@ public class FollowingFeedStrategy extends AbstractFeedStrategy {
                     responseType);
 
             ApiResponse<List<UserFollowResponse>> apiResponse = response.getBody();
-            if (apiResponse != null && apiResponse.getData() != null) {
+            if (response.getStatusCode().is2xxSuccessful() && apiResponse != null && apiResponse.getData() != null) {
+                authClientMetrics.recordSuccess(AuthClientMetrics.FOLLOWING, 1, apiResponse.getData().size(),
+                        startedAt);
                 // Convert List<UserFollowResponse> to Map<UUID, PostedByData>
                 Map<UUID, PostedByData> result = new HashMap<>();
                 for (UserFollowResponse user : apiResponse.getData()) {
@@ -93,14 +106,17 @@ public class FollowingFeedStrategy extends AbstractFeedStrategy {
                 }
                 return result;
             } else {
+                authClientMetrics.recordBadResponse(AuthClientMetrics.FOLLOWING, 1, response, startedAt);
                 log.warn("Received null body or null data when fetching following users for userId: {}", userId);
                 return Collections.emptyMap();
             }
         } catch (ResourceAccessException e) {
+            authClientMetrics.recordFailure(AuthClientMetrics.FOLLOWING, 1, e, startedAt);
             log.error("Network error fetching following list for user ID {}: {}", userId, e.getMessage());
             // Return empty map on network error
             return Collections.emptyMap();
         } catch (Exception e) {
+            authClientMetrics.recordFailure(AuthClientMetrics.FOLLOWING, 1, e, startedAt);
             log.error("Error fetching following list for user ID {}: {}", userId, e.getMessage(), e);
             // Return empty map on other errors
             return Collections.emptyMap();
@@ -108,10 +124,11 @@ public class FollowingFeedStrategy extends AbstractFeedStrategy {
     }
 
     @Override
-    public Page<Map<String, Object>> processFeed(List<Post> allPostsIgnored, FeedQueryDTO queryDTO,
+    public Page<FeedItem> processFeed(List<Post> allPostsIgnored, FeedQueryDTO queryDTO,
             Map<UUID, PostedByData> profileListIgnored) {
         // 1. Fetch the users the current user is following
-        Map<UUID, PostedByData> followingUsersMap = fetchFollowingUsers(queryDTO.getUserId());
+        Map<UUID, PostedByData> followingUsersMap = timeStage(FEED_TYPE, PROFILES_STAGE,
+                () -> fetchFollowingUsers(queryDTO.getUserId()));
         List<UUID> followingUserIds = new ArrayList<>(followingUsersMap.keySet());
 
         if (followingUserIds.isEmpty()) {
@@ -120,25 +137,30 @@ public class FollowingFeedStrategy extends AbstractFeedStrategy {
         }
 
         // 2. Fetch posts made by the followed users
-        List<Post> postsByFollowedUsers = postRepository.findByPostedByIn(followingUserIds);
+        List<Post> postsByFollowedUsers = timeStage(FEED_TYPE, FETCH_STAGE,
+                () -> postRepository.findByPostedByIn(followingUserIds));
+        recordCandidates(FEED_TYPE, PipelineMetrics.FETCHED, postsByFollowedUsers.size());
 
         // 3. Apply filters (category, keyword, date range) and sort
-        List<Map<String, Object>> filteredAndSortedPosts = postsByFollowedUsers.stream()
+        List<Post> filteredPosts = timeStage(FEED_TYPE, FILTER_STAGE, () -> postsByFollowedUsers.stream()
                 .filter(post -> matchesCategories(post, queryDTO.getCategories()))
                 .filter(post -> matchesKeyword(post, queryDTO.getKeyword()))
                 .filter(post -> matchesDateRange(post, queryDTO.getDateFrom(), queryDTO.getDateTo()))
+                .toList());
+        recordCandidates(FEED_TYPE, PipelineMetrics.FILTERED, filteredPosts.size());
+
+        List<Post> sortedPosts = timeStage(FEED_TYPE, SORT_STAGE, () -> filteredPosts.stream()
                 .sorted(Comparator.comparing(Post::getCreatedAt).reversed()) // Sort by newest first
-                .map(post -> {
-                    Map<String, Object> result = new HashMap<>();
-                    // Use the profile data fetched from the following API
-                    PostedByData authorData = followingUsersMap.get(post.getPostedBy());
-                    PostData postData = PostData.fromPostAndUserId(post, queryDTO.getUserId(), authorData);
-                    result.put("post", postData);
-                    return result;
-                })
-                .toList();
-
-        // 4. Paginate the results
-        return paginateResults(filteredAndSortedPosts, queryDTO.getPageable());
+                .toList());
+
+        // 4. Paginate the results, building responses for the requested page only
+        Page<Post> page = timeStage(FEED_TYPE, PAGINATE_STAGE,
+                () -> paginateResults(sortedPosts, queryDTO.getPageable()));
+
+        return timeStage(FEED_TYPE, MAP_STAGE, () -> page.map(post -> {
+            // Use the profile data fetched from the following API
+            PostedByData authorData = followingUsersMap.get(post.getPostedBy());
+            return FeedItem.of(PostData.fromPostAndUserId(post, queryDTO.getUserId(), authorData));
+        }));
     }
 }
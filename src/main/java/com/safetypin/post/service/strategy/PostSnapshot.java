@@ -0,0 +1,118 @@
+package com.safetypin.post.service.strategy;
+
+import com.safetypin.post.model.Post;
+import com.safetypin.post.utils.DistanceCalculator;
+import org.locationtech.jts.geom.Point;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the fields the feed filters and ranks on. Coordinates,
+ * timestamps and categories sit in primitive arrays indexed by position in the
+ * source list, so a feed request scans them without touching entity objects and
+ * only goes back to the {@link Post} for the rows it actually returns.
+ */
+public final class PostSnapshot {
+    // Posts without a timestamp sort before every date bound
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    static final int NO_CATEGORY = -1;
+
+    private final List<Post> posts;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] createdAt;
+    private final int[] categoryIds;
+    private final Map<String, Integer> categoryIndex;
+
+    private PostSnapshot(List<Post> posts) {
+        int size = posts.size();
+        this.posts = posts;
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.createdAt = new long[size];
+        this.categoryIds = new int[size];
+        this.categoryIndex = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Post post = posts.get(i);
+            // Read the point directly instead of through the boxed getters
+            Point location = post.getLocation();
+            latitudes[i] = location != null ? location.getY() : Double.NaN;
+            longitudes[i] = location != null ? location.getX() : Double.NaN;
+            createdAt[i] = toEpochMicros(post.getCreatedAt());
+            categoryIds[i] = post.getCategory() == null ? NO_CATEGORY
+                    : categoryIndex.computeIfAbsent(post.getCategory(), name -> categoryIndex.size());
+        }
+    }
+
+    public static PostSnapshot of(List<Post> posts) {
+        return new PostSnapshot(posts);
+    }
+
+    /**
+     * Microseconds since the epoch, the precision timestamps are stored with, so
+     * date bounds compare the same way they would on the entities.
+     */
+    public static long toEpochMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_TIMESTAMP;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), dateTime);
+    }
+
+    public int size() {
+        return posts.size();
+    }
+
+    public Post post(int index) {
+        return posts.get(index);
+    }
+
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    public long createdAt(int index) {
+        return createdAt[index];
+    }
+
+    public int categoryId(int index) {
+        return categoryIds[index];
+    }
+
+    /**
+     * Marks which category IDs pass the filter, or returns {@code null} when no
+     * category filter applies.
+     */
+    public boolean[] categoryMask(List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[categoryIndex.size()];
+        for (String category : categories) {
+            Integer id = categoryIndex.get(category);
+            if (id != null) {
+                mask[id] = true;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Distance in kilometres from the given point to every post, indexed like the snapshot.
+     */
+    public double[] distancesFrom(double lat, double lon) {
+        double[] distances = new double[size()];
+        DistanceCalculator.calculateDistances(lat, lon, latitudes, longitudes, distances, distances.length);
+        return distances;
+    }
+}
@@ -1,9 +1,11 @@
 package com.safetypin.post.service.strategy;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostData;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.model.Post;
+import com.safetypin.post.service.PipelineMetrics;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
@@ -11,25 +13,27 @@ import java.util.*;
 
 @Component
 public class TimestampFeedStrategy extends AbstractFeedStrategy {
+    private static final String FEED_TYPE = "timestamp";
 
 
     @Override
-    public Page<Map<String, Object>> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList) {
-        List<Map<String, Object>> filteredPosts = posts.stream()
+    public Page<FeedItem> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList) {
+        List<Post> filteredPosts = timeStage(FEED_TYPE, FILTER_STAGE, () -> posts.stream()
                 .filter(post -> matchesCategories(post, queryDTO.getCategories()))
                 .filter(post -> matchesKeyword(post, queryDTO.getKeyword()))
                 .filter(post -> matchesDateRange(post, queryDTO.getDateFrom(), queryDTO.getDateTo()))
-                .map(post -> {
-                    Map<String, Object> result = new HashMap<>();
-                    PostData postData = PostData.fromPostAndUserId(post, queryDTO.getUserId(), (profileList == null) ? null : profileList.get(post.getPostedBy()));
-                    result.put("post", postData);
-                    return result;
-                })
-                // Sort by timestamp (newest first)
-                .sorted(Comparator.comparing(
-                        (Map<String, Object> post) -> ((PostData) post.get("post")).getCreatedAt()).reversed())
-                .toList();
-
-        return paginateResults(filteredPosts, queryDTO.getPageable());
+                .toList());
+        recordCandidates(FEED_TYPE, PipelineMetrics.FILTERED, filteredPosts.size());
+
+        // Sort by timestamp (newest first)
+        List<Post> sortedPosts = timeStage(FEED_TYPE, SORT_STAGE, () -> filteredPosts.stream()
+                .sorted(Comparator.comparing(Post::getCreatedAt).reversed())
+                .toList());
+
+        Page<Post> page = timeStage(FEED_TYPE, PAGINATE_STAGE, () -> paginateResults(sortedPosts, queryDTO.getPageable()));
+
+        // Only the posts on the requested page are turned into DTOs
+        return timeStage(FEED_TYPE, MAP_STAGE, () -> page.map(post -> FeedItem.of(PostData.fromPostAndUserId(post,
+                queryDTO.getUserId(), (profileList == null) ? null : profileList.get(post.getPostedBy())))));
     }
 }
@@ -1,10 +1,28 @@
 package com.safetypin.post.utils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 /**
  * Utility class for calculating geographical distances between coordinates
  */
 public class DistanceCalculator {
+    static final double EARTH_RADIUS_KM = 6371;
+
+    /**
+     * Bound on the relative error of {@link #approximateDistance} for points in
+     * an area where {@link #isApproximationAccurate} holds.
+     */
+    public static final double APPROXIMATION_ERROR = 0.01;
+    // Angular radius times the tangent of the area's highest latitude; measured errors stay under half
+    // of APPROXIMATION_ERROR up to this
+    private static final double MAX_APPROXIMATION_SPREAD = 0.4;
+
+    // VectorizedHaversine.calculateDistances when the vector profile built it in and the JVM runs with
+    // --add-modules jdk.incubator.vector, which the incubator module needs to resolve; null otherwise
+    private static final MethodHandle VECTORIZED = findVectorizedHaversine();
+
     private DistanceCalculator() {
     }
 
@@ -19,8 +37,6 @@ public class DistanceCalculator {
      * @return Distance in kilometers
      */
     public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double EARTH_RADIUS = 6371; // Radius of Earth in meters
-
         // Convert degrees to radians
         double lat1Rad = Math.toRadians(lat1);
         double lon1Rad = Math.toRadians(lon1);
@@ -38,7 +54,114 @@ public class DistanceCalculator {
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
 
 
-        // Distance in meters
-        return EARTH_RADIUS * c;
+        // Distance in kilometers
+        return EARTH_RADIUS_KM * c;
+    }
+
+    /**
+     * Approximates the distance between two points with an equirectangular
+     * projection around their mean latitude. Much cheaper than Haversine and
+     * within a fraction of a percent of it for points a few hundred kilometers
+     * apart away from the poles, which is good enough to pre-rank nearby points;
+     * check {@link #isApproximationAccurate} first.
+     *
+     * @param lat1 Latitude of the first point in degrees
+     * @param lon1 Longitude of the first point in degrees
+     * @param lat2 Latitude of the second point in degrees
+     * @param lon2 Longitude of the second point in degrees
+     * @return Approximate distance in kilometers
+     */
+    public static double approximateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double deltaLon = lon2 - lon1;
+        // Take the short way round across the antimeridian
+        if (deltaLon > 180) {
+            deltaLon -= 360;
+        } else if (deltaLon < -180) {
+            deltaLon += 360;
+        }
+        double x = Math.toRadians(deltaLon) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = Math.toRadians(lat2 - lat1);
+        return EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Whether {@link #approximateDistance} is within {@link #APPROXIMATION_ERROR}
+     * of Haversine for points up to {@code radiusKm} from latitude {@code lat}.
+     * Meridians converge towards the poles, so the approximation fails first for
+     * wide areas at high latitudes, and for any area reaching a pole.
+     *
+     * @param lat      Latitude of the centre of the area in degrees
+     * @param radiusKm Radius of the area in kilometers
+     * @return true if approximate distances in the area can be trusted
+     */
+    public static boolean isApproximationAccurate(double lat, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double maxLat = Math.abs(lat) + Math.toDegrees(angularRadius);
+        return maxLat < 90 && angularRadius * Math.tan(Math.toRadians(maxLat)) <= MAX_APPROXIMATION_SPREAD;
+    }
+
+    /**
+     * Calculates the Haversine distance from one origin to the first {@code length}
+     * points of the coordinate arrays, writing kilometres into {@code out}. Uses the
+     * JDK Vector API when it is available and a scalar loop otherwise.
+     *
+     * @param lat  Latitude of the origin in degrees
+     * @param lon  Longitude of the origin in degrees
+     * @param lats Latitudes of the target points in degrees
+     * @param lons Longitudes of the target points in degrees
+     * @param out  Receives the distance to each target point in kilometers
+     * @param length Number of points to process
+     */
+    public static void calculateDistances(double lat, double lon, double[] lats, double[] lons, double[] out,
+                                          int length) {
+        if (VECTORIZED != null) {
+            try {
+                VECTORIZED.invokeExact(lat, lon, lats, lons, out, length);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Vectorized distance calculation failed", e);
+            }
+        } else {
+            calculateDistancesScalar(lat, lon, lats, lons, out, 0, length);
+        }
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED != null;
+    }
+
+    private static MethodHandle findVectorizedHaversine() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> vectorized = Class.forName(DistanceCalculator.class.getPackageName() + ".VectorizedHaversine");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            boolean worthwhile = (boolean) lookup.findStatic(vectorized, "isWorthwhile",
+                    MethodType.methodType(boolean.class)).invokeExact();
+            return worthwhile
+                    ? lookup.findStatic(vectorized, "calculateDistances", MethodType.methodType(void.class,
+                            double.class, double.class, double[].class, double[].class, double[].class, int.class))
+                    : null;
+        } catch (ClassNotFoundException e) {
+            // Built without the vector profile
+            return null;
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    static void calculateDistancesScalar(double lat, double lon, double[] lats, double[] lons, double[] out,
+                                         int from, int to) {
+        // The origin terms are the same for every point, so compute them once
+        double lat1Rad = Math.toRadians(lat);
+        double lon1Rad = Math.toRadians(lon);
+        double cosLat1 = Math.cos(lat1Rad);
+        for (int i = from; i < to; i++) {
+            double lat2Rad = Math.toRadians(lats[i]);
+            double sinDeltaLat = Math.sin((lat2Rad - lat1Rad) / 2);
+            double sinDeltaLon = Math.sin((Math.toRadians(lons[i]) - lon1Rad) / 2);
+            double a = sinDeltaLat * sinDeltaLat + cosLat1 * Math.cos(lat2Rad) * sinDeltaLon * sinDeltaLon;
+            out[i] = EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.safetypin.post.utils;
+
+/**
+ * Latitude/longitude box that encloses a circle on the Earth's surface, used to
+ * reject far-away points with plain comparisons before any trigonometry. Boxes
+ * that cross the antimeridian wrap, so {@code minLon} is then greater than
+ * {@code maxLon}; boxes that reach a pole span every longitude.
+ */
+public record GeoBounds(double minLat, double maxLat, double minLon, double maxLon) {
+
+    /**
+     * Smallest box containing every point within {@code radiusKm} of the centre.
+     *
+     * @param lat      Latitude of the centre in degrees
+     * @param lon      Longitude of the centre in degrees
+     * @param radiusKm Radius in kilometers
+     * @return The enclosing box
+     */
+    public static GeoBounds around(double lat, double lon, double radiusKm) {
+        double angularRadius = radiusKm / DistanceCalculator.EARTH_RADIUS_KM;
+        double latRad = Math.toRadians(lat);
+        double minLatRad = latRad - angularRadius;
+        double maxLatRad = latRad + angularRadius;
+
+        if (minLatRad <= -Math.PI / 2 || maxLatRad >= Math.PI / 2) {
+            // The circle covers a pole, so every longitude is inside
+            return new GeoBounds(Math.toDegrees(Math.max(minLatRad, -Math.PI / 2)),
+                    Math.toDegrees(Math.min(maxLatRad, Math.PI / 2)), -180, 180);
+        }
+
+        // Widest longitude offset of the circle, reached north of the centre in the
+        // southern hemisphere and south of it in the northern one
+        double deltaLon = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(latRad)));
+        double minLon = lon - deltaLon;
+        double maxLon = lon + deltaLon;
+        if (minLon < -180) {
+            minLon += 360;
+        }
+        if (maxLon > 180) {
+            maxLon -= 360;
+        }
+        return new GeoBounds(Math.toDegrees(minLatRad), Math.toDegrees(maxLatRad), minLon, maxLon);
+    }
+
+    public boolean contains(double lat, double lon) {
+        if (lat < minLat || lat > maxLat) {
+            return false;
+        }
+        if (minLon <= maxLon) {
+            return lon >= minLon && lon <= maxLon;
+        }
+        // Wraps across the antimeridian
+        return lon >= minLon || lon <= maxLon;
+    }
+}
@@ -0,0 +1,123 @@
+package com.safetypin.post.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Per-request breakdown of where time went, reported to moderators through the
+ * {@code Server-Timing} response header. Phases may nest (a repository call
+ * inside a filter stage); each phase is credited only with its own time, so the
+ * phases add up to at most the total.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    public enum Phase {
+        DB("db"),
+        AUTH_REMOTE("auth-remote"),
+        FILTER_SORT("filter-sort");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final Deque<Frame> running = new ArrayDeque<>();
+    private long serialiseStartedAt = -1;
+
+    private static final class Frame {
+        private final Phase phase;
+        private final long startedAt = System.nanoTime();
+        private long nestedNanos;
+
+        private Frame(Phase phase) {
+            this.phase = phase;
+        }
+    }
+
+    private ServerTiming() {
+    }
+
+    // Starts recording for the current request thread
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Null unless the request asked for timings, so callers can skip all bookkeeping
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T time(Phase phase, Supplier<T> step) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return step.get();
+        }
+        timing.enter(phase);
+        try {
+            return step.get();
+        } finally {
+            timing.exit();
+        }
+    }
+
+    public void enter(Phase phase) {
+        running.push(new Frame(phase));
+    }
+
+    public void exit() {
+        Frame frame = running.pop();
+        long elapsed = System.nanoTime() - frame.startedAt;
+        phaseNanos[frame.phase.ordinal()] += elapsed - frame.nestedNanos;
+        Frame outer = running.peek();
+        if (outer != null) {
+            outer.nestedNanos += elapsed;
+        }
+    }
+
+    // Called just before the response body is written; everything after counts as serialisation
+    public void startSerialising() {
+        serialiseStartedAt = System.nanoTime();
+    }
+
+    public boolean isSerialising() {
+        return serialiseStartedAt >= 0;
+    }
+
+    public long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public String headerValue() {
+        long finishedAt = System.nanoTime();
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            appendMetric(header, phase.metricName, phaseNanos[phase.ordinal()]);
+        }
+        appendMetric(header, "serialise", isSerialising() ? finishedAt - serialiseStartedAt : 0);
+        appendMetric(header, "total", finishedAt - startedAt);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,153 @@
+package com.safetypin.post.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EtagInstanceLockTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private ResultSet lockResult;
+    private EtagInstanceLock lock;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        lockResult = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.prepareStatement(EtagInstanceLock.LOCK_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(lockResult);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(lockResult.next()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (lock != null) {
+            lock.release();
+        }
+    }
+
+    @Test
+    void acquire_lockFree_holdsLockAndConnection() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        lock = new EtagInstanceLock(dataSource, true);
+
+        lock.acquire();
+
+        assertTrue(lock.isHeld());
+        verify(connection, never()).close();
+    }
+
+    @Test
+    void acquire_lockTakenByAnotherInstance_servesNoEtags() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+        lock = new EtagInstanceLock(dataSource, true);
+
+        lock.acquire();
+
+        assertFalse(lock.isHeld());
+        assertEquals(-1, lock.lease());
+        verify(connection).close();
+    }
+
+    @Test
+    void check_otherInstanceReleasedTheLock_takesIt() throws SQLException {
+        // The old instance of a rolling deploy still holds the lock at startup
+        when(lockResult.getBoolean(1)).thenReturn(false, false, true);
+        lock = new EtagInstanceLock(dataSource, true);
+        lock.acquire();
+
+        lock.check();
+        assertFalse(lock.isHeld());
+        lock.check();
+
+        assertTrue(lock.isHeld());
+        verify(dataSource, times(3)).getConnection();
+    }
+
+    @Test
+    void acquire_embeddedDatabase_holdsWithoutLocking() throws SQLException {
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("H2");
+        lock = new EtagInstanceLock(dataSource, true);
+
+        lock.acquire();
+
+        assertTrue(lock.isHeld());
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void acquire_disabled_neverConnects() throws SQLException {
+        lock = new EtagInstanceLock(dataSource, false);
+
+        lock.acquire();
+
+        assertFalse(lock.isHeld());
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void check_connectionLost_stopsServingEtags() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true, false);
+        lock = new EtagInstanceLock(dataSource, true);
+        lock.acquire();
+        when(connection.isValid(anyInt())).thenReturn(false);
+
+        lock.check();
+
+        assertFalse(lock.isHeld());
+    }
+
+    @Test
+    void check_connectionLost_takesTheLockAgainOnAFreshConnectionWithANewLease() throws SQLException {
+        Connection fresh = mock(Connection.class);
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        lock = new EtagInstanceLock(dataSource, true);
+        lock.acquire();
+        long firstLease = lock.lease();
+        when(connection.isValid(anyInt())).thenReturn(false);
+        DatabaseMetaData metaData = connection.getMetaData();
+        PreparedStatement statement = connection.prepareStatement(EtagInstanceLock.LOCK_SQL);
+        when(dataSource.getConnection()).thenReturn(fresh);
+        when(fresh.getMetaData()).thenReturn(metaData);
+        when(fresh.prepareStatement(EtagInstanceLock.LOCK_SQL)).thenReturn(statement);
+        when(fresh.isValid(anyInt())).thenReturn(true);
+
+        lock.check();
+
+        assertTrue(lock.isHeld());
+        assertNotEquals(firstLease, lock.lease());
+        verify(connection).close();
+        verify(fresh, never()).close();
+    }
+
+    @Test
+    void release_unlocksAndReturnsConnection() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        lock = new EtagInstanceLock(dataSource, true);
+        lock.acquire();
+
+        lock.release();
+
+        assertFalse(lock.isHeld());
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.safetypin.post.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartitioningConfigurationTest {
+
+    @Test
+    void includePartitionedTables_readsPartitionedTablesWithoutForeignKeys() {
+        Map<String, Object> properties = new HashMap<>();
+
+        new PartitioningConfiguration().includePartitionedTables().customize(properties);
+
+        assertEquals("PARTITIONED TABLE", properties.get(AvailableSettings.EXTRA_PHYSICAL_TABLE_TYPES));
+        assertEquals("NO_CONSTRAINT", properties.get(AvailableSettings.HBM2DDL_DEFAULT_CONSTRAINT_MODE));
+    }
+}
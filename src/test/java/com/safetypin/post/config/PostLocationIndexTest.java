@@ -0,0 +1,44 @@
+package com.safetypin.post.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PostLocationIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PostLocationIndex index = new PostLocationIndex(jdbcTemplate);
+
+    @Test
+    void create_postgres_createsTheGistIndexOnTheCastTheQueriesUse() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        index.create();
+
+        verify(jdbcTemplate).execute(
+                "CREATE INDEX IF NOT EXISTS idx_posts_location_geography ON posts USING GIST ((location::geography))");
+    }
+
+    @Test
+    void create_embeddedDatabase_createsNothing() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        index.create();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void create_failure_isLoggedNotThrown() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        doThrow(new DataAccessResourceFailureException("down")).when(jdbcTemplate).execute(anyString());
+
+        assertDoesNotThrow(index::create);
+    }
+}
@@ -0,0 +1,210 @@
+package com.safetypin.post.config;
+
+import com.safetypin.post.config.PostPartitionManager.Partition;
+import com.safetypin.post.service.ContentVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PostPartitionManagerTest {
+
+    private static final Clock CLOCK = Clock.fixed(LocalDateTime.of(2026, 10, 15, 12, 0).toInstant(ZoneOffset.UTC),
+            ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ContentVersions contentVersions;
+
+    private PostPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        manager = new PostPartitionManager(jdbcTemplate, transactionTemplate, contentVersions, 3, 24, "archive", 60,
+                CLOCK);
+    }
+
+    private void stubTableKind(String table, String... kinds) {
+        var stubbing = when(jdbcTemplate.queryForList(PostPartitionManager.RELKIND_SQL, String.class, table));
+        for (String kind : kinds) {
+            stubbing = stubbing.thenReturn(List.of(kind));
+        }
+    }
+
+    private void stubPartitions(String table, Partition... partitions) {
+        doReturn(List.of(partitions)).when(jdbcTemplate)
+                .query(eq(PostPartitionManager.PARTITIONS_SQL), any(RowMapper.class), eq(table));
+    }
+
+    @Test
+    void maintain_plainTables_convertsThemToLegacyPartitions() {
+        stubTableKind("posts", "r", "p");
+        stubTableKind("comment_on_post", "r", "p");
+        stubTableKind("comment_on_comment", "r", "p");
+        when(jdbcTemplate.queryForObject(PostPartitionManager.NEWEST_ROW_SQL, LocalDateTime.class))
+                .thenReturn(LocalDateTime.of(2026, 10, 3, 8, 0));
+        when(jdbcTemplate.queryForList(PostPartitionManager.DROP_FOREIGN_KEYS_SQL, String.class))
+                .thenReturn(List.of("ALTER TABLE votes DROP CONSTRAINT fk_votes_post"));
+        when(jdbcTemplate.queryForList(PostPartitionManager.DROP_PRIMARY_KEY_SQL, String.class, "posts_legacy"))
+                .thenReturn(List.of("ALTER TABLE posts_legacy DROP CONSTRAINT posts_pkey"));
+
+        manager.maintain();
+
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE votes DROP CONSTRAINT fk_votes_post");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts RENAME TO posts_legacy");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts_legacy DROP CONSTRAINT posts_pkey");
+        inOrder.verify(jdbcTemplate).execute(
+                "CREATE TABLE posts (LIKE posts_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts ADD PRIMARY KEY (id, created_at)");
+        inOrder.verify(jdbcTemplate).execute(
+                "CREATE INDEX idx_posts_location_geography ON posts USING GIST ((location::geography))");
+        inOrder.verify(jdbcTemplate).execute(
+                "ALTER TABLE posts ATTACH PARTITION posts_legacy FOR VALUES FROM (MINVALUE) TO ('2026-11-01')");
+        verify(jdbcTemplate).execute("ALTER INDEX IF EXISTS idx_comment_on_post_parent_created_at "
+                + "RENAME TO idx_comment_on_post_parent_created_at_legacy");
+        verify(jdbcTemplate).execute(
+                "CREATE INDEX idx_comment_on_post_parent_created_at ON comment_on_post (parent_id, created_at)");
+        verify(jdbcTemplate).execute("ALTER TABLE comment_on_comment ATTACH PARTITION comment_on_comment_legacy "
+                + "FOR VALUES FROM (MINVALUE) TO ('2026-11-01')");
+    }
+
+    @Test
+    void maintain_emptyPlainTables_boundLegacyPartitionsAtTheCurrentMonth() {
+        stubTableKind("posts", "r", "p");
+
+        manager.maintain();
+
+        verify(jdbcTemplate).execute(
+                "ALTER TABLE posts ATTACH PARTITION posts_legacy FOR VALUES FROM (MINVALUE) TO ('2026-10-01')");
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE comment_on_post RENAME"));
+    }
+
+    @Test
+    void maintain_partitionedTable_createsMonthsAheadOfTheLastPartition() {
+        stubTableKind("posts", "p");
+        stubPartitions("posts", new Partition("posts_legacy", LocalDate.of(2026, 11, 1)));
+
+        manager.maintain();
+
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE posts RENAME"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS posts_p2026_11 PARTITION OF posts "
+                + "FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')");
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS posts_p2026_12 "));
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS posts_p2027_01 "));
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE IF NOT EXISTS posts_p2027_02 "));
+        verify(contentVersions, never()).postsChanged();
+    }
+
+    @Test
+    void maintain_partitionsPastRetention_moveToTheArchiveWithTheirVotes() {
+        stubTableKind("posts", "p");
+        stubPartitions("posts",
+                new Partition("posts_p2024_09", LocalDate.of(2024, 10, 1)),
+                new Partition("posts_p2024_10", LocalDate.of(2024, 11, 1)),
+                new Partition("posts_p2027_01", LocalDate.of(2027, 2, 1)));
+
+        manager.maintain();
+
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(argThat((String sql) -> sql.contains("DELETE FROM votes v USING "
+                + "posts_p2024_09 p") && sql.contains("INSERT INTO archive.votes")));
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts DETACH PARTITION posts_p2024_09");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts_p2024_09 SET SCHEMA archive");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE posts DETACH PARTITION posts_p2024_10");
+        verify(contentVersions).postsChanged();
+    }
+
+    @Test
+    void maintain_archivedPostWithRecentComment_takesItsCommentsAndRepliesAlong() {
+        stubTableKind("posts", "p");
+        stubPartitions("posts", new Partition("posts_p2024_09", LocalDate.of(2024, 10, 1)));
+        // The comment and its reply are in a live comment partition, newer than the cutoff
+        when(jdbcTemplate.update(contains("DELETE FROM comment_on_comment r"))).thenReturn(1);
+        when(jdbcTemplate.update(contains("DELETE FROM comment_on_post c"))).thenReturn(1);
+
+        manager.maintain();
+
+        var inOrder = inOrder(jdbcTemplate);
+        // Replies go first, while their comments can still be joined to the posts
+        inOrder.verify(jdbcTemplate).update("WITH moved AS (DELETE FROM comment_on_comment r "
+                + "USING comment_on_post c, posts_p2024_09 p WHERE r.parent_id = c.id AND c.parent_id = p.id "
+                + "RETURNING r.*) INSERT INTO archive.comment_on_comment SELECT * FROM moved");
+        inOrder.verify(jdbcTemplate).update("WITH moved AS (DELETE FROM comment_on_post c "
+                + "USING posts_p2024_09 p WHERE c.parent_id = p.id "
+                + "RETURNING c.*) INSERT INTO archive.comment_on_post SELECT * FROM moved");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE posts DETACH PARTITION posts_p2024_09");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS archive.comment_on_post "
+                + "(LIKE comment_on_post INCLUDING DEFAULTS)");
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void maintain_retentionDisabled_archivesNothing() {
+        manager = new PostPartitionManager(jdbcTemplate, transactionTemplate, contentVersions, 3, 0, "archive", 60,
+                CLOCK);
+        stubTableKind("posts", "p");
+        stubPartitions("posts", new Partition("posts_p2020_01", LocalDate.of(2020, 2, 1)));
+
+        manager.maintain();
+
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION"));
+    }
+
+    @Test
+    void maintain_databaseUnavailable_doesNotThrow() {
+        when(jdbcTemplate.queryForList(PostPartitionManager.RELKIND_SQL, String.class, "posts"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertDoesNotThrow(manager::maintain);
+    }
+
+    @Test
+    void constructor_invalidArchiveSchema_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new PostPartitionManager(jdbcTemplate,
+                transactionTemplate, contentVersions, 3, 24, "archive; DROP TABLE posts", 60, CLOCK));
+    }
+
+    @Test
+    void upperBound_readsTheEndOfTheRange() {
+        assertEquals(LocalDate.of(2026, 11, 1), PostPartitionManager.upperBound(
+                "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')"));
+        assertEquals(LocalDate.of(2025, 7, 1), PostPartitionManager.upperBound(
+                "FOR VALUES FROM ('2025-06-01 00:00:00') TO ('2025-07-01 00:00:00')"));
+        assertNull(PostPartitionManager.upperBound("DEFAULT"));
+        assertNull(PostPartitionManager.upperBound(null));
+    }
+}
@@ -0,0 +1,62 @@
+package com.safetypin.post.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private JdbcTemplate replica;
+    private SimpleMeterRegistry registry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        replica = mock(JdbcTemplate.class);
+        registry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(replica, registry, 1000, 1000);
+    }
+
+    @Test
+    void isReplicaUsable_beforeFirstCheck_returnsFalse() {
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void check_lagWithinLimit_usesReplica() {
+        when(replica.queryForObject(ReplicaLagMonitor.LAG_SQL, Double.class)).thenReturn(250.0);
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(0.25, registry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void check_lagBeyondLimit_fallsBackToPrimary() {
+        when(replica.queryForObject(ReplicaLagMonitor.LAG_SQL, Double.class)).thenReturn(5000.0);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void check_probeFails_fallsBackToPrimary() {
+        when(replica.queryForObject(ReplicaLagMonitor.LAG_SQL, Double.class)).thenReturn(0.0);
+        monitor.check();
+        when(replica.queryForObject(ReplicaLagMonitor.LAG_SQL, Double.class))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(Double.isNaN(registry.get("datasource.replica.lag").gauge().value()));
+    }
+}
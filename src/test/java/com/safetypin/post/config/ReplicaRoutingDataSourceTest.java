@@ -0,0 +1,173 @@
+package com.safetypin.post.config;
+
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.model.Category;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.repository.CategoryRepository;
+import com.safetypin.post.service.RecentWriters;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String MARKER_SQL = "SELECT name FROM marker";
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private RecentWriters recentWriters;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        // A second in-memory database stands in for the replica; each one says which it is
+        String primaryUrl = createDatabase("primary");
+        String replicaUrl = createDatabase("replica");
+
+        ReadReplicaConfiguration configuration = new ReadReplicaConfiguration();
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(primaryUrl);
+        properties.setUsername("sa");
+        properties.setPassword("");
+        primary = configuration.primaryDataSource(properties);
+        replica = configuration.replicaDataSource(properties, replicaUrl, "sa", "");
+
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        recentWriters = new RecentWriters(5000);
+        dataSource = configuration.dataSource(primary, replica, lagMonitor, recentWriters,
+                new SimpleMeterRegistry());
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.close();
+        replica.close();
+    }
+
+    private static String createDatabase(String name) {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        JdbcTemplate setup = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        setup.execute("CREATE TABLE marker (name VARCHAR(16))");
+        setup.update("INSERT INTO marker VALUES (?)", name);
+        // Each database also holds a category named after it
+        setup.execute("CREATE TABLE categories (name VARCHAR(255) PRIMARY KEY)");
+        setup.update("INSERT INTO categories VALUES (?)", name);
+        return url;
+    }
+
+    private String readOnlyMarker() {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(MARKER_SQL, String.class));
+    }
+
+    private void signIn(UUID userId) {
+        UserDetails userDetails = new UserDetails(Role.REGISTERED_USER, true, userId, "Test User");
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(userDetails, null, List.of()));
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica() {
+        assertEquals("replica", readOnlyMarker());
+    }
+
+    @Test
+    void readWriteTransaction_usesPrimary() {
+        assertEquals("primary", readWriteTransaction.execute(
+                status -> jdbcTemplate.queryForObject(MARKER_SQL, String.class)));
+    }
+
+    @Test
+    void noTransaction_usesPrimary() {
+        assertEquals("primary", jdbcTemplate.queryForObject(MARKER_SQL, String.class));
+    }
+
+    @Test
+    void laggingReplica_readsFromPrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertEquals("primary", readOnlyMarker());
+    }
+
+    @Test
+    void recentWriter_readsFromPrimary() {
+        UUID writerId = UUID.randomUUID();
+        recentWriters.recordWrite(writerId);
+
+        signIn(writerId);
+        assertEquals("primary", readOnlyMarker());
+
+        signIn(UUID.randomUUID());
+        assertEquals("replica", readOnlyMarker());
+    }
+
+    @Test
+    void readFromPrimary_keepsReadOnlyTransactionOnPrimary() {
+        assertEquals("primary", ReplicaRoutingDataSource.readFromPrimary(this::readOnlyMarker));
+
+        assertEquals("replica", readOnlyMarker());
+    }
+
+    @Test
+    void declaredQuery_inReadOnlyTransaction_readsFromReplica() {
+        LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("com.safetypin.post.model");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.afterPropertiesSet();
+        try {
+            CategoryRepository categoryRepository = new JpaRepositoryFactory(SharedEntityManagerCreator
+                    .createSharedEntityManager(entityManagerFactory.getObject()))
+                    .getRepository(CategoryRepository.class);
+            // Same as a @Transactional(readOnly = true) service method calling the repository
+            TransactionTemplate readOnlyService = new TransactionTemplate(
+                    new JpaTransactionManager(entityManagerFactory.getObject()));
+            readOnlyService.setReadOnly(true);
+
+            Category fromReplica = readOnlyService.execute(status -> categoryRepository.findByName("replica"));
+            Category fromPrimary = readOnlyService.execute(status -> categoryRepository.findByName("primary"));
+
+            assertNotNull(fromReplica);
+            assertNull(fromPrimary);
+            // Outside a transaction the same query goes to the primary
+            assertNotNull(categoryRepository.findByName("primary"));
+        } finally {
+            entityManagerFactory.destroy();
+        }
+    }
+}
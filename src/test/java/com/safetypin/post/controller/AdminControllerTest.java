@@ -9,8 +9,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +28,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import com.safetypin.post.config.TestSecurityConfig;
 import com.safetypin.post.dto.UserDetails;
 import com.safetypin.post.exception.UnauthorizedAccessException;
+import com.safetypin.post.model.ContentDeletionJob;
+import com.safetypin.post.model.DeletionJobStatus;
+import com.safetypin.post.model.DeletionStage;
 import com.safetypin.post.model.Role;
 import com.safetypin.post.service.AdminService;
 
@@ -47,6 +50,7 @@ class AdminControllerTest {
     private UUID validUserId;
     private UUID validModeratorId;
     private UserDetails moderatorDetails;
+    private ContentDeletionJob job;
 
     @BeforeEach
     void setup() {
@@ -67,8 +71,9 @@ class AdminControllerTest {
         SecurityContextHolder.setContext(securityContext);
 
         // Setup service response
-        when(adminService.deleteAllUserContent(any(), any(), any()))
-                .thenReturn(CompletableFuture.completedFuture(null));
+        job = new ContentDeletionJob(validUserId, validModeratorId);
+        job.setId(UUID.randomUUID());
+        when(adminService.deleteAllUserContent(any(), any(), any())).thenReturn(job);
     }
 
     @Test
@@ -86,6 +91,7 @@ class AdminControllerTest {
         assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
 
         assertEquals(validUserId.toString(), response.getBody().get("userId"));
+        assertEquals(job.getId().toString(), response.getBody().get("jobId"));
 
         // Verify service was called with correct parameters
         verify(adminService, times(1)).deleteAllUserContent(
@@ -130,4 +136,46 @@ class AdminControllerTest {
         // Verify that the service was never called
         verify(adminService, never()).deleteAllUserContent(any(), any(), any());
     }
+
+    @Test
+    void getDeletionJob_WithModeratorRole_ReturnsProgress() {
+        job.setStatus(DeletionJobStatus.RUNNING);
+        job.setStage(DeletionStage.COMMENTS);
+        job.setRowsDeleted(1200);
+        when(adminService.getDeletionJob(job.getId())).thenReturn(Optional.of(job));
+
+        AdminController controller = new AdminController(adminService);
+        ResponseEntity<Map<String, Object>> response = controller.getDeletionJob(job.getId());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("RUNNING", response.getBody().get("status"));
+        assertEquals("COMMENTS", response.getBody().get("stage"));
+        assertEquals(1200L, response.getBody().get("rowsDeleted"));
+        assertEquals(validUserId.toString(), response.getBody().get("userId"));
+    }
+
+    @Test
+    void getDeletionJob_UnknownJob_ReturnsNotFound() {
+        UUID unknownJobId = UUID.randomUUID();
+        when(adminService.getDeletionJob(unknownJobId)).thenReturn(Optional.empty());
+
+        AdminController controller = new AdminController(adminService);
+        ResponseEntity<Map<String, Object>> response = controller.getDeletionJob(unknownJobId);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getDeletionJob_WithRegularUserRole_ThrowsUnauthorizedException() {
+        when(authentication.getPrincipal()).thenReturn(new UserDetails(
+                Role.REGISTERED_USER,
+                true,
+                validModeratorId,
+                "Regular User"));
+
+        AdminController controller = new AdminController(adminService);
+
+        assertThrows(UnauthorizedAccessException.class, () -> controller.getDeletionJob(UUID.randomUUID()));
+        verify(adminService, never()).getDeletionJob(any());
+    }
 }
@@ -2,12 +2,15 @@ package com.safetypin.post.controller;
 
 import com.safetypin.post.dto.PostResponse;
 import com.safetypin.post.model.Category;
+import com.safetypin.post.model.CategoryRename;
 import com.safetypin.post.service.CategoryService;
+import com.safetypin.post.service.ContentVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,11 +19,14 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.junit.Assert.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class CategoryControllerTest {
@@ -28,6 +34,9 @@ class CategoryControllerTest {
     @Mock
     private CategoryService categoryService;
 
+    @Spy
+    private ContentVersions contentVersions = new ContentVersions();
+
     @InjectMocks
     private CategoryController categoryController;
 
@@ -41,7 +50,7 @@ class CategoryControllerTest {
         List<Category> categories = Arrays.asList(new Category("Tech"), new Category("Health"));
         when(categoryService.getAllCategories()).thenReturn(categories);
 
-        ResponseEntity<PostResponse> response = categoryController.getAllCategories();
+        ResponseEntity<PostResponse> response = categoryController.getAllCategories(null);
 
         assertEquals(200, response.getStatusCode().value());
         assertTrue(Objects.requireNonNull(response.getBody()).isSuccess());
@@ -49,11 +58,34 @@ class CategoryControllerTest {
         assertEquals(Arrays.asList("Tech", "Health"), response.getBody().getData());
     }
 
+    @Test
+    void testGetAllCategories_matchingETag() {
+        String eTag = "\"" + contentVersions.categoriesTag() + "\"";
+
+        ResponseEntity<PostResponse> response = categoryController.getAllCategories(eTag);
+
+        assertEquals(304, response.getStatusCode().value());
+        assertEquals(eTag, response.getHeaders().getETag());
+        verify(categoryService, never()).getAllCategories();
+    }
+
+    @Test
+    void testGetAllCategories_categoryAdded() {
+        when(categoryService.getAllCategories()).thenReturn(List.of(new Category("Tech")));
+        String eTag = categoryController.getAllCategories(null).getHeaders().getETag();
+
+        contentVersions.categoriesChanged();
+        ResponseEntity<PostResponse> response = categoryController.getAllCategories(eTag);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
     @Test
     void testFailedGetAllCategories() {
         when(categoryService.getAllCategories()).thenThrow(new RuntimeException("Error A"));
 
-        ResponseEntity<PostResponse> response = categoryController.getAllCategories();
+        ResponseEntity<PostResponse> response = categoryController.getAllCategories(null);
 
         assertEquals(500, response.getStatusCode().value());
         assertFalse(Objects.requireNonNull(response.getBody()).isSuccess());
@@ -131,4 +163,28 @@ class CategoryControllerTest {
         assertEquals("Invalid category parameters", response.getBody().getMessage());
         assertNull(response.getBody().getData());
     }
+
+    @Test
+    void testGetRenameStatus() {
+        CategoryRename rename = new CategoryRename("Old", "New", 10);
+        rename.setPostsMigrated(4);
+        when(categoryService.getRenameStatus("Old")).thenReturn(Optional.of(rename));
+
+        ResponseEntity<PostResponse> response = categoryController.getRenameStatus("Old");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(Objects.requireNonNull(response.getBody()).isSuccess());
+        assertEquals("Category rename running", response.getBody().getMessage());
+        assertEquals(rename, response.getBody().getData());
+    }
+
+    @Test
+    void testGetRenameStatus_NotFound() {
+        when(categoryService.getRenameStatus("Unknown")).thenReturn(Optional.empty());
+
+        ResponseEntity<PostResponse> response = categoryController.getRenameStatus("Unknown");
+
+        assertEquals(404, response.getStatusCode().value());
+        assertFalse(Objects.requireNonNull(response.getBody()).isSuccess());
+    }
 }
@@ -27,6 +27,7 @@ import java.util.UUID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,7 +74,7 @@ class CommentNotificationControllerTest {
                 .build();
         List<NotificationDto> notifications = List.of(notification);
 
-        when(notificationService.getNotifications(testUserId)).thenReturn(notifications);
+        when(notificationService.getNotifications(testUserId, null)).thenReturn(notifications);
 
         // Act & Assert
         mockMvc.perform(get("/posts/comment-notifications")
@@ -86,14 +87,14 @@ class CommentNotificationControllerTest {
                 .andExpect(jsonPath("$.data[0].actorUserId").value(actorId.toString()))
                 .andExpect(jsonPath("$.data[0].actorName").value("Actor User"));
 
-        verify(notificationService, times(1)).getNotifications(testUserId);
+        verify(notificationService, times(1)).getNotifications(testUserId, null);
     }
 
     @Test
     void getCommentNotifications_ServiceThrowsException() throws Exception {
         // Arrange
         String errorMessage = "Database connection failed";
-        when(notificationService.getNotifications(testUserId)).thenThrow(new RuntimeException(errorMessage));
+        when(notificationService.getNotifications(testUserId, null)).thenThrow(new RuntimeException(errorMessage));
 
         // Act & Assert
         mockMvc.perform(get("/posts/comment-notifications")
@@ -104,13 +105,13 @@ class CommentNotificationControllerTest {
                 .andExpect(jsonPath("$.message").value("Failed to retrieve comment notifications: " + errorMessage))
                 .andExpect(jsonPath("$.data").doesNotExist()); // Or .isEmpty() depending on PostResponse structure
 
-        verify(notificationService, times(1)).getNotifications(testUserId);
+        verify(notificationService, times(1)).getNotifications(testUserId, null);
     }
 
     @Test
     void getCommentNotifications_NoNotificationsFound() throws Exception {
         // Arrange
-        when(notificationService.getNotifications(testUserId)).thenReturn(Collections.emptyList());
+        when(notificationService.getNotifications(testUserId, null)).thenReturn(Collections.emptyList());
 
         // Act & Assert
         mockMvc.perform(get("/posts/comment-notifications")
@@ -122,7 +123,64 @@ class CommentNotificationControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data").isEmpty());
 
-        verify(notificationService, times(1)).getNotifications(testUserId);
+        verify(notificationService, times(1)).getNotifications(testUserId, null);
+    }
+
+    @Test
+    void getCommentNotifications_WithSinceCursor() throws Exception {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2025, 5, 1, 10, 30, 0);
+        when(notificationService.getNotifications(testUserId, since)).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        mockMvc.perform(get("/posts/comment-notifications")
+                        .param("since", "2025-05-01T10:30:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").isEmpty());
+
+        verify(notificationService, times(1)).getNotifications(testUserId, since);
+    }
+
+    @Test
+    void getUnreadCount_Success() throws Exception {
+        // Arrange
+        when(notificationService.getUnreadCount(testUserId)).thenReturn(4L);
+
+        // Act & Assert
+        mockMvc.perform(get("/posts/comment-notifications/unread-count")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.unreadCount").value(4));
+
+        verify(notificationService, times(1)).getUnreadCount(testUserId);
+    }
+
+    @Test
+    void getUnreadCount_ServiceThrowsException() throws Exception {
+        // Arrange
+        when(notificationService.getUnreadCount(testUserId)).thenThrow(new RuntimeException("boom"));
+
+        // Act & Assert
+        mockMvc.perform(get("/posts/comment-notifications/unread-count")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Failed to retrieve unread notification count: boom"));
+    }
+
+    @Test
+    void markNotificationsAsRead_Success() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/posts/comment-notifications/read")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Notifications marked as read"));
+
+        verify(notificationService, times(1)).markAllAsRead(testUserId);
     }
 
     @Test
@@ -145,7 +203,7 @@ class CommentNotificationControllerTest {
         // (like in setUp).
         // To test the *absence* of auth leading to an error *within* the controller:
         try {
-            commentNotificationController.getCommentNotifications();
+            commentNotificationController.getCommentNotifications(null);
         } catch (NullPointerException e) {
             // Expected because SecurityContextHolder.getContext().getAuthentication() is
             // null
@@ -153,7 +211,7 @@ class CommentNotificationControllerTest {
 
         // We don't verify notificationService because the controller should fail before
         // calling it.
-        verify(notificationService, never()).getNotifications(any());
+        verify(notificationService, never()).getNotifications(any(), any());
 
         // A more integrated test with MockMvc and Spring Security would look like:
         // mockMvc.perform(get("/posts/comment-notifications"))
@@ -0,0 +1,71 @@
+package com.safetypin.post.controller;
+
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.service.EventStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventStreamControllerTest {
+
+    @Mock
+    private EventStreamService eventStreamService;
+
+    @InjectMocks
+    private EventStreamController eventStreamController;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        UserDetails userDetails = new UserDetails(Role.REGISTERED_USER, true, userId, "Test User");
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
+                Collections.emptyList());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @Test
+    void stream_SubscribesCurrentUserWithFilters() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        List<String> categories = List.of("Crime Watch");
+        when(eventStreamService.subscribe(userId, -6.36, 106.82, 5.0, categories)).thenReturn(emitter);
+
+        // Act
+        SseEmitter result = eventStreamController.stream(-6.36, 106.82, 5.0, categories);
+
+        // Assert
+        assertSame(emitter, result);
+        verify(eventStreamService).subscribe(userId, -6.36, 106.82, 5.0, categories);
+    }
+
+    @Test
+    void stream_WithoutLocation_SubscribesForNotificationsOnly() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(eventStreamService.subscribe(userId, null, null, null, null)).thenReturn(emitter);
+
+        // Act
+        SseEmitter result = eventStreamController.stream(null, null, null, null);
+
+        // Assert
+        assertSame(emitter, result);
+    }
+}
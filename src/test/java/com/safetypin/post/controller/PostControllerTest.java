@@ -2,17 +2,25 @@ package com.safetypin.post.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -27,20 +35,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostCreateRequest;
 import com.safetypin.post.dto.PostData;
+import com.safetypin.post.dto.PostIngestResult;
+import com.safetypin.post.dto.PostLookupResult;
 import com.safetypin.post.dto.PostResponse;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.dto.UserDetails;
@@ -48,6 +62,9 @@ import com.safetypin.post.exception.InvalidPostDataException;
 import com.safetypin.post.exception.PostNotFoundException;
 import com.safetypin.post.exception.UnauthorizedAccessException;
 import com.safetypin.post.model.Post;
+import com.safetypin.post.service.ContentVersions;
+import com.safetypin.post.service.PostIngestService;
+import com.safetypin.post.service.PostListingStreamer;
 import com.safetypin.post.service.PostService;
 
 class PostControllerTest {
@@ -55,6 +72,15 @@ class PostControllerTest {
     @Mock
     private PostService postService;
 
+    @Mock
+    private PostListingStreamer postListingStreamer;
+
+    @Spy
+    private ContentVersions contentVersions = new ContentVersions();
+
+    @Mock
+    private PostIngestService postIngestService;
+
     @Mock
     private Authentication authentication;
 
@@ -168,15 +194,86 @@ class PostControllerTest {
         assertTrue(response.getBody().getMessage().contains("Test error"));
     }
 
+    // ------------------- Streamed Listing Tests -------------------
+
+    @Test
+    void streamAll_writesFromStreamerWithCount() throws IOException {
+        // Arrange
+        when(postListingStreamer.countAll()).thenReturn(42L);
+
+        // Act
+        ResponseEntity<?> response = postController.streamAll(1, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody() instanceof StreamingResponseBody);
+        // Nothing is read until the body is written
+        verify(postListingStreamer, never()).writeAll(any(), any(), anyLong(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        verify(postListingStreamer).writeAll(out, PageRequest.of(1, 20), 42L, testUserId);
+    }
+
+    @Test
+    void streamAll_invalidPage_returnsBadRequest() {
+        // Act
+        ResponseEntity<?> response = postController.streamAll(-1, 20);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        PostResponse body = (PostResponse) response.getBody();
+        assertFalse(body.isSuccess());
+        verify(postListingStreamer, never()).countAll();
+    }
+
+    @Test
+    void streamAll_countFails_returnsInternalServerError() {
+        // Arrange
+        when(postListingStreamer.countAll()).thenThrow(new RuntimeException("Test error"));
+
+        // Act
+        ResponseEntity<?> response = postController.streamAll(0, 30);
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertTrue(((PostResponse) response.getBody()).getMessage().contains("Test error"));
+    }
+
+    @Test
+    void streamPostsBySpecificUser_writesUserListing() throws IOException {
+        // Arrange
+        UUID postUserId = UUID.randomUUID();
+        when(postListingStreamer.countByUser(postUserId)).thenReturn(3L);
+
+        // Act
+        ResponseEntity<?> response = postController.streamPostsBySpecificUser(postUserId, 0, 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        verify(postListingStreamer).writeByUser(out, postUserId, PageRequest.of(0, 10), 3L);
+    }
+
+    @Test
+    void streamPostsBySpecificUser_zeroSize_returnsBadRequest() {
+        // Act
+        ResponseEntity<?> response = postController.streamPostsBySpecificUser(UUID.randomUUID(), 0, 0);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     // ------------------- Get Posts Feed By Distance Tests -------------------
 
     @Test
     void getPostsFeedByDistance_withFilters() {
         // Arrange
         PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
-        Map<String, Object> postMap = Map.of("post", postData, "distance", 2.5);
-        List<Map<String, Object>> posts = Collections.singletonList(postMap);
-        Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+        FeedItem feedItem = FeedItem.withDistance(postData, 2.5);
+        List<FeedItem> posts = Collections.singletonList(feedItem);
+        Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
         List<String> categories = List.of("DANGER");
         LocalDate from = LocalDate.now().minusDays(7);
@@ -190,7 +287,7 @@ class PostControllerTest {
 
         // Act
         ResponseEntity<PostResponse> response = postController.getPostsFeedByDistance(
-                40.7128, -74.0060, categories, "test", from, to, 0, 10);
+                40.7128, -74.0060, null, categories, "test", from, to, 0, 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -213,7 +310,7 @@ class PostControllerTest {
     void getPostsFeedByDistance_nullLatitude() {
         // Act
         ResponseEntity<PostResponse> response = postController.getPostsFeedByDistance(
-                null, 10.0, null, null, null, null, 0, 10);
+                null, 10.0, null, null, null, null, null, 0, 10);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -225,7 +322,7 @@ class PostControllerTest {
     void getPostsFeedByDistance_nullLongitude() {
         // Act
         ResponseEntity<PostResponse> response = postController.getPostsFeedByDistance(
-                10.0, null, null, null, null, null, 0, 10);
+                10.0, null, null, null, null, null, null, 0, 10);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -237,9 +334,9 @@ class PostControllerTest {
     void getPostsFeedByDistance_withNullDates() {
         // Arrange
         PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
-        Map<String, Object> postMap = Map.of("post", postData, "distance", 2.5);
-        List<Map<String, Object>> posts = Collections.singletonList(postMap);
-        Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+        FeedItem feedItem = FeedItem.withDistance(postData, 2.5);
+        List<FeedItem> posts = Collections.singletonList(feedItem);
+        Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
         // Capture the QueryDTO that will be created
         ArgumentCaptor<FeedQueryDTO> queryCaptor = ArgumentCaptor.forClass(FeedQueryDTO.class);
@@ -249,7 +346,7 @@ class PostControllerTest {
 
         // Act
         ResponseEntity<PostResponse> response = postController.getPostsFeedByDistance(
-                40.7128, -74.0060, null, "test", null, null, 0, 10);
+                40.7128, -74.0060, null, null, "test", null, null, 0, 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -266,15 +363,45 @@ class PostControllerTest {
         assertEquals(testUserId, capturedQuery.getUserId());
     }
 
+    @Test
+    void getPostsFeedByDistance_withRadius_passesRadiusToQuery() {
+        // Arrange
+        Page<FeedItem> postsPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        ArgumentCaptor<FeedQueryDTO> queryCaptor = ArgumentCaptor.forClass(FeedQueryDTO.class);
+        when(postService.getFeed(queryCaptor.capture(), eq("distance")))
+                .thenReturn(postsPage);
+
+        // Act
+        ResponseEntity<PostResponse> response = postController.getPostsFeedByDistance(
+                40.7128, -74.0060, 5.0, null, null, null, null, 0, 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5.0, queryCaptor.getValue().getRadiusKm());
+    }
+
+    @Test
+    void getPostsFeedByDistance_radiusOutOfRange() {
+        // Act
+        ResponseEntity<PostResponse> response = postController.getPostsFeedByDistance(
+                40.7128, -74.0060, 0.0, null, null, null, null, 0, 10);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+        assertEquals("Radius must be between 0 and 500.0 km", response.getBody().getMessage());
+        verify(postService, never()).getFeed(any(), anyString());
+    }
+
     // ------------------- Get Posts Feed By Timestamp Tests -------------------
 
     @Test
     void getPostsFeedByTimestamp_success() {
         // Arrange
         PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
-        Map<String, Object> postMap = Map.of("post", postData);
-        List<Map<String, Object>> posts = Collections.singletonList(postMap);
-        Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+        FeedItem feedItem = FeedItem.of(postData);
+        List<FeedItem> posts = Collections.singletonList(feedItem);
+        Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
         List<String> categories = List.of("DANGER");
         LocalDate from = LocalDate.now().minusDays(7);
@@ -288,7 +415,7 @@ class PostControllerTest {
 
         // Act
         ResponseEntity<PostResponse> response = postController.getPostsFeedByTimestamp(
-                categories, "test", from, to, 0, 10);
+                categories, "test", from, to, 0, 10, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -309,9 +436,9 @@ class PostControllerTest {
     void getPostsFeedByTimestamp_withNullDates() {
         // Arrange
         PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
-        Map<String, Object> postMap = Map.of("post", postData);
-        List<Map<String, Object>> posts = Collections.singletonList(postMap);
-        Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+        FeedItem feedItem = FeedItem.of(postData);
+        List<FeedItem> posts = Collections.singletonList(feedItem);
+        Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
         List<String> categories = List.of("DANGER");
 
@@ -323,7 +450,7 @@ class PostControllerTest {
 
         // Act
         ResponseEntity<PostResponse> response = postController.getPostsFeedByTimestamp(
-                categories, "test", null, null, 0, 10);
+                categories, "test", null, null, 0, 10, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -340,15 +467,50 @@ class PostControllerTest {
         assertEquals(testUserId, capturedQuery.getUserId());
     }
 
+    @Test
+    void getPostsFeedByTimestamp_matchingETag_returnsNotModified() {
+        // Arrange
+        List<String> categories = List.of("DANGER");
+        String eTag = contentVersions.feedTag("timestamp", testUserId, categories, "test", null, null, 0, 10);
+
+        // Act
+        ResponseEntity<PostResponse> response = postController.getPostsFeedByTimestamp(
+                categories, "test", null, null, 0, 10, "\"" + eTag + "\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(postService, never()).getFeed(any(), anyString());
+    }
+
+    @Test
+    void getPostsFeedByTimestamp_newPost_changesETag() {
+        // Arrange
+        Page<FeedItem> postsPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        when(postService.getFeed(any(FeedQueryDTO.class), eq("timestamp"))).thenReturn(postsPage);
+        List<String> categories = List.of("DANGER");
+        String eTag = postController.getPostsFeedByTimestamp(categories, "test", null, null, 0, 10, null)
+                .getHeaders().getETag();
+
+        // Act
+        contentVersions.postCreated();
+        ResponseEntity<PostResponse> response = postController.getPostsFeedByTimestamp(
+                categories, "test", null, null, 0, 10, eTag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
     // ------------------- Get Posts Feed By Following Tests -------------------
 
     @Test
     void getPostsFeedByFollowing_success() {
         // Arrange
         PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
-        Map<String, Object> postMap = Map.of("post", postData); // Following feed doesn't include distance
-        List<Map<String, Object>> posts = Collections.singletonList(postMap);
-        Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+        FeedItem feedItem = FeedItem.of(postData); // Following feed doesn't include distance
+        List<FeedItem> posts = Collections.singletonList(feedItem);
+        Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
         List<String> categories = List.of("INFO");
         LocalDate from = LocalDate.now().minusDays(5);
@@ -412,9 +574,9 @@ class PostControllerTest {
     void getPostBySpecificUser_success() {
         // Arrange
         PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
-        Map<String, Object> postMap = Map.of("post", postData);
-        List<Map<String, Object>> posts = List.of(postMap);
-        Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+        FeedItem feedItem = FeedItem.of(postData);
+        List<FeedItem> posts = List.of(feedItem);
+        Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
         when(postService.findPostsByUser(eq(testUserId), any(Pageable.class)))
                 .thenReturn(postsPage);
@@ -439,7 +601,7 @@ class PostControllerTest {
     void getPostBySpecificUser_emptyResult() {
         // Arrange
         UUID postUserId = UUID.randomUUID();
-        Page<Map<String, Object>> emptyPage = new PageImpl<>(
+        Page<FeedItem> emptyPage = new PageImpl<>(
                 List.of(), pageable, 0);
 
         when(postService.findPostsByUser(eq(postUserId), any(Pageable.class)))
@@ -597,6 +759,69 @@ class PostControllerTest {
         assertEquals("http://example.com/image.jpg", capturedRequest.getImageUrl());
     }
 
+    // ------------------- Multi-Get Tests -------------------
+
+    @Test
+    void getPostsByIds_success() {
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(testPostId, missingId);
+        PostData postData = PostData.fromPostAndUserId(testPost, testUserId, postedByData);
+        when(postService.findPostsByIds(ids, testUserId)).thenReturn(List.of(
+                PostLookupResult.found(testPostId, postData),
+                PostLookupResult.notFound(missingId)));
+
+        ResponseEntity<PostResponse> response = postController.getPostsByIds(ids);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        List<?> data = (List<?>) response.getBody().getData();
+        assertEquals(2, data.size());
+        assertFalse(((PostLookupResult) data.get(1)).found());
+    }
+
+    @Test
+    void getPostsByIds_tooManyIds_returnsBadRequest() {
+        when(postService.findPostsByIds(anyList(), eq(testUserId)))
+                .thenThrow(new InvalidPostDataException("At most 100 post IDs can be requested at once"));
+
+        ResponseEntity<PostResponse> response = postController.getPostsByIds(List.of(testPostId));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("At most 100 post IDs can be requested at once", response.getBody().getMessage());
+    }
+
+    // ------------------- Bulk Ingest Tests -------------------
+
+    @Test
+    void ingestPosts_returnsPerLineResults() {
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+        UUID createdId = UUID.randomUUID();
+        when(postIngestService.ingest(eq(body), any(UserDetails.class))).thenReturn(List.of(
+                PostIngestResult.accepted(1, createdId),
+                PostIngestResult.rejected(2, "Category does not exist: Unknown")));
+
+        ResponseEntity<PostResponse> response = postController.ingestPosts(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        assertEquals("Created 1 of 2 posts", response.getBody().getMessage());
+        Map<?, ?> data = (Map<?, ?>) response.getBody().getData();
+        assertEquals(1L, data.get("accepted"));
+        assertEquals(1L, data.get("rejected"));
+        assertEquals(2, ((List<?>) data.get("results")).size());
+    }
+
+    @Test
+    void ingestPosts_notModerator_returnsForbidden() {
+        when(postIngestService.ingest(any(), any(UserDetails.class)))
+                .thenThrow(new UnauthorizedAccessException("Bulk ingest is restricted to moderators"));
+
+        ResponseEntity<PostResponse> response = postController.ingestPosts(new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+
     // ------------------- Get Post By ID Tests -------------------
 
     @Test
@@ -605,7 +830,7 @@ class PostControllerTest {
         when(postService.findById(any(UUID.class))).thenReturn(testPost);
 
         // Act
-        ResponseEntity<PostResponse> response = postController.getPostById(testPostId);
+        ResponseEntity<PostResponse> response = postController.getPostById(testPostId, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -619,6 +844,50 @@ class PostControllerTest {
         verify(postService).findById(testPostId);
     }
 
+    @Test
+    void getPostById_setsETag() {
+        // Arrange
+        when(postService.findById(any(UUID.class))).thenReturn(testPost);
+
+        // Act
+        ResponseEntity<PostResponse> response = postController.getPostById(testPostId, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"" + contentVersions.postTag(testPostId, testUserId) + "\"",
+                response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void getPostById_matchingETag_returnsNotModified() {
+        // Arrange
+        String eTag = "\"" + contentVersions.postTag(testPostId, testUserId) + "\"";
+
+        // Act
+        ResponseEntity<PostResponse> response = postController.getPostById(testPostId, "W/" + eTag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(eTag, response.getHeaders().getETag());
+        verify(postService, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void getPostById_postChanged_loadsAgain() {
+        // Arrange
+        when(postService.findById(any(UUID.class))).thenReturn(testPost);
+        String eTag = "\"" + contentVersions.postTag(testPostId, testUserId) + "\"";
+
+        // Act
+        contentVersions.postChanged(testPostId);
+        ResponseEntity<PostResponse> response = postController.getPostById(testPostId, eTag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(postService).findById(testPostId);
+    }
+
     @Test
     void getPostById_notFound() {
         // Arrange
@@ -626,7 +895,7 @@ class PostControllerTest {
                 .thenThrow(new PostNotFoundException("Post not found"));
 
         // Act
-        ResponseEntity<PostResponse> response = postController.getPostById(testPostId);
+        ResponseEntity<PostResponse> response = postController.getPostById(testPostId, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -0,0 +1,62 @@
+package com.safetypin.post.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedItemTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final PostData postData = PostData.builder()
+            .id(UUID.randomUUID())
+            .title("Test Post")
+            .caption("Test Caption")
+            .latitude(1.0)
+            .longitude(2.0)
+            .build();
+
+    @Test
+    void of_hasNoDistance() {
+        FeedItem item = FeedItem.of(postData);
+
+        assertEquals(postData, item.post());
+        assertFalse(item.hasDistance());
+    }
+
+    @Test
+    void withDistance_keepsDistance() {
+        FeedItem item = FeedItem.withDistance(postData, 2.5);
+
+        assertEquals(postData, item.post());
+        assertTrue(item.hasDistance());
+        assertEquals(2.5, item.distanceKm());
+    }
+
+    @Test
+    void serialise_withoutDistance_matchesMapShape() throws JsonProcessingException {
+        Map<String, Object> legacy = Map.of("post", postData);
+
+        assertEquals(objectMapper.writeValueAsString(legacy),
+                objectMapper.writeValueAsString(FeedItem.of(postData)));
+    }
+
+    @Test
+    void serialise_withDistance_matchesMapShape() throws JsonProcessingException {
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("post", postData);
+        legacy.put("distance", 2.5);
+
+        assertEquals(objectMapper.writeValueAsString(legacy),
+                objectMapper.writeValueAsString(FeedItem.withDistance(postData, 2.5)));
+    }
+}
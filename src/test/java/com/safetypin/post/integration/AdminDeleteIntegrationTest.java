@@ -95,7 +95,8 @@ class AdminDeleteIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isAccepted())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").exists())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.userId").value(targetUserId.toString()));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.userId").value(targetUserId.toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.jobId").exists());
     }
 
     @Test
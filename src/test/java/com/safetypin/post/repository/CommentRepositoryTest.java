@@ -1,5 +1,8 @@
 package com.safetypin.post.repository;
 
+import com.safetypin.post.dto.CommentReplyCount;
+import com.safetypin.post.dto.PostCommentCount;
+import com.safetypin.post.model.CommentOnComment;
 import com.safetypin.post.model.CommentOnPost;
 import com.safetypin.post.model.Post;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +13,12 @@ import org.locationtech.jts.geom.PrecisionModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +31,9 @@ class CommentRepositoryTest {
     @Autowired
     private CommentOnPostRepository commentOnPostRepository;
 
+    @Autowired
+    private CommentOnCommentRepository commentOnCommentRepository;
+
     @Autowired
     private PostRepository postRepository;
 
@@ -81,4 +90,55 @@ class CommentRepositoryTest {
         commentOnPostRepository.save(commentOnPost);
         assertFalse(commentOnPostRepository.findByParentId(post.getId()).isEmpty());
     }
+
+    @Test
+    void testCountByParentIds() {
+        commentOnPostRepository.save(commentOnPost);
+
+        List<PostCommentCount> counts = commentOnPostRepository.countByParentIds(
+                List.of(post.getId(), UUID.randomUUID()));
+
+        assertEquals(1, counts.size());
+        assertEquals(post.getId(), counts.get(0).getPostId());
+        assertEquals(1L, counts.get(0).getCommentCount());
+    }
+
+    @Test
+    void testCountRepliesByParentIds() {
+        commentOnPostRepository.save(commentOnPost);
+        for (int i = 0; i < 2; i++) {
+            CommentOnComment reply = new CommentOnComment();
+            reply.setCaption("Reply " + i);
+            reply.setParent(commentOnPost);
+            reply.setPostedBy(UUID.randomUUID());
+            commentOnCommentRepository.save(reply);
+        }
+
+        List<CommentReplyCount> counts = commentOnCommentRepository.countByParentIds(
+                List.of(commentOnPost.getId(), UUID.randomUUID()));
+
+        assertEquals(1, counts.size());
+        assertEquals(commentOnPost.getId(), counts.get(0).getCommentId());
+        assertEquals(2L, counts.get(0).getReplyCount());
+    }
+
+    @Test
+    void testFindByParentIdPaged_NewestFirst() {
+        // createdAt is assigned on persist, so later saves are newer
+        for (int i = 0; i < 5; i++) {
+            CommentOnPost comment = new CommentOnPost();
+            comment.setCaption("Comment " + i);
+            comment.setParent(post);
+            comment.setPostedBy(UUID.randomUUID());
+            commentOnPostRepository.save(comment);
+        }
+
+        Page<CommentOnPost> firstPage = commentOnPostRepository.findByParentIdOrderByCreatedAtDescIdDesc(
+                post.getId(), PageRequest.of(0, 2));
+
+        assertEquals(5, firstPage.getTotalElements());
+        assertEquals(2, firstPage.getContent().size());
+        assertFalse(firstPage.getContent().get(0).getCreatedAt()
+                .isBefore(firstPage.getContent().get(1).getCreatedAt()));
+    }
 }
@@ -1,7 +1,11 @@
 package com.safetypin.post.repository;
 
+import com.safetypin.post.dto.CategoryPostCount;
+import com.safetypin.post.dto.PostVoteSummary;
 import com.safetypin.post.model.Category;
 import com.safetypin.post.model.Post;
+import com.safetypin.post.model.Vote;
+import com.safetypin.post.model.VoteType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.locationtech.jts.geom.Coordinate;
@@ -19,8 +23,10 @@ import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -38,6 +44,8 @@ class PostRepositoryTests {
     private Category safety, traffic;
     @Autowired
     private CategoryRepository categoryRepository;
+    @Autowired
+    private VoteRepository voteRepository;
 
     @BeforeEach
     void setup() {
@@ -116,12 +124,56 @@ class PostRepositoryTests {
         assertThat(retrievedPost.get().getTitle()).isEqualTo("New Post");
     }
 
+    @Test
+    void testSummarizeVotes() {
+        UUID viewer = UUID.randomUUID();
+        voteRepository.saveAll(List.of(
+                new Vote(new Vote.VoteId(viewer, post1), false),
+                new Vote(new Vote.VoteId(UUID.randomUUID(), post1), true),
+                new Vote(new Vote.VoteId(UUID.randomUUID(), post1), true),
+                new Vote(new Vote.VoteId(UUID.randomUUID(), post2), true)));
+
+        List<PostVoteSummary> summaries = voteRepository.summarizeVotes(
+                List.of(post1.getId(), post2.getId(), post3.getId()), viewer);
+
+        assertThat(summaries).hasSize(2);
+        PostVoteSummary first = summaries.stream()
+                .filter(summary -> summary.getPostId().equals(post1.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(first.getUpvoteCount()).isEqualTo(2L);
+        assertThat(first.getDownvoteCount()).isEqualTo(1L);
+        assertThat(first.currentVote()).isEqualTo(VoteType.DOWNVOTE);
+        PostVoteSummary second = summaries.stream()
+                .filter(summary -> summary.getPostId().equals(post2.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(second.currentVote()).isEqualTo(VoteType.NONE);
+    }
+
     @Test
     void testFindAll() {
         List<Post> allPosts = postRepository.findAll();
         assertThat(allPosts).hasSize(3);
     }
 
+    @Test
+    void testFindByCreatedAtBetween() {
+        List<Post> recentPosts = postRepository.findByCreatedAtBetween(now.minusHours(13), now.minusHours(1));
+
+        assertThat(recentPosts).extracting(Post::getId).containsExactly(post2.getId());
+    }
+
+    @Test
+    void testNewestPostsAndCategoryCounts() {
+        List<Post> newest = postRepository.findByOrderByCreatedAtDesc(PageRequest.of(0, 2));
+        Map<String, Long> counts = postRepository.countPostsByCategory().stream()
+                .collect(Collectors.toMap(CategoryPostCount::getCategory, CategoryPostCount::getPostCount));
+
+        assertThat(newest).extracting(Post::getId).containsExactly(post3.getId(), post2.getId());
+        assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of("Safety", 2L, "Traffic", 1L));
+    }
+
     @Test
     void testDeletePost() {
         postRepository.delete(post1);
@@ -0,0 +1,132 @@
+package com.safetypin.post.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.utils.ServerTiming;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ServerTiming.clear();
+    }
+
+    @Test
+    void moderatorWithDebugHeader_getsServerTimingHeader() throws ServletException, IOException {
+        authenticate(Role.MODERATOR);
+        MockHttpServletRequest request = debugRequest("/posts/feed/timestamp");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, respondWith("{\"success\":true}"));
+
+        String header = response.getHeader(ServerTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("db;dur="));
+        assertTrue(header.contains("serialise;dur="));
+        assertEquals("{\"success\":true}", response.getContentAsString());
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    void nonModeratorWithDebugHeader_getsNoHeader() throws ServletException, IOException {
+        authenticate(Role.PREMIUM_USER);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(debugRequest("/posts/feed/timestamp"), response, respondWith("{}"));
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertEquals("{}", response.getContentAsString());
+    }
+
+    @Test
+    void unauthenticatedWithDebugHeader_getsNoHeader() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(debugRequest("/posts/comment/onpost/" + UUID.randomUUID()), response, respondWith("{}"));
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+    }
+
+    @Test
+    void moderatorWithoutDebugHeader_getsNoHeader() throws ServletException, IOException {
+        authenticate(Role.MODERATOR);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts/feed/timestamp");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, respondWith("{}"));
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+    }
+
+    @Test
+    void eventStream_isNotBuffered() throws ServletException, IOException {
+        authenticate(Role.MODERATOR);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            assertNull(ServerTiming.current());
+            res.getWriter().write("data: ping\n\n");
+        };
+
+        filter.doFilter(debugRequest("/posts/stream/notifications"), response, chain);
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertEquals("data: ping\n\n", response.getContentAsString());
+    }
+
+    @Test
+    void handlerWithoutBody_getsNoHeader() throws ServletException, IOException {
+        authenticate(Role.MODERATOR);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(debugRequest("/posts/vote/upvote"), response, (req, res) -> res.getWriter().write("{}"));
+
+        // Only endpoints covered by ServerTimingAdvice report timings
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertEquals("{}", response.getContentAsString());
+    }
+
+    private static MockHttpServletRequest debugRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(ServerTimingFilter.DEBUG_HEADER, "true");
+        return request;
+    }
+
+    // Stands in for a covered controller: marks serialisation, then writes the body
+    private static FilterChain respondWith(String body) {
+        return (req, res) -> {
+            ServerTiming timing = ServerTiming.current();
+            if (timing != null) {
+                timing.startSerialising();
+            }
+            res.getWriter().write(body);
+        };
+    }
+
+    private static void authenticate(Role role) {
+        UserDetails userDetails = new UserDetails(role, true, UUID.randomUUID(), "Test User");
+        SecurityContextHolder.getContext().setAuthentication(new PreAuthenticatedAuthenticationToken(
+                userDetails, "token", Collections.emptyList()));
+    }
+}
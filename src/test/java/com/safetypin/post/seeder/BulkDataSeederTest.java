@@ -0,0 +1,107 @@
+package com.safetypin.post.seeder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BulkDataSeederTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.queryForList("SELECT name FROM categories", String.class))
+                .thenReturn(List.of("Flooding", "Lost Item"));
+    }
+
+    private BulkDataSeeder seeder(long posts, long timeBudgetSeconds) {
+        return new BulkDataSeeder(jdbcTemplate, transactionTemplate, posts, 100, 3, 1, 0.5, 6, 30, 100,
+                timeBudgetSeconds, 42);
+    }
+
+    @Test
+    void run_writesPostsInBatchesWithTheirVotesAndComments() {
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(0L);
+
+        seeder(250, 60).run();
+
+        ArgumentCaptor<List<Object[]>> posts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(BulkDataSeeder.POST_SQL), posts.capture());
+        assertEquals(List.of(100, 100, 50), posts.getAllValues().stream().map(List::size).toList());
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(BulkDataSeeder.VOTE_SQL), anyList());
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(BulkDataSeeder.COMMENT_SQL), anyList());
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(BulkDataSeeder.REPLY_SQL), anyList());
+        verify(jdbcTemplate).execute(startsWith("ANALYZE"));
+    }
+
+    @Test
+    void run_countsExistingPostsTowardsTheTarget() {
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(220L);
+
+        seeder(250, 60).run();
+
+        ArgumentCaptor<List<Object[]>> posts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(BulkDataSeeder.POST_SQL), posts.capture());
+        assertEquals(30, posts.getValue().size());
+    }
+
+    @Test
+    void run_enoughPosts_skipsSeeding() {
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(250L);
+
+        seeder(250, 60).run();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void run_noCategories_insertsDefaults() {
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(0L);
+        when(jdbcTemplate.queryForList("SELECT name FROM categories", String.class)).thenReturn(List.of());
+
+        seeder(10, 60).run();
+
+        ArgumentCaptor<List<Object[]>> categories = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(BulkDataSeeder.CATEGORY_SQL), categories.capture());
+        assertEquals(DevDataSeeder.CATEGORY_NAMES.size(), categories.getValue().size());
+    }
+
+    @Test
+    void seed_pastDeadline_writesNothing() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42, 100, List.of("Flooding"), 3, 1, 0.5, 6,
+                30, LocalDateTime.now());
+
+        BulkDataSeeder.Totals totals = seeder(250, 60).seed(generator, 250, System.nanoTime());
+
+        assertEquals(0, totals.posts);
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+}
@@ -0,0 +1,113 @@
+package com.safetypin.post.seeder;
+
+import com.safetypin.post.seeder.SyntheticDataGenerator.City;
+import com.safetypin.post.seeder.SyntheticDataGenerator.SeedComment;
+import com.safetypin.post.seeder.SyntheticDataGenerator.SeedPost;
+import com.safetypin.post.seeder.SyntheticDataGenerator.SeedVote;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private static final List<String> CATEGORIES = List.of("Lost Item", "Flooding", "Crime Watch");
+
+    private SyntheticDataGenerator generator(long seed) {
+        return new SyntheticDataGenerator(seed, 1000, CATEGORIES, 8, 2, 0.5, 6, 365, NOW);
+    }
+
+    @Test
+    void post_isNearACityAndWithinTheTimeSpan() {
+        SyntheticDataGenerator generator = generator(42);
+
+        for (int i = 0; i < 1000; i++) {
+            SeedPost post = generator.post();
+
+            double nearestKm = SyntheticDataGenerator.CITIES.stream()
+                    .mapToDouble(city -> distanceKm(city, post.latitude(), post.longitude()))
+                    .min()
+                    .orElseThrow();
+            assertTrue(nearestKm < 60, "post " + nearestKm + " km from the nearest city");
+            assertFalse(post.createdAt().isAfter(NOW));
+            assertFalse(post.createdAt().isBefore(NOW.minusDays(365)));
+            assertTrue(CATEGORIES.contains(post.category()));
+            assertTrue(generator.users().contains(post.postedBy()));
+            assertFalse(post.title().isBlank());
+            assertFalse(post.caption().isBlank());
+        }
+    }
+
+    @Test
+    void votes_haveDistinctVotersPerPost() {
+        SyntheticDataGenerator generator = generator(42);
+
+        for (int i = 0; i < 200; i++) {
+            SeedPost post = generator.post();
+            List<SeedVote> votes = generator.votes(post);
+
+            Set<UUID> voters = new HashSet<>();
+            votes.forEach(vote -> assertTrue(voters.add(vote.userId())));
+            votes.forEach(vote -> assertEquals(post.id(), vote.postId()));
+        }
+    }
+
+    @Test
+    void comments_followTheirParent() {
+        SyntheticDataGenerator generator = generator(42);
+
+        for (int i = 0; i < 200; i++) {
+            SeedPost post = generator.post();
+            for (SeedComment comment : generator.comments(post)) {
+                assertEquals(post.id(), comment.parentId());
+                assertFalse(comment.createdAt().isBefore(post.createdAt()));
+                for (SeedComment reply : generator.replies(comment)) {
+                    assertEquals(comment.id(), reply.parentId());
+                    assertFalse(reply.createdAt().isBefore(comment.createdAt()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void engagement_averagesTheConfiguredRates() {
+        SyntheticDataGenerator generator = generator(7);
+        int posts = 5000;
+        long votes = 0;
+        long comments = 0;
+
+        for (int i = 0; i < posts; i++) {
+            SeedPost post = generator.post();
+            votes += generator.votes(post).size();
+            comments += generator.comments(post).size();
+        }
+
+        assertEquals(8.0, (double) votes / posts, 0.5);
+        assertEquals(2.0, (double) comments / posts, 0.2);
+    }
+
+    @Test
+    void sameSeed_sameUsersAndContent() {
+        SyntheticDataGenerator first = generator(42);
+        SyntheticDataGenerator second = generator(42);
+
+        assertEquals(first.users(), second.users());
+        SeedPost a = first.post();
+        SeedPost b = second.post();
+        assertEquals(a.title(), b.title());
+        assertEquals(a.latitude(), b.latitude());
+        assertEquals(a.postedBy(), b.postedBy());
+    }
+
+    private static double distanceKm(City city, double latitude, double longitude) {
+        double dLat = (latitude - city.latitude()) * 111.32;
+        double dLon = (longitude - city.longitude()) * 111.32 * Math.cos(Math.toRadians(city.latitude()));
+        return Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+}
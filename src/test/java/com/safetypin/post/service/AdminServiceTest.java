@@ -1,15 +1,18 @@
 package com.safetypin.post.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,67 +23,58 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import com.safetypin.post.exception.UnauthorizedAccessException;
+import com.safetypin.post.model.ContentDeletionJob;
+import com.safetypin.post.model.DeletionJobStatus;
+import com.safetypin.post.model.DeletionStage;
 import com.safetypin.post.model.Role;
-import com.safetypin.post.repository.CommentOnCommentRepository;
-import com.safetypin.post.repository.CommentOnPostRepository;
-import com.safetypin.post.repository.PostRepository;
-import com.safetypin.post.repository.VoteRepository;
+import com.safetypin.post.repository.ContentDeletionJobRepository;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class AdminServiceTest {
 
     @Mock
-    private PostRepository postRepository;
+    private ContentDeletionJobRepository contentDeletionJobRepository;
 
     @Mock
-    private CommentOnPostRepository commentOnPostRepository;
-
-    @Mock
-    private CommentOnCommentRepository commentOnCommentRepository;
-
-    @Mock
-    private VoteRepository voteRepository;
+    private ContentDeletionJobRunner contentDeletionJobRunner;
 
     private AdminService adminService;
     private UUID targetUserId;
     private UUID moderatorId;
+    private UUID jobId;
 
     @BeforeEach
     void setup() {
-        adminService = new AdminService(
-                postRepository,
-                commentOnPostRepository,
-                commentOnCommentRepository,
-                voteRepository);
+        adminService = new AdminService(contentDeletionJobRepository, contentDeletionJobRunner);
 
         targetUserId = UUID.randomUUID();
         moderatorId = UUID.randomUUID();
+        jobId = UUID.randomUUID();
 
-        // Mock repository delete methods to return counts
-        when(voteRepository.deleteVotesByUserId(any())).thenReturn(5);
-        when(commentOnCommentRepository.deleteByPostedBy(any())).thenReturn(3);
-        when(commentOnPostRepository.deleteByPostedBy(any())).thenReturn(2);
-        when(postRepository.deleteByPostedBy(any())).thenReturn(1);
+        // Assign an ID on save like the database would
+        when(contentDeletionJobRepository.save(any(ContentDeletionJob.class))).thenAnswer(invocation -> {
+            ContentDeletionJob job = invocation.getArgument(0);
+            job.setId(jobId);
+            return job;
+        });
     }
 
     @Test
-    void deleteAllUserContent_WithModeratorRole_DeletesAllContent()
-            throws ExecutionException, InterruptedException {
+    void deleteAllUserContent_WithModeratorRole_QueuesJob() {
         // Act
-        CompletableFuture<Void> result = adminService.deleteAllUserContent(
+        ContentDeletionJob job = adminService.deleteAllUserContent(
                 targetUserId,
                 moderatorId,
                 Role.MODERATOR);
 
-        // Wait for the async operation to complete
-        result.get();
-
         // Assert
-        verify(voteRepository, times(1)).deleteVotesByUserId(targetUserId);
-        verify(commentOnCommentRepository, times(1)).deleteByPostedBy(targetUserId);
-        verify(commentOnPostRepository, times(1)).deleteByPostedBy(targetUserId);
-        verify(postRepository, times(1)).deleteByPostedBy(targetUserId);
+        assertEquals(jobId, job.getId());
+        assertEquals(targetUserId, job.getTargetUserId());
+        assertEquals(moderatorId, job.getRequestedBy());
+        assertEquals(DeletionJobStatus.PENDING, job.getStatus());
+        assertEquals(DeletionStage.VOTES, job.getStage());
+        verify(contentDeletionJobRunner, times(1)).submit(jobId);
     }
 
     @Test
@@ -93,11 +87,9 @@ class AdminServiceTest {
                     Role.REGISTERED_USER);
         });
 
-        // Verify no deletion was performed
-        verify(voteRepository, never()).deleteVotesByUserId(any());
-        verify(commentOnCommentRepository, never()).deleteByPostedBy(any());
-        verify(commentOnPostRepository, never()).deleteByPostedBy(any());
-        verify(postRepository, never()).deleteByPostedBy(any());
+        // Verify no job was queued
+        verify(contentDeletionJobRepository, never()).save(any());
+        verify(contentDeletionJobRunner, never()).submit(any());
     }
 
     @Test
@@ -110,33 +102,41 @@ class AdminServiceTest {
                     Role.PREMIUM_USER);
         });
 
-        // Verify no deletion was performed
-        verify(voteRepository, never()).deleteVotesByUserId(any());
-        verify(commentOnCommentRepository, never()).deleteByPostedBy(any());
-        verify(commentOnPostRepository, never()).deleteByPostedBy(any());
-        verify(postRepository, never()).deleteByPostedBy(any());
+        // Verify no job was queued
+        verify(contentDeletionJobRepository, never()).save(any());
+        verify(contentDeletionJobRunner, never()).submit(any());
     }
 
     @Test
     void deleteAllUserContent_WithRepositoryException_PropagatesException() {
         // Arrange
-        when(voteRepository.deleteVotesByUserId(any())).thenThrow(new RuntimeException("Database error"));
+        when(contentDeletionJobRepository.save(any(ContentDeletionJob.class)))
+                .thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> {
-            CompletableFuture<Void> result = adminService.deleteAllUserContent(
-                    targetUserId,
-                    moderatorId,
-                    Role.MODERATOR);
+        assertThrows(RuntimeException.class, () -> adminService.deleteAllUserContent(
+                targetUserId,
+                moderatorId,
+                Role.MODERATOR));
 
-            // Wait for the async operation to complete
-            result.get();
-        });
+        verify(contentDeletionJobRunner, never()).submit(any());
+    }
+
+    @Test
+    void getDeletionJob_ReturnsStoredJob() {
+        ContentDeletionJob job = new ContentDeletionJob(targetUserId, moderatorId);
+        when(contentDeletionJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+
+        Optional<ContentDeletionJob> result = adminService.getDeletionJob(jobId);
+
+        assertTrue(result.isPresent());
+        assertSame(job, result.get());
+    }
+
+    @Test
+    void getDeletionJob_UnknownJob_ReturnsEmpty() {
+        when(contentDeletionJobRepository.findById(jobId)).thenReturn(Optional.empty());
 
-        // Verify that only the first repository method was called
-        verify(voteRepository, times(1)).deleteVotesByUserId(targetUserId);
-        verify(commentOnCommentRepository, never()).deleteByPostedBy(any());
-        verify(commentOnPostRepository, never()).deleteByPostedBy(any());
-        verify(postRepository, never()).deleteByPostedBy(any());
+        assertFalse(adminService.getDeletionJob(jobId).isPresent());
     }
 }
@@ -0,0 +1,109 @@
+package com.safetypin.post.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthClientMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private AuthClientMetrics authClientMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        authClientMetrics = new AuthClientMetrics(registry, 1000, 2);
+    }
+
+    @Test
+    void recordSuccess_recordsLatencyBatchAndResponseSize() {
+        authClientMetrics.recordSuccess(AuthClientMetrics.PROFILES_BATCH, 25, 24, authClientMetrics.start());
+
+        assertEquals(1, registry.get("auth.client.requests")
+                .tag("endpoint", AuthClientMetrics.PROFILES_BATCH)
+                .tag("outcome", "success")
+                .tag("exception", "none")
+                .timer().count());
+        assertEquals(25, registry.get("auth.client.batch.size")
+                .tag("endpoint", AuthClientMetrics.PROFILES_BATCH)
+                .summary().totalAmount());
+        assertEquals(24, registry.get("auth.client.response.size")
+                .tag("endpoint", AuthClientMetrics.PROFILES_BATCH)
+                .summary().totalAmount());
+        assertTrue(authClientMetrics.recentSlowCalls().isEmpty());
+    }
+
+    @Test
+    void recordFailure_countsErrorClass() {
+        authClientMetrics.recordFailure(AuthClientMetrics.FOLLOWING, 1, new RestClientException("bad gateway"),
+                authClientMetrics.start());
+
+        assertEquals(1, registry.get("auth.client.errors")
+                .tag("endpoint", AuthClientMetrics.FOLLOWING)
+                .tag("exception", "RestClientException")
+                .counter().count());
+        assertEquals(1, registry.get("auth.client.requests")
+                .tag("outcome", "error")
+                .timer().count());
+        assertNull(registry.find("auth.client.timeouts").counter());
+    }
+
+    @Test
+    void recordBadResponse_countsStatusAndEmptyBodyAsErrors() {
+        authClientMetrics.recordBadResponse(AuthClientMetrics.PROFILES_BATCH, 3,
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).build(), authClientMetrics.start());
+        authClientMetrics.recordBadResponse(AuthClientMetrics.PROFILES_BATCH, 3, ResponseEntity.ok().build(),
+                authClientMetrics.start());
+
+        assertEquals(1, registry.get("auth.client.errors")
+                .tag("exception", "HttpStatus304")
+                .counter().count());
+        assertEquals(1, registry.get("auth.client.errors")
+                .tag("exception", "EmptyBody")
+                .counter().count());
+        assertEquals(2, registry.get("auth.client.requests")
+                .tag("outcome", "error")
+                .timers().stream().mapToLong(timer -> timer.count()).sum());
+        assertNull(registry.find("auth.client.requests").tag("outcome", "success").timer());
+    }
+
+    @Test
+    void recordFailure_countsTimeouts() {
+        ResourceAccessException timeout = new ResourceAccessException("I/O error",
+                new SocketTimeoutException("Read timed out"));
+
+        authClientMetrics.recordFailure(AuthClientMetrics.PROFILES_BATCH, 10, timeout, authClientMetrics.start());
+
+        assertEquals(1, registry.get("auth.client.timeouts")
+                .tag("endpoint", AuthClientMetrics.PROFILES_BATCH)
+                .counter().count());
+        assertEquals(1, registry.get("auth.client.errors")
+                .tag("exception", "SocketTimeoutException")
+                .counter().count());
+    }
+
+    @Test
+    void slowCalls_areKeptNewestFirstUpToLogSize() {
+        AuthClientMetrics alwaysSlow = new AuthClientMetrics(registry, 0, 2);
+
+        alwaysSlow.recordSuccess(AuthClientMetrics.PROFILES_BATCH, 5, 5, alwaysSlow.start());
+        alwaysSlow.recordSuccess(AuthClientMetrics.PROFILES_BATCH, 50, 48, alwaysSlow.start());
+        alwaysSlow.recordFailure(AuthClientMetrics.FOLLOWING, 1, new RestClientException("down"), alwaysSlow.start());
+
+        List<AuthClientMetrics.SlowCall> slowCalls = alwaysSlow.recentSlowCalls();
+        assertEquals(2, slowCalls.size());
+        assertEquals(AuthClientMetrics.FOLLOWING, slowCalls.get(0).endpoint());
+        assertEquals("RestClientException", slowCalls.get(0).error());
+        assertEquals(50, slowCalls.get(1).requestedIds());
+        assertEquals(48, slowCalls.get(1).returnedIds());
+    }
+}
@@ -0,0 +1,118 @@
+package com.safetypin.post.service;
+
+import com.safetypin.post.model.CategoryRename;
+import com.safetypin.post.model.CategoryRenameStatus;
+import com.safetypin.post.repository.CategoryRenameRepository;
+import com.safetypin.post.repository.CategoryRepository;
+import com.safetypin.post.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRenameMigratorTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private CategoryRenameRepository categoryRenameRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private PostRepository postRepository;
+
+    private CategoryRenameMigrator migrator;
+    private CategoryRename rename;
+
+    @BeforeEach
+    void setUp() {
+        migrator = new CategoryRenameMigrator(categoryRenameRepository, categoryRepository, postRepository,
+                new ContentVersions(), BATCH_SIZE, 0);
+        rename = new CategoryRename("Old", "New", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        migrator.shutdown();
+    }
+
+    @Test
+    void migrate_MovesPostsInBatchesThenRemovesOldCategory() {
+        when(postRepository.renameCategoryBatch("Old", "New", BATCH_SIZE)).thenReturn(2, 1, 0);
+        when(categoryRenameRepository.save(any(CategoryRename.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        migrator.migrate(rename);
+
+        verify(postRepository, times(3)).renameCategoryBatch("Old", "New", BATCH_SIZE);
+        verify(categoryRepository).deleteById("Old");
+        assertEquals(3, rename.getPostsMigrated());
+        assertEquals(CategoryRenameStatus.COMPLETED, rename.getStatus());
+    }
+
+    @Test
+    void migrate_Failure_MarksRenameFailedAndKeepsOldCategory() {
+        when(postRepository.renameCategoryBatch("Old", "New", BATCH_SIZE))
+                .thenThrow(new RuntimeException("Database error"));
+        when(categoryRenameRepository.save(any(CategoryRename.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        migrator.migrate(rename);
+
+        assertEquals(CategoryRenameStatus.FAILED, rename.getStatus());
+        assertEquals("Database error", rename.getErrorMessage());
+        verify(categoryRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void withAliases_NoRenameRunning_ReturnsCategoriesUnchanged() {
+        List<String> categories = List.of("Old");
+
+        assertSame(categories, migrator.withAliases(categories));
+        assertFalse(migrator.isMigrating());
+        assertEquals("Old", migrator.currentName("Old"));
+    }
+
+    @Test
+    void withAliases_DuringRename_MatchesBothNames() throws InterruptedException {
+        // Block the migration so the rename stays in progress during the assertions
+        when(postRepository.renameCategoryBatch("Old", "New", BATCH_SIZE)).thenAnswer(invocation -> {
+            Thread.sleep(60_000);
+            return 0;
+        });
+
+        migrator.start(rename);
+
+        assertTrue(migrator.isMigrating());
+        assertTrue(migrator.isRenaming("Old"));
+        assertTrue(migrator.isRenaming("New"));
+        assertEquals(List.of("Old", "New"), migrator.withAliases(List.of("Old")));
+        assertEquals(List.of("New", "Old"), migrator.withAliases(List.of("New")));
+        assertEquals(List.of("Other"), migrator.withAliases(List.of("Other")));
+        assertEquals("New", migrator.currentName("Old"));
+        assertEquals("Other", migrator.currentName("Other"));
+    }
+
+    @Test
+    void resumeUnfinishedRenames_RestartsRunningAndFailedRenames() {
+        rename.setStatus(CategoryRenameStatus.FAILED);
+        rename.setErrorMessage("Database error");
+        when(categoryRenameRepository.findByStatusIn(
+                List.of(CategoryRenameStatus.RUNNING, CategoryRenameStatus.FAILED))).thenReturn(List.of(rename));
+        lenient().when(postRepository.renameCategoryBatch(any(), any(), anyInt())).thenReturn(0);
+        lenient().when(categoryRenameRepository.save(any(CategoryRename.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        migrator.resumeUnfinishedRenames();
+
+        assertNull(rename.getErrorMessage());
+        verify(postRepository, timeout(1_000)).renameCategoryBatch("Old", "New", BATCH_SIZE);
+    }
+}
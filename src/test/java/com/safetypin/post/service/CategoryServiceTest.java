@@ -2,10 +2,11 @@ package com.safetypin.post.service;
 
 import com.safetypin.post.exception.CategoryException;
 import com.safetypin.post.model.Category;
+import com.safetypin.post.model.CategoryRename;
+import com.safetypin.post.model.CategoryRenameStatus;
+import com.safetypin.post.repository.CategoryRenameRepository;
 import com.safetypin.post.repository.CategoryRepository;
 import com.safetypin.post.repository.PostRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,10 +17,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +32,11 @@ class CategoryServiceTest {
     @Mock
     private PostRepository postRepository;
     @Mock
-    private EntityManager entityManager;
+    private CategoryRenameRepository categoryRenameRepository;
     @Mock
-    private Query query;
+    private CategoryRenameMigrator categoryRenameMigrator;
+    @Mock
+    private ContentVersions contentVersions;
     @InjectMocks
     private CategoryServiceImpl categoryService;
     private Category testCategory;
@@ -177,10 +180,8 @@ class CategoryServiceTest {
         when(categoryRepository.findByName(testCategoryName)).thenReturn(oldCategory);
         when(categoryRepository.existsById(newCategoryName)).thenReturn(false);
         when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(newCategory);
-
-        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
-        when(query.setParameter(anyString(), any())).thenReturn(query);
-        when(query.executeUpdate()).thenReturn(5); // Assume 5 posts updated
+        when(postRepository.countByCategory(testCategoryName)).thenReturn(5L); // Assume 5 posts to move
+        when(categoryRenameRepository.save(any(CategoryRename.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Category result = categoryService.updateCategoryName(testCategoryName, newCategoryName);
@@ -191,9 +192,40 @@ class CategoryServiceTest {
         verify(categoryRepository, times(1)).findByName(testCategoryName);
         verify(categoryRepository, times(1)).existsById(newCategoryName);
         verify(categoryRepository, times(1)).saveAndFlush(any(Category.class));
-        verify(categoryRepository, times(1)).delete(oldCategory);
-        verify(entityManager, times(1)).createNativeQuery(anyString());
-        verify(query, times(2)).setParameter(anyString(), any());
-        verify(query, times(1)).executeUpdate();
+        // The old category is removed by the background migration, not the request
+        verify(categoryRepository, never()).delete(any());
+        verify(categoryRenameMigrator, times(1)).start(argThat((CategoryRename rename) ->
+                rename.getOldName().equals(testCategoryName)
+                        && rename.getNewName().equals(newCategoryName)
+                        && rename.getTotalPosts() == 5L
+                        && rename.getStatus() == CategoryRenameStatus.RUNNING));
+    }
+
+    @Test
+    void testUpdateCategoryName_AlreadyRenaming() {
+        // Arrange
+        String newCategoryName = "New Category";
+        when(categoryRepository.findByName(testCategoryName)).thenReturn(testCategory);
+        when(categoryRepository.existsById(newCategoryName)).thenReturn(false);
+        when(categoryRenameMigrator.isRenaming(testCategoryName)).thenReturn(true);
+
+        // Act & Assert
+        CategoryException exception = assertThrows(CategoryException.class,
+                () -> categoryService.updateCategoryName(testCategoryName, newCategoryName));
+        assertEquals("Category " + testCategoryName + " is already being renamed", exception.getMessage());
+        verify(categoryRepository, never()).saveAndFlush(any());
+        verify(categoryRenameMigrator, never()).start(any());
+    }
+
+    @Test
+    void testGetRenameStatus() {
+        CategoryRename rename = new CategoryRename(testCategoryName, "New Category", 10);
+        when(categoryRenameRepository.findFirstByOldNameOrderByStartedAtDesc(testCategoryName))
+                .thenReturn(Optional.of(rename));
+
+        Optional<CategoryRename> result = categoryService.getRenameStatus(testCategoryName);
+
+        assertTrue(result.isPresent());
+        assertEquals(rename, result.get());
     }
 }
@@ -1,7 +1,12 @@
 package com.safetypin.post.service;
 
 import com.safetypin.post.dto.CommentDTO;
+import com.safetypin.post.dto.CommentDTOWithPostId;
+import com.safetypin.post.dto.CommentReplyCount;
 import com.safetypin.post.dto.CommentRequest;
+import com.safetypin.post.dto.CommentType;
+import com.safetypin.post.dto.PostedByData;
+import com.safetypin.post.dto.UserCommentProjection;
 import com.safetypin.post.dto.UserDetails;
 import com.safetypin.post.exception.PostNotFoundException;
 import com.safetypin.post.exception.UnauthorizedAccessException;
@@ -15,6 +20,7 @@ import com.safetypin.post.repository.PostRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -23,6 +29,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,6 +43,9 @@ class CommentServiceImplTest {
     private PostService postService;
     private CommentOnPostRepository commentOnPostRepository;
     private CommentOnCommentRepository commentOnCommentRepository;
+    private NotificationService notificationService;
+    private ContentVersions contentVersions;
+    private RecentWriters recentWriters;
     private CommentServiceImpl commentService;
 
     @BeforeEach
@@ -44,7 +54,11 @@ class CommentServiceImplTest {
         postService = mock(PostService.class);
         commentOnPostRepository = mock(CommentOnPostRepository.class);
         commentOnCommentRepository = mock(CommentOnCommentRepository.class);
-        commentService = new CommentServiceImpl(postRepository, postService, commentOnPostRepository, commentOnCommentRepository);
+        notificationService = mock(NotificationService.class);
+        contentVersions = mock(ContentVersions.class);
+        recentWriters = mock(RecentWriters.class);
+        commentService = new CommentServiceImpl(postRepository, postService, commentOnPostRepository, commentOnCommentRepository,
+                notificationService, contentVersions, recentWriters);
 
         // Mock SecurityContextHolder
         SecurityContext securityContext = mock(SecurityContext.class);
@@ -89,7 +103,10 @@ class CommentServiceImplTest {
         assertNotNull(savedComment);
         assertEquals(req.getCaption(), savedComment.getCaption());
         assertEquals(userId, savedComment.getPostedBy());
+        verify(contentVersions).postChanged(postId);
+        verify(recentWriters).recordWrite(any(UUID.class));
         verify(commentOnPostRepository).save(any(CommentOnPost.class));
+        verify(notificationService).onCommentOnPostCreated(mockComment);
     }
 
     @Test
@@ -137,6 +154,7 @@ class CommentServiceImplTest {
         assertEquals(userId, savedReply.getPostedBy());
         assertEquals(parentComment, savedReply.getParent());
         verify(commentOnCommentRepository).save(any(CommentOnComment.class));
+        verify(notificationService).onReplyCreated(expectedReply);
     }
 
     @Test
@@ -159,8 +177,18 @@ class CommentServiceImplTest {
         UUID commentId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
+        Post post = Post.builder()
+                .id(UUID.randomUUID())
+                .caption("Original Post")
+                .title("Post Title")
+                .category("General")
+                .createdAt(LocalDateTime.now())
+                .latitude(0.0)
+                .longitude(0.0)
+                .build();
         CommentOnPost comment = CommentOnPost.builder()
                 .id(commentId)
+                .parent(post)
                 .caption("Parent comment")
                 .postedBy(userId) // Same user is deleting
                 .createdAt(LocalDateTime.now())
@@ -175,6 +203,7 @@ class CommentServiceImplTest {
         // Verify
         verify(commentOnPostRepository).findById(commentId);
         verify(commentOnPostRepository).delete(comment);
+        verify(contentVersions).postChanged(post.getId());
     }
 
     @Test
@@ -285,6 +314,62 @@ class CommentServiceImplTest {
         verify(commentOnCommentRepository, never()).delete(any());
     }
 
+    private UserCommentProjection userComment(UUID id, UUID postedBy, UUID postId, LocalDateTime createdAt,
+                                              CommentType type, Long commentCount) {
+        UserCommentProjection projection = mock(UserCommentProjection.class);
+        when(projection.getId()).thenReturn(id);
+        when(projection.getCaption()).thenReturn("Caption " + id);
+        when(projection.getCreatedAt()).thenReturn(createdAt);
+        when(projection.getPostedBy()).thenReturn(postedBy);
+        when(projection.getPostId()).thenReturn(postId);
+        when(projection.getType()).thenReturn(type.name());
+        when(projection.getCommentCount()).thenReturn(commentCount);
+        return projection;
+    }
+
+    @Test
+    void getCommentsByPostedBy_shouldMapMergedPage() {
+        UUID userId = UUID.randomUUID();
+        UUID postId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        UserCommentProjection reply = userComment(UUID.randomUUID(), userId, postId, LocalDateTime.now(),
+                CommentType.COMMENT_ON_COMMENT, null);
+        UserCommentProjection comment = userComment(UUID.randomUUID(), userId, postId,
+                LocalDateTime.now().minusMinutes(5), CommentType.COMMENT_ON_POST, 3L);
+
+        when(commentOnPostRepository.findCommentsByPostedBy(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(reply, comment), pageable, 7));
+        PostedByData profile = new PostedByData(userId, "Commenter", "pic.jpg");
+        when(postService.fetchPostedByData(List.of(userId))).thenReturn(Map.of(userId, profile));
+
+        Page<CommentDTOWithPostId> result = commentService.getCommentsByPostedBy(userId, pageable);
+
+        assertEquals(7, result.getTotalElements());
+        assertEquals(2, result.getContent().size());
+        assertEquals(CommentType.COMMENT_ON_COMMENT, result.getContent().get(0).getType());
+        assertEquals(postId, result.getContent().get(0).getPostId());
+        assertNull(result.getContent().get(0).getComment().getCommentCount());
+        assertEquals(CommentType.COMMENT_ON_POST, result.getContent().get(1).getType());
+        assertEquals(3L, result.getContent().get(1).getComment().getCommentCount());
+        assertEquals(profile, result.getContent().get(1).getComment().getPostedBy());
+        verify(postService, times(1)).fetchPostedByData(List.of(userId));
+    }
+
+    @Test
+    void getCommentsByPostedBy_shouldSkipProfileFetch_whenPageIsEmpty() {
+        UUID userId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(3, 10);
+
+        when(commentOnPostRepository.findCommentsByPostedBy(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        Page<CommentDTOWithPostId> result = commentService.getCommentsByPostedBy(userId, pageable);
+
+        assertTrue(result.getContent().isEmpty());
+        verify(postService, never()).fetchPostedByData(any());
+    }
+
     @Test
     void getCommentOnPost_shouldReturnComments_whenPostExists() {
         UUID postId = UUID.randomUUID();
@@ -309,13 +394,21 @@ class CommentServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(commentOnPostRepository.findByParentId(postId)).thenReturn(List.of(comment1, comment2));
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(commentOnPostRepository.findByParentIdOrderByCreatedAtDescIdDesc(postId, pageable))
+                .thenReturn(new PageImpl<>(List.of(comment2, comment1), pageable, 2));
+        when(commentOnCommentRepository.countByParentIds(List.of(comment2.getId(), comment1.getId())))
+                .thenReturn(List.of(replyCount(comment2.getId(), 3)));
 
         Page<CommentDTO> result = commentService.getCommentOnPost(postId, pageable);
 
         assertEquals(2, result.getContent().size());
         assertEquals("Second Comment", result.getContent().getFirst().getCaption());
+        // reply counts come from one grouped query, without loading any replies
+        assertEquals(3L, result.getContent().get(0).getCommentCount());
+        assertEquals(0L, result.getContent().get(1).getCommentCount());
+        verify(commentOnPostRepository, never()).findByParentId(any());
+        verify(commentOnCommentRepository, never()).findByParentId(any());
     }
 
     @Test
@@ -323,7 +416,7 @@ class CommentServiceImplTest {
         UUID postId = UUID.randomUUID();
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postRepository.existsById(postId)).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 commentService.getCommentOnPost(postId, pageable));
@@ -354,13 +447,16 @@ class CommentServiceImplTest {
                 .createdAt(LocalDateTime.now().minusMinutes(10))
                 .build();
 
-        when(commentOnPostRepository.findById(commentId)).thenReturn(Optional.of(parentComment));
-        when(commentOnCommentRepository.findByParentId(commentId)).thenReturn(List.of(reply1, reply2));
+        when(commentOnPostRepository.existsById(commentId)).thenReturn(true);
+        when(commentOnCommentRepository.findByParentIdOrderByCreatedAtAscIdAsc(commentId, pageable))
+                .thenReturn(new PageImpl<>(List.of(reply1, reply2), pageable, 2));
 
         Page<CommentDTO> result = commentService.getCommentOnComment(commentId, pageable);
 
         assertEquals(2, result.getContent().size());
         assertEquals("Reply 1", result.getContent().getFirst().getCaption());
+        assertNull(result.getContent().getFirst().getCommentCount());
+        verify(commentOnCommentRepository, never()).countByParentIds(any());
     }
 
     @Test
@@ -368,7 +464,7 @@ class CommentServiceImplTest {
         UUID commentId = UUID.randomUUID();
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(commentOnPostRepository.findById(commentId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.existsById(commentId)).thenReturn(false);
 
         assertThrows(IllegalArgumentException.class, () ->
                 commentService.getCommentOnComment(commentId, pageable));
@@ -387,12 +483,15 @@ class CommentServiceImplTest {
                 .location(10.0, 20.0)
                 .build();
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(commentOnPostRepository.findByParentId(postId)).thenReturn(List.of());
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(commentOnPostRepository.findByParentIdOrderByCreatedAtDescIdDesc(postId, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
         Page<CommentDTO> result = commentService.getCommentOnPost(postId, pageable);
 
         assertEquals(0, result.getContent().size());
+        verify(postService, never()).fetchPostedByData(any());
+        verify(commentOnCommentRepository, never()).countByParentIds(any());
     }
 
     @Test
@@ -406,8 +505,9 @@ class CommentServiceImplTest {
                 .createdAt(LocalDateTime.now().minusHours(1))
                 .build();
 
-        when(commentOnPostRepository.findById(commentId)).thenReturn(Optional.of(parentComment));
-        when(commentOnCommentRepository.findByParentId(commentId)).thenReturn(List.of());
+        when(commentOnPostRepository.existsById(commentId)).thenReturn(true);
+        when(commentOnCommentRepository.findByParentIdOrderByCreatedAtAscIdAsc(commentId, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
         Page<CommentDTO> result = commentService.getCommentOnComment(commentId, pageable);
 
@@ -462,4 +562,17 @@ class CommentServiceImplTest {
         verify(commentOnCommentRepository, never()).save(any());
     }
 
+    private static CommentReplyCount replyCount(UUID commentId, long count) {
+        return new CommentReplyCount() {
+            @Override
+            public UUID getCommentId() {
+                return commentId;
+            }
+
+            @Override
+            public Long getReplyCount() {
+                return count;
+            }
+        };
+    }
 }
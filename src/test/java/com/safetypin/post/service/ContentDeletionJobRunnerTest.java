@@ -0,0 +1,203 @@
+package com.safetypin.post.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.safetypin.post.model.ContentDeletionJob;
+import com.safetypin.post.model.DeletionJobStatus;
+import com.safetypin.post.model.DeletionStage;
+import com.safetypin.post.repository.CommentOnCommentRepository;
+import com.safetypin.post.repository.CommentOnPostRepository;
+import com.safetypin.post.repository.ContentDeletionJobRepository;
+import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.repository.VoteRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ContentDeletionJobRunnerTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private ContentDeletionJobRepository jobRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentOnPostRepository commentOnPostRepository;
+
+    @Mock
+    private CommentOnCommentRepository commentOnCommentRepository;
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ContentDeletionJobRunner runner;
+    private ContentDeletionJob job;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        // No throttling so the tests run instantly
+        runner = new ContentDeletionJobRunner(jobRepository, postRepository, commentOnPostRepository,
+                commentOnCommentRepository, voteRepository, new ContentVersions(), transactionTemplate, CHUNK_SIZE, 0);
+
+        userId = UUID.randomUUID();
+        job = new ContentDeletionJob(userId, UUID.randomUUID());
+        job.setId(UUID.randomUUID());
+
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(jobRepository.save(any(ContentDeletionJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void processChunk_FullChunk_AdvancesCursorWithinStage() {
+        UUID first = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        when(voteRepository.findPostIdsByUserIdAfter(eq(userId), any(), any())).thenReturn(List.of(first, last));
+        when(voteRepository.deleteByUserIdAndPostIdIn(userId, List.of(first, last))).thenReturn(2);
+
+        ContentDeletionJob result = runner.processChunk(job);
+
+        assertEquals(DeletionStage.VOTES, result.getStage());
+        assertEquals(last, result.getCursor());
+        assertEquals(2, result.getRowsDeleted());
+    }
+
+    @Test
+    void processChunk_PartialChunk_MovesToNextStage() {
+        job.setStage(DeletionStage.REPLIES);
+        job.setCursor(UUID.randomUUID());
+        UUID replyId = UUID.randomUUID();
+        when(commentOnCommentRepository.findIdsByPostedByAfter(eq(userId), eq(job.getCursor()), any()))
+                .thenReturn(List.of(replyId));
+        when(commentOnCommentRepository.deleteByIdIn(List.of(replyId))).thenReturn(1);
+
+        ContentDeletionJob result = runner.processChunk(job);
+
+        assertEquals(DeletionStage.COMMENTS, result.getStage());
+        assertNull(result.getCursor());
+        assertEquals(1, result.getRowsDeleted());
+    }
+
+    @Test
+    void processChunk_Comments_DeletesRepliesFromOtherUsers() {
+        job.setStage(DeletionStage.COMMENTS);
+        UUID commentId = UUID.randomUUID();
+        when(commentOnPostRepository.findIdsByPostedByAfter(eq(userId), any(), any())).thenReturn(List.of(commentId));
+        when(commentOnCommentRepository.deleteByParentIdIn(List.of(commentId))).thenReturn(4);
+        when(commentOnPostRepository.deleteByIdIn(List.of(commentId))).thenReturn(1);
+
+        ContentDeletionJob result = runner.processChunk(job);
+
+        assertEquals(DeletionStage.POSTS, result.getStage());
+        assertEquals(5, result.getRowsDeleted());
+    }
+
+    @Test
+    void processChunk_Posts_DeletesDependentRowsBeforePosts() {
+        job.setStage(DeletionStage.POSTS);
+        UUID postId = UUID.randomUUID();
+        List<UUID> postIds = List.of(postId);
+        when(postRepository.findIdsByPostedByAfter(eq(userId), any(), any())).thenReturn(postIds);
+        when(voteRepository.deleteByPostIdIn(postIds)).thenReturn(3);
+        when(commentOnCommentRepository.deleteByPostIdIn(postIds)).thenReturn(2);
+        when(commentOnPostRepository.deleteByParentIdIn(postIds)).thenReturn(1);
+        when(postRepository.deleteByIdIn(postIds)).thenReturn(1);
+
+        ContentDeletionJob result = runner.processChunk(job);
+
+        assertEquals(DeletionStage.DONE, result.getStage());
+        assertEquals(7, result.getRowsDeleted());
+    }
+
+    @Test
+    void run_WalksAllStagesAndCompletes() {
+        when(voteRepository.findPostIdsByUserIdAfter(any(), any(), any())).thenReturn(List.of());
+        when(commentOnCommentRepository.findIdsByPostedByAfter(any(), any(), any())).thenReturn(List.of());
+        when(commentOnPostRepository.findIdsByPostedByAfter(any(), any(), any())).thenReturn(List.of());
+        when(postRepository.findIdsByPostedByAfter(any(), any(), any())).thenReturn(List.of());
+
+        runner.run(job.getId());
+
+        assertEquals(DeletionJobStatus.COMPLETED, job.getStatus());
+        assertEquals(DeletionStage.DONE, job.getStage());
+        verify(postRepository, never()).deleteByIdIn(anyList());
+    }
+
+    @Test
+    void run_ResumesFromCheckpoint() {
+        job.setStatus(DeletionJobStatus.RUNNING);
+        job.setStage(DeletionStage.POSTS);
+        when(postRepository.findIdsByPostedByAfter(any(), any(), any())).thenReturn(List.of());
+
+        runner.run(job.getId());
+
+        assertEquals(DeletionJobStatus.COMPLETED, job.getStatus());
+        verify(voteRepository, never()).findPostIdsByUserIdAfter(any(), any(), any());
+        verify(commentOnPostRepository, never()).findIdsByPostedByAfter(any(), any(), any());
+    }
+
+    @Test
+    void run_RepositoryFailure_MarksJobFailed() {
+        when(voteRepository.findPostIdsByUserIdAfter(any(), any(), any()))
+                .thenThrow(new RuntimeException("Database error"));
+
+        runner.run(job.getId());
+
+        assertEquals(DeletionJobStatus.FAILED, job.getStatus());
+        assertEquals("Database error", job.getErrorMessage());
+    }
+
+    @Test
+    void run_CompletedJob_IsSkipped() {
+        job.setStatus(DeletionJobStatus.COMPLETED);
+
+        runner.run(job.getId());
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void resumeUnfinishedJobs_LooksUpPendingAndRunningJobs() {
+        when(jobRepository.findByStatusInOrderByCreatedAt(
+                List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING))).thenReturn(List.of());
+
+        runner.resumeUnfinishedJobs();
+
+        verify(jobRepository).findByStatusInOrderByCreatedAt(
+                List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING));
+    }
+}
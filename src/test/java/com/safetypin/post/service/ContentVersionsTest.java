@@ -0,0 +1,142 @@
+package com.safetypin.post.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentVersionsTest {
+
+    private final ContentVersions contentVersions = new ContentVersions();
+    private final UUID postId = UUID.randomUUID();
+    private final UUID viewerId = UUID.randomUUID();
+
+    @Test
+    void postTag_isStableUntilPostChanges() {
+        String tag = contentVersions.postTag(postId, viewerId);
+        assertEquals(tag, contentVersions.postTag(postId, viewerId));
+
+        contentVersions.postChanged(postId);
+
+        assertNotEquals(tag, contentVersions.postTag(postId, viewerId));
+    }
+
+    @Test
+    void postTag_differsPerViewer() {
+        assertNotEquals(contentVersions.postTag(postId, viewerId),
+                contentVersions.postTag(postId, UUID.randomUUID()));
+    }
+
+    @Test
+    void postCreated_changesFeedsButNotPosts() {
+        String postTag = contentVersions.postTag(postId, viewerId);
+        String feedTag = contentVersions.feedTag("timestamp", viewerId, 0, 10);
+
+        contentVersions.postCreated();
+
+        assertEquals(postTag, contentVersions.postTag(postId, viewerId));
+        assertNotEquals(feedTag, contentVersions.feedTag("timestamp", viewerId, 0, 10));
+    }
+
+    @Test
+    void postsChanged_changesEveryPost() {
+        String tag = contentVersions.postTag(postId, viewerId);
+
+        contentVersions.postsChanged();
+
+        assertNotEquals(tag, contentVersions.postTag(postId, viewerId));
+    }
+
+    @Test
+    void categoriesChanged_changesCategoriesAndFeeds() {
+        String categoriesTag = contentVersions.categoriesTag();
+        String feedTag = contentVersions.feedTag("timestamp", viewerId);
+
+        contentVersions.categoriesChanged();
+
+        assertNotEquals(categoriesTag, contentVersions.categoriesTag());
+        assertNotEquals(feedTag, contentVersions.feedTag("timestamp", viewerId));
+    }
+
+    @Test
+    void tags_differBetweenInstances() {
+        assertNotEquals(contentVersions.categoriesTag(), new ContentVersions().categoriesTag());
+    }
+
+    @Test
+    void tags_withoutInstanceLock_areNull() {
+        ContentVersions withoutLock = new ContentVersions(() -> -1, 0, Clock.systemUTC());
+
+        assertNull(withoutLock.postTag(postId, viewerId));
+        assertNull(withoutLock.feedTag("timestamp", viewerId));
+        assertNull(withoutLock.categoriesTag());
+        assertFalse(ContentVersions.matches("*", withoutLock.categoriesTag()));
+    }
+
+    @Test
+    void tags_changeWithTheLease() {
+        AtomicLong lease = new AtomicLong(1);
+        ContentVersions leased = new ContentVersions(lease::get, 0, Clock.systemUTC());
+        String tag = leased.postTag(postId, viewerId);
+
+        lease.set(2);
+
+        assertNotEquals(tag, leased.postTag(postId, viewerId));
+    }
+
+    @Test
+    void tags_changeOnceMaxAgePasses() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(120_000L);
+        ContentVersions rolling = new ContentVersions(() -> 1, 60_000, clock);
+        String tag = rolling.postTag(postId, viewerId);
+
+        when(clock.millis()).thenReturn(179_999L);
+        assertEquals(tag, rolling.postTag(postId, viewerId));
+
+        when(clock.millis()).thenReturn(180_000L);
+        assertNotEquals(tag, rolling.postTag(postId, viewerId));
+    }
+
+    @Test
+    void postChanged_inTransaction_waitsForCommit() {
+        String tag = contentVersions.postTag(postId, viewerId);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentVersions.postChanged(postId);
+            assertEquals(tag, contentVersions.postTag(postId, viewerId));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotEquals(tag, contentVersions.postTag(postId, viewerId));
+    }
+
+    @Test
+    void matches_acceptsQuotedWeakListedAndWildcardTags() {
+        String tag = contentVersions.categoriesTag();
+
+        assertTrue(ContentVersions.matches("\"" + tag + "\"", tag));
+        assertTrue(ContentVersions.matches("W/\"" + tag + "\"", tag));
+        assertTrue(ContentVersions.matches("\"other\", \"" + tag + "\"", tag));
+        assertTrue(ContentVersions.matches("*", tag));
+    }
+
+    @Test
+    void matches_rejectsMissingOrDifferentTags() {
+        String tag = contentVersions.categoriesTag();
+
+        assertFalse(ContentVersions.matches(null, tag));
+        assertFalse(ContentVersions.matches("", tag));
+        assertFalse(ContentVersions.matches("\"other\"", tag));
+    }
+}
@@ -0,0 +1,92 @@
+package com.safetypin.post.service;
+
+import com.safetypin.post.dto.NotificationDto;
+import com.safetypin.post.exception.InvalidPostDataException;
+import com.safetypin.post.model.NotificationType;
+import com.safetypin.post.model.Post;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStreamServiceImplTest {
+
+    private EventStreamServiceImpl eventStreamService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        eventStreamService = new EventStreamServiceImpl(15, 2, 30);
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStreamService.shutdown();
+    }
+
+    @Test
+    void subscribe_ReturnsEmitterWithConfiguredTimeout() {
+        SseEmitter emitter = eventStreamService.subscribe(userId, -6.36, 106.82, 5.0, List.of("Flooding"));
+
+        assertNotNull(emitter);
+        assertEquals(30L * 60 * 1000, emitter.getTimeout());
+        assertTrue(eventStreamService.hasSubscribers());
+    }
+
+    @Test
+    void subscribe_OnlyLatitude_ThrowsException() {
+        assertThrows(InvalidPostDataException.class,
+                () -> eventStreamService.subscribe(userId, -6.36, null, null, null));
+        assertFalse(eventStreamService.hasSubscribers());
+    }
+
+    @Test
+    void subscribe_RadiusOutOfRange_ThrowsException() {
+        assertThrows(InvalidPostDataException.class,
+                () -> eventStreamService.subscribe(userId, -6.36, 106.82, 0.0, null));
+        assertThrows(InvalidPostDataException.class,
+                () -> eventStreamService.subscribe(userId, -6.36, 106.82, 500.0, null));
+    }
+
+    @Test
+    void hasSubscribers_NoStreams_ReturnsFalse() {
+        assertFalse(eventStreamService.hasSubscribers());
+    }
+
+    @Test
+    void publish_MoreEventsThanQueueCapacity_DoesNotThrow() {
+        eventStreamService.subscribe(userId, -6.36, 106.82, 5.0, null);
+        NotificationDto notification = NotificationDto.builder()
+                .type(NotificationType.NEW_COMMENT_ON_POST)
+                .createdAt(LocalDateTime.now())
+                .build();
+        Post nearbyPost = Post.builder()
+                .id(UUID.randomUUID())
+                .title("Flood")
+                .caption("Flooding near campus")
+                .category("Flooding")
+                .location(-6.361, 106.821)
+                .build();
+
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < 10; i++) {
+                eventStreamService.publishNotification(userId, notification);
+                eventStreamService.publishNewPost(nearbyPost);
+            }
+        });
+    }
+
+    @Test
+    void publishNotification_NoStreamForUser_IsIgnored() {
+        NotificationDto notification = NotificationDto.builder().type(NotificationType.NEW_SIBLING_REPLY).build();
+
+        assertDoesNotThrow(() -> eventStreamService.publishNotification(userId, notification));
+    }
+}
@@ -0,0 +1,42 @@
+package com.safetypin.post.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestRateLimiterTest {
+
+    @Test
+    void tryAcquire_allowsBurstThenRejects() {
+        IngestRateLimiter rateLimiter = new IngestRateLimiter(0, 3);
+        UUID userId = UUID.randomUUID();
+
+        assertTrue(rateLimiter.tryAcquire(userId));
+        assertTrue(rateLimiter.tryAcquire(userId));
+        assertTrue(rateLimiter.tryAcquire(userId));
+        assertFalse(rateLimiter.tryAcquire(userId));
+    }
+
+    @Test
+    void tryAcquire_bucketsArePerUser() {
+        IngestRateLimiter rateLimiter = new IngestRateLimiter(0, 1);
+        UUID first = UUID.randomUUID();
+
+        assertTrue(rateLimiter.tryAcquire(first));
+        assertFalse(rateLimiter.tryAcquire(first));
+        assertTrue(rateLimiter.tryAcquire(UUID.randomUUID()));
+    }
+
+    @Test
+    void tryAcquire_refillsOverTime() throws InterruptedException {
+        IngestRateLimiter rateLimiter = new IngestRateLimiter(1000, 1);
+        UUID userId = UUID.randomUUID();
+
+        assertTrue(rateLimiter.tryAcquire(userId));
+        Thread.sleep(20);
+
+        assertTrue(rateLimiter.tryAcquire(userId));
+    }
+}
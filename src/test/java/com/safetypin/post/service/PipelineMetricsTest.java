@@ -0,0 +1,95 @@
+package com.safetypin.post.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PipelineMetrics pipelineMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pipelineMetrics = new PipelineMetrics(registry);
+    }
+
+    @Test
+    void timeFeedStage_recordsDurationTaggedByFeedAndStage() {
+        String result = pipelineMetrics.timeFeedStage("timestamp", "filter", () -> "done");
+        pipelineMetrics.timeFeedStage("timestamp", "filter", () -> "again");
+
+        assertEquals("done", result);
+        Timer timer = registry.get("feed.stage.duration")
+                .tag("feed", "timestamp")
+                .tag("stage", "filter")
+                .timer();
+        assertEquals(2, timer.count());
+        assertNull(registry.find("feed.stage.errors").counter());
+    }
+
+    @Test
+    void timeFeedStage_countsErrorsAndStillRecordsDuration() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> pipelineMetrics.timeFeedStage("distance", "sort", () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals(1, registry.get("feed.stage.errors")
+                .tag("feed", "distance")
+                .tag("stage", "sort")
+                .counter().count());
+        assertEquals(1, registry.get("feed.stage.duration")
+                .tag("feed", "distance")
+                .tag("stage", "sort")
+                .timer().count());
+    }
+
+    @Test
+    void recordFeedCandidates_keepsFetchedAndFilteredApart() {
+        pipelineMetrics.recordFeedCandidates("following", PipelineMetrics.FETCHED, 40);
+        pipelineMetrics.recordFeedCandidates("following", PipelineMetrics.FILTERED, 12);
+
+        DistributionSummary fetched = registry.get("feed.candidates")
+                .tag("feed", "following")
+                .tag("phase", PipelineMetrics.FETCHED)
+                .summary();
+        DistributionSummary filtered = registry.get("feed.candidates")
+                .tag("feed", "following")
+                .tag("phase", PipelineMetrics.FILTERED)
+                .summary();
+        assertEquals(40, fetched.totalAmount());
+        assertEquals(12, filtered.totalAmount());
+    }
+
+    @Test
+    void notificationStages_useOperationTag() {
+        long count = pipelineMetrics.timeNotificationStage("unread-count", "count", () -> 3L);
+        pipelineMetrics.recordNotificationCandidates("list", 7);
+
+        assertEquals(3L, count);
+        assertEquals(1, registry.get("notification.stage.duration")
+                .tag("operation", "unread-count")
+                .tag("stage", "count")
+                .timer().count());
+        assertEquals(7, registry.get("notification.candidates")
+                .tag("operation", "list")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void noop_runsStagesWithoutRegisteringAnywhere() {
+        PipelineMetrics noop = PipelineMetrics.noop();
+
+        assertEquals(5, noop.timeFeedStage("timestamp", "map", () -> 5));
+        noop.recordFeedCandidates("timestamp", PipelineMetrics.FILTERED, 5);
+    }
+}
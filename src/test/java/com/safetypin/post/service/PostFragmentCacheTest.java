@@ -0,0 +1,173 @@
+package com.safetypin.post.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.safetypin.post.config.JacksonConfiguration;
+import com.safetypin.post.dto.FeedItem;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.dto.PostedByData;
+import com.safetypin.post.model.VoteType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostFragmentCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private PostFragmentCache postFragmentCache;
+    private ObjectMapper plainMapper;
+    private ObjectMapper cachedMapper;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        postFragmentCache = new PostFragmentCache(registry, true, 2);
+        plainMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        cachedMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .registerModule(new JacksonConfiguration().postFragmentModule(postFragmentCache));
+    }
+
+    private PostData createPostData(String title, VoteType vote) {
+        return PostData.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .caption("Test Caption")
+                .latitude(1.0)
+                .longitude(2.0)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .category("Safety")
+                .upvoteCount(3L)
+                .downvoteCount(1L)
+                .currentVote(vote)
+                .postedBy(new PostedByData(UUID.randomUUID(), "Author", "picture.png"))
+                .commentCount(2L)
+                .build();
+    }
+
+    private double count(String result) {
+        return registry.get("posts.fragment.cache").tag("result", result).counter().count();
+    }
+
+    @Test
+    void write_matchesPlainSerialisationForEveryVote() throws Exception {
+        PostData postData = createPostData("Test Post", VoteType.NONE);
+
+        for (VoteType vote : VoteType.values()) {
+            postData.setCurrentVote(vote);
+            assertArrayEquals(plainMapper.writeValueAsBytes(postData), cachedMapper.writeValueAsBytes(postData));
+            assertEquals(plainMapper.writeValueAsString(postData), cachedMapper.writeValueAsString(postData));
+        }
+        postData.setCurrentVote(null);
+        assertArrayEquals(plainMapper.writeValueAsBytes(postData), cachedMapper.writeValueAsBytes(postData));
+    }
+
+    @Test
+    void write_otherViewerVote_reusesFragment() throws Exception {
+        PostData postData = createPostData("Test Post", VoteType.UPVOTE);
+        cachedMapper.writeValueAsBytes(postData);
+
+        postData.setCurrentVote(VoteType.DOWNVOTE);
+        String json = cachedMapper.writeValueAsString(postData);
+
+        assertTrue(json.contains("\"currentVote\":\"DOWNVOTE\""));
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("hit"));
+    }
+
+    @Test
+    void write_changedPost_rendersAgain() throws Exception {
+        PostData postData = createPostData("Test Post", VoteType.NONE);
+        cachedMapper.writeValueAsBytes(postData);
+
+        postData.setUpvoteCount(4L);
+        postData.setPostedBy(new PostedByData(postData.getPostedBy().getUserId(), "Renamed", "picture.png"));
+
+        assertArrayEquals(plainMapper.writeValueAsBytes(postData), cachedMapper.writeValueAsBytes(postData));
+        assertEquals(2, count("miss"));
+    }
+
+    @Test
+    void write_fieldNameInsideTitle_splicesRealField() throws Exception {
+        PostData postData = createPostData("\"currentVote\":null", VoteType.UPVOTE);
+        cachedMapper.writeValueAsBytes(postData);
+
+        postData.setCurrentVote(VoteType.DOWNVOTE);
+
+        assertArrayEquals(plainMapper.writeValueAsBytes(postData), cachedMapper.writeValueAsBytes(postData));
+    }
+
+    @Test
+    void write_nestedInFeedItems_matchesPlainSerialisation() throws Exception {
+        List<FeedItem> items = List.of(
+                FeedItem.withDistance(createPostData("Nearby Post", VoteType.UPVOTE), 1.5),
+                FeedItem.of(createPostData("Other Post", VoteType.NONE)));
+
+        assertArrayEquals(plainMapper.writeValueAsBytes(items), cachedMapper.writeValueAsBytes(items));
+        assertArrayEquals(plainMapper.writeValueAsBytes(items), cachedMapper.writeValueAsBytes(items));
+        assertEquals(2, count("hit"));
+    }
+
+    @Test
+    void write_beyondMaxEntries_staysBounded() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            cachedMapper.writeValueAsBytes(createPostData("Post " + i, VoteType.NONE));
+        }
+
+        assertEquals(2, postFragmentCache.size());
+    }
+
+    @Test
+    void write_beyondMaxEntries_dropsLeastRecentlyUsed() throws Exception {
+        PostData first = createPostData("First", VoteType.NONE);
+        PostData second = createPostData("Second", VoteType.NONE);
+        cachedMapper.writeValueAsBytes(first);
+        cachedMapper.writeValueAsBytes(second);
+        cachedMapper.writeValueAsBytes(first);
+
+        cachedMapper.writeValueAsBytes(createPostData("Third", VoteType.NONE));
+        cachedMapper.writeValueAsBytes(first);
+
+        assertEquals(2, count("hit"));
+        cachedMapper.writeValueAsBytes(second);
+        assertEquals(4, count("miss"));
+    }
+
+    @Test
+    void valueToTree_matchesPlainConversion() {
+        PostData postData = createPostData("Test Post", VoteType.UPVOTE);
+        FeedItem feedItem = FeedItem.withDistance(postData, 1.5);
+
+        assertEquals(plainMapper.valueToTree(postData), cachedMapper.valueToTree(postData));
+        assertEquals(plainMapper.valueToTree(feedItem), cachedMapper.valueToTree(feedItem));
+        assertEquals(plainMapper.convertValue(postData, Map.class), cachedMapper.convertValue(postData, Map.class));
+    }
+
+    @Test
+    void write_indentedOutput_bypassesCache() throws Exception {
+        ObjectMapper indentedMapper = cachedMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        PostData postData = createPostData("Test Post", VoteType.NONE);
+
+        assertEquals(plainMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(postData),
+                indentedMapper.writeValueAsString(postData));
+        assertEquals(0, postFragmentCache.size());
+    }
+
+    @Test
+    void disabled_serialisesInFull() throws Exception {
+        PostFragmentCache disabled = PostFragmentCache.disabled();
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .registerModule(new JacksonConfiguration().postFragmentModule(disabled));
+        PostData postData = createPostData("Test Post", VoteType.UPVOTE);
+
+        assertEquals(plainMapper.writeValueAsString(postData), mapper.writeValueAsString(postData));
+        assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,187 @@
+package com.safetypin.post.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetypin.post.dto.PostIngestResult;
+import com.safetypin.post.dto.UserDetails;
+import com.safetypin.post.exception.UnauthorizedAccessException;
+import com.safetypin.post.model.Category;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.model.Role;
+import com.safetypin.post.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PostIngestServiceTest {
+
+    private static final String VALID = "{\"Title\":\"Flood\",\"Caption\":\"Water rising\",\"Latitude\":-6.2,"
+            + "\"Longitude\":106.8,\"Category\":\"Flooding\",\"Address\":\"Jl. Margonda\"}";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryRenameMigrator categoryRenameMigrator;
+
+    @Mock
+    private EventStreamService eventStreamService;
+
+    @Mock
+    private RecentPostBuffer recentPostBuffer;
+
+    private RecentWriters recentWriters;
+    private UserDetails moderator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category("Flooding"), new Category("Lost Item")));
+        recentWriters = new RecentWriters(5000);
+        moderator = new UserDetails(Role.MODERATOR, true, UUID.randomUUID(), "City Reports");
+    }
+
+    private PostIngestService service(int batchSize, int maxItems, int burst) {
+        return new PostIngestService(jdbcTemplate, transactionManager, categoryRepository, categoryRenameMigrator,
+                new IngestRateLimiter(0, burst), new ContentVersions(), recentWriters, recentPostBuffer,
+                eventStreamService, new ObjectMapper(), batchSize, maxItems);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ingest_writesValidLinesInBatches() {
+        List<PostIngestResult> results = service(2, 100, 100)
+                .ingest(ndjson(VALID, VALID, VALID), moderator);
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(PostIngestResult::success));
+        assertEquals(List.of(1, 2, 3), results.stream().map(PostIngestResult::line).toList());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(PostIngestService.INSERT_SQL), rows.capture());
+        assertEquals(List.of(2, 1), rows.getAllValues().stream().map(List::size).toList());
+        Object[] row = rows.getAllValues().get(0).get(0);
+        assertEquals(results.get(0).id(), row[0]);
+        assertEquals("Flooding", row[3]);
+        assertEquals(moderator.getUserId(), row[5]);
+        assertEquals(106.8, row[8]);
+        assertEquals(-6.2, row[9]);
+
+        verify(categoryRepository, times(1)).findAll();
+        verify(eventStreamService, times(3)).publishNewPost(any(Post.class));
+        verify(recentPostBuffer, times(3)).add(any(Post.class));
+        assertTrue(recentWriters.isRecent(moderator.getUserId()));
+    }
+
+    @Test
+    void ingest_rejectsInvalidLinesAndKeepsTheRest() {
+        String unknownCategory = VALID.replace("Flooding", "Unknown");
+        String noLocation = VALID.replace("\"Latitude\":-6.2,", "");
+
+        List<PostIngestResult> results = service(10, 100, 100)
+                .ingest(ndjson(VALID, "{not json", "", unknownCategory, noLocation), moderator);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).success());
+        assertEquals(2, results.get(1).line());
+        assertTrue(results.get(1).message().startsWith("Malformed JSON"));
+        assertEquals(4, results.get(2).line());
+        assertEquals("Category does not exist: Unknown", results.get(2).message());
+        assertEquals(5, results.get(3).line());
+        assertEquals("Location coordinates are required", results.get(3).message());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(PostIngestService.INSERT_SQL), rows.capture());
+        assertEquals(1, rows.getValue().size());
+    }
+
+    @Test
+    void ingest_rateLimited_rejectsLinesBeyondTheBurst() {
+        List<PostIngestResult> results = service(10, 100, 2)
+                .ingest(ndjson(VALID, VALID, VALID), moderator);
+
+        assertTrue(results.get(0).success());
+        assertTrue(results.get(1).success());
+        assertFalse(results.get(2).success());
+        assertEquals("Ingest rate limit exceeded, retry later", results.get(2).message());
+    }
+
+    @Test
+    void ingest_overMaxItems_stopsReadingWithOneRejection() throws IOException {
+        String[] lines = new String[1000];
+        Arrays.fill(lines, VALID);
+        InputStream body = ndjson(lines);
+
+        List<PostIngestResult> results = service(10, 2, 100).ingest(body, moderator);
+
+        assertEquals(3, results.size());
+        assertEquals(2, results.stream().filter(PostIngestResult::success).count());
+        assertEquals(3, results.get(2).line());
+        assertEquals("Request exceeds the limit of 2 posts; this line and the rest were not read",
+                results.get(2).message());
+        assertTrue(body.available() > 0);
+    }
+
+    @Test
+    void ingest_failedBatch_rejectsItsLines() {
+        doThrow(new DataIntegrityViolationException("constraint violated"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        List<PostIngestResult> results = service(10, 100, 100).ingest(ndjson(VALID, VALID), moderator);
+
+        assertTrue(results.stream().noneMatch(PostIngestResult::success));
+        assertTrue(results.get(0).message().startsWith("Failed to save the post"));
+        verify(eventStreamService, never()).publishNewPost(any());
+        assertFalse(recentWriters.isRecent(moderator.getUserId()));
+    }
+
+    @Test
+    void ingest_categoryMidRename_usesNewName() {
+        when(categoryRenameMigrator.isMigrating()).thenReturn(true);
+        when(categoryRenameMigrator.currentName("Flooding")).thenReturn("Floods");
+
+        service(10, 100, 100).ingest(ndjson(VALID), moderator);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(PostIngestService.INSERT_SQL), rows.capture());
+        assertEquals("Floods", rows.getValue().get(0)[3]);
+    }
+
+    @Test
+    void ingest_notModerator_throwsUnauthorized() {
+        UserDetails user = new UserDetails(Role.PREMIUM_USER, true, UUID.randomUUID(), "User");
+        PostIngestService service = service(10, 100, 100);
+        InputStream body = ndjson(VALID);
+
+        assertThrows(UnauthorizedAccessException.class, () -> service.ingest(body, user));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,265 @@
+package com.safetypin.post.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetypin.post.dto.PostCommentCount;
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.dto.PostVoteSummary;
+import com.safetypin.post.dto.PostedByData;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.repository.CommentOnPostRepository;
+import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.repository.VoteRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostListingStreamerTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private VoteRepository voteRepository;
+    @Mock
+    private CommentOnPostRepository commentOnPostRepository;
+    @Mock
+    private PostService postService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private PostListingStreamer streamer;
+    private UUID viewerId;
+
+    @BeforeEach
+    void setUp() {
+        streamer = new PostListingStreamer(postRepository, voteRepository, commentOnPostRepository, postService,
+                objectMapper, entityManager, transactionManager, CHUNK_SIZE);
+        viewerId = UUID.randomUUID();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void writeAll_writesEnvelopeWithPaginationFromCount() throws IOException {
+        Pageable pageable = PageRequest.of(1, 5);
+        List<Post> posts = posts(5);
+        when(postRepository.streamAllBy(pageable)).thenReturn(posts.stream());
+        when(postService.fetchPostedByData(anyList())).thenReturn(Map.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.writeAll(out, pageable, 12, viewerId);
+
+        JsonNode root = objectMapper.readTree(out.toByteArray());
+        assertTrue(root.get("success").asBoolean());
+        assertTrue(root.get("message").isNull());
+        JsonNode data = root.get("data");
+        assertEquals(5, data.get("content").size());
+        assertEquals(posts.get(0).getId().toString(), data.get("content").get(0).get("id").asText());
+        assertEquals(3, data.get("totalPages").asInt());
+        assertEquals(12, data.get("totalElements").asLong());
+        assertEquals(1, data.get("currentPage").asInt());
+        assertEquals(5, data.get("pageSize").asInt());
+        assertTrue(data.get("hasNext").asBoolean());
+        assertTrue(data.get("hasPrevious").asBoolean());
+    }
+
+    @Test
+    void writeAll_fetchesProfilesAndClearsContextPerChunk() throws IOException {
+        Pageable pageable = PageRequest.of(0, 5);
+        List<Post> posts = posts(5);
+        PostedByData author = new PostedByData(posts.get(0).getPostedBy(), "Author", "pic");
+        when(postRepository.streamAllBy(pageable)).thenReturn(posts.stream());
+        when(postService.fetchPostedByData(anyList()))
+                .thenReturn(Map.of(posts.get(0).getPostedBy(), author))
+                .thenReturn(Map.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.writeAll(out, pageable, 5, viewerId);
+
+        // 5 posts in chunks of 2: three batch profile calls and three detaches
+        verify(postService, times(3)).fetchPostedByData(anyList());
+        verify(postService, times(5)).applyPendingVote(any(PostData.class), eq(viewerId));
+        verify(entityManager, times(3)).clear();
+        JsonNode content = objectMapper.readTree(out.toByteArray()).get("data").get("content");
+        assertEquals("Author", content.get(0).get("postedBy").get("name").asText());
+    }
+
+    @Test
+    void writeAll_queriesCountsOncePerChunk() throws IOException {
+        Pageable pageable = PageRequest.of(0, 3);
+        List<Post> posts = posts(3);
+        UUID firstId = posts.get(0).getId();
+        when(postRepository.streamAllBy(pageable)).thenReturn(posts.stream());
+        when(postService.fetchPostedByData(anyList())).thenReturn(Map.of());
+        when(voteRepository.summarizeVotes(List.of(firstId, posts.get(1).getId()), viewerId))
+                .thenReturn(List.of(voteSummary(firstId, 4, 1, 1)));
+        when(commentOnPostRepository.countByParentIds(List.of(firstId, posts.get(1).getId())))
+                .thenReturn(List.of(commentCount(firstId, 6)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.writeAll(out, pageable, 3, viewerId);
+
+        // 3 posts in chunks of 2: one grouped query of each kind per chunk
+        verify(voteRepository, times(2)).summarizeVotes(anyList(), eq(viewerId));
+        verify(commentOnPostRepository, times(2)).countByParentIds(anyList());
+        JsonNode content = objectMapper.readTree(out.toByteArray()).get("data").get("content");
+        assertEquals(4, content.get(0).get("upvoteCount").asLong());
+        assertEquals(1, content.get(0).get("downvoteCount").asLong());
+        assertEquals("UPVOTE", content.get(0).get("currentVote").asText());
+        assertEquals(6, content.get(0).get("commentCount").asLong());
+        assertEquals(0, content.get(1).get("commentCount").asLong());
+        assertEquals("NONE", content.get(1).get("currentVote").asText());
+    }
+
+    @Test
+    void writeAll_readsInReadOnlyTransactionAndClosesCursor() throws IOException {
+        Pageable pageable = PageRequest.of(0, 5);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(postRepository.streamAllBy(pageable)).thenReturn(Stream.<Post>empty().onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.writeAll(out, pageable, 0, viewerId);
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        assertTrue(closed.get());
+        JsonNode data = objectMapper.readTree(out.toByteArray()).get("data");
+        assertEquals(0, data.get("content").size());
+        assertFalse(data.get("hasNext").asBoolean());
+        verify(postService, never()).fetchPostedByData(anyList());
+    }
+
+    @Test
+    void writeAll_flushesEachChunkBeforeReadingTheNext() throws IOException {
+        Pageable pageable = PageRequest.of(0, 4);
+        List<Post> posts = posts(4);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Integer> bytesWrittenBeforeRow = new ArrayList<>();
+        when(postRepository.streamAllBy(pageable)).thenReturn(posts.stream()
+                .peek(post -> bytesWrittenBeforeRow.add(out.size())));
+        when(postService.fetchPostedByData(anyList())).thenReturn(Map.of());
+
+        streamer.writeAll(out, pageable, 4, viewerId);
+
+        // The third row is read only after the first chunk reached the client
+        assertTrue(bytesWrittenBeforeRow.get(2) > bytesWrittenBeforeRow.get(1));
+    }
+
+    @Test
+    void writeAll_clientDisconnect_propagatesIOException() {
+        Pageable pageable = PageRequest.of(0, 5);
+        when(postRepository.streamAllBy(pageable)).thenReturn(posts(3).stream());
+        when(postService.fetchPostedByData(anyList())).thenReturn(Map.of());
+        OutputStream brokenPipe = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> streamer.writeAll(brokenPipe, pageable, 3, viewerId));
+    }
+
+    @Test
+    void writeByUser_streamsUserPostsWithAuthorAsViewer() throws IOException {
+        UUID postUserId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(0, 10);
+        when(postRepository.streamByPostedByOrderByCreatedAtDesc(postUserId, pageable))
+                .thenReturn(posts(1).stream());
+        when(postService.fetchPostedByData(anyList())).thenReturn(Map.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.writeByUser(out, postUserId, pageable, 1);
+
+        verify(postService).applyPendingVote(any(PostData.class), eq(postUserId));
+        assertEquals(1, objectMapper.readTree(out.toByteArray()).get("data").get("content").size());
+    }
+
+    @Test
+    void counts_delegateToRepository() {
+        UUID postUserId = UUID.randomUUID();
+        when(postRepository.count()).thenReturn(7L);
+        when(postRepository.countByPostedBy(postUserId)).thenReturn(2L);
+
+        assertEquals(7L, streamer.countAll());
+        assertEquals(2L, streamer.countByUser(postUserId));
+    }
+
+    private static PostVoteSummary voteSummary(UUID postId, long upvotes, long downvotes, long viewerVote) {
+        return new PostVoteSummary() {
+            @Override
+            public UUID getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Long getUpvoteCount() {
+                return upvotes;
+            }
+
+            @Override
+            public Long getDownvoteCount() {
+                return downvotes;
+            }
+
+            @Override
+            public Long getViewerVote() {
+                return viewerVote;
+            }
+        };
+    }
+
+    private static PostCommentCount commentCount(UUID postId, long count) {
+        return new PostCommentCount() {
+            @Override
+            public UUID getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Long getCommentCount() {
+                return count;
+            }
+        };
+    }
+
+    private static List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setId(UUID.randomUUID());
+            post.setTitle("Post " + i);
+            post.setPostedBy(UUID.randomUUID());
+            post.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -3,12 +3,15 @@ package com.safetypin.post.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -20,7 +23,6 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,18 +41,26 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.client.RestTemplate;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostCreateRequest;
+import com.safetypin.post.dto.PostCommentCount;
 import com.safetypin.post.dto.PostData;
+import com.safetypin.post.dto.PostLookupResult;
+import com.safetypin.post.dto.PostVoteSummary;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.dto.UserDetails;
 import com.safetypin.post.exception.InvalidCredentialsException;
@@ -61,8 +71,11 @@ import com.safetypin.post.exception.UnauthorizedAccessException;
 import com.safetypin.post.model.Category;
 import com.safetypin.post.model.Post;
 import com.safetypin.post.model.Role;
+import com.safetypin.post.model.VoteType;
 import com.safetypin.post.repository.CategoryRepository;
+import com.safetypin.post.repository.CommentOnPostRepository;
 import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.repository.VoteRepository;
 import com.safetypin.post.service.strategy.DistanceFeedStrategy;
 import com.safetypin.post.service.strategy.FollowingFeedStrategy;
 import com.safetypin.post.service.strategy.TimestampFeedStrategy;
@@ -87,8 +100,21 @@ class PostServiceTest {
         private FollowingFeedStrategy followingFeedStrategy; // Added mock
         @Mock
         private RestTemplate restTemplate; // Added mock
+        @Mock
+        private EventStreamService eventStreamService;
+        @Mock
+        private VoteWriteBehindBuffer voteWriteBehindBuffer;
+        @Mock
+        private CategoryRenameMigrator categoryRenameMigrator;
+        @Mock
+        private VoteRepository voteRepository;
+        @Mock
+        private CommentOnPostRepository commentOnPostRepository;
+        @Mock
+        private RecentPostBuffer recentPostBuffer;
         private GeometryFactory geometryFactory;
         private PostService postService;
+        private RecentWriters recentWriters;
         private Post post1, post2, post3;
         private UUID userId1, userId2;
         private Post postWithoutLocation;
@@ -122,10 +148,14 @@ class PostServiceTest {
         @BeforeEach
         void setup() {
                 geometryFactory = new GeometryFactory();
+                recentWriters = new RecentWriters(5000);
                 // Updated constructor call to include new mocks
                 postService = new PostService(postRepository, categoryRepository,
                                 distanceFeedStrategy, timestampFeedStrategy,
-                                followingFeedStrategy, restTemplate);
+                                followingFeedStrategy, restTemplate, eventStreamService,
+                                voteWriteBehindBuffer, categoryRenameMigrator, PipelineMetrics.noop(),
+                                AuthClientMetrics.noop(), new ContentVersions(), recentWriters, voteRepository,
+                                commentOnPostRepository, recentPostBuffer);
 
                 // Create userId
                 userId1 = UUID.randomUUID();
@@ -356,9 +386,11 @@ class PostServiceTest {
                 assertEquals(content, result.getCaption());
                 assertEquals(categoryName, result.getCategory());
                 assertEquals(imageUrl, result.getImageUrl());
+                assertTrue(recentWriters.isRecent(userId));
 
                 verify(categoryRepository).findByName(categoryName);
                 verify(postRepository).save(any(Post.class));
+                verify(recentPostBuffer).add(expectedPost);
         }
 
         @Test
@@ -512,6 +544,7 @@ class PostServiceTest {
                 // Then
                 verify(postRepository).findById(postId);
                 verify(postRepository).delete(post);
+                verify(recentPostBuffer).remove(post);
         }
 
         @Test
@@ -671,7 +704,7 @@ class PostServiceTest {
                 List<Post> allPosts = Arrays.asList(matchingPost, post1, post2, post3);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(allPosts);
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(allPosts);
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -686,18 +719,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -706,7 +737,33 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
+        }
+
+        @Test
+        void testFindPostsByDistanceFeed_WithRadius_QueriesWithinRadius() {
+                // Given
+                FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                                .userLat(-6.2)
+                                .userLon(106.8)
+                                .radiusKm(2.5)
+                                .userId(UUID.randomUUID())
+                                .pageable(PageRequest.of(0, 10))
+                                .build();
+                List<Post> nearbyPosts = Collections.singletonList(post1);
+                Page<FeedItem> postsPage = new PageImpl<>(Collections.emptyList(), queryDTO.getPageable(), 0);
+
+                when(postRepository.findWithinRadius(-6.2, 106.8, 2500.0)).thenReturn(nearbyPosts);
+                when(distanceFeedStrategy.processFeed(eq(nearbyPosts), eq(queryDTO), any()))
+                                .thenReturn(postsPage);
+
+                // When
+                Page<FeedItem> result = postService.getFeed(queryDTO, "distance");
+
+                // Then
+                assertSame(postsPage, result);
+                verify(postRepository).findWithinRadius(-6.2, 106.8, 2500.0);
+                verify(postRepository, never()).findAll();
         }
 
         @Test
@@ -722,7 +779,7 @@ class PostServiceTest {
                 UUID userId = UUID.randomUUID(); // Changed from authorization header to UUID
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Arrays.asList(post1, post2, post3));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Arrays.asList(post1, post2, post3));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -737,14 +794,14 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Page<Map<String, Object>> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
+                Page<FeedItem> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(expectedResult);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -753,7 +810,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -779,7 +836,7 @@ class PostServiceTest {
                 postWithNullTitle.setCreatedAt(now);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Collections.singletonList(postWithNullTitle));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Collections.singletonList(postWithNullTitle));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -794,18 +851,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -814,7 +869,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         // POSITIVE TEST CASES FOR SEARCH POSTS
@@ -842,7 +897,7 @@ class PostServiceTest {
                 postWithNullTitle.setCreatedAt(now);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Collections.singletonList(postWithNullTitle));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Collections.singletonList(postWithNullTitle));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -857,14 +912,14 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Page<Map<String, Object>> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
+                Page<FeedItem> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(expectedResult);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -873,7 +928,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -899,7 +954,7 @@ class PostServiceTest {
                 postWithNullCaption.setCreatedAt(now);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Collections.singletonList(postWithNullCaption));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Collections.singletonList(postWithNullCaption));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -914,18 +969,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -934,7 +987,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -960,7 +1013,7 @@ class PostServiceTest {
                 postWithNullCategory.setCreatedAt(now);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Collections.singletonList(postWithNullCategory));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Collections.singletonList(postWithNullCategory));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -975,14 +1028,14 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Page<Map<String, Object>> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
+                Page<FeedItem> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(expectedResult);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -991,7 +1044,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -1027,7 +1080,7 @@ class PostServiceTest {
                 postOutsideDateRange.setCreatedAt(tomorrow); // Outside date range
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Arrays.asList(postInDateRange, postOutsideDateRange));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Arrays.asList(postInDateRange, postOutsideDateRange));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -1042,18 +1095,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1062,7 +1113,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(distanceFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -1128,18 +1179,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(distanceFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "distance");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "distance");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1173,7 +1222,7 @@ class PostServiceTest {
                 List<Post> allPosts = Arrays.asList(matchingPost, post1, post2, post3);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(allPosts);
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(allPosts);
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -1186,18 +1235,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1206,7 +1253,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(timestampFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -1220,7 +1267,7 @@ class PostServiceTest {
                 UUID userId = UUID.randomUUID(); // Changed from authorization header to UUID
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Arrays.asList(post1, post2, post3));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Arrays.asList(post1, post2, post3));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -1233,14 +1280,14 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Page<Map<String, Object>> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
+                Page<FeedItem> expectedResult = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(expectedResult);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1249,7 +1296,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(timestampFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -1262,7 +1309,7 @@ class PostServiceTest {
                 Pageable pageable = PageRequest.of(0, 10);
                 UUID userId = UUID.randomUUID(); // Changed from authorization header to UUID
 
-                when(postRepository.findAll()).thenReturn(Arrays.asList(post1, post2, post3));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Arrays.asList(post1, post2, post3));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -1275,18 +1322,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1294,7 +1339,7 @@ class PostServiceTest {
 
                 // Verify the correct strategy was called with expected parameters
                 verify(timestampFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         @Test
@@ -1332,18 +1377,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1409,18 +1452,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1474,18 +1515,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1539,18 +1578,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1592,7 +1629,7 @@ class PostServiceTest {
                 nonMatchingPost.setCreatedAt(now);
 
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(Arrays.asList(matchingPost1, matchingPost2, nonMatchingPost));
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(Arrays.asList(matchingPost1, matchingPost2, nonMatchingPost));
 
                 // Create expected FeedQueryDTO
                 FeedQueryDTO expectedDto = FeedQueryDTO.builder()
@@ -1605,18 +1642,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1625,7 +1660,7 @@ class PostServiceTest {
                 // Verify the correct strategy was called with expected parameters
                 verify(timestampFeedStrategy).processFeed(anyList(), eq(expectedDto), any());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
         }
 
         // Test creating post with exact max values for validation
@@ -1730,18 +1765,16 @@ class PostServiceTest {
                                 .build();
 
                 // Create expected result
-                Map<String, Object> postData = new HashMap<>();
-                postData.put("post", Map.of("title", "Test Post"));
-                postData.put("distance", 2.5);
-                List<Map<String, Object>> posts = Collections.singletonList(postData);
-                Page<Map<String, Object>> postsPage = new PageImpl<>(posts, pageable, posts.size());
+                FeedItem feedItem = FeedItem.withDistance(PostData.builder().title("Test Post").build(), 2.5);
+                List<FeedItem> posts = Collections.singletonList(feedItem);
+                Page<FeedItem> postsPage = new PageImpl<>(posts, pageable, posts.size());
 
                 // Setup the strategy mock to return our expected result
                 when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
                                 .thenReturn(postsPage);
 
                 // Call the method we're testing
-                Page<Map<String, Object>> result = postService.getFeed(expectedDto, "timestamp");
+                Page<FeedItem> result = postService.getFeed(expectedDto, "timestamp");
 
                 // Assertions remain similar
                 assertNotNull(result);
@@ -1777,11 +1810,11 @@ class PostServiceTest {
 
                 List<Post> allPosts = Arrays.asList(post1, post2, post3);
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(allPosts);
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(allPosts);
 
                 // Create expected result
-                Page<Map<String, Object>> expectedResult = new PageImpl<>(
-                                Collections.singletonList(Map.of("post", "test data")),
+                Page<FeedItem> expectedResult = new PageImpl<>(
+                                Collections.singletonList(FeedItem.of(PostData.builder().title("test data").build())),
                                 pageable, 1);
 
                 // Setup the strategy mock
@@ -1789,7 +1822,7 @@ class PostServiceTest {
                                 .thenReturn(expectedResult);
 
                 // When
-                Page<Map<String, Object>> result = postService.getFeed(queryDTO, "distance");
+                Page<FeedItem> result = postService.getFeed(queryDTO, "distance");
 
                 // Then
                 assertSame(expectedResult, result);
@@ -1802,7 +1835,7 @@ class PostServiceTest {
                 verify(distanceFeedStrategy).processFeed(postsCaptor.capture(), dtoCaptor.capture(),
                                 dtoProfiles.capture());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
 
                 assertEquals(allPosts, postsCaptor.getValue());
                 assertEquals(queryDTO, dtoCaptor.getValue());
@@ -1829,11 +1862,11 @@ class PostServiceTest {
 
                 List<Post> allPosts = Arrays.asList(post1, post2, post3);
                 when(categoryRepository.findByName("Safety")).thenReturn(safetyCategory);
-                when(postRepository.findAll()).thenReturn(allPosts);
+                when(postRepository.findByCreatedAtBetween(dateFrom, dateTo)).thenReturn(allPosts);
 
                 // Create expected result
-                Page<Map<String, Object>> expectedResult = new PageImpl<>(
-                                Collections.singletonList(Map.of("post", "test data")),
+                Page<FeedItem> expectedResult = new PageImpl<>(
+                                Collections.singletonList(FeedItem.of(PostData.builder().title("test data").build())),
                                 pageable, 1);
 
                 // Setup the strategy mock
@@ -1841,7 +1874,7 @@ class PostServiceTest {
                                 .thenReturn(expectedResult);
 
                 // When
-                Page<Map<String, Object>> result = postService.getFeed(queryDTO, "timestamp");
+                Page<FeedItem> result = postService.getFeed(queryDTO, "timestamp");
 
                 // Then
                 assertSame(expectedResult, result);
@@ -1854,7 +1887,7 @@ class PostServiceTest {
                 verify(timestampFeedStrategy).processFeed(postsCaptor.capture(), dtoCaptor.capture(),
                                 dtoProfiles.capture());
                 verify(categoryRepository).findByName("Safety");
-                verify(postRepository).findAll();
+                verify(postRepository).findByCreatedAtBetween(dateFrom, dateTo);
 
                 assertEquals(allPosts, postsCaptor.getValue());
                 assertEquals(queryDTO, dtoCaptor.getValue());
@@ -1928,19 +1961,19 @@ class PostServiceTest {
                                 .thenReturn(expectedPage);
 
                 // When
-                Page<Map<String, Object>> result = postService.findPostsByUser(userId, pageable);
+                Page<FeedItem> result = postService.findPostsByUser(userId, pageable);
 
                 // Then - Last page
                 assertNotNull(result);
                 assertEquals(2, result.getContent().size());
 
                 // Verify first post
-                PostData firstPost = (PostData) result.getContent().getFirst().get("post");
+                PostData firstPost = result.getContent().getFirst().post();
                 assertEquals(post3.getTitle(), firstPost.getTitle());
                 assertEquals(userId, firstPost.getPostedById());
 
                 // Verify second post
-                PostData secondPost = (PostData) result.getContent().get(1).get("post");
+                PostData secondPost = result.getContent().get(1).post();
                 assertEquals(post1.getTitle(), secondPost.getTitle());
                 assertEquals(userId, secondPost.getPostedById());
 
@@ -1972,7 +2005,7 @@ class PostServiceTest {
                                 .thenReturn(expectedPage);
 
                 // When
-                Page<Map<String, Object>> result = postService.findPostsByUser(userId, pageable);
+                Page<FeedItem> result = postService.findPostsByUser(userId, pageable);
 
                 // Then
                 assertNotNull(result);
@@ -2017,7 +2050,7 @@ class PostServiceTest {
                                 .thenReturn(expectedLastPage);
 
                 // When - First page
-                Page<Map<String, Object>> firstPageResult = postService.findPostsByUser(userId, firstPage);
+                Page<FeedItem> firstPageResult = postService.findPostsByUser(userId, firstPage);
 
                 // Then - First page
                 assertNotNull(firstPageResult);
@@ -2028,7 +2061,7 @@ class PostServiceTest {
                 assertFalse(firstPageResult.hasPrevious());
 
                 // When - Second page
-                Page<Map<String, Object>> secondPageResult = postService.findPostsByUser(userId, secondPage);
+                Page<FeedItem> secondPageResult = postService.findPostsByUser(userId, secondPage);
 
                 // Then - Second page
                 assertNotNull(secondPageResult);
@@ -2037,7 +2070,7 @@ class PostServiceTest {
                 assertTrue(secondPageResult.hasPrevious());
 
                 // When - Last page
-                Page<Map<String, Object>> result = postService.findPostsByUser(userId, lastPage);
+                Page<FeedItem> result = postService.findPostsByUser(userId, lastPage);
 
                 // Then - Last page
                 assertNotNull(result);
@@ -2049,6 +2082,197 @@ class PostServiceTest {
                                 .findByPostedByOrderByCreatedAtDesc(eq(userId), any(Pageable.class));
         }
 
+        @Test
+        void testGetFeed_TimestampEarlyPage_ServedFromRecentBuffer() {
+                UUID viewerId = UUID.randomUUID();
+                Pageable pageable = PageRequest.of(0, 2);
+                post1.setId(UUID.randomUUID());
+                post1.setPostedBy(userId1);
+                FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                                .userId(viewerId)
+                                .pageable(pageable)
+                                .build();
+
+                when(recentPostBuffer.page(null, pageable)).thenReturn(new PageImpl<>(List.of(post1), pageable, 7));
+                when(voteRepository.summarizeVotes(List.of(post1.getId()), viewerId))
+                                .thenReturn(List.of(voteSummary(post1.getId(), 2, 0, 1)));
+                when(commentOnPostRepository.countByParentIds(List.of(post1.getId())))
+                                .thenReturn(List.of(commentCount(post1.getId(), 3)));
+                doReturn(ResponseEntity.ok(Map.of())).when(restTemplate).exchange(anyString(),
+                                eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+
+                Page<FeedItem> result = postService.getFeed(queryDTO, "timestamp");
+
+                assertEquals(7, result.getTotalElements());
+                assertEquals(1, result.getContent().size());
+                PostData post = result.getContent().get(0).post();
+                assertEquals(post1.getId(), post.getId());
+                assertEquals(2L, post.getUpvoteCount());
+                assertEquals(3L, post.getCommentCount());
+                assertEquals(VoteType.UPVOTE, post.getCurrentVote());
+                verify(postRepository, never()).findAll();
+                verifyNoInteractions(timestampFeedStrategy);
+        }
+
+        @Test
+        void testGetFeed_TimestampPastRecentBuffer_FallsBackToDatabase() {
+                Pageable pageable = PageRequest.of(5, 10);
+                FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                                .userId(UUID.randomUUID())
+                                .pageable(pageable)
+                                .build();
+                Page<FeedItem> expectedResult = new PageImpl<>(List.of(), pageable, 0);
+
+                when(recentPostBuffer.page(null, pageable)).thenReturn(null);
+                when(postRepository.findAll()).thenReturn(List.of(post1, post2));
+                when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
+                                .thenReturn(expectedResult);
+
+                assertSame(expectedResult, postService.getFeed(queryDTO, "timestamp"));
+                verify(postRepository).findAll();
+        }
+
+        @Test
+        void testGetFeed_TimestampWithKeyword_SkipsRecentBuffer() {
+                FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                                .keyword("flood")
+                                .userId(UUID.randomUUID())
+                                .pageable(PageRequest.of(0, 10))
+                                .build();
+                when(postRepository.findAll()).thenReturn(List.of());
+                when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
+                                .thenReturn(Page.empty());
+
+                postService.getFeed(queryDTO, "timestamp");
+
+                verifyNoInteractions(recentPostBuffer);
+                verify(postRepository).findAll();
+        }
+
+        @Test
+        void testGetFeed_TimestampWithDateRange_SkipsRecentBuffer() {
+                FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                                .dateFrom(LocalDateTime.of(2026, 10, 1, 0, 0))
+                                .userId(UUID.randomUUID())
+                                .pageable(PageRequest.of(0, 10))
+                                .build();
+                when(postRepository.findByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+                                .thenReturn(List.of());
+                when(timestampFeedStrategy.processFeed(anyList(), any(FeedQueryDTO.class), any()))
+                                .thenReturn(Page.empty());
+
+                postService.getFeed(queryDTO, "timestamp");
+
+                verifyNoInteractions(recentPostBuffer);
+                verify(postRepository).findByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class));
+        }
+
+        @Test
+        void testFindPostsByIds_RequestOrderWithNotFoundMarkers() {
+                UUID viewerId = UUID.randomUUID();
+                UUID missingId = UUID.randomUUID();
+                post1.setId(UUID.randomUUID());
+                post2.setId(UUID.randomUUID());
+                post1.setPostedBy(userId1);
+                post2.setPostedBy(userId1);
+                PostedByData author = new PostedByData(userId1, "Author", null);
+
+                when(postRepository.findAllById(List.of(post2.getId(), missingId, post1.getId())))
+                                .thenReturn(List.of(post1, post2));
+                when(voteRepository.summarizeVotes(List.of(post1.getId(), post2.getId()), viewerId))
+                                .thenReturn(List.of(voteSummary(post1.getId(), 3, 1, -1)));
+                when(commentOnPostRepository.countByParentIds(List.of(post1.getId(), post2.getId())))
+                                .thenReturn(List.of(commentCount(post2.getId(), 4)));
+                doReturn(ResponseEntity.ok(Map.of(userId1, author))).when(restTemplate).exchange(anyString(),
+                                eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+
+                List<PostLookupResult> results = postService.findPostsByIds(
+                                List.of(post2.getId(), missingId, post1.getId(), post2.getId()), viewerId);
+
+                assertEquals(4, results.size());
+                assertEquals(post2.getId(), results.get(0).id());
+                assertTrue(results.get(0).found());
+                assertEquals(4L, results.get(0).post().getCommentCount());
+                assertEquals(0L, results.get(0).post().getUpvoteCount());
+                assertEquals(VoteType.NONE, results.get(0).post().getCurrentVote());
+                assertSame(author, results.get(0).post().getPostedBy());
+
+                assertEquals(missingId, results.get(1).id());
+                assertFalse(results.get(1).found());
+                assertNull(results.get(1).post());
+
+                PostData first = results.get(2).post();
+                assertEquals(3L, first.getUpvoteCount());
+                assertEquals(1L, first.getDownvoteCount());
+                assertEquals(VoteType.DOWNVOTE, first.getCurrentVote());
+                assertEquals(0L, first.getCommentCount());
+
+                assertEquals(post2.getId(), results.get(3).id());
+                // One profile batch for all authors
+                verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                                any(ParameterizedTypeReference.class));
+        }
+
+        @Test
+        void testFindPostsByIds_NoneFound_SkipsCountsAndProfiles() {
+                UUID id = UUID.randomUUID();
+                when(postRepository.findAllById(List.of(id))).thenReturn(List.of());
+
+                List<PostLookupResult> results = postService.findPostsByIds(List.of(id), userId1);
+
+                assertEquals(List.of(PostLookupResult.notFound(id)), results);
+                verifyNoInteractions(voteRepository, commentOnPostRepository, restTemplate);
+        }
+
+        @Test
+        void testFindPostsByIds_InvalidRequests() {
+                List<UUID> tooMany = Collections.nCopies(101, UUID.randomUUID());
+                List<UUID> withNull = Arrays.asList(UUID.randomUUID(), null);
+
+                assertThrows(InvalidPostDataException.class, () -> postService.findPostsByIds(List.of(), userId1));
+                assertThrows(InvalidPostDataException.class, () -> postService.findPostsByIds(tooMany, userId1));
+                assertThrows(InvalidPostDataException.class, () -> postService.findPostsByIds(withNull, userId1));
+                verifyNoInteractions(postRepository);
+        }
+
+        private static PostVoteSummary voteSummary(UUID postId, long upvotes, long downvotes, long viewerVote) {
+                return new PostVoteSummary() {
+                        @Override
+                        public UUID getPostId() {
+                                return postId;
+                        }
+
+                        @Override
+                        public Long getUpvoteCount() {
+                                return upvotes;
+                        }
+
+                        @Override
+                        public Long getDownvoteCount() {
+                                return downvotes;
+                        }
+
+                        @Override
+                        public Long getViewerVote() {
+                                return viewerVote;
+                        }
+                };
+        }
+
+        private static PostCommentCount commentCount(UUID postId, long count) {
+                return new PostCommentCount() {
+                        @Override
+                        public UUID getPostId() {
+                                return postId;
+                        }
+
+                        @Override
+                        public Long getCommentCount() {
+                                return count;
+                        }
+                };
+        }
+
         @Test
         void testFetchPostedByData() {
                 Map<UUID, PostedByData> profileList = postService.fetchPostedByData(
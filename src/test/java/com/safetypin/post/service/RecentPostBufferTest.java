@@ -0,0 +1,206 @@
+package com.safetypin.post.service;
+
+import com.safetypin.post.dto.CategoryPostCount;
+import com.safetypin.post.model.Post;
+import com.safetypin.post.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecentPostBufferTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private PostRepository postRepository;
+    private ContentVersions contentVersions;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        contentVersions = new ContentVersions();
+        registry = new SimpleMeterRegistry();
+    }
+
+    private RecentPostBuffer buffer(int capacity) {
+        return new RecentPostBuffer(postRepository, contentVersions, registry, true, capacity);
+    }
+
+    private static Post post(String category, int minutesAgo) {
+        return new Post.Builder()
+                .id(UUID.randomUUID())
+                .title(category + " report")
+                .caption("Details")
+                .location(-6.2, 106.8)
+                .category(category)
+                .createdAt(NOW.minusMinutes(minutesAgo))
+                .postedBy(UUID.randomUUID())
+                .build();
+    }
+
+    private void stubDatabase(List<Post> newestFirst, CategoryPostCount... counts) {
+        when(postRepository.findByOrderByCreatedAtDesc(any())).thenReturn(newestFirst);
+        when(postRepository.countPostsByCategory()).thenReturn(List.of(counts));
+    }
+
+    private static CategoryPostCount count(String category, long posts) {
+        return new CategoryPostCount() {
+            @Override
+            public String getCategory() {
+                return category;
+            }
+
+            @Override
+            public Long getPostCount() {
+                return posts;
+            }
+        };
+    }
+
+    private static List<UUID> ids(Page<Post> page) {
+        return page.getContent().stream().map(Post::getId).toList();
+    }
+
+    @Test
+    void page_loadsOnFirstReadAndServesNewestFirst() {
+        Post newest = post("Flooding", 1);
+        Post middle = post("Lost Item", 2);
+        Post oldest = post("Flooding", 3);
+        stubDatabase(List.of(newest, middle, oldest), count("Flooding", 2), count("Lost Item", 1));
+        RecentPostBuffer buffer = buffer(10);
+
+        Page<Post> all = buffer.page(null, PageRequest.of(0, 2));
+        Page<Post> flooding = buffer.page(List.of("Flooding"), PageRequest.of(0, 10));
+
+        assertEquals(List.of(newest.getId(), middle.getId()), ids(all));
+        assertEquals(3, all.getTotalElements());
+        assertEquals(List.of(newest.getId(), oldest.getId()), ids(flooding));
+        assertEquals(2, flooding.getTotalElements());
+        verify(postRepository, times(1)).findByOrderByCreatedAtDesc(PageRequest.of(0, 10));
+        assertEquals(2, registry.get("posts.recent.buffer").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void page_pastTheBufferedPosts_returnsNull() {
+        stubDatabase(List.of(post("Flooding", 1), post("Flooding", 2)), count("Flooding", 5));
+        RecentPostBuffer buffer = buffer(2);
+
+        assertNotNull(buffer.page(null, PageRequest.of(0, 2)));
+        assertNull(buffer.page(null, PageRequest.of(1, 2)));
+        assertEquals(1, registry.get("posts.recent.buffer").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void page_bufferHoldsEveryPost_servesTheLastPage() {
+        stubDatabase(List.of(post("Flooding", 1), post("Flooding", 2)), count("Flooding", 2));
+        RecentPostBuffer buffer = buffer(10);
+
+        Page<Post> page = buffer.page(null, PageRequest.of(1, 10));
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void add_insertsByTimeAndDropsTheOldest() {
+        Post newest = post("Flooding", 1);
+        Post oldest = post("Flooding", 5);
+        stubDatabase(List.of(newest, oldest), count("Flooding", 2));
+        RecentPostBuffer buffer = buffer(2);
+        buffer.warm();
+
+        Post between = post("Lost Item", 3);
+        buffer.add(between);
+        buffer.add(between);
+
+        Page<Post> page = buffer.page(null, PageRequest.of(0, 2));
+        assertEquals(List.of(newest.getId(), between.getId()), ids(page));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(1, buffer.page(List.of("Lost Item"), PageRequest.of(0, 2)).getTotalElements());
+    }
+
+    @Test
+    void add_manyPostsKeepTheNewestInOrder() {
+        stubDatabase(List.of(post("Flooding", 30)), count("Flooding", 1));
+        RecentPostBuffer buffer = buffer(3);
+        buffer.warm();
+
+        Post first = post("Flooding", 20);
+        Post second = post("Lost Item", 10);
+        Post third = post("Flooding", 5);
+        Post fourth = post("Flooding", 1);
+        buffer.add(first);
+        buffer.add(second);
+        buffer.add(third);
+        buffer.add(fourth);
+        buffer.remove(third);
+        Post late = post("Lost Item", 15);
+        buffer.add(late);
+
+        Page<Post> page = buffer.page(null, PageRequest.of(0, 3));
+        assertEquals(List.of(fourth.getId(), second.getId(), late.getId()), ids(page));
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of(second.getId(), late.getId()),
+                ids(buffer.page(List.of("Lost Item"), PageRequest.of(0, 3))));
+    }
+
+    @Test
+    void remove_dropsThePostAndItsCount() {
+        Post newest = post("Flooding", 1);
+        Post oldest = post("Flooding", 2);
+        stubDatabase(List.of(newest, oldest), count("Flooding", 2));
+        RecentPostBuffer buffer = buffer(10);
+        buffer.warm();
+
+        buffer.remove(newest);
+
+        Page<Post> page = buffer.page(List.of("Flooding"), PageRequest.of(0, 10));
+        assertEquals(List.of(oldest.getId()), ids(page));
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void bulkChange_reloadsOnTheNextRead() {
+        stubDatabase(List.of(post("Flooding", 1)), count("Flooding", 1));
+        RecentPostBuffer buffer = buffer(10);
+        buffer.warm();
+
+        contentVersions.postsChanged();
+        buffer.page(null, PageRequest.of(0, 10));
+
+        verify(postRepository, times(2)).findByOrderByCreatedAtDesc(any());
+    }
+
+    @Test
+    void postWrittenWhileLoading_discardsTheLoad() {
+        RecentPostBuffer buffer = buffer(10);
+        when(postRepository.findByOrderByCreatedAtDesc(any())).thenAnswer(invocation -> {
+            buffer.add(post("Flooding", 0));
+            return List.of();
+        });
+
+        assertFalse(buffer.warm());
+        assertNull(buffer.page(null, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void disabled_neverReadsTheDatabase() {
+        RecentPostBuffer buffer = new RecentPostBuffer(postRepository, contentVersions, registry, false, 10);
+
+        buffer.warmOnStartup();
+        buffer.add(post("Flooding", 1));
+
+        assertNull(buffer.page(null, PageRequest.of(0, 10)));
+        verifyNoInteractions(postRepository);
+    }
+}
@@ -0,0 +1,40 @@
+package com.safetypin.post.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentWritersTest {
+
+    @Test
+    void recordWrite_makesUserRecent() {
+        RecentWriters recentWriters = new RecentWriters(5000);
+        UUID userId = UUID.randomUUID();
+
+        recentWriters.recordWrite(userId);
+
+        assertTrue(recentWriters.isRecent(userId));
+        assertFalse(recentWriters.isRecent(UUID.randomUUID()));
+    }
+
+    @Test
+    void isRecent_afterWindow_returnsFalse() {
+        RecentWriters recentWriters = new RecentWriters(0);
+        UUID userId = UUID.randomUUID();
+
+        recentWriters.recordWrite(userId);
+
+        assertFalse(recentWriters.isRecent(userId));
+    }
+
+    @Test
+    void nullUser_isNeverRecent() {
+        RecentWriters recentWriters = new RecentWriters(5000);
+
+        recentWriters.recordWrite(null);
+
+        assertFalse(recentWriters.isRecent(null));
+    }
+}
@@ -1,7 +1,6 @@
 package com.safetypin.post.service;
 
-import com.safetypin.post.model.Post;
-import com.safetypin.post.model.Vote;
+import com.safetypin.post.model.VoteType;
 import com.safetypin.post.repository.PostRepository;
 import com.safetypin.post.repository.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +9,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import javax.persistence.EntityNotFoundException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,120 +28,204 @@ class VoteServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private VoteWriteBehindBuffer voteWriteBehindBuffer;
+
+    @Mock
+    private ContentVersions contentVersions;
+
+    @Mock
+    private RecentWriters recentWriters;
+
     @InjectMocks
     private VoteServiceImpl voteService;
 
     private UUID userId;
     private UUID postId;
-    private Post post;
 
     @BeforeEach
     void setUp() {
         userId = UUID.randomUUID();
         postId = UUID.randomUUID();
-        post = new Post();
     }
 
     @Test
     void createVote_NewVote_Success() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(voteRepository.findById(any())).thenReturn(Optional.empty());
+        when(voteRepository.upsertVote(userId, postId, true)).thenReturn(1);
 
         String result = voteService.createVote(userId, postId, true);
 
         assertEquals("Vote recorded successfully", result);
-        verify(voteRepository, times(1)).save(any(Vote.class));
+        verify(voteRepository, times(1)).upsertVote(userId, postId, true);
+        verifyNoMoreInteractions(voteRepository);
+        verify(contentVersions).postChanged(postId);
+        verify(recentWriters).recordWrite(userId);
     }
 
     @Test
     void createVote_AlreadyUpvoted_NoChange() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-
-        Vote existingVote = new Vote(new Vote.VoteId(userId, post), true);
-        when(voteRepository.findById(any())).thenReturn(Optional.of(existingVote));
+        when(voteRepository.upsertVote(userId, postId, true)).thenReturn(0);
+        when(postRepository.existsById(postId)).thenReturn(true);
 
         String result = voteService.createVote(userId, postId, true);
 
         assertEquals("User already up voted that post. Vote remains unchanged", result);
-        verify(voteRepository, never()).save(any(Vote.class));
+        verify(contentVersions, never()).postChanged(any());
+        verify(recentWriters, never()).recordWrite(any());
     }
 
     @Test
     void createVote_AlreadyDownvoted_NoChange() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-
-        Vote existingVote = new Vote(new Vote.VoteId(userId, post), false);
-        when(voteRepository.findById(any())).thenReturn(Optional.of(existingVote));
+        when(voteRepository.upsertVote(userId, postId, false)).thenReturn(0);
+        when(postRepository.existsById(postId)).thenReturn(true);
 
         String result = voteService.createVote(userId, postId, false);
 
         assertEquals("User already down voted that post. Vote remains unchanged", result);
-        verify(voteRepository, never()).save(any(Vote.class));
     }
 
     @Test
     void createVote_ChangeFromUpvoteToDownvote_Success() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-
-        Vote existingVote = new Vote(new Vote.VoteId(userId, post), true);
-        when(voteRepository.findById(any())).thenReturn(Optional.of(existingVote));
+        when(voteRepository.upsertVote(userId, postId, false)).thenReturn(1);
 
         String result = voteService.createVote(userId, postId, false);
 
         assertEquals("Vote recorded successfully", result);
-        verify(voteRepository, times(1)).save(any(Vote.class));
     }
 
     @Test
     void createVote_ChangeFromDownvoteToUpvote_Success() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-
-        Vote existingVote = new Vote(new Vote.VoteId(userId, post), false);
-        when(voteRepository.findById(any())).thenReturn(Optional.of(existingVote));
+        when(voteRepository.upsertVote(userId, postId, true)).thenReturn(1);
 
         String result = voteService.createVote(userId, postId, true);
 
         assertEquals("Vote recorded successfully", result);
-        verify(voteRepository, times(1)).save(any(Vote.class));
     }
 
     @Test
-    void cancelVote_Success() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+    void createVote_PostNotFound_ThrowsException() {
+        when(voteRepository.upsertVote(userId, postId, true))
+                .thenThrow(new DataIntegrityViolationException("fk_votes_post"));
 
-        Vote existingVote = new Vote(new Vote.VoteId(userId, post), true);
-        when(voteRepository.findById(any())).thenReturn(Optional.of(existingVote));
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> voteService.createVote(userId, postId, true));
+        assertEquals("Post not found", exception.getMessage());
+    }
+
+    @Test
+    void createVote_PostNotFoundWithoutForeignKey_ThrowsException() {
+        // Partitioned posts have no foreign key, so the upsert skips the missing post instead of failing
+        when(voteRepository.upsertVote(userId, postId, true)).thenReturn(0);
+        when(postRepository.existsById(postId)).thenReturn(false);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> voteService.createVote(userId, postId, true));
+        assertEquals("Post not found", exception.getMessage());
+        verify(contentVersions, never()).postChanged(any());
+    }
+
+    @Test
+    void cancelVote_Success() {
+        when(voteRepository.deleteVote(userId, postId)).thenReturn(1);
 
         String result = voteService.cancelVote(userId, postId);
 
         assertEquals("Vote cancelled successfully", result);
-        verify(voteRepository, times(1)).deleteById(any());
+        verify(voteRepository, times(1)).deleteVote(userId, postId);
+        verifyNoMoreInteractions(voteRepository);
     }
 
     @Test
     void cancelVote_NoVoteExists_NoChange() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(voteRepository.findById(any())).thenReturn(Optional.empty());
+        when(voteRepository.deleteVote(userId, postId)).thenReturn(0);
 
         String result = voteService.cancelVote(userId, postId);
 
         assertEquals("User hasn't voted that post. Vote remains unchanged", result);
-        verify(voteRepository, never()).deleteById(any());
     }
 
     @Test
-    void createVote_PostNotFound_ThrowsException() {
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+    void createVote_WriteBehind_RecordsInBuffer() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(voteWriteBehindBuffer.pendingVote(userId, postId)).thenReturn(VoteType.DOWNVOTE);
+
+        String result = voteService.createVote(userId, postId, true);
+
+        assertEquals("Vote recorded successfully", result);
+        verify(voteWriteBehindBuffer).record(userId, postId, VoteType.UPVOTE);
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    void createVote_WriteBehind_SameBufferedVote_NoChange() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(voteWriteBehindBuffer.pendingVote(userId, postId)).thenReturn(VoteType.DOWNVOTE);
+
+        String result = voteService.createVote(userId, postId, false);
 
-        assertThrows(RuntimeException.class, () -> voteService.createVote(userId, postId, true));
-        verify(voteRepository, never()).save(any(Vote.class));
+        assertEquals("User already down voted that post. Vote remains unchanged", result);
+        verify(voteWriteBehindBuffer, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void createVote_WriteBehind_SameStoredVote_NoChange() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(voteWriteBehindBuffer.pendingVote(userId, postId)).thenReturn(null);
+        when(voteRepository.findIsUpvote(userId, postId)).thenReturn(Optional.of(true));
+
+        String result = voteService.createVote(userId, postId, true);
+
+        assertEquals("User already up voted that post. Vote remains unchanged", result);
+        verify(voteWriteBehindBuffer, never()).record(any(), any(), any());
+        verify(contentVersions, never()).postChanged(any());
     }
 
     @Test
-    void cancelVote_PostNotFound_ThrowsException() {
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+    void createVote_WriteBehind_PostNotFound_ThrowsException() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(postRepository.existsById(postId)).thenReturn(false);
 
-        assertThrows(RuntimeException.class, () -> voteService.cancelVote(userId, postId));
-        verify(voteRepository, never()).deleteById(any());
+        assertThrows(EntityNotFoundException.class, () -> voteService.createVote(userId, postId, true));
+        verify(voteWriteBehindBuffer, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void cancelVote_WriteBehind_RecordsCancellation() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(voteWriteBehindBuffer.pendingVote(userId, postId)).thenReturn(null);
+        when(voteRepository.findIsUpvote(userId, postId)).thenReturn(Optional.of(false));
+
+        String result = voteService.cancelVote(userId, postId);
+
+        assertEquals("Vote cancelled successfully", result);
+        verify(voteWriteBehindBuffer).record(userId, postId, VoteType.NONE);
+        verify(contentVersions).postChanged(postId);
+    }
+
+    @Test
+    void cancelVote_WriteBehind_AlreadyCancelled_NoChange() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(voteWriteBehindBuffer.pendingVote(userId, postId)).thenReturn(VoteType.NONE);
+
+        String result = voteService.cancelVote(userId, postId);
+
+        assertEquals("User hasn't voted that post. Vote remains unchanged", result);
+        verify(voteWriteBehindBuffer, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void cancelVote_WriteBehind_NeverVoted_NoChange() {
+        when(voteWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(voteWriteBehindBuffer.pendingVote(userId, postId)).thenReturn(null);
+        when(voteRepository.findIsUpvote(userId, postId)).thenReturn(Optional.empty());
+
+        String result = voteService.cancelVote(userId, postId);
+
+        assertEquals("User hasn't voted that post. Vote remains unchanged", result);
+        verify(voteWriteBehindBuffer, never()).record(any(), any(), any());
+        verify(contentVersions, never()).postChanged(any());
     }
 }
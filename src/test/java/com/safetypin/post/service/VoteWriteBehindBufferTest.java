@@ -0,0 +1,157 @@
+package com.safetypin.post.service;
+
+import com.safetypin.post.dto.PostData;
+import com.safetypin.post.model.VoteType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteWriteBehindBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path journalDir;
+
+    private final ContentVersions contentVersions = new ContentVersions();
+    private VoteWriteBehindBuffer buffer;
+    private UUID userId;
+    private UUID postId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        buffer = newBuffer();
+        buffer.start();
+        userId = UUID.randomUUID();
+        postId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.shutdown();
+    }
+
+    // Long interval and large batch so flushes only happen when a test asks for one
+    private VoteWriteBehindBuffer newBuffer() {
+        return new VoteWriteBehindBuffer(jdbcTemplate, contentVersions, true, 60_000, 1_000, 4, journalDir.toString());
+    }
+
+    @Test
+    void record_LastWriteWins() {
+        assertNull(buffer.record(userId, postId, VoteType.UPVOTE));
+        assertEquals(VoteType.UPVOTE, buffer.record(userId, postId, VoteType.DOWNVOTE));
+
+        assertEquals(VoteType.DOWNVOTE, buffer.pendingVote(userId, postId));
+        assertNull(buffer.pendingVote(UUID.randomUUID(), postId));
+    }
+
+    @Test
+    void applyPendingVote_OverlaysViewerVoteAndCounts() {
+        buffer.record(userId, postId, VoteType.DOWNVOTE);
+        PostData postData = PostData.builder()
+                .id(postId)
+                .upvoteCount(3L)
+                .downvoteCount(1L)
+                .currentVote(VoteType.UPVOTE)
+                .build();
+
+        buffer.applyPendingVote(postData, userId);
+
+        assertEquals(VoteType.DOWNVOTE, postData.getCurrentVote());
+        assertEquals(2L, postData.getUpvoteCount());
+        assertEquals(2L, postData.getDownvoteCount());
+    }
+
+    @Test
+    void applyPendingVote_NoPendingVote_LeavesDataUnchanged() {
+        PostData postData = PostData.builder()
+                .id(postId)
+                .upvoteCount(3L)
+                .downvoteCount(1L)
+                .currentVote(VoteType.UPVOTE)
+                .build();
+
+        buffer.applyPendingVote(postData, userId);
+
+        assertEquals(VoteType.UPVOTE, postData.getCurrentVote());
+        assertEquals(3L, postData.getUpvoteCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesUpsertsAndDeletesInBatches() throws IOException {
+        UUID otherPost = UUID.randomUUID();
+        buffer.record(userId, postId, VoteType.UPVOTE);
+        buffer.record(userId, otherPost, VoteType.NONE);
+        String tagBeforeFlush = contentVersions.postTag(postId, null);
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(VoteWriteBehindBuffer.UPSERT_SQL), upserts.capture());
+        assertEquals(1, upserts.getValue().size());
+        assertArrayEquals(new Object[]{userId, postId, true, postId}, upserts.getValue().get(0));
+
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(VoteWriteBehindBuffer.DELETE_SQL), deletes.capture());
+        assertArrayEquals(new Object[]{userId, otherPost}, deletes.getValue().get(0));
+
+        assertNull(buffer.pendingVote(userId, postId));
+        assertEquals(0, nonEmptyJournals());
+        assertNotEquals(tagBeforeFlush, contentVersions.postTag(postId, null));
+    }
+
+    @Test
+    void flush_Failure_KeepsPendingVotes() {
+        buffer.record(userId, postId, VoteType.UPVOTE);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> buffer.flush());
+
+        assertEquals(VoteType.UPVOTE, buffer.pendingVote(userId, postId));
+    }
+
+    @Test
+    void start_ReplaysUnflushedJournal() throws IOException {
+        buffer.record(userId, postId, VoteType.UPVOTE);
+        buffer.record(userId, postId, VoteType.DOWNVOTE);
+        // Simulate a crash: no flush, just release the journal files
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        buffer.shutdown();
+
+        buffer = newBuffer();
+        buffer.start();
+
+        assertEquals(VoteType.DOWNVOTE, buffer.pendingVote(userId, postId));
+    }
+
+    private long nonEmptyJournals() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.filter(file -> file.toFile().length() > 0).count();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.safetypin.post.service.strategy;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.model.Post;
@@ -282,9 +283,9 @@ class AbstractFeedStrategyTest {
     // Concrete implementation for testing
     private static class TestFeedStrategy extends AbstractFeedStrategy {
         @Override
-        public Page<Map<String, Object>> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList) {
+        public Page<FeedItem> processFeed(List<Post> posts, FeedQueryDTO queryDTO, Map<UUID, PostedByData> profileList) {
             // Simple implementation for testing
-            List<Map<String, Object>> results = new ArrayList<>();
+            List<FeedItem> results = new ArrayList<>();
             return paginateResults(results, queryDTO.getPageable());
         }
     }
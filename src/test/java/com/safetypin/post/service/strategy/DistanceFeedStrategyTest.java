@@ -1,8 +1,9 @@
 package com.safetypin.post.service.strategy;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
-import com.safetypin.post.dto.PostData;
 import com.safetypin.post.model.Post;
+import com.safetypin.post.utils.DistanceCalculator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
@@ -119,7 +120,7 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(Collections.emptyList(), queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(Collections.emptyList(), queryDTO, null);
 
         // Assert
         assertTrue(result.isEmpty());
@@ -137,21 +138,21 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(3, result.getTotalElements());
-        List<Map<String, Object>> content = result.getContent();
+        List<FeedItem> content = result.getContent();
 
         // Check sorting (nearest first)
-        assertEquals("Nearby Post", ((PostData) content.get(0).get("post")).getTitle());
-        assertEquals("Medium Distance Post", ((PostData) content.get(1).get("post")).getTitle());
-        assertEquals("Far Away Post", ((PostData) content.get(2).get("post")).getTitle());
+        assertEquals("Nearby Post", content.get(0).post().getTitle());
+        assertEquals("Medium Distance Post", content.get(1).post().getTitle());
+        assertEquals("Far Away Post", content.get(2).post().getTitle());
 
         // Check that distances are included and properly sorted
-        Double distance1 = (Double) content.get(0).get("distance");
-        Double distance2 = (Double) content.get(1).get("distance");
-        Double distance3 = (Double) content.get(2).get("distance");
+        double distance1 = content.get(0).distanceKm();
+        double distance2 = content.get(1).distanceKm();
+        double distance3 = content.get(2).distanceKm();
 
         assertTrue(distance1 < distance2);
         assertTrue(distance2 < distance3);
@@ -169,11 +170,11 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        assertEquals("Medium Distance Post", ((PostData) result.getContent().getFirst().get("post")).getTitle());
+        assertEquals("Medium Distance Post", result.getContent().getFirst().post().getTitle());
     }
 
     @Test
@@ -188,11 +189,11 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        assertEquals("Far Away Post", ((PostData) result.getContent().getFirst().get("post")).getTitle());
+        assertEquals("Far Away Post", result.getContent().getFirst().post().getTitle());
     }
 
     @Test
@@ -207,7 +208,7 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getTotalElements());
@@ -225,7 +226,7 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getTotalElements());
@@ -245,11 +246,11 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        assertEquals("Nearby Post", ((PostData) result.getContent().getFirst().get("post")).getTitle());
+        assertEquals("Nearby Post", result.getContent().getFirst().post().getTitle());
     }
 
     @Test
@@ -263,7 +264,7 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getContent().size());
@@ -284,7 +285,7 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getContent().size());
@@ -321,9 +322,154 @@ class DistanceFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(testPosts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(testPosts, queryDTO, null);
 
         // Assert
         assertEquals(3, result.getTotalElements());
     }
+
+    @Test
+    void processFeed_pageBeyondResults_returnsEmptyContentWithTotal() {
+        FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                .userId(testUserId)
+                .userLat(userLat)
+                .userLon(userLon)
+                .pageable(PageRequest.of(5, 2))
+                .build();
+
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
+
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    void processFeed_equalDistances_keepsOriginalOrder() {
+        List<Post> samePlace = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            samePlace.add(Post.builder()
+                    .id(UUID.randomUUID())
+                    .title("Post " + i)
+                    .category("SAFETY")
+                    .createdAt(now)
+                    .latitude(0.5)
+                    .longitude(0.5)
+                    .postedBy(UUID.randomUUID())
+                    .build());
+        }
+        FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                .userId(testUserId)
+                .userLat(userLat)
+                .userLon(userLon)
+                .pageable(PageRequest.of(1, 2))
+                .build();
+
+        Page<FeedItem> result = strategy.processFeed(samePlace, queryDTO, null);
+
+        assertEquals(5, result.getTotalElements());
+        assertEquals("Post 2", result.getContent().get(0).post().getTitle());
+        assertEquals("Post 3", result.getContent().get(1).post().getTitle());
+    }
+
+    @Test
+    void processFeed_withRadius_excludesPostsOutsideRadius() {
+        // Nearby is ~1.6 km away, medium ~15.7 km, far ~157 km
+        FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                .userId(testUserId)
+                .userLat(userLat)
+                .userLon(userLon)
+                .radiusKm(20.0)
+                .pageable(PageRequest.of(0, 10))
+                .build();
+
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals("Nearby Post", result.getContent().get(0).post().getTitle());
+        assertEquals("Medium Distance Post", result.getContent().get(1).post().getTitle());
+    }
+
+    @Test
+    void processFeed_withRadius_returnsExactDistances() {
+        FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                .userId(testUserId)
+                .userLat(userLat)
+                .userLon(userLon)
+                .radiusKm(200.0)
+                .pageable(PageRequest.of(0, 10))
+                .build();
+
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(DistanceCalculator.calculateDistance(0.0, 0.0, 1.0, 1.0),
+                result.getContent().get(2).distanceKm(), 1e-9);
+    }
+
+    @Test
+    void processFeed_withRadiusOnRadiusBoundary_usesExactDistance() {
+        double farDistance = DistanceCalculator.calculateDistance(0.0, 0.0, 1.0, 1.0);
+        FeedQueryDTO inside = FeedQueryDTO.builder()
+                .userLat(userLat)
+                .userLon(userLon)
+                .radiusKm(farDistance + 0.001)
+                .pageable(PageRequest.of(0, 10))
+                .build();
+        FeedQueryDTO outside = FeedQueryDTO.builder()
+                .userLat(userLat)
+                .userLon(userLon)
+                .radiusKm(farDistance - 0.001)
+                .pageable(PageRequest.of(0, 10))
+                .build();
+
+        assertEquals(3, strategy.processFeed(posts, inside, null).getTotalElements());
+        assertEquals(2, strategy.processFeed(posts, outside, null).getTotalElements());
+    }
+
+    @Test
+    void processFeed_withRadiusAcrossAntimeridian_includesPostsOnOtherSide() {
+        Post acrossDateLine = Post.builder()
+                .id(UUID.randomUUID())
+                .title("Across")
+                .createdAt(now)
+                .latitude(0.0)
+                .longitude(-179.95)
+                .postedBy(UUID.randomUUID())
+                .build();
+        FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                .userLat(0.0)
+                .userLon(179.95)
+                .radiusKm(20.0)
+                .pageable(PageRequest.of(0, 10))
+                .build();
+
+        Page<FeedItem> result = strategy.processFeed(List.of(acrossDateLine), queryDTO, null);
+
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void processFeed_withRadiusAtHighLatitude_keepsPostsTheApproximationPutsOutside() {
+        // About 425 km away along the 85th parallel, where the approximation says about 436 km
+        Post farNorth = Post.builder()
+                .id(UUID.randomUUID())
+                .title("Far North")
+                .createdAt(now)
+                .latitude(85.0)
+                .longitude(45.0)
+                .postedBy(UUID.randomUUID())
+                .build();
+        FeedQueryDTO queryDTO = FeedQueryDTO.builder()
+                .userLat(85.0)
+                .userLon(0.0)
+                .radiusKm(430.0)
+                .pageable(PageRequest.of(0, 10))
+                .build();
+
+        Page<FeedItem> result = strategy.processFeed(List.of(farNorth), queryDTO, null);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(DistanceCalculator.calculateDistance(85.0, 0.0, 85.0, 45.0),
+                result.getContent().get(0).distanceKm(), 1e-9);
+    }
 }
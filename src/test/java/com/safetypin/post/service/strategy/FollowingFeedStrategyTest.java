@@ -3,11 +3,13 @@ package com.safetypin.post.service.strategy;
 import com.safetypin.post.dto.*;
 import com.safetypin.post.model.Post;
 import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.service.AuthClientMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
@@ -43,6 +45,8 @@ class FollowingFeedStrategyTest {
     private PostRepository postRepository;
     @Mock
     private RestTemplate restTemplate;
+    @Spy
+    private AuthClientMetrics authClientMetrics = AuthClientMetrics.noop();
     @Mock
     private SecurityContext securityContext;
     @Mock
@@ -159,7 +163,7 @@ class FollowingFeedStrategyTest {
                 .thenReturn(posts);
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -167,12 +171,12 @@ class FollowingFeedStrategyTest {
         assertEquals(1, result.getTotalPages());
         assertEquals(2, result.getContent().size());
 
-        assertEquals(post2.getId(), ((PostData) result.getContent().get(0).get("post")).getId());
+        assertEquals(post2.getId(), result.getContent().get(0).post().getId());
         assertEquals(followedUser2Data.getName(),
-                ((PostData) result.getContent().get(0).get("post")).getPostedBy().getName());
-        assertEquals(post1.getId(), ((PostData) result.getContent().get(1).get("post")).getId());
+                result.getContent().get(0).post().getPostedBy().getName());
+        assertEquals(post1.getId(), result.getContent().get(1).post().getId());
         assertEquals(followedUser1Data.getName(),
-                ((PostData) result.getContent().get(1).get("post")).getPostedBy().getName());
+                result.getContent().get(1).post().getPostedBy().getName());
 
         verify(restTemplate).exchange(eq(expectedUri), eq(HttpMethod.GET), any(HttpEntity.class),
                 eq(API_RESPONSE_TYPE_REF));
@@ -214,7 +218,7 @@ class FollowingFeedStrategyTest {
                 .thenReturn(postsFromRepo);
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -223,9 +227,9 @@ class FollowingFeedStrategyTest {
         assertEquals(1, result.getContent().size()); // Page size is 1
 
         // Use correct getters
-        assertEquals(post2.getId(), ((PostData) result.getContent().getFirst().get("post")).getId());
+        assertEquals(post2.getId(), result.getContent().getFirst().post().getId());
         assertEquals(followedUser2Data.getName(),
-                ((PostData) result.getContent().getFirst().get("post")).getPostedBy().getName());
+                result.getContent().getFirst().post().getPostedBy().getName());
 
         verify(restTemplate).exchange(eq(expectedUri), eq(HttpMethod.GET), any(HttpEntity.class),
                 eq(API_RESPONSE_TYPE_REF));
@@ -247,7 +251,7 @@ class FollowingFeedStrategyTest {
                 .thenReturn(responseEntity);
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -279,7 +283,7 @@ class FollowingFeedStrategyTest {
                 .thenReturn(responseEntity);
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -313,16 +317,16 @@ class FollowingFeedStrategyTest {
         when(postRepository.findByPostedByIn(eq(validFollowedIds))).thenReturn(posts);
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements()); // Only post from followedUser1 should be present
         assertEquals(1, result.getContent().size());
         // Use correct getters
-        assertEquals(post1.getId(), ((PostData) result.getContent().getFirst().get("post")).getId());
+        assertEquals(post1.getId(), result.getContent().getFirst().post().getId());
         assertEquals(followedUser1Data.getName(),
-                ((PostData) result.getContent().getFirst().get("post")).getPostedBy().getName());
+                result.getContent().getFirst().post().getPostedBy().getName());
 
         verify(restTemplate).exchange(eq(expectedUri), eq(HttpMethod.GET), any(HttpEntity.class),
                 eq(API_RESPONSE_TYPE_REF));
@@ -339,7 +343,7 @@ class FollowingFeedStrategyTest {
                 .thenThrow(new ResourceAccessException("Network error"));
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -360,7 +364,7 @@ class FollowingFeedStrategyTest {
                 .thenThrow(new RuntimeException("Some other error"));
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -393,7 +397,7 @@ class FollowingFeedStrategyTest {
                 .thenReturn(Collections.emptyList()); // No posts found
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -439,7 +443,7 @@ class FollowingFeedStrategyTest {
                 .thenReturn(posts);
 
         // Act
-        Page<Map<String, Object>> result = followingFeedStrategy.processFeed(null, queryDTO, null);
+        Page<FeedItem> result = followingFeedStrategy.processFeed(null, queryDTO, null);
 
         // Assert
         assertNotNull(result);
@@ -4,17 +4,23 @@ import com.safetypin.post.dto.NotificationDto;
 import com.safetypin.post.dto.PostedByData;
 import com.safetypin.post.model.CommentOnComment;
 import com.safetypin.post.model.CommentOnPost;
+import com.safetypin.post.model.NotificationReadMarker;
 import com.safetypin.post.model.NotificationType;
 import com.safetypin.post.model.Post;
 import com.safetypin.post.repository.CommentOnCommentRepository;
 import com.safetypin.post.repository.CommentOnPostRepository;
+import com.safetypin.post.repository.NotificationReadMarkerRepository;
 import com.safetypin.post.repository.PostRepository;
+import com.safetypin.post.service.AuthClientMetrics;
+import com.safetypin.post.service.EventStreamService;
 import com.safetypin.post.service.NotificationServiceImpl;
+import com.safetypin.post.service.PipelineMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -43,6 +49,14 @@ class NotificationServiceImplTest {
     private RestTemplate restTemplate;
     @Mock
     private PostRepository postRepository;
+    @Mock
+    private NotificationReadMarkerRepository notificationReadMarkerRepository;
+    @Mock
+    private EventStreamService eventStreamService;
+    @Spy
+    private PipelineMetrics pipelineMetrics = PipelineMetrics.noop();
+    @Spy
+    private AuthClientMetrics authClientMetrics = AuthClientMetrics.noop();
 
     @InjectMocks
     private NotificationServiceImpl notificationService;
@@ -631,4 +645,284 @@ class NotificationServiceImplTest {
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
                 any(ParameterizedTypeReference.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getNotifications_WithSinceCursor_ReturnsOnlyNewer() {
+        // Arrange
+        LocalDateTime since = now.minusDays(2);
+        CommentOnPost atCursor = createCommentOnPost(UUID.randomUUID(), actor1Id, post, since);
+        CommentOnPost newer = createCommentOnPost(UUID.randomUUID(), actor2Id, post, now.minusDays(1));
+        when(commentOnPostRepository.findCommentsOnUserPostsSince(testUserId, since))
+                .thenReturn(List.of(atCursor, newer));
+        when(commentOnCommentRepository.findRepliesToUserCommentsSince(testUserId, since))
+                .thenReturn(Collections.emptyList());
+        when(commentOnCommentRepository.findByPostedByAndCreatedAtGreaterThanEqual(eq(testUserId),
+                any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(commentOnPostRepository.findById(any(UUID.class))).thenReturn(Optional.of(newer));
+        when(postRepository.findById(any(UUID.class))).thenReturn(Optional.of(post));
+
+        Map<UUID, PostedByData> userInfoMap = new HashMap<>();
+        userInfoMap.put(actor2Id, new PostedByData(actor2Id, "Actor Two", "pic2.jpg"));
+        mockAuthServiceResponse(userInfoMap);
+
+        // Act
+        List<NotificationDto> notifications = notificationService.getNotifications(testUserId, since);
+
+        // Assert: the comment sitting exactly on the cursor was already delivered
+        assertEquals(1, notifications.size());
+        assertEquals(newer.getId(), notifications.getFirst().getCommentId());
+    }
+
+    @Test
+    void getNotifications_WithSinceOlderThanWindow_UsesWindow() {
+        // Arrange
+        LocalDateTime since = now.minusDays(90);
+        when(commentOnPostRepository.findCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(commentOnCommentRepository.findRepliesToUserCommentsSince(eq(testUserId),
+                any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(commentOnCommentRepository.findByPostedByAndCreatedAtGreaterThanEqual(eq(testUserId),
+                any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        List<NotificationDto> notifications = notificationService.getNotifications(testUserId, since);
+
+        // Assert
+        assertTrue(notifications.isEmpty());
+        verify(commentOnPostRepository).findCommentsOnUserPostsSince(eq(testUserId),
+                argThat(bound -> bound.isAfter(now.minusDays(31))));
+    }
+
+    @Test
+    void getUnreadCount_NoReadMarker_CountsWholeWindow() {
+        // Arrange
+        when(notificationReadMarkerRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenReturn(2L);
+        when(commentOnCommentRepository.countRepliesToUserCommentsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenReturn(1L);
+        when(commentOnCommentRepository.countSiblingRepliesSince(eq(testUserId), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(3L);
+
+        // Act
+        long unreadCount = notificationService.getUnreadCount(testUserId);
+
+        // Assert
+        assertEquals(6L, unreadCount);
+    }
+
+    @Test
+    void getUnreadCount_ServedFromCounterOnRepeatedCalls() {
+        // Arrange
+        when(notificationReadMarkerRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenReturn(1L);
+
+        // Act
+        long first = notificationService.getUnreadCount(testUserId);
+        long second = notificationService.getUnreadCount(testUserId);
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(1L, second);
+        verify(commentOnPostRepository, times(1)).countCommentsOnUserPostsSince(eq(testUserId),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void getUnreadCount_UsesReadMarkerAsLowerBound() {
+        // Arrange
+        LocalDateTime lastReadAt = now.minusDays(1);
+        when(notificationReadMarkerRepository.findById(testUserId))
+                .thenReturn(Optional.of(new NotificationReadMarker(testUserId, lastReadAt)));
+
+        // Act
+        notificationService.getUnreadCount(testUserId);
+
+        // Assert
+        verify(commentOnPostRepository).countCommentsOnUserPostsSince(testUserId, lastReadAt);
+        verify(commentOnCommentRepository).countRepliesToUserCommentsSince(testUserId, lastReadAt);
+        verify(commentOnCommentRepository).countSiblingRepliesSince(eq(testUserId), any(LocalDateTime.class),
+                eq(lastReadAt));
+    }
+
+    @Test
+    void markAllAsRead_ResetsCounterAndSavesMarker() {
+        // Act
+        notificationService.markAllAsRead(testUserId);
+        long unreadCount = notificationService.getUnreadCount(testUserId);
+
+        // Assert
+        assertEquals(0L, unreadCount);
+        verify(notificationReadMarkerRepository).save(argThat((NotificationReadMarker marker) -> marker.getUserId().equals(testUserId)));
+        verify(commentOnPostRepository, never()).countCommentsOnUserPostsSince(any(), any());
+    }
+
+    @Test
+    void getUnreadCount_MarkedReadDuringRecount_KeepsZero() {
+        // Arrange: the user marks everything read while a recount is running
+        when(notificationReadMarkerRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    notificationService.markAllAsRead(testUserId);
+                    return 4L;
+                });
+
+        // Act
+        long during = notificationService.getUnreadCount(testUserId);
+        long after = notificationService.getUnreadCount(testUserId);
+
+        // Assert: the stale recount does not replace the reset counter
+        assertEquals(0L, during);
+        assertEquals(0L, after);
+        verify(commentOnPostRepository, times(1)).countCommentsOnUserPostsSince(eq(testUserId),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void getUnreadCount_NewCommentDuringFirstRecount_IsNotCached() {
+        // Arrange: nothing is cached yet, and a comment arrives while the first recount runs
+        CommentOnPost comment = createCommentOnPost(UUID.randomUUID(), actor1Id, post, now);
+        when(notificationReadMarkerRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    notificationService.onCommentOnPostCreated(comment);
+                    return 4L;
+                })
+                .thenReturn(5L);
+
+        // Act
+        long during = notificationService.getUnreadCount(testUserId);
+        long after = notificationService.getUnreadCount(testUserId);
+
+        // Assert: the count taken before the comment is not served afterwards
+        assertEquals(4L, during);
+        assertEquals(5L, after);
+    }
+
+    @Test
+    void getUnreadCount_ReplyDuringFirstRecount_IsNotCached() {
+        // Arrange: the only entry in the map is the running recount's marker
+        CommentOnComment reply = createCommentOnComment(UUID.randomUUID(), actor1Id, parentComment, now);
+        when(commentOnCommentRepository.findReplierIdsByParentId(parentComment.getId())).thenReturn(List.of());
+        when(notificationReadMarkerRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    notificationService.onReplyCreated(reply);
+                    return 0L;
+                })
+                .thenReturn(0L);
+
+        // Act
+        notificationService.getUnreadCount(testUserId);
+        notificationService.getUnreadCount(testUserId);
+
+        // Assert: the reply was not skipped, so the second call recounts
+        verify(commentOnPostRepository, times(2)).countCommentsOnUserPostsSince(eq(testUserId),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void onCommentOnPostCreated_InvalidatesPostOwnerCounter() {
+        // Arrange
+        notificationService.markAllAsRead(testUserId);
+        CommentOnPost comment = createCommentOnPost(UUID.randomUUID(), actor1Id, post, now);
+        when(notificationReadMarkerRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(commentOnPostRepository.countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class)))
+                .thenReturn(1L);
+
+        // Act
+        notificationService.onCommentOnPostCreated(comment);
+        long unreadCount = notificationService.getUnreadCount(testUserId);
+
+        // Assert
+        assertEquals(1L, unreadCount);
+    }
+
+    @Test
+    void onCommentOnPostCreated_OwnComment_KeepsCounter() {
+        // Arrange
+        notificationService.markAllAsRead(testUserId);
+        CommentOnPost ownComment = createCommentOnPost(UUID.randomUUID(), testUserId, post, now);
+
+        // Act
+        notificationService.onCommentOnPostCreated(ownComment);
+        long unreadCount = notificationService.getUnreadCount(testUserId);
+
+        // Assert
+        assertEquals(0L, unreadCount);
+        verify(commentOnPostRepository, never()).countCommentsOnUserPostsSince(any(), any());
+    }
+
+    @Test
+    void onReplyCreated_InvalidatesThreadParticipants() {
+        // Arrange
+        notificationService.markAllAsRead(testUserId);
+        notificationService.markAllAsRead(actor2Id);
+        CommentOnComment reply = createCommentOnComment(UUID.randomUUID(), actor1Id, parentComment, now);
+        when(commentOnCommentRepository.findReplierIdsByParentId(parentComment.getId()))
+                .thenReturn(List.of(actor1Id, actor2Id));
+        when(notificationReadMarkerRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+
+        // Act
+        notificationService.onReplyCreated(reply);
+        notificationService.getUnreadCount(testUserId);
+        notificationService.getUnreadCount(actor2Id);
+
+        // Assert: both the parent comment owner and the sibling replier are recounted
+        verify(commentOnPostRepository).countCommentsOnUserPostsSince(eq(testUserId), any(LocalDateTime.class));
+        verify(commentOnPostRepository).countCommentsOnUserPostsSince(eq(actor2Id), any(LocalDateTime.class));
+    }
+
+    @Test
+    void onReplyCreated_NoCountersCached_SkipsLookup() {
+        // Arrange
+        CommentOnComment reply = createCommentOnComment(UUID.randomUUID(), actor1Id, parentComment, now);
+
+        // Act
+        notificationService.onReplyCreated(reply);
+
+        // Assert
+        verify(commentOnCommentRepository, never()).findReplierIdsByParentId(any());
+    }
+
+    @Test
+    void onCommentOnPostCreated_PushesNotificationToPostOwner() {
+        // Arrange
+        post.setTitle("Test Post Title");
+        CommentOnPost comment = createCommentOnPost(UUID.randomUUID(), actor1Id, post, now);
+        comment.setCaption("Nice post");
+
+        // Act
+        notificationService.onCommentOnPostCreated(comment);
+
+        // Assert
+        verify(eventStreamService).publishNotification(eq(testUserId),
+                argThat((NotificationDto dto) -> dto.getType() == NotificationType.NEW_COMMENT_ON_POST
+                        && dto.getCommentId().equals(comment.getId())
+                        && "Test Post Title".equals(dto.getPostTitle())));
+    }
+
+    @Test
+    void onReplyCreated_PushesReplyAndSiblingNotifications() {
+        // Arrange
+        CommentOnComment reply = createCommentOnComment(UUID.randomUUID(), actor1Id, parentComment, now);
+        when(eventStreamService.hasSubscribers()).thenReturn(true);
+        when(commentOnCommentRepository.findReplierIdsByParentId(parentComment.getId()))
+                .thenReturn(List.of(actor1Id, actor2Id, testUserId));
+
+        // Act
+        notificationService.onReplyCreated(reply);
+
+        // Assert: the parent owner is notified once as reply, not again as sibling
+        verify(eventStreamService).publishNotification(eq(testUserId),
+                argThat((NotificationDto dto) -> dto.getType() == NotificationType.NEW_REPLY_TO_COMMENT));
+        verify(eventStreamService).publishNotification(eq(actor2Id),
+                argThat((NotificationDto dto) -> dto.getType() == NotificationType.NEW_SIBLING_REPLY));
+        verify(eventStreamService, never()).publishNotification(eq(actor1Id), any());
+    }
+}
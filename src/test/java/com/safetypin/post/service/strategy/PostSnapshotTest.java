@@ -0,0 +1,83 @@
+package com.safetypin.post.service.strategy;
+
+import com.safetypin.post.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSnapshotTest {
+
+    @Test
+    void of_copiesCoordinatesTimestampsAndCategories() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        Post first = Post.builder().id(UUID.randomUUID()).title("a").category("Flood")
+                .createdAt(createdAt).latitude(-6.2).longitude(106.8).build();
+        Post second = Post.builder().id(UUID.randomUUID()).title("b").category("Fire")
+                .createdAt(createdAt).latitude(1.5).longitude(2.5).build();
+        Post third = Post.builder().id(UUID.randomUUID()).title("c").category("Flood")
+                .createdAt(createdAt).latitude(0.0).longitude(0.0).build();
+
+        PostSnapshot snapshot = PostSnapshot.of(List.of(first, second, third));
+
+        assertEquals(3, snapshot.size());
+        assertSame(second, snapshot.post(1));
+        assertEquals(-6.2, snapshot.latitude(0));
+        assertEquals(106.8, snapshot.longitude(0));
+        assertEquals(PostSnapshot.toEpochMicros(createdAt), snapshot.createdAt(2));
+        assertEquals(snapshot.categoryId(0), snapshot.categoryId(2));
+        assertNotEquals(snapshot.categoryId(0), snapshot.categoryId(1));
+    }
+
+    @Test
+    void of_postWithoutCategory_hasNoCategoryId() {
+        Post post = Post.builder().id(UUID.randomUUID()).title("a").latitude(0.0).longitude(0.0).build();
+
+        PostSnapshot snapshot = PostSnapshot.of(List.of(post));
+
+        assertEquals(PostSnapshot.NO_CATEGORY, snapshot.categoryId(0));
+    }
+
+    @Test
+    void categoryMask_noFilter_returnsNull() {
+        PostSnapshot snapshot = PostSnapshot.of(List.of());
+
+        assertNull(snapshot.categoryMask(null));
+        assertNull(snapshot.categoryMask(List.of()));
+    }
+
+    @Test
+    void categoryMask_marksOnlyRequestedCategories() {
+        Post flood = Post.builder().id(UUID.randomUUID()).title("a").category("Flood").latitude(0.0).longitude(0.0).build();
+        Post fire = Post.builder().id(UUID.randomUUID()).title("b").category("Fire").latitude(0.0).longitude(0.0).build();
+        PostSnapshot snapshot = PostSnapshot.of(List.of(flood, fire));
+
+        boolean[] mask = snapshot.categoryMask(List.of("Fire", "Unknown"));
+
+        assertFalse(mask[snapshot.categoryId(0)]);
+        assertTrue(mask[snapshot.categoryId(1)]);
+    }
+
+    @Test
+    void toEpochMicros_keepsSubMillisecondOrder() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertTrue(PostSnapshot.toEpochMicros(base) < PostSnapshot.toEpochMicros(base.plusNanos(1_000)));
+        assertEquals(PostSnapshot.NO_TIMESTAMP, PostSnapshot.toEpochMicros(null));
+    }
+
+    @Test
+    void distancesFrom_returnsDistancePerPost() {
+        Post here = Post.builder().id(UUID.randomUUID()).title("a").latitude(0.0).longitude(0.0).build();
+        Post away = Post.builder().id(UUID.randomUUID()).title("b").latitude(1.0).longitude(1.0).build();
+        PostSnapshot snapshot = PostSnapshot.of(List.of(here, away));
+
+        double[] distances = snapshot.distancesFrom(0.0, 0.0);
+
+        assertEquals(0.0, distances[0], 0.001);
+        assertTrue(distances[1] > 150 && distances[1] < 160);
+    }
+}
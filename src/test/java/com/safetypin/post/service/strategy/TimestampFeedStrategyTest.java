@@ -1,7 +1,7 @@
 package com.safetypin.post.service.strategy;
 
+import com.safetypin.post.dto.FeedItem;
 import com.safetypin.post.dto.FeedQueryDTO;
-import com.safetypin.post.dto.PostData;
 import com.safetypin.post.model.Post;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -77,7 +77,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(Collections.emptyList(), queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(Collections.emptyList(), queryDTO, null);
 
         // Assert
         assertTrue(result.isEmpty());
@@ -93,16 +93,16 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(3, result.getTotalElements());
-        List<Map<String, Object>> content = result.getContent();
+        List<FeedItem> content = result.getContent();
 
         // Check sorting (newest first)
-        assertEquals("Safety Tips", ((PostData) content.get(0).get("post")).getTitle());
-        assertEquals("Crime Alert", ((PostData) content.get(1).get("post")).getTitle());
-        assertEquals("Traffic Update", ((PostData) content.get(2).get("post")).getTitle());
+        assertEquals("Safety Tips", content.get(0).post().getTitle());
+        assertEquals("Crime Alert", content.get(1).post().getTitle());
+        assertEquals("Traffic Update", content.get(2).post().getTitle());
     }
 
     @Test
@@ -115,11 +115,11 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        assertEquals("Safety Tips", ((PostData) result.getContent().getFirst().get("post")).getTitle());
+        assertEquals("Safety Tips", result.getContent().getFirst().post().getTitle());
     }
 
     @Test
@@ -132,11 +132,11 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        assertEquals("Crime Alert", ((PostData) result.getContent().get(0).get("post")).getTitle());
+        assertEquals("Crime Alert", result.getContent().get(0).post().getTitle());
     }
 
     @Test
@@ -149,7 +149,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getTotalElements());
@@ -165,7 +165,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getTotalElements());
@@ -183,7 +183,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getTotalElements());
@@ -198,7 +198,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getContent().size());
@@ -217,7 +217,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(1, result.getContent().size());
@@ -236,7 +236,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertTrue(result.isEmpty());
@@ -268,7 +268,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(testPosts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(testPosts, queryDTO, null);
 
         // Assert
         assertEquals(0, result.getTotalElements());
@@ -285,7 +285,7 @@ class TimestampFeedStrategyTest {
                 .build();
 
         // Act
-        Page<Map<String, Object>> result = strategy.processFeed(posts, queryDTO, null);
+        Page<FeedItem> result = strategy.processFeed(posts, queryDTO, null);
 
         // Assert
         assertEquals(2, result.getTotalElements());
@@ -4,7 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DistanceCalculatorTest {
@@ -196,4 +199,66 @@ class DistanceCalculatorTest {
         assertTrue(distance > 0);
         assertTrue(distance < 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculateDistances_matchesSingleDistanceForEveryPoint() {
+        // Length that does not fill a whole vector, so the tail loop runs too
+        int length = 37;
+        Random random = new Random(7L);
+        double[] lats = new double[length];
+        double[] lons = new double[length];
+        for (int i = 0; i < length; i++) {
+            lats[i] = random.nextDouble() * 180 - 90;
+            lons[i] = random.nextDouble() * 360 - 180;
+        }
+        double[] distances = new double[length];
+
+        DistanceCalculator.calculateDistances(-6.2, 106.8, lats, lons, distances, length);
+
+        for (int i = 0; i < length; i++) {
+            assertEquals(DistanceCalculator.calculateDistance(-6.2, 106.8, lats[i], lons[i]), distances[i], 1e-6);
+        }
+    }
+
+    @Test
+    void calculateDistances_leavesEntriesPastLengthUntouched() {
+        double[] lats = {0.0, 1.0, 2.0};
+        double[] lons = {0.0, 1.0, 2.0};
+        double[] distances = {-1.0, -1.0, -1.0};
+
+        DistanceCalculator.calculateDistances(0.0, 0.0, lats, lons, distances, 2);
+
+        assertEquals(0.0, distances[0], DELTA);
+        assertTrue(distances[1] > 0);
+        assertEquals(-1.0, distances[2]);
+    }
+
+    @Test
+    void approximateDistance_closeToHaversineForNearbyPoints() {
+        double exact = DistanceCalculator.calculateDistance(-6.2, 106.8, -6.5, 107.1);
+
+        double approximate = DistanceCalculator.approximateDistance(-6.2, 106.8, -6.5, 107.1);
+
+        assertEquals(exact, approximate, exact * 0.001);
+    }
+
+    @Test
+    void approximateDistance_takesShortWayAcrossAntimeridian() {
+        double approximate = DistanceCalculator.approximateDistance(0.0, 179.9, 0.0, -179.9);
+
+        assertEquals(DistanceCalculator.calculateDistance(0.0, 179.9, 0.0, -179.9), approximate, 0.1);
+    }
+
+    @Test
+    void isApproximationAccurate_holdsAwayFromThePoles() {
+        assertTrue(DistanceCalculator.isApproximationAccurate(-6.2, 500.0));
+        assertTrue(DistanceCalculator.isApproximationAccurate(60.0, 100.0));
+    }
+
+    @Test
+    void isApproximationAccurate_failsForWideAreasNearThePoles() {
+        assertFalse(DistanceCalculator.isApproximationAccurate(85.0, 430.0));
+        // Reaches across the pole
+        assertFalse(DistanceCalculator.isApproximationAccurate(-89.9, 20.0));
+    }
+}
@@ -0,0 +1,54 @@
+package com.safetypin.post.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoBoundsTest {
+
+    @Test
+    void around_containsPointsInsideRadius() {
+        GeoBounds bounds = GeoBounds.around(-6.2, 106.8, 10.0);
+
+        assertTrue(bounds.contains(-6.2, 106.8));
+        assertTrue(bounds.contains(-6.25, 106.85));
+        assertFalse(bounds.contains(-6.5, 106.8));
+        assertFalse(bounds.contains(-6.2, 107.0));
+    }
+
+    @Test
+    void around_latitudeSpanMatchesRadius() {
+        GeoBounds bounds = GeoBounds.around(0.0, 0.0, 111.19);
+
+        assertEquals(-1.0, bounds.minLat(), 0.001);
+        assertEquals(1.0, bounds.maxLat(), 0.001);
+    }
+
+    @Test
+    void around_widensLongitudeAwayFromEquator() {
+        GeoBounds equator = GeoBounds.around(0.0, 0.0, 50.0);
+        GeoBounds north = GeoBounds.around(60.0, 0.0, 50.0);
+
+        assertTrue(north.maxLon() - north.minLon() > equator.maxLon() - equator.minLon());
+    }
+
+    @Test
+    void around_wrapsAcrossAntimeridian() {
+        GeoBounds bounds = GeoBounds.around(0.0, 179.95, 20.0);
+
+        assertTrue(bounds.minLon() > bounds.maxLon());
+        assertTrue(bounds.contains(0.0, -179.95));
+        assertTrue(bounds.contains(0.0, 179.9));
+        assertFalse(bounds.contains(0.0, 0.0));
+    }
+
+    @Test
+    void around_coveringPole_spansAllLongitudes() {
+        GeoBounds bounds = GeoBounds.around(89.9, 10.0, 50.0);
+
+        assertEquals(90.0, bounds.maxLat());
+        assertTrue(bounds.contains(89.95, -170.0));
+    }
+}
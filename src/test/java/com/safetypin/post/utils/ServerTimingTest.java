@@ -0,0 +1,80 @@
+package com.safetypin.post.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.clear();
+    }
+
+    @Test
+    void time_withoutActiveRequest_justRunsStep() {
+        assertNull(ServerTiming.current());
+
+        assertEquals("done", ServerTiming.time(ServerTiming.Phase.DB, () -> "done"));
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    void time_recordsPhaseForActiveRequest() {
+        ServerTiming timing = ServerTiming.start();
+
+        ServerTiming.time(ServerTiming.Phase.DB, () -> sleep(5));
+
+        assertSame(timing, ServerTiming.current());
+        assertTrue(timing.phaseNanos(ServerTiming.Phase.DB) >= 5_000_000L);
+        assertEquals(0, timing.phaseNanos(ServerTiming.Phase.AUTH_REMOTE));
+    }
+
+    @Test
+    void nestedPhase_isNotCountedTwice() {
+        ServerTiming timing = ServerTiming.start();
+
+        ServerTiming.time(ServerTiming.Phase.FILTER_SORT,
+                () -> ServerTiming.time(ServerTiming.Phase.DB, () -> sleep(20)));
+
+        assertTrue(timing.phaseNanos(ServerTiming.Phase.DB) >= 20_000_000L);
+        assertTrue(timing.phaseNanos(ServerTiming.Phase.FILTER_SORT) < 20_000_000L);
+    }
+
+    @Test
+    void time_recordsPhaseWhenStepThrows() {
+        ServerTiming timing = ServerTiming.start();
+
+        assertThrows(IllegalStateException.class, () -> ServerTiming.time(ServerTiming.Phase.AUTH_REMOTE, () -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertTrue(timing.phaseNanos(ServerTiming.Phase.AUTH_REMOTE) > 0);
+        // A later phase is not nested inside the failed one
+        ServerTiming.time(ServerTiming.Phase.DB, () -> sleep(1));
+        assertTrue(timing.phaseNanos(ServerTiming.Phase.DB) > 0);
+    }
+
+    @Test
+    void headerValue_listsEveryPhaseInMilliseconds() {
+        ServerTiming timing = ServerTiming.start();
+        assertFalse(timing.isSerialising());
+        timing.startSerialising();
+
+        String header = timing.headerValue();
+
+        assertTrue(timing.isSerialising());
+        assertTrue(header.matches("db;dur=\\d+\\.\\d{2}, auth-remote;dur=\\d+\\.\\d{2}, "
+                + "filter-sort;dur=\\d+\\.\\d{2}, serialise;dur=\\d+\\.\\d{2}, total;dur=\\d+\\.\\d{2}"), header);
+    }
+
+    private static Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.safetypin.post.utils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Haversine over coordinate arrays using the JDK Vector API. Only compiled in
+ * by the {@code vector} Maven profile, and only looked up by
+ * {@link DistanceCalculator} once it has checked that the incubator module is
+ * present, so the class never fails to link on a JVM started without it.
+ */
+final class VectorizedHaversine {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+
+    private VectorizedHaversine() {
+    }
+
+    static boolean isWorthwhile() {
+        return SPECIES.length() > 1;
+    }
+
+    static void calculateDistances(double lat, double lon, double[] lats, double[] lons, double[] out,
+                                   int length) {
+        double lat1Rad = Math.toRadians(lat);
+        double lon1Rad = Math.toRadians(lon);
+        double cosLat1 = Math.cos(lat1Rad);
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector lat2Rad = DoubleVector.fromArray(SPECIES, lats, i).mul(DEGREES_TO_RADIANS);
+            DoubleVector lon2Rad = DoubleVector.fromArray(SPECIES, lons, i).mul(DEGREES_TO_RADIANS);
+            DoubleVector sinDeltaLat = lat2Rad.sub(lat1Rad).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector sinDeltaLon = lon2Rad.sub(lon1Rad).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector a = sinDeltaLat.mul(sinDeltaLat)
+                    .add(lat2Rad.lanewise(VectorOperators.COS).mul(cosLat1).mul(sinDeltaLon).mul(sinDeltaLon));
+            DoubleVector c = a.sqrt().lanewise(VectorOperators.ATAN2, a.neg().add(1.0).sqrt()).mul(2.0);
+            c.mul(DistanceCalculator.EARTH_RADIUS_KM).intoArray(out, i);
+        }
+        // Tail that does not fill a whole vector
+        DistanceCalculator.calculateDistancesScalar(lat, lon, lats, lons, out, i, length);
+    }
+}